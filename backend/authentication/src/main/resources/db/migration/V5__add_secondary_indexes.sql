@@ -0,0 +1,2 @@
+create index if not exists idx_users_user_id on users (user_id);
+create index if not exists idx_users_notification_subscription on users (id) where notification_subscription = true;
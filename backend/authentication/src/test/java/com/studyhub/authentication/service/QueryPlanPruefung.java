@@ -0,0 +1,210 @@
+package com.studyhub.authentication.service;
+
+import org.junit.jupiter.params.provider.Arguments;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sammelt die Abfragen der Repositories für die Plan-Tests. Das SQL aus den {@code @Query}-Annotationen wird mit
+ * Testwerten belegt. Abgeleitete Methoden werden aufgerufen, ihr von Spring Data JDBC erzeugtes SQL wird samt
+ * Nachladen der Kind-Tabellen vom {@link Mitschnitt} aufgezeichnet.
+ */
+final class QueryPlanPruefung {
+
+	private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+	private final List<Class<?>> repositories;
+	private final Map<String, String> parameter;
+	private final Set<String> ausgenommen;
+	private final Map<String, String> abfragen = new LinkedHashMap<>();
+	private final Map<String, Aufruf<?>> aufrufe = new LinkedHashMap<>();
+
+	/**
+	 * @param repositories Die Repositories, deren Methoden vollständig abgedeckt sein müssen
+	 * @param parameter SQL-Literale für die benannten Parameter
+	 * @param ausgenommen Methoden, die bewusst alle Zeilen lesen
+	 */
+	QueryPlanPruefung(List<Class<?>> repositories, Map<String, String> parameter, Set<String> ausgenommen) {
+		this.repositories = repositories;
+		this.parameter = parameter;
+		this.ausgenommen = ausgenommen;
+		for (Class<?> repository : repositories) {
+			for (Method method : repository.getDeclaredMethods()) {
+				Query query = method.getAnnotation(Query.class);
+				String name = name(repository, method);
+				if (query != null && !ausgenommen.contains(name)) abfragen.put(name, bindeBenannt(query.value()));
+			}
+		}
+	}
+
+	/**
+	 * Abgeleitete Methode, deren SQL beim Aufruf aufgezeichnet wird.
+	 */
+	<R> QueryPlanPruefung erzeugt(String name, Class<R> repository, Consumer<R> aufruf) {
+		aufrufe.put(name, new Aufruf<>(repository, aufruf));
+		return this;
+	}
+
+	Stream<Arguments> abfragen() {
+		return abfragen.entrySet().stream().map(abfrage -> Arguments.of(abfrage.getKey(), abfrage.getValue()));
+	}
+
+	Stream<Arguments> aufrufe() {
+		return aufrufe.keySet().stream().map(Arguments::of);
+	}
+
+	/**
+	 * Ruft die abgeleitete Methode auf und prüft jede Anweisung, die sie ausführt, mit den Parametern ihrer ersten
+	 * Ausführung. Beim Nachladen der Kind-Tabellen wiederholt sich dieselbe Anweisung je Elternzeile.
+	 */
+	void assertKeinSeqScan(ApplicationContext context, JdbcTemplate jdbcTemplate, String name) {
+		Map<String, List<Object>> anweisungen = new LinkedHashMap<>();
+		context.getBean(Mitschnitt.class).zeichneAuf(() -> aufrufe.get(name).ausfuehren(context))
+				.forEach(anweisung -> anweisungen.putIfAbsent(anweisung.sql(), anweisung.parameter()));
+
+		assertThat(anweisungen).as(name).isNotEmpty();
+		anweisungen.forEach((sql, parameter) ->
+				pruefePlan(name, jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameter.toArray())));
+	}
+
+	/**
+	 * @return Methoden ohne {@code @Query}, die weder aufgerufen werden noch als Ausnahme eingetragen sind, sowie
+	 * Ausnahmen, zu denen es keine Methode mehr gibt
+	 */
+	List<String> nichtAbgedeckt() {
+		Set<String> methoden = new HashSet<>();
+		List<String> nichtAbgedeckt = new ArrayList<>();
+		for (Class<?> repository : repositories) {
+			for (Method method : repository.getDeclaredMethods()) {
+				if (method.isSynthetic()) continue;
+				String name = name(repository, method);
+				methoden.add(name);
+				if (method.getAnnotation(Query.class) == null && !aufrufe.containsKey(name) && !ausgenommen.contains(name)) {
+					nichtAbgedeckt.add(name);
+				}
+			}
+		}
+		ausgenommen.stream().filter(name -> !methoden.contains(name)).forEach(nichtAbgedeckt::add);
+		return nichtAbgedeckt;
+	}
+
+	static void assertKeinSeqScan(JdbcTemplate jdbcTemplate, String abfrage, String sql) {
+		pruefePlan(abfrage, jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+	}
+
+	private static void pruefePlan(String abfrage, List<String> plan) {
+		assertThat(plan).as("%s%n%s", abfrage, String.join("\n", plan))
+				.noneMatch(zeile -> zeile.contains("Seq Scan"));
+	}
+
+	private String bindeBenannt(String sql) {
+		Matcher matcher = NAMED_PARAMETER.matcher(sql);
+		StringBuilder gebunden = new StringBuilder();
+		while (matcher.find()) {
+			String literal = parameter.get(matcher.group(1));
+			if (literal == null) throw new IllegalArgumentException("Kein Testwert für Parameter :" + matcher.group(1));
+			matcher.appendReplacement(gebunden, Matcher.quoteReplacement(literal));
+		}
+		return matcher.appendTail(gebunden).toString();
+	}
+
+	private static String name(Class<?> repository, Method method) {
+		return repository.getSimpleName() + "." + method.getName();
+	}
+
+	private record Aufruf<R>(Class<R> repository, Consumer<R> methode) {
+
+		void ausfuehren(ApplicationContext context) {
+			methode.accept(context.getBean(repository));
+		}
+	}
+
+	record Anweisung(String sql, List<Object> parameter) {}
+
+	/**
+	 * Legt einen Proxy um die DataSource, der die Prepared Statements mit ihren Parametern aufzeichnet, solange
+	 * {@link #zeichneAuf} läuft. Wird per {@code @Import} in den Test geholt.
+	 */
+	static class Mitschnitt implements BeanPostProcessor {
+
+		private List<Anweisung> anweisungen;
+
+		List<Anweisung> zeichneAuf(Runnable aufruf) {
+			List<Anweisung> aufgezeichnet = new ArrayList<>();
+			anweisungen = aufgezeichnet;
+			try {
+				aufruf.run();
+			} finally {
+				anweisungen = null;
+			}
+			return aufgezeichnet;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, (method, args) -> {
+				Object ergebnis = aufrufen(dataSource, method, args);
+				return ergebnis instanceof Connection connection ? verbindung(connection) : ergebnis;
+			}) : bean;
+		}
+
+		private Connection verbindung(Connection connection) {
+			return proxy(Connection.class, connection, (method, args) -> {
+				Object ergebnis = aufrufen(connection, method, args);
+				return ergebnis instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+						? anweisung(statement, (String) args[0]) : ergebnis;
+			});
+		}
+
+		private PreparedStatement anweisung(PreparedStatement statement, String sql) {
+			Map<Integer, Object> parameter = new TreeMap<>();
+			return proxy(PreparedStatement.class, statement, (method, args) -> {
+				String name = method.getName();
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+					parameter.put(index, name.equals("setNull") ? null : args[1]);
+				} else if (name.startsWith("execute") && anweisungen != null) {
+					anweisungen.add(new Anweisung(sql, new ArrayList<>(parameter.values())));
+				}
+				return aufrufen(statement, method, args);
+			});
+		}
+
+		private interface Weiterleitung {
+			Object aufrufen(Method method, Object[] args) throws Throwable;
+		}
+
+		private static <T> T proxy(Class<T> typ, T ziel, Weiterleitung weiterleitung) {
+			InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+				case "equals" -> proxy == args[0];
+				case "hashCode" -> System.identityHashCode(proxy);
+				default -> weiterleitung.aufrufen(method, args);
+			};
+			return typ.cast(Proxy.newProxyInstance(typ.getClassLoader(), new Class<?>[]{typ}, handler));
+		}
+
+		private static Object aufrufen(Object ziel, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(ziel, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
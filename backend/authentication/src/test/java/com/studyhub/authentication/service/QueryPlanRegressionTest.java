@@ -0,0 +1,92 @@
+package com.studyhub.authentication.service;
+
+import com.studyhub.authentication.db.AppUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Führt EXPLAIN für jede Abfrage der Repositories auf einem Datensatz realistischer Größe aus und schlägt fehl,
+ * sobald eine davon per Sequential Scan gelesen wird.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, QueryPlanPruefung.Mitschnitt.class})
+@DataJdbcTest
+@ActiveProfiles("test")
+@Sql(scripts = "query_plan_seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class QueryPlanRegressionTest {
+
+	// md5('user42')::uuid
+	private static final UUID USER_ID = UUID.fromString("fd8689cb-8011-3b68-be58-6d8b5a6aa06a");
+
+	private static final QueryPlanPruefung PRUEFUNG = new QueryPlanPruefung(
+			List.of(AppUserRepository.class),
+			Map.ofEntries(
+					entry("username", "'plan_user42'"),
+					entry("userId", "md5('user42')::uuid"),
+					entry("mail", "'user42@mail.de'"),
+					entry("activate", "true"),
+					entry("encodedPassword", "'password'"),
+					entry("newMail", "'neu@mail.de'"),
+					entry("profilbildPath", "'bild.png'")),
+			// lesen bewusst alle Zeilen
+			Set.of("AppUserRepository.findAll", "AppUserRepository.isUserDbHealthy"))
+			.erzeugt("AppUserRepository.findByUsername", AppUserRepository.class, repository -> repository.findByUsername("plan_user42"))
+			.erzeugt("AppUserRepository.findByUserId", AppUserRepository.class, repository -> repository.findByUserId(USER_ID))
+			.erzeugt("AppUserRepository.findByMail", AppUserRepository.class, repository -> repository.findByMail("user42@mail.de"))
+			.erzeugt("AppUserRepository.existsByUsername", AppUserRepository.class, repository -> repository.existsByUsername("plan_user42"));
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ApplicationContext context;
+
+	static Stream<Arguments> abfragen() {
+		return PRUEFUNG.abfragen();
+	}
+
+	static Stream<Arguments> aufrufe() {
+		return PRUEFUNG.aufrufe();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("abfragen")
+	@DisplayName("Keine Abfrage wird auf dem Testdatensatz per Sequential Scan ausgeführt")
+	void test_01(String abfrage, String sql) {
+		QueryPlanPruefung.assertKeinSeqScan(jdbcTemplate, abfrage, sql);
+	}
+
+	@Test
+	@DisplayName("Jede Methode ist durch den Plan-Test abgedeckt und jede Ausnahme gehört zu einer Methode")
+	void test_02() {
+		assertThat(PRUEFUNG.nichtAbgedeckt()).isEmpty();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("aufrufe")
+	@DisplayName("Das von Spring Data JDBC erzeugte SQL liest keine Tabelle per Sequential Scan")
+	void test_03(String methode) {
+		PRUEFUNG.assertKeinSeqScan(context, jdbcTemplate, methode);
+	}
+}
@@ -0,0 +1,6 @@
+-- 50.000 User, davon 5 % mit aktivierten Benachrichtigungen
+INSERT INTO users (user_id, mail, username, password, notification_subscription, accepted_agb, semester)
+SELECT md5('user' || g)::uuid, 'user' || g || '@mail.de', 'plan_user' || g, 'password', g % 20 = 0, true, g % 8 + 1
+FROM generate_series(1, 50000) g;
+
+ANALYZE;
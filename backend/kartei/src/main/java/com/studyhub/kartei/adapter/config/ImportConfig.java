@@ -0,0 +1,21 @@
+package com.studyhub.kartei.adapter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportConfig {
+
+	@Bean
+	public ThreadPoolTaskExecutor karteikarteImportExecutor(@Value("${kartei.import.threads:2}") int threads,
+	                                                        @Value("${kartei.import.queue-capacity:20}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("karteikarte-import-");
+		return executor;
+	}
+}
@@ -0,0 +1,21 @@
+package com.studyhub.kartei.adapter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReviewQueueConfig {
+
+	@Bean
+	public ThreadPoolTaskExecutor reviewQueuePrefetchExecutor(@Value("${kartei.review-queue.prefetch-threads:2}") int threads,
+	                                                          @Value("${kartei.review-queue.prefetch-queue-capacity:50}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("review-queue-prefetch-");
+		return executor;
+	}
+}
@@ -0,0 +1,21 @@
+package com.studyhub.kartei.adapter.config;
+
+import com.studyhub.kartei.domain.model.Scheduler;
+import com.studyhub.kartei.domain.model.Sm2Scheduler;
+import com.studyhub.kartei.domain.model.VerdoppelnderScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchedulerConfig {
+
+	@Bean
+	public Scheduler reviewScheduler(@Value("${kartei.scheduler:verdoppelnd}") String scheduler) {
+		return switch (scheduler) {
+			case "verdoppelnd" -> new VerdoppelnderScheduler();
+			case "sm2" -> new Sm2Scheduler();
+			default -> throw new IllegalStateException("unknown kartei.scheduler '%s', expected 'verdoppelnd' or 'sm2'".formatted(scheduler));
+		};
+	}
+}
@@ -6,14 +6,34 @@ import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface KarteikarteDao extends CrudRepository<KarteikarteDto, Integer> {
 	Optional<KarteikarteDto> findByFachId(UUID fachId);
+	boolean existsByFachId(UUID fachId);
 
 	@Modifying
-	@Query("update karteikarte set lernstufen = :lernstufen where fach_id = :karteId")
+	@Query("update stapel set version = version + 1 where id = (select stapel from karteikarte where fach_id = :karteId)")
+	void incrementStapelVersion(@Param("karteId") UUID karteId);
+
+	@Modifying
+	@Query("with karte as (update karteikarte set lernstufen = :lernstufen where fach_id = :karteId returning stapel) " +
+			"update stapel set version = version + 1 where id in (select stapel from karte)")
 	void updateLernstufen(@Param("lernstufen") String lernstufen,
 	                      @Param("karteId") UUID karteId);
+
+	/**
+	 * Also increments the version of the Stapel, the count is that of the updated Stapel and thus 1 or 0.
+	 */
+	@Modifying
+	@Query("with karte as (update karteikarte set faellig_am = :faelligAm, lernstufen = :lernstufen, was_hard = :wasHard " +
+			"where fach_id = :karteId and stapel = (select id from stapel where fach_id = :stapelId) returning stapel) " +
+			"update stapel set version = version + 1 where id in (select stapel from karte)")
+	int updateReview(@Param("karteId") UUID karteId,
+	                 @Param("stapelId") UUID stapelId,
+	                 @Param("faelligAm") LocalDateTime faelligAm,
+	                 @Param("lernstufen") String lernstufen,
+	                 @Param("wasHard") int wasHard);
 }
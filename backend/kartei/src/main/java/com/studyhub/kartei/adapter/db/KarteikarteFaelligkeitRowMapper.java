@@ -0,0 +1,22 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.service.application.faelligkeit.KarteikarteFaelligkeit;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class KarteikarteFaelligkeitRowMapper implements RowMapper<KarteikarteFaelligkeit> {
+
+	@Override
+	public KarteikarteFaelligkeit mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new KarteikarteFaelligkeit(
+				rs.getString("username"),
+				rs.getObject("stapel_id", UUID.class),
+				rs.getString("name"),
+				rs.getObject("karte_id", UUID.class),
+				rs.getObject("faellig_am", LocalDateTime.class));
+	}
+}
@@ -2,11 +2,14 @@ package com.studyhub.kartei.adapter.db;
 
 import com.studyhub.kartei.adapter.db.dto.KarteikarteGelerntEventDto;
 import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
+import com.studyhub.kartei.service.application.lernzeit.VorraussichtlicheLernzeit;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,4 +30,38 @@ public interface KarteikarteGelerntEventDao extends CrudRepository<KarteikarteGe
 	@Modifying
 	@Query("delete from karteikarte_gelernt_event where stapel_id = :stapelId")
 	void deleteAllByStapelId(@Param("stapelId") UUID stapelId);
+
+	@Modifying
+	@Query("insert into karteikarte_gelernt_event (stapel_id, karteikarte_id, gelernt_am, reviewed_at, seconds_needed) " +
+			"values (:stapelId, :karteikarteId, :gelerntAm, :gelerntAm, :secondsNeeded) " +
+			"on conflict (karteikarte_id, reviewed_at) where reviewed_at is not null do nothing")
+	int insertIfAbsent(@Param("stapelId") UUID stapelId,
+	                   @Param("karteikarteId") UUID karteikarteId,
+	                   @Param("gelerntAm") LocalDateTime gelerntAm,
+	                   @Param("secondsNeeded") int secondsNeeded);
+
+	@Modifying
+	@Query("insert into karteikarte_lernzeit (karteikarte_id, stapel_id, review_count, seconds_sum) " +
+			"values (:karteikarteId, :stapelId, 1, :secondsNeeded) " +
+			"on conflict (karteikarte_id) do update set review_count = karteikarte_lernzeit.review_count + 1, " +
+			"seconds_sum = karteikarte_lernzeit.seconds_sum + excluded.seconds_sum")
+	void incrementLernzeit(@Param("karteikarteId") UUID karteikarteId,
+	                       @Param("stapelId") UUID stapelId,
+	                       @Param("secondsNeeded") int secondsNeeded);
+
+	@Query(value = "select s.fach_id as stapel_id, sum(l.seconds_sum / l.review_count) as sekunden " +
+			"from stapel s join karteikarte k on k.stapel = s.id join karteikarte_lernzeit l on l.karteikarte_id = k.fach_id " +
+			"where s.fach_id in (:stapelIds) and k.faellig_am < :now and l.review_count > 0 " +
+			"group by s.fach_id",
+			rowMapperClass = VorraussichtlicheLernzeitRowMapper.class)
+	List<VorraussichtlicheLernzeit> sumVorraussichtlicheLernzeit(@Param("stapelIds") Collection<UUID> stapelIds,
+	                                                             @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("delete from karteikarte_lernzeit where karteikarte_id = :karteiFachId")
+	void deleteLernzeitByKarteiFachId(@Param("karteiFachId") UUID karteiFachId);
+
+	@Modifying
+	@Query("delete from karteikarte_lernzeit where stapel_id = :stapelId")
+	void deleteLernzeitByStapelId(@Param("stapelId") UUID stapelId);
 }
@@ -3,8 +3,12 @@ package com.studyhub.kartei.adapter.db;
 import com.studyhub.kartei.adapter.db.mapper.KarteikarteGelerntEventMapper;
 import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
 import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
+import com.studyhub.kartei.service.application.lernzeit.VorraussichtlicheLernzeit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,8 +24,19 @@ public class KarteikarteGelerntEventRepoImpl implements KarteikarteGelerntEventR
 	}
 
 	@Override
+	@Transactional
 	public KarteikarteGelerntEvent save(KarteikarteGelerntEvent event) {
-		return toKarteikarteGelerntEvent(dao.save(toKarteikarteGelerntEventDto(event)));
+		KarteikarteGelerntEvent saved = toKarteikarteGelerntEvent(dao.save(toKarteikarteGelerntEventDto(event)));
+		dao.incrementLernzeit(event.getKarteikarteId(), event.getStapelId(), event.getSecondsNeeded());
+		return saved;
+	}
+
+	@Override
+	@Transactional
+	public boolean saveIfAbsent(KarteikarteGelerntEvent event) {
+		if (dao.insertIfAbsent(event.getStapelId(), event.getKarteikarteId(), event.getGelerntAm(), event.getSecondsNeeded()) == 0) return false;
+		dao.incrementLernzeit(event.getKarteikarteId(), event.getStapelId(), event.getSecondsNeeded());
+		return true;
 	}
 
 	@Override
@@ -52,12 +67,22 @@ public class KarteikarteGelerntEventRepoImpl implements KarteikarteGelerntEventR
 	}
 
 	@Override
+	public List<VorraussichtlicheLernzeit> sumVorraussichtlicheLernzeit(Collection<UUID> stapelIds, LocalDateTime now) {
+		if (stapelIds.isEmpty()) return List.of();
+		return dao.sumVorraussichtlicheLernzeit(stapelIds, now);
+	}
+
+	@Override
+	@Transactional
 	public void deleteAllByKarteiFachId(UUID karteiFachId) {
 		dao.deleteAllByKarteiFachId(karteiFachId);
+		dao.deleteLernzeitByKarteiFachId(karteiFachId);
 	}
 
 	@Override
+	@Transactional
 	public void deleteAllByStapelId(UUID stapelId) {
 		dao.deleteAllByStapelId(stapelId);
+		dao.deleteLernzeitByStapelId(stapelId);
 	}
 }
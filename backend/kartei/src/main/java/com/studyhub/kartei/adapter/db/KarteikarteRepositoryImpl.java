@@ -5,6 +5,7 @@ import com.studyhub.kartei.adapter.db.mapper.KarteikarteMapper;
 import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.service.application.KarteikarteRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -19,9 +20,12 @@ public class KarteikarteRepositoryImpl implements KarteikarteRepository {
 	}
 
 	@Override
+	@Transactional
 	public Karteikarte save(Karteikarte karteikarte) {
 		Integer existingKey = dao.findByFachId(karteikarte.getFachId()).map(KarteikarteDto::id).orElse(null);
-		return KarteikarteMapper.toKarteikarte(dao.save(KarteikarteMapper.toKarteikarteDto(karteikarte, existingKey)));
+		Karteikarte saved = KarteikarteMapper.toKarteikarte(dao.save(KarteikarteMapper.toKarteikarteDto(karteikarte, existingKey)));
+		dao.incrementStapelVersion(karteikarte.getFachId());
+		return saved;
 	}
 
 	@Override
@@ -30,8 +34,19 @@ public class KarteikarteRepositoryImpl implements KarteikarteRepository {
 		return karte.map(KarteikarteMapper::toKarteikarte).orElse(null);
 	}
 
+	@Override
+	public boolean existsByFachId(String fachId) {
+		return dao.existsByFachId(UUID.fromString(fachId));
+	}
+
 	@Override
 	public void updateLernstufen(String lernstufen, String karteId) {
 		dao.updateLernstufen(lernstufen, UUID.fromString(karteId));
 	}
+
+	@Override
+	public boolean updateReview(String stapelId, Karteikarte karteikarte) {
+		return dao.updateReview(karteikarte.getFachId(), UUID.fromString(stapelId), karteikarte.getFaelligAm(),
+				karteikarte.getLernstufen(), karteikarte.getWasHard()) > 0;
+	}
 }
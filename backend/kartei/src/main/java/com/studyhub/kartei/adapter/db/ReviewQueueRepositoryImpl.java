@@ -0,0 +1,94 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.domain.model.Antwort;
+import com.studyhub.kartei.domain.model.FrageTyp;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.service.application.review.ReviewKarte;
+import com.studyhub.kartei.service.application.review.ReviewQueueCursor;
+import com.studyhub.kartei.service.application.review.ReviewQueueRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Repository
+public class ReviewQueueRepositoryImpl implements ReviewQueueRepository {
+
+	// pro Stapel nur die ersten Karten über den Index (stapel, faellig_am), sortiert wird je Stapel, nicht über alle
+	static final String FAELLIGE_KARTEIKARTEN_PRO_STAPEL =
+			"select s.fach_id as stapel_id, s.name as stapel_name, k.fach_id, k.frage, k.antwort, k.erstellt_am, " +
+			"k.letzte_aenderung_am, k.faellig_am, k.notiz, k.was_hard, k.frage_typ, k.antwortzeit_sekunden, k.lernstufen " +
+			"from stapel s cross join lateral (select * from karteikarte k where k.stapel = s.id and k.faellig_am < ? %s " +
+			"order by k.faellig_am, k.fach_id limit ?) k " +
+			"where s.username = ? order by s.id, k.faellig_am, k.fach_id";
+	static final String NACH_CURSOR = "and k.faellig_am >= ? and (k.faellig_am > ? or k.fach_id > ?)";
+	static final String ANTWORTEN =
+			"select k.fach_id as karte_id, a.antwort, a.wahrheit, a.karteikarte_key from karteikarte k " +
+			"join antwort a on a.karteikarte = k.id where k.fach_id = any(?) " +
+			"union all " +
+			"select k.fach_id, a.antwort, a.wahrheit, a.karteikarte_key from karteikarte k " +
+			"join antwort a on a.stapel = k.stapel and a.stapel_key = k.stapel_key where k.fach_id = any(?) " +
+			"order by karte_id, karteikarte_key";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public ReviewQueueRepositoryImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public List<List<ReviewKarte>> findFaelligeKarteikartenProStapel(String username, LocalDateTime now, ReviewQueueCursor nach, int anzahlProStapel) {
+		List<Object> args = new ArrayList<>();
+		args.add(Timestamp.valueOf(now));
+		if (nach != null) {
+			Timestamp faelligAm = Timestamp.valueOf(nach.faelligAm());
+			args.addAll(List.of(faelligAm, faelligAm, nach.karteId()));
+		}
+		args.add(anzahlProStapel);
+		args.add(username);
+		String sql = FAELLIGE_KARTEIKARTEN_PRO_STAPEL.formatted(nach == null ? "" : NACH_CURSOR);
+
+		Map<UUID, List<ReviewKarte>> proStapel = new LinkedHashMap<>();
+		jdbcTemplate.query(sql, rs -> {
+			ReviewKarte karte = toReviewKarte(rs);
+			proStapel.computeIfAbsent(karte.stapelId(), id -> new ArrayList<>()).add(karte);
+		}, args.toArray());
+		return new ArrayList<>(proStapel.values());
+	}
+
+	@Override
+	public Map<UUID, List<Antwort>> findAntwortenByKarteIds(Collection<UUID> karteIds) {
+		if (karteIds.isEmpty()) return Map.of();
+		Map<UUID, List<Antwort>> antworten = new HashMap<>();
+		jdbcTemplate.query(ANTWORTEN, ps -> {
+			ps.setArray(1, ps.getConnection().createArrayOf("uuid", karteIds.toArray()));
+			ps.setArray(2, ps.getConnection().createArrayOf("uuid", karteIds.toArray()));
+		}, rs -> {
+			antworten.computeIfAbsent(rs.getObject("karte_id", UUID.class), id -> new ArrayList<>())
+					.add(new Antwort(rs.getString("antwort"), rs.getBoolean("wahrheit")));
+		});
+		return antworten;
+	}
+
+	private static ReviewKarte toReviewKarte(ResultSet rs) throws SQLException {
+		String frageTyp = rs.getString("frage_typ");
+		Karteikarte karteikarte = new Karteikarte(
+				rs.getObject("fach_id", UUID.class),
+				rs.getString("frage"),
+				rs.getString("antwort"),
+				new ArrayList<>(),
+				rs.getObject("erstellt_am", LocalDateTime.class),
+				rs.getObject("letzte_aenderung_am", LocalDateTime.class),
+				rs.getObject("faellig_am", LocalDateTime.class),
+				rs.getString("notiz"),
+				rs.getInt("was_hard"),
+				frageTyp == null ? FrageTyp.NORMAL : FrageTyp.valueOf(frageTyp),
+				rs.getInt("antwortzeit_sekunden"),
+				rs.getString("lernstufen"));
+		return new ReviewKarte(rs.getObject("stapel_id", UUID.class), rs.getString("stapel_name"), karteikarte);
+	}
+}
@@ -0,0 +1,119 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.domain.model.Antwort;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Stapel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of Stapel aggregates keyed by fachId. Every write to a Stapel or one of its Karteikarten increments
+ * {@code stapel.version}, and a cached Stapel is only handed out while its version is still the one in the database.
+ * A hit therefore costs a single primary key read instead of loading the Stapel with all Karteikarten and Antworten,
+ * and writes by other instances invalidate the cache as well. Writers increment the version in the transaction of
+ * their write, a read between two separate commits would otherwise get the cached Stapel from before the write.
+ * Only committed aggregates are cached, and they are copied on the way in and out, so callers may modify them.
+ */
+@Component
+public class StapelCache {
+
+	static final String VERSION = "select version from stapel where fach_id = ?";
+	static final String NEUE_VERSION = "update stapel set version = version + 1 where fach_id = ? returning version";
+
+	private record Eintrag(long version, Stapel stapel) {
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<UUID, Eintrag> eintraege;
+
+	public StapelCache(JdbcTemplate jdbcTemplate, @Value("${kartei.stapel-cache.max-size:500}") int maxSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.eintraege = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<UUID, Eintrag> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	/**
+	 * @param laden loads the Stapel from the database if it is not cached in its current version
+	 * @return a copy of the Stapel, <strong>null</strong> if it does not exist
+	 */
+	public Stapel findByFachId(UUID fachId, Function<UUID, Stapel> laden) {
+		// Version vor dem Aggregat lesen: ist das geladene Aggregat neuer, wird es beim nächsten Zugriff nur unnötig neu geladen
+		Long version = jdbcTemplate.queryForList(VERSION, Long.class, fachId).stream().findFirst().orElse(null);
+		if (version == null) {
+			eintraege.remove(fachId);
+			return null;
+		}
+		Eintrag eintrag = eintraege.get(fachId);
+		if (eintrag != null && eintrag.version() == version) return kopie(eintrag.stapel());
+
+		Stapel stapel = laden.apply(fachId);
+		if (stapel != null) merke(fachId, version, stapel);
+		return stapel;
+	}
+
+	/**
+	 * Increments the version of the written Stapel and caches it once the transaction commits.
+	 */
+	public void geschrieben(Stapel stapel) {
+		Long version = neueVersion(stapel.getFachId());
+		if (version != null) merke(stapel.getFachId(), version, stapel);
+	}
+
+	/**
+	 * Increments the version of a Stapel that was changed without writing the whole aggregate.
+	 */
+	public void geaendert(UUID fachId) {
+		neueVersion(fachId);
+	}
+
+	public void entferne(UUID fachId) {
+		eintraege.remove(fachId);
+	}
+
+	private Long neueVersion(UUID fachId) {
+		eintraege.remove(fachId);
+		return jdbcTemplate.queryForList(NEUE_VERSION, Long.class, fachId).stream().findFirst().orElse(null);
+	}
+
+	/**
+	 * Within a transaction the Stapel is cached after commit, a rolled back write could otherwise be served later
+	 * under a version number that is handed out again.
+	 */
+	private void merke(UUID fachId, long version, Stapel stapel) {
+		Eintrag eintrag = new Eintrag(version, kopie(stapel));
+		Runnable merken = () -> eintraege.merge(fachId, eintrag, (alt, neu) -> alt.version() > neu.version() ? alt : neu);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			merken.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				merken.run();
+			}
+		});
+	}
+
+	private static Stapel kopie(Stapel stapel) {
+		List<Karteikarte> karteikarten = new ArrayList<>(stapel.getKarteikarten().size());
+		for (Karteikarte k : stapel.getKarteikarten()) {
+			List<Antwort> antworten = k.getAntworten() == null ? null
+					: new ArrayList<>(k.getAntworten().stream().map(a -> new Antwort(a.getAntwort(), a.isWahrheit())).toList());
+			karteikarten.add(new Karteikarte(k.getFachId(), k.getFrage(), k.getAntwort(), antworten, k.getErstelltAm(),
+					k.getLetzteAenderungAm(), k.getFaelligAm(), k.getNotiz(), k.getWasHard(), k.getFrageTyp(),
+					k.getAntwortzeitSekunden(), k.getLernstufen()));
+		}
+		return new Stapel(stapel.getFachId(), stapel.getModulFachId(), stapel.getName(), stapel.getBeschreibung(),
+				stapel.getLernIntervalle(), stapel.getUsername(), karteikarten);
+	}
+}
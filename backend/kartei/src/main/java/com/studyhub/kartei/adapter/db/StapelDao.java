@@ -1,7 +1,8 @@
 package com.studyhub.kartei.adapter.db;
 
 import com.studyhub.kartei.adapter.db.dto.StapelDto;
-import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.StapelUebersicht;
+import com.studyhub.kartei.service.application.faelligkeit.KarteikarteFaelligkeit;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -15,14 +16,24 @@ import java.util.UUID;
 public interface StapelDao extends CrudRepository<StapelDto, Integer> {
 	List<StapelDto> findAll();
 	Optional<StapelDto> findByFachId(UUID fachId);
+	boolean existsByFachId(UUID fachId);
 	List<StapelDto> findByUsername(String username);
 
 	int countAllByUsername(String username);
 
-	@Modifying
-	@Query("DELETE FROM stapel WHERE id IN (SELECT ks.id FROM stapel ks JOIN karteikarte k ON ks.id = k.karteikarte_set WHERE k.fach_id = :karteToDelete)")
-	void deleteKarteikarteByFachId(@Param("karteToDelete") UUID karteToDelete);
+	@Query(value = "select s.fach_id, s.name, count(k.stapel) as anzahl_karteikarten, " +
+			"count(k.stapel) filter (where k.faellig_am < :now) as anzahl_faellig, " +
+			"count(k.stapel) filter (where cast(k.erstellt_am as date) = cast(k.faellig_am as date)) as anzahl_neu " +
+			"from stapel s left join karteikarte k on k.stapel = s.id " +
+			"where s.username = :username group by s.id order by s.id",
+			rowMapperClass = StapelUebersichtRowMapper.class)
+	List<StapelUebersicht> findUebersichtByUsername(@Param("username") String username,
+	                                                @Param("now") LocalDateTime now);
 
+	@Query(value = "select s.username, s.fach_id as stapel_id, s.name, k.fach_id as karte_id, k.faellig_am " +
+			"from stapel s left join karteikarte k on k.stapel = s.id",
+			rowMapperClass = KarteikarteFaelligkeitRowMapper.class)
+	List<KarteikarteFaelligkeit> findAllFaelligkeiten();
 
 	@Modifying
 	@Query("delete from stapel where fach_id = :fachId")
@@ -40,8 +51,4 @@ public interface StapelDao extends CrudRepository<StapelDto, Integer> {
 
 	@Query("select 1")
 	Integer isStapelDbHealthy();
-
-	@Query("select * from stapel where (select * from karteikarte where faellig_am < :dateToday)")
-    Stapel findByFachIdWithFaelligeKarten(@Param("stapelfachId") UUID uuid,
-										  @Param("dateToday") LocalDateTime now);
 }
@@ -2,30 +2,58 @@ package com.studyhub.kartei.adapter.db;
 
 import com.studyhub.kartei.adapter.db.dto.StapelDto;
 import com.studyhub.kartei.adapter.db.mapper.StapelMapper;
+import com.studyhub.kartei.domain.model.Antwort;
 import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.domain.model.Stapel;
 import com.studyhub.kartei.service.application.StapelRepository;
+import com.studyhub.kartei.service.application.StapelUebersicht;
+import com.studyhub.kartei.service.application.faelligkeit.KarteikarteFaelligkeit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Repository
 public class StapelRepositoryImpl implements StapelRepository {
 
+	static final String STAPEL_ID =
+			"select id from stapel where fach_id = ?";
+	static final String LOCK_STAPEL =
+			"update stapel set version = version + 1 where fach_id = ? returning id, lern_intervalle";
+	static final String LAST_STAPEL_KEY =
+			"select stapel_key from karteikarte where stapel = ? order by stapel_key desc limit 1";
+	private static final String INSERT_KARTEIKARTE =
+			"insert into karteikarte (fach_id, frage, antwort, erstellt_am, letzte_aenderung_am, faellig_am, notiz, was_hard, " +
+			"frage_typ, antwortzeit_sekunden, lernstufen, stapel, stapel_key) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_ANTWORT =
+			"insert into antwort (antwort, wahrheit, stapel, stapel_key, karteikarte_key) values (?, ?, ?, ?, ?)";
+
 	private StapelDao dao;
+	private final JdbcTemplate jdbcTemplate;
+	private final StapelCache cache;
 
-	public StapelRepositoryImpl(StapelDao dao) {
+	public StapelRepositoryImpl(StapelDao dao, JdbcTemplate jdbcTemplate, StapelCache cache) {
 		this.dao = dao;
+		this.jdbcTemplate = jdbcTemplate;
+		this.cache = cache;
 	}
 
 	@Override
+	@Transactional
 	public Stapel save(Stapel set) {
+		// nur den Schlüssel lesen, nicht das ganze Aggregat
 		Integer existingDbKey =
-				dao.findByFachId(set.getFachId()).map(StapelDto::id).orElse(null);
-		return StapelMapper.toStapel(dao.save(StapelMapper.toStapelDto(existingDbKey, set)));
+				jdbcTemplate.queryForList(STAPEL_ID, Integer.class, set.getFachId()).stream().findFirst().orElse(null);
+		Stapel saved = StapelMapper.toStapel(dao.save(StapelMapper.toStapelDto(existingDbKey, set)));
+		cache.geschrieben(saved);
+		return saved;
 	}
 
 	@Override
@@ -35,13 +63,12 @@ public class StapelRepositoryImpl implements StapelRepository {
 
 	@Override
 	public Stapel findByFachId(UUID fachId) {
-		Optional<StapelDto> set = dao.findByFachId(fachId);
-		return set.map(StapelMapper::toStapel).orElse(null);
+		return cache.findByFachId(fachId, id -> dao.findByFachId(id).map(StapelMapper::toStapel).orElse(null));
 	}
 
 	@Override
-	public void deleteKarteikarteByFachid(UUID karteToDelete) {
-		dao.deleteKarteikarteByFachId(karteToDelete);
+	public boolean existsByFachId(UUID fachId) {
+		return dao.existsByFachId(fachId);
 	}
 
 	@Override
@@ -52,11 +79,14 @@ public class StapelRepositoryImpl implements StapelRepository {
 	@Override
 	public void deleteKarteiSet(String karteiSetId) {
 		dao.deleteByFachId(UUID.fromString(karteiSetId));
+		cache.entferne(UUID.fromString(karteiSetId));
 	}
 
 	@Override
+	@Transactional
 	public void changeSetName(String karteiSetId, String newSetName) {
 		dao.changeSetName(UUID.fromString(karteiSetId), newSetName);
+		cache.geaendert(UUID.fromString(karteiSetId));
 	}
 
 	@Override
@@ -65,26 +95,64 @@ public class StapelRepositoryImpl implements StapelRepository {
 	}
 
 	@Override
+	@Transactional
 	public void deleteAllKarteikartenOfSet(String karteiSetId) {
 		StapelDto set = dao.findByFachId(UUID.fromString(karteiSetId)).get();
 		List<Karteikarte> karteikarten = set.karteikarten();
 		karteikarten.clear();
 		dao.save(set);
+		cache.geaendert(set.fachId());
 	}
 
 	@Override
+	@Transactional
 	public void updateLernIntervalle(String newLernIntervalle, UUID stapelFachId) {
 		dao.updateLernIntervalle(newLernIntervalle, stapelFachId);
+		cache.geaendert(stapelFachId);
 	}
 
 	@Override
 	public int updateSetWithNewKarteikarte(String karteiSetId, Karteikarte karteikarte) {
-		Stapel stapel = StapelMapper.toStapel(dao.findByFachId(UUID.fromString(karteiSetId)).get());
-		karteikarte.setLernstufen(stapel.getLernIntervalle());
-		stapel.addKarteikarte(karteikarte);
-		Stapel s = save(stapel);
-		if(s == null) return 0;
-		return 1;
+		return appendKarteikarten(karteiSetId, List.of(karteikarte));
+	}
+
+	/**
+	 * Appends the Karteikarten to the end of the Stapel with batch inserts, leaving its existing karteikarte and
+	 * antwort rows untouched. New Karteikarten start with the lernIntervalle of the Stapel. Rows follow the layout
+	 * of the Stapel aggregate (antworten keyed by {@code stapel} and {@code stapel_key}), so they load like saved
+	 * Karteikarten. Incrementing the version locks the stapel row, so that concurrent appends cannot hand out the same
+	 * {@code stapel_key}.
+	 * @return the number of appended Karteikarten, <strong>0</strong> if the Stapel does not exist
+	 */
+	@Override
+	@Transactional
+	public int appendKarteikarten(String stapelId, List<Karteikarte> karteikarten) {
+		if (karteikarten.isEmpty()) return 0;
+		List<Map<String, Object>> stapel = jdbcTemplate.queryForList(LOCK_STAPEL, UUID.fromString(stapelId));
+		if (stapel.isEmpty()) return 0;
+		cache.entferne(UUID.fromString(stapelId));
+
+		int stapelDbId = (Integer) stapel.get(0).get("id");
+		String lernIntervalle = (String) stapel.get(0).get("lern_intervalle");
+		int nextKey = jdbcTemplate.queryForList(LAST_STAPEL_KEY, Integer.class, stapelDbId).stream().findFirst().map(k -> k + 1).orElse(0);
+
+		List<Object[]> karteikarteArgs = new ArrayList<>();
+		List<Object[]> antwortArgs = new ArrayList<>();
+		for (Karteikarte k : karteikarten) {
+			k.setLernstufen(lernIntervalle);
+			int stapelKey = nextKey++;
+			karteikarteArgs.add(new Object[]{k.getFachId(), k.getFrage(), k.getAntwort(),
+					Timestamp.valueOf(k.getErstelltAm()), Timestamp.valueOf(k.getLetzteAenderungAm()), Timestamp.valueOf(k.getFaelligAm()),
+					k.getNotiz(), k.getWasHard(), k.getFrageTyp() == null ? null : k.getFrageTyp().name(), k.getAntwortzeitSekunden(), k.getLernstufen(),
+					stapelDbId, stapelKey});
+			List<Antwort> antworten = k.getAntworten() == null ? List.of() : k.getAntworten();
+			for (int i = 0; i < antworten.size(); i++) {
+				antwortArgs.add(new Object[]{antworten.get(i).getAntwort(), antworten.get(i).isWahrheit(), stapelDbId, stapelKey, i});
+			}
+		}
+		jdbcTemplate.batchUpdate(INSERT_KARTEIKARTE, karteikarteArgs);
+		jdbcTemplate.batchUpdate(INSERT_ANTWORT, antwortArgs);
+		return karteikarten.size();
 	}
 
 	@Override
@@ -92,6 +160,16 @@ public class StapelRepositoryImpl implements StapelRepository {
 		return dao.findByUsername(username).stream().map(StapelMapper::toStapel).toList();
 	}
 
+	@Override
+	public List<StapelUebersicht> findUebersichtByUsername(String username, LocalDateTime now) {
+		return dao.findUebersichtByUsername(username, now);
+	}
+
+	@Override
+	public List<KarteikarteFaelligkeit> findAllFaelligkeiten() {
+		return dao.findAllFaelligkeiten();
+	}
+
 	@Override
 	public boolean isStapelDbHealthy() {
 		Integer result = dao.isStapelDbHealthy();
@@ -101,5 +179,6 @@ public class StapelRepositoryImpl implements StapelRepository {
 	@Override
 	public void deleteStapelByFachId(UUID fachId) {
 		dao.deleteByFachId(fachId);
+		cache.entferne(fachId);
 	}
 }
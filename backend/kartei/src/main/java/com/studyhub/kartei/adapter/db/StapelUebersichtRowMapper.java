@@ -0,0 +1,21 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.service.application.StapelUebersicht;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+public class StapelUebersichtRowMapper implements RowMapper<StapelUebersicht> {
+
+	@Override
+	public StapelUebersicht mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new StapelUebersicht(
+				rs.getObject("fach_id", UUID.class),
+				rs.getString("name"),
+				rs.getInt("anzahl_karteikarten"),
+				rs.getInt("anzahl_faellig"),
+				rs.getInt("anzahl_neu"));
+	}
+}
@@ -0,0 +1,16 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.service.application.lernzeit.VorraussichtlicheLernzeit;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+public class VorraussichtlicheLernzeitRowMapper implements RowMapper<VorraussichtlicheLernzeit> {
+
+	@Override
+	public VorraussichtlicheLernzeit mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new VorraussichtlicheLernzeit(rs.getObject("stapel_id", UUID.class), rs.getInt("sekunden"));
+	}
+}
@@ -2,9 +2,14 @@ package com.studyhub.kartei.adapter.web.controller.api;
 
 import com.studyhub.kartei.adapter.web.controller.request.dto.*;
 import com.studyhub.kartei.domain.model.Karteikarte;
-import com.studyhub.kartei.domain.model.Stapel;
 import com.studyhub.kartei.service.application.*;
+import com.studyhub.kartei.service.application.review.ReviewQueueCursor;
+import com.studyhub.kartei.service.application.review.ReviewQueueReihenfolge;
+import com.studyhub.kartei.service.application.review.ReviewQueueSeite;
+import com.studyhub.kartei.service.application.review.ReviewQueueService;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.PatternSyntaxException;
@@ -23,12 +29,17 @@ public class KarteikarteApiController {
 	private final StapelService stapelService;
 	private final KarteikarteService karteikarteService;
 	private final KarteikarteImportService karteikarteImportService;
+	private final KarteikarteImportJobService karteikarteImportJobService;
+	private final ReviewQueueService reviewQueueService;
 	private final JWTService jwtService;
 
-	public KarteikarteApiController(StapelService stapelService, KarteikarteService karteikarteService, KarteikarteImportService karteikarteImportService, JWTService jwtService) {
+	public KarteikarteApiController(StapelService stapelService, KarteikarteService karteikarteService, KarteikarteImportService karteikarteImportService, KarteikarteImportJobService karteikarteImportJobService,
+	                                ReviewQueueService reviewQueueService, JWTService jwtService) {
 		this.stapelService = stapelService;
         this.karteikarteService = karteikarteService;
         this.karteikarteImportService = karteikarteImportService;
+		this.karteikarteImportJobService = karteikarteImportJobService;
+		this.reviewQueueService = reviewQueueService;
 		this.jwtService = jwtService;
 	}
 
@@ -62,6 +73,11 @@ public class KarteikarteApiController {
 		return ResponseEntity.status(HttpStatus.OK).build();
 	}
 
+	@PostMapping("/update-karteikarten")
+	public ResponseEntity<List<ReviewErgebnis>> updateKarteikarten(@RequestBody List<UpdateInfo> reviews) {
+		return ResponseEntity.ok(karteikarteService.updateKarteikartenForNextReview(reviews));
+	}
+
 	@PutMapping("/edit-karte-normal")
 	public ResponseEntity<Void> editNormaleKarte(@RequestBody EditNormalKarteikarteRequest editRequest) {
 		karteikarteService.editNormalKarteikarte(editRequest);
@@ -109,10 +125,47 @@ public class KarteikarteApiController {
         return ResponseEntity.ok("Karteikarten erfolgreich importiert");
 	}
 
+	@PostMapping(value = "/import-jobs", consumes = {"text/csv", "text/plain"})
+	public ResponseEntity<KarteikarteImportJobStatus> starteImportJob(HttpServletRequest request,
+	                                                                  @RequestParam("stapelId") String stapelId) {
+		String username = jwtService.extractUsernameFromHeader(request);
+		try {
+			KarteikarteImportJob job = karteikarteImportJobService.starteImport(request.getInputStream(), stapelId, username);
+			return ResponseEntity.accepted().body(job.toStatus());
+		} catch (InvalidFileException e) {
+			return ResponseEntity.badRequest().build();
+		} catch (ImportTooLargeException e) {
+			return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+		} catch (TaskRejectedException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		} catch (IOException e) {
+			return ResponseEntity.internalServerError().build();
+		}
+	}
+
+	@GetMapping("/import-jobs/{jobId}")
+	public ResponseEntity<KarteikarteImportJobStatus> getImportJob(HttpServletRequest request, @PathVariable("jobId") UUID jobId) {
+		String username = jwtService.extractUsernameFromHeader(request);
+		return karteikarteImportJobService.findJob(jobId, username)
+				.map(job -> ResponseEntity.ok(job.toStatus()))
+				.orElse(ResponseEntity.notFound().build());
+	}
+
+	@GetMapping("/review-queue")
+	public ResponseEntity<ReviewQueueSeite> getReviewQueue(HttpServletRequest request,
+	                                                       @RequestParam(value = "groesse", defaultValue = "20") int groesse,
+	                                                       @RequestParam(value = "reihenfolge", defaultValue = "FAELLIGKEIT") ReviewQueueReihenfolge reihenfolge,
+	                                                       @RequestParam(value = "nachFaelligAm", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime nachFaelligAm,
+	                                                       @RequestParam(value = "nachKarteId", required = false) UUID nachKarteId) {
+		if ((nachFaelligAm == null) != (nachKarteId == null)) return ResponseEntity.badRequest().build();
+		String username = jwtService.extractUsernameFromHeader(request);
+		ReviewQueueCursor nach = nachFaelligAm == null ? null : new ReviewQueueCursor(nachFaelligAm, nachKarteId);
+		return ResponseEntity.ok(reviewQueueService.findReviewQueue(username, nach, groesse, reihenfolge));
+	}
+
 	@GetMapping("/has-karteikartenstapel")
 	public ResponseEntity<Boolean> hasLernSessions(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		List<Stapel> data = stapelService.findByUsername(username);
-		return ResponseEntity.ok(!data.isEmpty());
+		return ResponseEntity.ok(stapelService.areKarteiSetsAvailableByUsername(username));
 	}
 }
\ No newline at end of file
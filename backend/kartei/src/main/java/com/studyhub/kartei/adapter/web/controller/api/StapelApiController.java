@@ -42,6 +42,11 @@ public class StapelApiController {
 		return responseMap;
 	}
 
+	@GetMapping("/get-faelligeKarten-by-user")
+	public Map<String, Map<String, Integer>> getFaelligeKartenByUser() {
+		return stapelService.getAnzahlFaelligeKartenProUser(LocalDateTime.now());
+	}
+
 	@GetMapping("/sets-available")
 	public ResponseEntity<Boolean> setsAvailable(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
@@ -51,9 +56,7 @@ public class StapelApiController {
 	@GetMapping("/get-all-stapel-by-username")
 	public ResponseEntity<List<StapelDashboardDataResponse>> getSetsByUsername(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		System.out.println(username);
-		List<Stapel> stapel = stapelService.findByUsername(username);
-		List<StapelDashboardDataResponse> res = stapelService.prepareDashboardInfo(stapel);
+		List<StapelDashboardDataResponse> res = stapelService.prepareDashboardInfo(username);
 		return ResponseEntity.ok(res);
 	}
 
@@ -9,7 +9,6 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 @Getter
 @Setter
@@ -82,47 +81,20 @@ public class Karteikarte {
 	}
 
 	/**
-	 * Method updates the lernstufe of the Karteikarte.
-	 * @param schwierigkeit is the difficulty which the user has decided to answer the question
-	 * @return the updated lernstufen-String i.e. '2m,2h,2d', NORMAL -> '2h,2d,4d' - '2m,2h,2d', EASY -> '2d,4d,8d'
+	 * Schedules the next review after the Karteikarte was answered: sets faelligAm, moves the lernstufen on and
+	 * counts a HARD answer. The lernstufen are parsed once and handed to the scheduler in their packed form.
+	 * @param now is the time of the review
+	 * @return the new faelligAm
 	 */
-	public boolean updateLernstufen(Schwierigkeit schwierigkeit) {
-
-		String[] lernstufen = this.lernstufen.split(",");
-		StringBuilder lernstufenBuilder = new StringBuilder();
-
-		switch (schwierigkeit) {
-			case NORMAL -> {
-				String normalStufe = lernstufen[1];
-				lernstufenBuilder.append(normalStufe).append(",");
-				lernstufenBuilder.append(lernstufen[2]).append(",");
-				String toDouble = lernstufen[2];
-				int time2 = Integer.parseInt(toDouble.substring(0, toDouble.length() - 1));
-				char unit2 = toDouble.charAt(toDouble.length() - 1);
-				int doubledTime = time2 * 2;
-				lernstufenBuilder.append(doubledTime).append(unit2);
-			}
-
-			case EASY -> {
-				String easyStufe = lernstufen[2];
-				int time = Integer.parseInt(easyStufe.substring(0, easyStufe.length() - 1));
-				char unit = easyStufe.charAt(easyStufe.length() - 1);
-				lernstufenBuilder.append(easyStufe).append(",");
-				int time2 = time * 2;
-				int time3 = time2 * 2;
-				lernstufenBuilder.append(time2).append(unit).append(",").append(time3).append(unit);
-
-				for(int i = 3; i < lernstufen.length; i++) {
-					time3 *=  2;
-					lernstufenBuilder.append(",").append(time3).append(unit);
-					if(i != lernstufen.length-1) lernstufenBuilder.append(",");
-				}
-			}
-		}
-
-		if(schwierigkeit != Schwierigkeit.HARD) setLernstufen(lernstufenBuilder.toString());
-
-		return true;
+	public LocalDateTime planeNaechstesReview(Scheduler scheduler, Schwierigkeit schwierigkeit, LocalDateTime now) {
+		Lernstufen stufen = Lernstufen.parse(lernstufen);
+		long minuten = scheduler.intervallMinuten(stufen, schwierigkeit, wasHard);
+		scheduler.naechsteLernstufen(stufen, schwierigkeit, wasHard);
+		if (schwierigkeit == Schwierigkeit.HARD) karteikarteWasHard();
+
+		this.lernstufen = stufen.toString();
+		this.faelligAm = now.plusMinutes(minuten);
+		return faelligAm;
 	}
 
 	/**
@@ -140,12 +112,7 @@ public class Karteikarte {
 	 * @return <strong>true</strong> if the lernstufe is valid, <strong>false</strong> otherwise.
 	 */
 	public boolean validLernstufen(String lernstufen) {
-		System.out.println("validating: " + lernstufen);
-		if (lernstufen == null || lernstufen.isBlank()) return false;
-		String regex = "^(?:(?:[1-9][0-9]*m|[1-9][0-9]*h|[1-9][0-9]*d)(?:,(?:[1-9][0-9]*m|[1-9][0-9]*h|[1-9][0-9]*d))*)$";
-		boolean b = Pattern.compile(regex).matcher(lernstufen).matches();
-		System.out.println("after regex matching: " + b);
-		return Pattern.compile(regex).matcher(lernstufen).matches();
+		return Lernstufen.isValid(lernstufen);
 	}
 
 	/**
@@ -155,8 +122,6 @@ public class Karteikarte {
 	 * @throws AggregateInconsistencyException if the lernstufen are invalid.
 	 */
 	public void setLernstufen(String lernstufen) {
-		System.out.println(lernstufen);
-		System.out.println(validLernstufen(lernstufen));
 		if (!validLernstufen(lernstufen)) throw new AggregateInconsistencyException("wanted lernstufen <%s> was rejected due to incorrect format".formatted(lernstufen));
 		this.lernstufen = lernstufen;
 	}
@@ -0,0 +1,156 @@
+package com.studyhub.kartei.domain.model;
+
+/**
+ * Compact form of a lernstufen String like '10m,10h,10d'. Every Lernstufe is packed into one int, its value in the
+ * upper bits and its time unit in the lowest two bits, so the unit chosen by the user survives a review.
+ * A {@link Scheduler} reads and moves the Lernstufen in place; only {@link #parse(String)} and {@link #toString()}
+ * allocate.
+ */
+public final class Lernstufen {
+
+	public static final int MINUTEN = 0;
+	public static final int STUNDEN = 1;
+	public static final int TAGE = 2;
+
+	/** Largest value of a single Lernstufe, larger values are capped when a Scheduler grows them. */
+	public static final int MAX_WERT = (1 << 29) - 1;
+
+	private static final char[] EINHEITEN = {'m', 'h', 'd'};
+	private static final int[] MINUTEN_PRO_EINHEIT = {1, 60, 24 * 60};
+	private static final int MIN_KAPAZITAET = 3;
+
+	private final int[] stufen;
+	private int anzahl;
+
+	private Lernstufen(int kapazitaet) {
+		this.stufen = new int[Math.max(kapazitaet, MIN_KAPAZITAET)];
+	}
+
+	/**
+	 * @throws AggregateInconsistencyException if the lernstufen are not in the format '10m,10h,10d'
+	 */
+	public static Lernstufen parse(String lernstufen) {
+		int anzahl = zaehle(lernstufen);
+		if (anzahl == 0) throw new AggregateInconsistencyException("wanted lernstufen <%s> was rejected due to incorrect format".formatted(lernstufen));
+
+		Lernstufen parsed = new Lernstufen(anzahl);
+		int wert = 0;
+		for (int i = 0; i < lernstufen.length(); i++) {
+			char c = lernstufen.charAt(i);
+			if (c >= '0' && c <= '9') {
+				wert = wert * 10 + (c - '0');
+			} else if (c != ',') {
+				parsed.stufen[parsed.anzahl++] = pack(wert, einheit(c));
+				wert = 0;
+			}
+		}
+		return parsed;
+	}
+
+	/**
+	 * Checks the format without allocating: values without leading zeros, each followed by m, h or d, separated by ','.
+	 */
+	public static boolean isValid(CharSequence lernstufen) {
+		return zaehle(lernstufen) > 0;
+	}
+
+	/**
+	 * @return the number of Lernstufen, 0 if the format is invalid
+	 */
+	private static int zaehle(CharSequence lernstufen) {
+		if (lernstufen == null || lernstufen.isEmpty()) return 0;
+		int anzahl = 0;
+		int ziffern = 0;
+		long wert = 0;
+		for (int i = 0; i < lernstufen.length(); i++) {
+			char c = lernstufen.charAt(i);
+			if (c >= '0' && c <= '9') {
+				if (ziffern == 0 && c == '0') return 0;
+				wert = wert * 10 + (c - '0');
+				if (wert > MAX_WERT) return 0;
+				ziffern++;
+			} else if (einheit(c) >= 0) {
+				if (ziffern == 0) return 0;
+				anzahl++;
+				ziffern = 0;
+				wert = 0;
+				if (i + 1 < lernstufen.length() && lernstufen.charAt(i + 1) != ',') return 0;
+			} else if (c == ',') {
+				if (i == 0 || i + 1 == lernstufen.length() || einheit(lernstufen.charAt(i - 1)) < 0) return 0;
+			} else {
+				return 0;
+			}
+		}
+		return ziffern == 0 ? anzahl : 0;
+	}
+
+	private static int einheit(char c) {
+		return switch (c) {
+			case 'm' -> MINUTEN;
+			case 'h' -> STUNDEN;
+			case 'd' -> TAGE;
+			default -> -1;
+		};
+	}
+
+	private static int pack(int wert, int einheit) {
+		return wert << 2 | einheit;
+	}
+
+	public int anzahl() {
+		return anzahl;
+	}
+
+	/**
+	 * @return the value of the Lernstufe at the index, the last Lernstufe if there are fewer
+	 */
+	public int wert(int index) {
+		return stufen[Math.min(index, anzahl - 1)] >>> 2;
+	}
+
+	/**
+	 * @return the time unit of the Lernstufe at the index, the last Lernstufe if there are fewer
+	 */
+	public int einheit(int index) {
+		return stufen[Math.min(index, anzahl - 1)] & 3;
+	}
+
+	public long minuten(int index) {
+		return (long) wert(index) * MINUTEN_PRO_EINHEIT[einheit(index)];
+	}
+
+	/**
+	 * Sets the Lernstufe at the index, which may be one past the last Lernstufe as long as the capacity allows.
+	 * Values above {@link #MAX_WERT} are capped, values below 1 are raised to 1.
+	 */
+	public void setze(int index, long wert, int einheit) {
+		if (index > anzahl || index >= stufen.length) throw new IndexOutOfBoundsException(index);
+		stufen[index] = pack((int) Math.max(1, Math.min(wert, MAX_WERT)), einheit);
+		if (index == anzahl) anzahl++;
+	}
+
+	/**
+	 * @return how many Lernstufen fit without allocating, at least three
+	 */
+	public int kapazitaet() {
+		return stufen.length;
+	}
+
+	public void kuerzeAuf(int anzahl) {
+		if (anzahl < 1 || anzahl > this.anzahl) throw new IndexOutOfBoundsException(anzahl);
+		this.anzahl = anzahl;
+	}
+
+	/**
+	 * @return the lernstufen String, i.e. '10m,10h,10d'
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(anzahl * 5);
+		for (int i = 0; i < anzahl; i++) {
+			if (i > 0) builder.append(',');
+			builder.append(wert(i)).append(EINHEITEN[einheit(i)]);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,21 @@
+package com.studyhub.kartei.domain.model;
+
+/**
+ * Strategy that decides when a reviewed Karteikarte is fällig again and how its Lernstufen move on.
+ * Implementations work on the packed {@link Lernstufen} in place and must not allocate, so a review only pays for
+ * parsing and formatting the lernstufen String once.
+ */
+public interface Scheduler {
+
+	/**
+	 * @param wasHard is how often the Karteikarte was answered with {@link Schwierigkeit#HARD} before this review
+	 * @return the minutes until the Karteikarte is fällig again
+	 */
+	long intervallMinuten(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard);
+
+	/**
+	 * Moves the Lernstufen on after the review, in place.
+	 * @param wasHard is how often the Karteikarte was answered with {@link Schwierigkeit#HARD} before this review
+	 */
+	void naechsteLernstufen(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard);
+}
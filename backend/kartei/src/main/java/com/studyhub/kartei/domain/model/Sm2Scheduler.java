@@ -0,0 +1,42 @@
+package com.studyhub.kartei.domain.model;
+
+/**
+ * Variant of SM-2. The Lernstufen are the relearning step, the current interval and the interval for an easy
+ * answer. NORMAL and EASY grow the interval by the ease factor, HARD falls back to the relearning step.
+ * <p>
+ * SM-2 stores the ease factor per Karteikarte. Here it is derived from wasHard: it starts at 2.5 and every HARD
+ * answer lowers it by 0.14, the amount SM-2 subtracts for a correct but difficult answer, down to 1.3.
+ */
+public class Sm2Scheduler implements Scheduler {
+
+	static final double START_EASE = 2.5;
+	static final double MIN_EASE = 1.3;
+	static final double EASE_ABZUG_HARD = 0.14;
+	static final double EASY_BONUS = 1.3;
+
+	static double ease(int wasHard) {
+		return Math.max(MIN_EASE, START_EASE - EASE_ABZUG_HARD * wasHard);
+	}
+
+	@Override
+	public long intervallMinuten(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard) {
+		return lernstufen.minuten(schwierigkeit == Schwierigkeit.HARD ? 0 : schwierigkeit == Schwierigkeit.NORMAL ? 1 : 2);
+	}
+
+	@Override
+	public void naechsteLernstufen(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard) {
+		if (schwierigkeit == Schwierigkeit.HARD) return;
+
+		int basis = schwierigkeit == Schwierigkeit.NORMAL ? 1 : 2;
+		int wert = lernstufen.wert(basis), einheit = lernstufen.einheit(basis);
+		int relernen = lernstufen.wert(0), relernenEinheit = lernstufen.einheit(0);
+		double ease = ease(wasHard);
+		long intervall = Math.max(wert + 1L, Math.round(wert * ease));
+		long easy = Math.max(intervall + 1, Math.round(intervall * EASY_BONUS));
+
+		lernstufen.setze(0, relernen, relernenEinheit);
+		lernstufen.setze(1, intervall, einheit);
+		lernstufen.setze(2, easy, einheit);
+		lernstufen.kuerzeAuf(3);
+	}
+}
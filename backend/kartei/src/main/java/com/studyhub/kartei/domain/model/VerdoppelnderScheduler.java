@@ -0,0 +1,40 @@
+package com.studyhub.kartei.domain.model;
+
+/**
+ * The Lernstufen are the intervals for HARD, NORMAL and EASY. An answer moves the Lernstufen on to the chosen one
+ * and doubles the last, i.e. '10m,4h,2d' NORMAL -> '4h,2d,4d' and EASY -> '2d,4d,8d'. HARD keeps them.
+ */
+public class VerdoppelnderScheduler implements Scheduler {
+
+	@Override
+	public long intervallMinuten(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard) {
+		return lernstufen.minuten(schwierigkeit == Schwierigkeit.HARD ? 0 : schwierigkeit == Schwierigkeit.NORMAL ? 1 : 2);
+	}
+
+	@Override
+	public void naechsteLernstufen(Lernstufen lernstufen, Schwierigkeit schwierigkeit, int wasHard) {
+		switch (schwierigkeit) {
+			case HARD -> {
+			}
+			// nur drei Stufen bleiben übrig: normal, easy und das doppelte von easy
+			case NORMAL -> {
+				int normal = lernstufen.wert(1), normalEinheit = lernstufen.einheit(1);
+				int easy = lernstufen.wert(2), easyEinheit = lernstufen.einheit(2);
+				lernstufen.setze(0, normal, normalEinheit);
+				lernstufen.setze(1, easy, easyEinheit);
+				lernstufen.setze(2, 2L * easy, easyEinheit);
+				lernstufen.kuerzeAuf(3);
+			}
+			// alle Stufen werden zu Verdopplungen von easy, die Anzahl bleibt
+			case EASY -> {
+				int easy = lernstufen.wert(2), einheit = lernstufen.einheit(2);
+				int anzahl = Math.max(lernstufen.anzahl(), 3);
+				long wert = easy;
+				for (int i = 0; i < anzahl; i++) {
+					lernstufen.setze(i, wert, einheit);
+					wert = Math.min(2 * wert, Lernstufen.MAX_WERT);
+				}
+			}
+		}
+	}
+}
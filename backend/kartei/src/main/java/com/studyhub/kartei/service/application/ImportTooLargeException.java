@@ -0,0 +1,7 @@
+package com.studyhub.kartei.service.application;
+
+public class ImportTooLargeException extends RuntimeException {
+	public ImportTooLargeException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,75 @@
+package com.studyhub.kartei.service.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a background import of Karteikarten into a Stapel. The job is written by the import thread and read
+ * by status requests, so every access is synchronized; {@link #toStatus()} returns a consistent snapshot.
+ */
+public class KarteikarteImportJob {
+
+	public enum Status { LAEUFT, ABGESCHLOSSEN, FEHLGESCHLAGEN }
+
+	public record Fehler(long zeile, String grund) {}
+
+	static final int MAX_FEHLER = 100;
+
+	private final UUID jobId;
+	private final String stapelId;
+	private final String username;
+	private Status status = Status.LAEUFT;
+	private long gelesen;
+	private long importiert;
+	private long fehlerhaft;
+	private final List<Fehler> fehler = new ArrayList<>();
+	private String meldung;
+
+	public KarteikarteImportJob(String stapelId, String username) {
+		this.jobId = UUID.randomUUID();
+		this.stapelId = stapelId;
+		this.username = username;
+	}
+
+	public UUID getJobId() {
+		return jobId;
+	}
+
+	public String getStapelId() {
+		return stapelId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public synchronized void zeileGelesen() {
+		gelesen++;
+	}
+
+	public synchronized void importiert(int anzahl) {
+		importiert += anzahl;
+	}
+
+	/**
+	 * Records an invalid line. Only the first {@value #MAX_FEHLER} lines are kept with their reason, the rest is counted.
+	 */
+	public synchronized void fehlerhafteZeile(long zeile, String grund) {
+		fehlerhaft++;
+		if (fehler.size() < MAX_FEHLER) fehler.add(new Fehler(zeile, grund));
+	}
+
+	public synchronized void abgeschlossen() {
+		status = Status.ABGESCHLOSSEN;
+	}
+
+	public synchronized void fehlgeschlagen(String meldung) {
+		this.status = Status.FEHLGESCHLAGEN;
+		this.meldung = meldung;
+	}
+
+	public synchronized KarteikarteImportJobStatus toStatus() {
+		return new KarteikarteImportJobStatus(jobId, stapelId, status, gelesen, importiert, fehlerhaft, List.copyOf(fehler), meldung);
+	}
+}
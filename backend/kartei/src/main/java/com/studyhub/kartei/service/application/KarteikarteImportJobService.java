@@ -0,0 +1,163 @@
+package com.studyhub.kartei.service.application;
+
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Imports large Karteikarten files as background jobs. The upload is spooled to a temporary file, then read line by
+ * line and appended to the Stapel in batches of {@value #BATCH_SIZE}, so neither the file nor all Karteikarten are
+ * held in memory. Invalid lines are skipped and reported on the job instead of aborting the import.
+ * <p>
+ * The upload is read from the raw request body rather than a multipart request, so its size limit
+ * ({@code kartei.import.max-file-size}) applies to this import only and not to every endpoint of the service.
+ * <p>
+ * Jobs are kept in memory only, at most the {@value #MAX_JOBS} most recent ones. They are lost on restart and are only
+ * visible on the instance that runs them, so a client that gets 404 for a job it started has to check the Stapel itself.
+ */
+@Service
+public class KarteikarteImportJobService {
+
+	static final int BATCH_SIZE = 1_000;
+	private static final int MAX_JOBS = 1_000;
+
+	private final StapelRepository stapelRepository;
+	private final Executor executor;
+	private final FaelligkeitsIndexService faelligkeitsIndex;
+	private final long maxDateigroesse;
+	private final Map<UUID, KarteikarteImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<UUID, KarteikarteImportJob> eldest) {
+			return size() > MAX_JOBS;
+		}
+	});
+
+	private final Logger log = LoggerFactory.getLogger(KarteikarteImportJobService.class);
+
+	public KarteikarteImportJobService(StapelRepository stapelRepository,
+	                                   @Qualifier("karteikarteImportExecutor") Executor executor,
+	                                   FaelligkeitsIndexService faelligkeitsIndex,
+	                                   @Value("${kartei.import.max-file-size:64MB}") DataSize maxDateigroesse) {
+		this.stapelRepository = stapelRepository;
+		this.executor = executor;
+		this.faelligkeitsIndex = faelligkeitsIndex;
+		this.maxDateigroesse = maxDateigroesse.toBytes();
+	}
+
+	/**
+	 * Spools the upload to a temporary file and starts the import in the background.
+	 * @return the started job, whose progress can be queried by its owner with {@link #findJob(UUID, String)}
+	 * @throws ImportTooLargeException if the upload exceeds {@code kartei.import.max-file-size}
+	 */
+	public KarteikarteImportJob starteImport(InputStream upload, String stapelId, String username) throws IOException {
+		Path datei = Files.createTempFile("karteikarte-import-", ".csv");
+		try {
+			long groesse = spoole(upload, datei);
+			if (groesse == 0) throw new InvalidFileException("empty files cannot be imported");
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(datei);
+			throw e;
+		}
+
+		KarteikarteImportJob job = new KarteikarteImportJob(stapelId, username);
+		jobs.put(job.getJobId(), job);
+		try {
+			executor.execute(() -> importiere(job, datei));
+		} catch (RuntimeException e) {
+			jobs.remove(job.getJobId());
+			Files.deleteIfExists(datei);
+			throw e;
+		}
+		log.info("started import job {} for stapel {}", job.getJobId(), stapelId);
+		return job;
+	}
+
+	private long spoole(InputStream upload, Path datei) throws IOException {
+		byte[] buffer = new byte[8192];
+		long groesse = 0;
+		try (OutputStream out = Files.newOutputStream(datei)) {
+			int gelesen;
+			while ((gelesen = upload.read(buffer)) != -1) {
+				groesse += gelesen;
+				if (groesse > maxDateigroesse) throw new ImportTooLargeException("imports are limited to %d bytes".formatted(maxDateigroesse));
+				out.write(buffer, 0, gelesen);
+			}
+		}
+		return groesse;
+	}
+
+	/**
+	 * Returns the job only to the user who started it, so job ids of other users cannot be probed.
+	 */
+	public Optional<KarteikarteImportJob> findJob(UUID jobId, String username) {
+		return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getUsername().equals(username));
+	}
+
+	void importiere(KarteikarteImportJob job, Path datei) {
+		try (BufferedReader reader = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+			importiere(job, reader);
+		} catch (IOException | RuntimeException e) {
+			job.fehlgeschlagen(e.getMessage());
+			log.error("import job {} failed", job.getJobId(), e);
+		} finally {
+			try {
+				Files.deleteIfExists(datei);
+			} catch (IOException e) {
+				log.warn("could not delete import file {}", datei, e);
+			}
+		}
+	}
+
+	void importiere(KarteikarteImportJob job, BufferedReader reader) throws IOException {
+		List<Karteikarte> batch = new ArrayList<>(BATCH_SIZE);
+		long nummer = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			nummer++;
+			if (nummer == 1 && line.startsWith("\uFEFF")) line = line.substring(1);
+			if (line.isBlank()) continue;
+
+			job.zeileGelesen();
+			if (!KarteikarteImportService.FORMAT.matcher(line).matches()) {
+				job.fehlerhafteZeile(nummer, "expected 'frage;antwort' or 'frage;antwort;notiz'");
+				continue;
+			}
+			batch.add(KarteikarteImportService.toKarteikarte(line.split(";")));
+			if (batch.size() == BATCH_SIZE && !schreibeBatch(job, batch)) return;
+		}
+		if (!batch.isEmpty() && !schreibeBatch(job, batch)) return;
+
+		job.abgeschlossen();
+		KarteikarteImportJobStatus status = job.toStatus();
+		log.info("import job {} imported {} Karteikarten into stapel {}, {} invalid lines",
+				job.getJobId(), status.importiert(), job.getStapelId(), status.fehlerhaft());
+	}
+
+	private boolean schreibeBatch(KarteikarteImportJob job, List<Karteikarte> batch) {
+		List<Karteikarte> karteikarten = List.copyOf(batch);
+		int importiert = stapelRepository.appendKarteikarten(job.getStapelId(), karteikarten);
+		batch.clear();
+		if (importiert == 0) {
+			job.fehlgeschlagen("stapel %s does not exist".formatted(job.getStapelId()));
+			return false;
+		}
+		faelligkeitsIndex.kartenHinzugefuegt(UUID.fromString(job.getStapelId()), karteikarten);
+		job.importiert(importiert);
+		return true;
+	}
+}
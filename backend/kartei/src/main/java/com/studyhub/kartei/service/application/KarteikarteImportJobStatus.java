@@ -0,0 +1,14 @@
+package com.studyhub.kartei.service.application;
+
+import java.util.List;
+import java.util.UUID;
+
+public record KarteikarteImportJobStatus(UUID jobId,
+                                         String stapelId,
+                                         KarteikarteImportJob.Status status,
+                                         long gelesen,
+                                         long importiert,
+                                         long fehlerhaft,
+                                         List<KarteikarteImportJob.Fehler> fehler,
+                                         String meldung) {
+}
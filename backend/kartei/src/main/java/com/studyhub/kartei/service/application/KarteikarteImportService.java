@@ -3,10 +3,10 @@ package com.studyhub.kartei.service.application;
 
 import com.studyhub.kartei.domain.model.FrageTyp;
 import com.studyhub.kartei.domain.model.Karteikarte;
-import com.studyhub.kartei.domain.model.Stapel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
@@ -24,34 +24,39 @@ public class KarteikarteImportService {
 
     private final int MAX_BYTE = 1_048_576; // 1MB
 
-    private final String FORMAT_REGEX = "^[^;]+;[^;]+$|^[^;]+;[^;]+;[^;]+$";
+    static final Pattern FORMAT = Pattern.compile("^[^;]+;[^;]+$|^[^;]+;[^;]+;[^;]+$");
 
     private final StapelRepository stapelRepository;
+    private final FaelligkeitsIndexService faelligkeitsIndex;
 
     private final Logger log = LoggerFactory.getLogger(KarteikarteImportService.class);
 
-    public KarteikarteImportService(StapelRepository stapelRepository) {
+    public KarteikarteImportService(StapelRepository stapelRepository, FaelligkeitsIndexService faelligkeitsIndex) {
         this.stapelRepository = stapelRepository;
+        this.faelligkeitsIndex = faelligkeitsIndex;
     }
 
     public void importKarteikarten(MultipartFile file, String stapelId)  throws IOException, PatternSyntaxException {
         List<String[]> zeilen = processFile(file);
-        Stapel stapel = stapelRepository.findByFachId(UUID.fromString(stapelId));
+        List<Karteikarte> karteikarten = new ArrayList<>();
 
         for (String[] zeile : zeilen) {
-            String frage = zeile[0];
-            String antwort = zeile[1];
-            String notiz = null;
-
-            if(zeile.length == 3) notiz = zeile[2];
-
-            Karteikarte k = Karteikarte.initNewKarteikarte(frage, antwort, notiz, FrageTyp.NORMAL);
-            stapel.addKarteikarte(k);
+            karteikarten.add(toKarteikarte(zeile));
         }
-        stapelRepository.save(stapel);
+        int importiert = stapelRepository.appendKarteikarten(stapelId, karteikarten);
+        if (importiert == 0 && !karteikarten.isEmpty()) throw new StapelUpdateException("could not import karteikarten into stapel %s".formatted(stapelId));
+        faelligkeitsIndex.kartenHinzugefuegt(UUID.fromString(stapelId), karteikarten);
         log.info("Imported {} Karteikarten into Stapel with ID: {}", zeilen.size(), stapelId);
     }
 
+    /**
+     * Builds a normal Karteikarte from a validated line split at ';' into frage, antwort and an optional notiz.
+     */
+    static Karteikarte toKarteikarte(String[] zeile) {
+        String notiz = zeile.length == 3 ? zeile[2] : null;
+        return Karteikarte.initNewKarteikarte(zeile[0], zeile[1], notiz, FrageTyp.NORMAL);
+    }
+
     public List<String[]> processFile(MultipartFile file) throws IOException, PatternSyntaxException, InvalidFileException, InvalidFormatException {
         boolean validFile = validateFile(file);
         if (!validFile) throw new InvalidFileException("");
@@ -82,6 +87,6 @@ public class KarteikarteImportService {
     }
 
     public boolean validFormat(String s) {
-        return Pattern.compile(FORMAT_REGEX).matcher(s).matches();
+        return FORMAT.matcher(s).matches();
     }
 }
@@ -8,5 +8,14 @@ public interface KarteikarteRepository {
 
 	Karteikarte findByFachId(String fachId);
 
+	boolean existsByFachId(String fachId);
+
 	void updateLernstufen(String lernstufen, String karteId);
+
+	/**
+	 * Persist faelligAm, lernstufen and wasHard of a reviewed Karteikarte without saving its whole Stapel.
+	 *
+	 * @return <strong>true</strong> if the Karteikarte exists in the given Stapel, <strong>false</strong> otherwise
+	 */
+	boolean updateReview(String stapelId, Karteikarte karteikarte);
 }
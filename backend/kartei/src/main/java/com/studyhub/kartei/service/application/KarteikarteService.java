@@ -1,7 +1,9 @@
 package com.studyhub.kartei.service.application;
 
 import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Scheduler;
 import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
 import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,85 +11,90 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
-
-import static com.studyhub.kartei.domain.model.Schwierigkeit.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
 public class KarteikarteService {
 
+	static final int MAX_REVIEWS_PRO_BATCH = 100;
+
 	private final StapelRepository stapelRepository;
 	private final KarteikarteRepository karteikarteRepository;
 	private final KarteikarteGelerntEventRepository eventRepo;
+	private final FaelligkeitsIndexService faelligkeitsIndex;
+	private final Scheduler scheduler;
 
 	private final Logger log = LoggerFactory.getLogger(KarteikarteService.class);
 
-	public KarteikarteService(StapelRepository stapelRepository, KarteikarteRepository karteikarteRepository, KarteikarteGelerntEventRepository eventRepo) {
+	public KarteikarteService(StapelRepository stapelRepository, KarteikarteRepository karteikarteRepository, KarteikarteGelerntEventRepository eventRepo,
+	                          FaelligkeitsIndexService faelligkeitsIndex, Scheduler scheduler) {
 		this.stapelRepository = stapelRepository;
 		this.karteikarteRepository = karteikarteRepository;
 		this.eventRepo = eventRepo;
+		this.faelligkeitsIndex = faelligkeitsIndex;
+		this.scheduler = scheduler;
 	}
 
 	@Transactional
 	public boolean updateKarteikarteForNextReview(UpdateInfo updateInfo) {
 		LocalDateTime now = LocalDateTime.now();
-		Stapel stapel = stapelRepository.findByFachId(UUID.fromString(updateInfo.stapelId()));
-		Karteikarte karteToUpdate = stapel.findKarteikarteByFachId(updateInfo.karteId());
-		String karteLernstufen = karteToUpdate.getLernstufen();
-
-		LocalDateTime newFaelligAm = null;
-		StringBuilder buildNewLernstufen = new StringBuilder();
-
-		String[] splittedLernstufen = karteLernstufen.split(",");
-		switch (updateInfo.schwierigkeit()) {
-			// update karte fälligkeit mit ersten wert
-			case HARD -> {
-				String hardStufe = splittedLernstufen[0];
-				int time = Integer.parseInt(hardStufe.substring(0, hardStufe.length() - 1));
-				char unit = hardStufe.charAt(hardStufe.length() - 1);
-				newFaelligAm = addTimeToDate(now, unit, time);
-				karteToUpdate.karteikarteWasHard();
-			}
-			// update "10m,4h,2d" -> "4h,2d,4d"
-			case NORMAL -> {
-				String normalStufe = splittedLernstufen[1];
-				int time = Integer.parseInt(normalStufe.substring(0, normalStufe.length() - 1));
-				char unit = normalStufe.charAt(normalStufe.length() - 1);
-				newFaelligAm = addTimeToDate(now, unit, time);
-
-				karteToUpdate.updateLernstufen(NORMAL);
-			}
-			// update "10m,4h,2d" -> "2d,4d,8d"
-			case EASY -> {
-				String easyStufe = splittedLernstufen[2];
-				int time = Integer.parseInt(easyStufe.substring(0, easyStufe.length() - 1));
-				char unit = easyStufe.charAt(easyStufe.length() - 1);
-				newFaelligAm = addTimeToDate(now, unit, time);
-
-				karteToUpdate.updateLernstufen(EASY);
-				}
-		}
-
-
+		Karteikarte karteToUpdate = karteikarteRepository.findByFachId(updateInfo.karteId());
+		if (karteToUpdate == null) return false;
 
-		karteToUpdate.setFaelligAm(newFaelligAm);
-		stapelRepository.save(stapel);
+		LocalDateTime newFaelligAm = karteToUpdate.planeNaechstesReview(scheduler, updateInfo.schwierigkeit(), now);
+		// nur die Zeile der Karte schreiben; Stapel speichern würde alle Karten und Antworten neu einfügen
+		if (!karteikarteRepository.updateReview(updateInfo.stapelId(), karteToUpdate)) return false;
 		eventRepo.save(updateInfo.prepareHappenedEvent());
+		faelligkeitsIndex.karteGeplant(UUID.fromString(updateInfo.stapelId()), karteToUpdate.getFachId(), newFaelligAm);
 
 		log.info("updated fälligAm-date for Karteikarte '%s'".formatted(karteToUpdate.getFachId()));
 		return true;
 	}
 
-	public LocalDateTime addTimeToDate(LocalDateTime now, char timeUnit, int time) {
-		return switch (timeUnit) {
-			case 'm' -> now.plusMinutes(time);
-			case 'h' -> now.plusHours(time);
-			case 'd' -> now.plusDays(time);
-			default -> now;
-		};
-	}
+	/**
+	 * Applies reviews answered by a client, possibly offline, in the given order and in one transaction. A review
+	 * is identified by karteId and reviewedAt, so a resubmitted batch applies every review only once. The next
+	 * faelligAm is computed from reviewedAt, or from now if the client clock is ahead.
+	 * Reviews of Karteikarten that were deleted in the meantime are skipped.
+	 *
+	 * @throws KarteikarteUpdateException if the batch is too large, a review has no reviewedAt or a Karteikarte
+	 * does not belong to the given Stapel; no review of the batch is applied then
+	 */
+	@Transactional
+	public List<ReviewErgebnis> updateKarteikartenForNextReview(List<UpdateInfo> reviews) {
+		if (reviews.size() > MAX_REVIEWS_PRO_BATCH)
+			throw new KarteikarteUpdateException("at most %d reviews can be submitted at once".formatted(MAX_REVIEWS_PRO_BATCH));
+		if (reviews.stream().anyMatch(r -> r.reviewedAt() == null))
+			throw new KarteikarteUpdateException("every review of a batch needs a reviewedAt timestamp");
 
+		LocalDateTime now = LocalDateTime.now();
+		List<ReviewErgebnis> ergebnisse = new ArrayList<>(reviews.size());
+		Map<UUID, Map.Entry<UUID, LocalDateTime>> geplant = new LinkedHashMap<>();
+		for (UpdateInfo review : reviews) {
+			// PostgreSQL speichert Mikrosekunden, ein erneut gesendeter Zeitstempel muss denselben Schlüssel ergeben
+			LocalDateTime reviewedAt = review.reviewedAt().truncatedTo(ChronoUnit.MICROS);
+			Karteikarte karte = karteikarteRepository.findByFachId(review.karteId());
+			if (karte == null) {
+				ergebnisse.add(new ReviewErgebnis(review.karteId(), reviewedAt, ReviewErgebnis.Status.NICHT_GEFUNDEN));
+				continue;
+			}
+			if (!eventRepo.saveIfAbsent(review.prepareHappenedEvent(reviewedAt))) {
+				ergebnisse.add(new ReviewErgebnis(review.karteId(), reviewedAt, ReviewErgebnis.Status.BEREITS_ANGEWENDET));
+				continue;
+			}
+
+			LocalDateTime newFaelligAm = karte.planeNaechstesReview(scheduler, review.schwierigkeit(), reviewedAt.isAfter(now) ? now : reviewedAt);
+			if (!karteikarteRepository.updateReview(review.stapelId(), karte))
+				throw new KarteikarteUpdateException("Karteikarte '%s' does not belong to stapel '%s'".formatted(review.karteId(), review.stapelId()));
+			geplant.put(karte.getFachId(), Map.entry(UUID.fromString(review.stapelId()), newFaelligAm));
+			ergebnisse.add(new ReviewErgebnis(review.karteId(), reviewedAt, ReviewErgebnis.Status.ANGEWENDET));
+		}
+		geplant.forEach((karteId, faellig) -> faelligkeitsIndex.karteGeplant(faellig.getKey(), karteId, faellig.getValue()));
+
+		log.info("applied %d of %d batched reviews".formatted(geplant.size(), reviews.size()));
+		return ergebnisse;
+	}
 
 	/**
 	 * @param stapelId Search stapel repository by stapel.fachId
@@ -141,8 +148,7 @@ public class KarteikarteService {
 	}
 
 	public boolean karteNotExistsById(String karteiSetId) {
-		Karteikarte karteikarte = karteikarteRepository.findByFachId(karteiSetId);
-		return karteikarte == null;
+		return !karteikarteRepository.existsByFachId(karteiSetId);
 	}
 
 	public boolean editChoiceKarteikarte(EditChoiceKarteikarteRequest editRequest) {
@@ -0,0 +1,17 @@
+package com.studyhub.kartei.service.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one review of a batch, in the order of the submitted reviews.
+ */
+public record ReviewErgebnis(String karteId, LocalDateTime reviewedAt, Status status) {
+
+	public enum Status {
+		ANGEWENDET,
+		/** the review with this karteId and reviewedAt was submitted before, e.g. by a retried request */
+		BEREITS_ANGEWENDET,
+		/** the Karteikarte was deleted in the meantime */
+		NICHT_GEFUNDEN
+	}
+}
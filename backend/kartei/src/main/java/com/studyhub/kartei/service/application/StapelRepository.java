@@ -2,7 +2,9 @@ package com.studyhub.kartei.service.application;
 
 import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.faelligkeit.KarteikarteFaelligkeit;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,7 +12,7 @@ public interface StapelRepository {
 	Stapel save(Stapel set);
 	List<Stapel> findAll();
 	Stapel findByFachId(UUID fachId);
-	void deleteKarteikarteByFachid(UUID karteToDelete);
+	boolean existsByFachId(UUID fachId);
 	int countAllByUsername(String username);
 
 	void deleteKarteiSet(String karteiSetId);
@@ -25,8 +27,20 @@ public interface StapelRepository {
 
 	int updateSetWithNewKarteikarte(String karteiSetId, Karteikarte karteikarte);
 
+	int appendKarteikarten(String stapelId, List<Karteikarte> karteikarten);
+
 	List<Stapel> findByUsername(String username);
 
+	/**
+	 * Counts the Karteikarten, fällige and new Karteikarten of every Stapel of the user with one grouped query.
+	 */
+	List<StapelUebersicht> findUebersichtByUsername(String username, LocalDateTime now);
+
+	/**
+	 * Reads the faelligAm of every Karteikarte, and every Stapel without Karteikarten, to build the fälligkeits-index.
+	 */
+	List<KarteikarteFaelligkeit> findAllFaelligkeiten();
+
 	boolean isStapelDbHealthy();
 
 	void deleteStapelByFachId(UUID fachId);
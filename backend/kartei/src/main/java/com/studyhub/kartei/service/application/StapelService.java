@@ -3,6 +3,7 @@ package com.studyhub.kartei.service.application;
 import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
 import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
 import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
 import com.studyhub.kartei.service.application.lernzeit.LernzeitService;
 import jakarta.servlet.http.HttpSession;
@@ -22,11 +23,14 @@ public class StapelService {
 	private KarteikarteGelerntEventRepository gelerntEventRepository;
 	private Logger log = LoggerFactory.getLogger(StapelService.class);
 	private LernzeitService lernzeitService;
+	private FaelligkeitsIndexService faelligkeitsIndex;
 
-	public StapelService(StapelRepository repo, KarteikarteGelerntEventRepository gelerntEventRepository, LernzeitService lernzeitService) {
+	public StapelService(StapelRepository repo, KarteikarteGelerntEventRepository gelerntEventRepository, LernzeitService lernzeitService,
+	                     FaelligkeitsIndexService faelligkeitsIndex) {
 		this.repo = repo;
 		this.gelerntEventRepository = gelerntEventRepository;
 		this.lernzeitService = lernzeitService;
+		this.faelligkeitsIndex = faelligkeitsIndex;
 	}
 
 
@@ -37,6 +41,7 @@ public class StapelService {
 	public void saveSet(Stapel set) throws StapelSaveException {
 		Stapel res = repo.save(set);
 		if (res == null) throw new StapelSaveException("could not save stapel");
+		faelligkeitsIndex.stapelAngelegt(set);
 		log.info("saved new stapel with id: '%s'".formatted(set.getFachId().toString()));
 	}
 
@@ -58,6 +63,7 @@ public class StapelService {
 
 		Stapel res = repo.save(set);
 		gelerntEventRepository.deleteAllByKarteiFachId(karteiFachId);
+		faelligkeitsIndex.karteEntfernt(karteiFachId);
 		log.info("deleted karteikarte '%s' from stapel '%s'".formatted(karteiFachId.toString(), setFachId.toString()));
 
 		return res;
@@ -69,8 +75,7 @@ public class StapelService {
 
 
 	public boolean stapelNotExists(String karteiSetId) {
-		Stapel set = repo.findByFachId(UUID.fromString(karteiSetId));
-		return set == null;
+		return !repo.existsByFachId(UUID.fromString(karteiSetId));
 	}
 
 
@@ -82,6 +87,7 @@ public class StapelService {
 	public void updateSetWithNewKarteikarte(String stapelId, Karteikarte karteikarte) throws Exception {
 		int res = repo.updateSetWithNewKarteikarte(stapelId, karteikarte);
 		if (res == 0) throw  new StapelUpdateException("could not update stapel %s with new karteikarte".formatted(stapelId));
+		faelligkeitsIndex.kartenHinzugefuegt(UUID.fromString(stapelId), List.of(karteikarte));
 		log.info("new karteikarte ( '%s' ) was added to stapel ( '%s' )".formatted(karteikarte.getFachId(), stapelId));
 	}
 
@@ -109,21 +115,21 @@ public class StapelService {
 		return karteikartenSize == karteiKartenIndex;
 	}
 
+	/**
+	 * Counts the fällige Karteikarten per Stapel name over all users, read from the fälligkeits-index.
+	 * Stapel without fällige Karteikarten are missing.
+	 */
 	public Map<String, Integer> getAnzahlFaelligeKartenForEachStapel(LocalDateTime now) {
-
 		Map<String, Integer> responseMap = new HashMap<>();
-		List<Stapel> allStapel = repo.findAll();
-
-		allStapel.forEach(stapel -> {
-			int anzahl = stapel.anzahlFälligeKarteikarten(now);
-			String stapelName = stapel.getName();
-
-			responseMap.put(stapelName, anzahl);
-		});
-
+		faelligkeitsIndex.findFaelligeKarteikartenProUser(now)
+				.forEach((username, anzahlProStapel) -> anzahlProStapel.forEach((name, anzahl) -> responseMap.merge(name, anzahl, Integer::sum)));
 		return responseMap;
 	}
 
+	public Map<String, Map<String, Integer>> getAnzahlFaelligeKartenProUser(LocalDateTime now) {
+		return faelligkeitsIndex.findFaelligeKarteikartenProUser(now);
+	}
+
 	public List<Stapel> findByUsername(String username) {
 		return repo.findByUsername(username);
 	}
@@ -132,18 +138,28 @@ public class StapelService {
 		return repo.isStapelDbHealthy();
 	}
 
-	public List<StapelDashboardDataResponse> prepareDashboardInfo(List<Stapel> stapel) {
-		List<StapelDashboardDataResponse> dtos = new LinkedList<>();
+	/**
+	 * Prepares the dashboard of a user from the counts of its Stapel, so neither the payload nor the number of queries
+	 * depends on the number of Karteikarten.
+	 */
+	public List<StapelDashboardDataResponse> prepareDashboardInfo(String username) {
 		LocalDateTime now = LocalDateTime.now();
+		return prepareDashboardInfo(repo.findUebersichtByUsername(username, now), now);
+	}
+
+	public List<StapelDashboardDataResponse> prepareDashboardInfo(List<StapelUebersicht> stapel, LocalDateTime now) {
+		List<StapelDashboardDataResponse> dtos = new LinkedList<>();
+		Map<UUID, Integer> lernzeiten = lernzeitService.getVorraussichtlicheLernzeitFürStapel(
+				stapel.stream().map(StapelUebersicht::fachId).toList(), now);
 
-		for (Stapel stap : stapel) {
-			UUID fachId = stap.getFachId();
+		for (StapelUebersicht stap : stapel) {
+			UUID fachId = stap.fachId();
 			StapelDashboardDataResponse dto = new StapelDashboardDataResponse(
-					stap.getName(),
+					stap.name(),
 					fachId.toString(),
-					lernzeitService.getVorraussichtlicheLernzeitFürStapel(fachId, now),
+					lernzeiten.getOrDefault(fachId, 0),
 					stap.anzahlNeueKarteikarten(),
-					stap.anzahlFälligeKarteikarten(now)
+					stap.anzahlFaelligeKarteikarten()
 			);
 			dtos.add(dto);
 		}
@@ -167,6 +183,7 @@ public class StapelService {
 
 	public void deleteStapelByFachId(UUID fachId) {
 		repo.deleteStapelByFachId(fachId);
+		faelligkeitsIndex.stapelEntfernt(fachId);
 	}
 
 	public void deleteEventsByStapelId(UUID stapelId) {
@@ -174,9 +191,9 @@ public class StapelService {
 	}
 
 	public List<String> getFaelligeStapelNamenByUsername(String username) {
-		return repo.findByUsername(username).stream()
-				.filter(s -> s.anzahlFälligeKarteikarten(LocalDateTime.now()) > 0)
-				.map(Stapel::getName)
+		return repo.findUebersichtByUsername(username, LocalDateTime.now()).stream()
+				.filter(s -> s.anzahlFaelligeKarteikarten() > 0)
+				.map(StapelUebersicht::name)
 				.toList();
 	}
 }
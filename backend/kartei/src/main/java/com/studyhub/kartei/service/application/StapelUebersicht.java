@@ -0,0 +1,13 @@
+package com.studyhub.kartei.service.application;
+
+import java.util.UUID;
+
+/**
+ * Counts of a Stapel for overviews, read without loading its Karteikarten.
+ */
+public record StapelUebersicht(UUID fachId,
+                               String name,
+                               int anzahlKarteikarten,
+                               int anzahlFaelligeKarteikarten,
+                               int anzahlNeueKarteikarten) {
+}
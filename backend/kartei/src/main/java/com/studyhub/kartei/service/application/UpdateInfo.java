@@ -6,12 +6,24 @@ import com.studyhub.kartei.domain.model.Schwierigkeit;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * @param reviewedAt is the time the client answered the Karteikarte, only required for batched reviews
+ */
 public record UpdateInfo(String stapelId,
                          String karteId,
                          Schwierigkeit schwierigkeit,
-                         Integer secondsNeeded) {
+                         Integer secondsNeeded,
+                         LocalDateTime reviewedAt) {
+
+	public UpdateInfo(String stapelId, String karteId, Schwierigkeit schwierigkeit, Integer secondsNeeded) {
+		this(stapelId, karteId, schwierigkeit, secondsNeeded, null);
+	}
 
 	public KarteikarteGelerntEvent prepareHappenedEvent() {
-		return new KarteikarteGelerntEvent(UUID.fromString(stapelId()), UUID.fromString(karteId()), LocalDateTime.now(), secondsNeeded());
+		return prepareHappenedEvent(LocalDateTime.now());
+	}
+
+	public KarteikarteGelerntEvent prepareHappenedEvent(LocalDateTime gelerntAm) {
+		return new KarteikarteGelerntEvent(UUID.fromString(stapelId()), UUID.fromString(karteId()), gelerntAm, secondsNeeded());
 	}
 }
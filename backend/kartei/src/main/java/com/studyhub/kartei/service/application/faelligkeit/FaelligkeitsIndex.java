@@ -0,0 +1,117 @@
+package com.studyhub.kartei.service.application.faelligkeit;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory index of the fälligkeit of every Karteikarte. Karteikarten that are not fällig yet wait in a min-heap
+ * ordered by faelligAm, {@link #vorruecken(LocalDateTime)} moves the ones that became fällig into counters per user
+ * and Stapel. Only users with fällige Karteikarten have counters, so reading them touches no other user.
+ * A rescheduled Karteikarte leaves its old heap entry behind, outdated entries are skipped when they are polled.
+ * <p>
+ * Every method is synchronized, the index is updated by request threads and read by the scheduler.
+ */
+public class FaelligkeitsIndex {
+
+	private record Eintrag(UUID karteId, UUID stapelId, LocalDateTime faelligAm) {}
+
+	private record StapelInfo(String username, String name) {}
+
+	private final Map<UUID, Eintrag> karten = new HashMap<>();
+	private final Map<UUID, Set<UUID>> kartenProStapel = new HashMap<>();
+	private final Map<UUID, StapelInfo> stapel = new HashMap<>();
+	private final PriorityQueue<Eintrag> anstehend = new PriorityQueue<>(Comparator.comparing(Eintrag::faelligAm));
+	private final Set<UUID> faellig = new HashSet<>();
+	private final Map<String, Map<UUID, Integer>> faelligProUser = new HashMap<>();
+
+	/**
+	 * Replaces the content of the index.
+	 */
+	public synchronized void neuAufbauen(List<KarteikarteFaelligkeit> faelligkeiten, LocalDateTime now) {
+		karten.clear();
+		kartenProStapel.clear();
+		stapel.clear();
+		anstehend.clear();
+		faellig.clear();
+		faelligProUser.clear();
+
+		for (KarteikarteFaelligkeit f : faelligkeiten) {
+			stapelAngelegt(f.stapelId(), f.username(), f.stapelName());
+			if (f.karteId() != null) karteGeplant(f.stapelId(), f.karteId(), f.faelligAm());
+		}
+		vorruecken(now);
+	}
+
+	public synchronized void stapelAngelegt(UUID stapelId, String username, String name) {
+		stapel.put(stapelId, new StapelInfo(username, name));
+		kartenProStapel.computeIfAbsent(stapelId, id -> new HashSet<>());
+	}
+
+	/**
+	 * Adds a Karteikarte or moves it to a new faelligAm. Karteikarten of unknown Stapel or without faelligAm are ignored.
+	 */
+	public synchronized void karteGeplant(UUID stapelId, UUID karteId, LocalDateTime faelligAm) {
+		if (!stapel.containsKey(stapelId) || faelligAm == null) return;
+		karteEntfernt(karteId);
+
+		Eintrag eintrag = new Eintrag(karteId, stapelId, faelligAm);
+		karten.put(karteId, eintrag);
+		kartenProStapel.get(stapelId).add(karteId);
+		anstehend.add(eintrag);
+		if (anstehend.size() > 2 * karten.size() + 1_024) kompaktieren();
+	}
+
+	public synchronized void karteEntfernt(UUID karteId) {
+		Eintrag eintrag = karten.remove(karteId);
+		if (eintrag == null) return;
+		kartenProStapel.get(eintrag.stapelId()).remove(karteId);
+		if (faellig.remove(karteId)) zaehleFaellig(eintrag.stapelId(), -1);
+	}
+
+	public synchronized void stapelEntfernt(UUID stapelId) {
+		Set<UUID> karteIds = kartenProStapel.get(stapelId);
+		if (karteIds == null) return;
+		List.copyOf(karteIds).forEach(this::karteEntfernt);
+		kartenProStapel.remove(stapelId);
+		stapel.remove(stapelId);
+	}
+
+	/**
+	 * Moves all Karteikarten with faelligAm before {@code now} to the fällige Karteikarten.
+	 */
+	public synchronized void vorruecken(LocalDateTime now) {
+		while (!anstehend.isEmpty() && anstehend.peek().faelligAm().isBefore(now)) {
+			Eintrag eintrag = anstehend.poll();
+			if (karten.get(eintrag.karteId()) != eintrag) continue;
+			faellig.add(eintrag.karteId());
+			zaehleFaellig(eintrag.stapelId(), 1);
+		}
+	}
+
+	/**
+	 * @return the number of fällige Karteikarten per Stapel name for every user that has fällige Karteikarten
+	 */
+	public synchronized Map<String, Map<String, Integer>> faelligeKarteikarten(LocalDateTime now) {
+		vorruecken(now);
+		Map<String, Map<String, Integer>> result = new HashMap<>();
+		faelligProUser.forEach((username, proStapel) -> {
+			Map<String, Integer> anzahlProName = new HashMap<>();
+			proStapel.forEach((stapelId, anzahl) -> anzahlProName.merge(stapel.get(stapelId).name(), anzahl, Integer::sum));
+			result.put(username, anzahlProName);
+		});
+		return result;
+	}
+
+	private void zaehleFaellig(UUID stapelId, int delta) {
+		String username = stapel.get(stapelId).username();
+		Map<UUID, Integer> proStapel = faelligProUser.computeIfAbsent(username, u -> new HashMap<>());
+		proStapel.merge(stapelId, delta, Integer::sum);
+		if (proStapel.get(stapelId) <= 0) proStapel.remove(stapelId);
+		if (proStapel.isEmpty()) faelligProUser.remove(username);
+	}
+
+	private void kompaktieren() {
+		anstehend.clear();
+		karten.values().stream().filter(e -> !faellig.contains(e.karteId())).forEach(anstehend::add);
+	}
+}
@@ -0,0 +1,126 @@
+package com.studyhub.kartei.service.application.faelligkeit;
+
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.StapelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the {@link FaelligkeitsIndex} in sync with the database. The index is built at startup and rebuilt every
+ * night as a safety net, in between it is updated by the services that review, add or delete Karteikarten.
+ * <p>
+ * Updates called inside a transaction are applied after it commits, so a rollback never reaches the index.
+ * Updates that arrive while the index is rebuilt are applied to the current index and replayed on the rebuilt one,
+ * because the rows read for the rebuild may not contain them yet.
+ */
+@Service
+public class FaelligkeitsIndexService {
+
+	private final StapelRepository stapelRepository;
+	private final FaelligkeitsIndex index = new FaelligkeitsIndex();
+	private List<Consumer<FaelligkeitsIndex>> waehrendNeuaufbau;
+
+	private final Logger log = LoggerFactory.getLogger(FaelligkeitsIndexService.class);
+
+	public FaelligkeitsIndexService(StapelRepository stapelRepository) {
+		this.stapelRepository = stapelRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${kartei.faelligkeit.rebuild-cron:0 15 4 * * *}")
+	public void neuAufbauen() {
+		synchronized (index) {
+			waehrendNeuaufbau = new ArrayList<>();
+		}
+		try {
+			List<KarteikarteFaelligkeit> faelligkeiten = stapelRepository.findAllFaelligkeiten();
+			synchronized (index) {
+				index.neuAufbauen(faelligkeiten, LocalDateTime.now());
+				waehrendNeuaufbau.forEach(aenderung -> aenderung.accept(index));
+				log.info("built fälligkeits-index from {} rows and {} concurrent updates", faelligkeiten.size(), waehrendNeuaufbau.size());
+			}
+		} finally {
+			synchronized (index) {
+				waehrendNeuaufbau = null;
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${kartei.faelligkeit.tick-ms:60000}")
+	public void vorruecken() {
+		index.vorruecken(LocalDateTime.now());
+	}
+
+	/**
+	 * @return the number of fällige Karteikarten per Stapel name for every user that has fällige Karteikarten
+	 */
+	public Map<String, Map<String, Integer>> findFaelligeKarteikartenProUser(LocalDateTime now) {
+		return index.faelligeKarteikarten(now);
+	}
+
+	public void stapelAngelegt(Stapel stapel) {
+		UUID stapelId = stapel.getFachId();
+		String username = stapel.getUsername();
+		String name = stapel.getName();
+		List<Karteikarte> karteikarten = stapel.getKarteikarten() == null ? List.of() : List.copyOf(stapel.getKarteikarten());
+		nachCommit(i -> {
+			i.stapelAngelegt(stapelId, username, name);
+			planen(i, stapelId, karteikarten);
+		});
+	}
+
+	public void kartenHinzugefuegt(UUID stapelId, List<Karteikarte> karteikarten) {
+		List<Karteikarte> kopie = List.copyOf(karteikarten);
+		nachCommit(i -> planen(i, stapelId, kopie));
+	}
+
+	public void karteGeplant(UUID stapelId, UUID karteId, LocalDateTime faelligAm) {
+		nachCommit(i -> i.karteGeplant(stapelId, karteId, faelligAm));
+	}
+
+	public void karteEntfernt(UUID karteId) {
+		nachCommit(i -> i.karteEntfernt(karteId));
+	}
+
+	public void stapelEntfernt(UUID stapelId) {
+		nachCommit(i -> i.stapelEntfernt(stapelId));
+	}
+
+	private static void planen(FaelligkeitsIndex i, UUID stapelId, List<Karteikarte> karteikarten) {
+		for (Karteikarte k : karteikarten) i.karteGeplant(stapelId, k.getFachId(), k.getFaelligAm());
+	}
+
+	private void nachCommit(Consumer<FaelligkeitsIndex> aenderung) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			anwenden(aenderung);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				anwenden(aenderung);
+			}
+		});
+	}
+
+	private void anwenden(Consumer<FaelligkeitsIndex> aenderung) {
+		synchronized (index) {
+			aenderung.accept(index);
+			if (waehrendNeuaufbau != null) waehrendNeuaufbau.add(aenderung);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.studyhub.kartei.service.application.faelligkeit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fälligkeit of a single Karteikarte together with its Stapel. Empty Stapel are represented with karteId and
+ * faelligAm set to null.
+ */
+public record KarteikarteFaelligkeit(String username,
+                                     UUID stapelId,
+                                     String stapelName,
+                                     UUID karteId,
+                                     LocalDateTime faelligAm) {
+}
@@ -2,11 +2,25 @@ package com.studyhub.kartei.service.application.lernzeit;
 
 import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface KarteikarteGelerntEventRepository {
+	/**
+	 * Saves the event and adds its secondsNeeded to the running review statistics of the Karteikarte.
+	 */
 	KarteikarteGelerntEvent save(KarteikarteGelerntEvent event);
+
+	/**
+	 * Like {@link #save(KarteikarteGelerntEvent)}, unless an event for the same Karteikarte and gelerntAm was saved
+	 * with this method before. gelerntAm is the client-side review time then and identifies the review.
+	 *
+	 * @return <strong>true</strong> if the event was saved, <strong>false</strong> if it had already been saved
+	 */
+	boolean saveIfAbsent(KarteikarteGelerntEvent event);
+
 	List<KarteikarteGelerntEvent> findByKarteikarteId(UUID karteikarteId);
 
 	int sumOfSecondsNeededForKarteikarte(UUID karteikarteId);
@@ -17,6 +31,12 @@ public interface KarteikarteGelerntEventRepository {
 
 	List<KarteikarteGelerntEvent> findByStapelId(UUID stapelId);
 
+	/**
+	 * Sums the average secondsNeeded of all Karteikarten that are 'fällig' at the given time, per Stapel.
+	 * Stapel without learned fällige Karteikarten are missing from the result.
+	 */
+	List<VorraussichtlicheLernzeit> sumVorraussichtlicheLernzeit(Collection<UUID> stapelIds, LocalDateTime now);
+
 	void deleteAllByKarteiFachId(UUID karteiFachId);
 
 	void deleteAllByStapelId(UUID stapelId);
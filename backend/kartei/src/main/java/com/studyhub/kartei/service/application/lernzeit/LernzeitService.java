@@ -1,15 +1,15 @@
 package com.studyhub.kartei.service.application.lernzeit;
 
-import com.studyhub.kartei.domain.model.Karteikarte;
-import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
-import com.studyhub.kartei.service.application.StapelRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Class providing methods to calculate the expected learning time for a Stapel of Karteikarten.
@@ -18,52 +18,35 @@ import java.util.UUID;
 public class LernzeitService {
 	private final int THRESHOLD = 5;
 
-	private final StapelRepository stapelRepository;
 	private final KarteikarteGelerntEventRepository repo;
 
 	private final Logger log = LoggerFactory.getLogger(LernzeitService.class);
 
-	public LernzeitService(StapelRepository stapelRepository, KarteikarteGelerntEventRepository repo) {
-		this.stapelRepository = stapelRepository;
+	public LernzeitService(KarteikarteGelerntEventRepository repo) {
 		this.repo = repo;
 	}
 
 	/**
 	 * Calculates the expected learning time for a Stapel of Karteikarten that are 'fällig'.
-	 * For each Karteikarte in the Stapel, the average of the secondsNeeded of all KarteikarteGelerntEvents is calculated.
-	 * Then the sum of all partial averages is calculated.
+	 * For each fällige Karteikarte, the average of the secondsNeeded of all its KarteikarteGelerntEvents is taken
+	 * from the running review statistics of the Karteikarte. Then the sum of all partial averages is calculated.
 	 * @param stapelId is the id of the Stapel to calculate the expected learning time for
 	 * @param now  is the time to calculate the expected learning time for
 	 * @return expected learning time
 	 */
 	public int getVorraussichtlicheLernzeitFürStapel(UUID stapelId, LocalDateTime now) {
-		List<KarteikarteGelerntEvent> events = repo.findByStapelId(stapelId);
-
-		if (events.isEmpty()) return 0;
-
-		List<Karteikarte> karteikartenDesStapels = stapelRepository.findByFachId(stapelId).getFälligeKarteikarten(now);
-
-		if (karteikartenDesStapels.isEmpty()) return 0;
-
-		int summeSecondsNeeded = 0;
-
-		for(Karteikarte karte : karteikartenDesStapels) {
-			int summe = 0;
-			int count = 0;
-			for (KarteikarteGelerntEvent event : events) {
-				if(karte.getFachId().toString().equals(event.getKarteikarteId().toString())) {
-					summe += event.getSecondsNeeded();
-					count++;
-				}
-			}
-
-			if(!(count == 0)) {
-				summeSecondsNeeded += summe / count;
-				count = 0;
-			}
-		}
+		return getVorraussichtlicheLernzeitFürStapel(List.of(stapelId), now).getOrDefault(stapelId, 0);
+	}
 
-		return summeSecondsNeeded;
+	/**
+	 * Calculates the expected learning time of many Stapel with a single query.
+	 * @param stapelIds are the ids of the Stapel to calculate the expected learning time for
+	 * @param now is the time to calculate the expected learning time for
+	 * @return expected learning time per Stapel id, Stapel without expected learning time are missing
+	 */
+	public Map<UUID, Integer> getVorraussichtlicheLernzeitFürStapel(Collection<UUID> stapelIds, LocalDateTime now) {
+		return repo.sumVorraussichtlicheLernzeit(stapelIds, now).stream()
+				.collect(Collectors.toMap(VorraussichtlicheLernzeit::stapelId, VorraussichtlicheLernzeit::sekunden));
 	}
 
 	/**
@@ -0,0 +1,6 @@
+package com.studyhub.kartei.service.application.lernzeit;
+
+import java.util.UUID;
+
+public record VorraussichtlicheLernzeit(UUID stapelId, int sekunden) {
+}
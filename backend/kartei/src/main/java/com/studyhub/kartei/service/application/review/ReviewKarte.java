@@ -0,0 +1,8 @@
+package com.studyhub.kartei.service.application.review;
+
+import com.studyhub.kartei.domain.model.Karteikarte;
+
+import java.util.UUID;
+
+public record ReviewKarte(UUID stapelId, String stapelName, Karteikarte karteikarte) {
+}
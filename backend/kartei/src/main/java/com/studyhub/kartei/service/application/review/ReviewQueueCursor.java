@@ -0,0 +1,28 @@
+package com.studyhub.kartei.service.application.review;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in the review queue. The queue is ordered by faelligAm and karteId, so the last delivered Karteikarte
+ * identifies where the next page starts.
+ */
+public record ReviewQueueCursor(LocalDateTime faelligAm, UUID karteId) {
+
+	/**
+	 * Orders karteIds like PostgreSQL does, byte by byte. {@link UUID#compareTo(UUID)} compares signed and would
+	 * disagree with the order the pages are read in.
+	 */
+	static final Comparator<UUID> UUID_REIHENFOLGE = Comparator
+			.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+			.thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+	static final Comparator<ReviewKarte> REIHENFOLGE = Comparator
+			.comparing((ReviewKarte k) -> k.karteikarte().getFaelligAm())
+			.thenComparing(k -> k.karteikarte().getFachId(), UUID_REIHENFOLGE);
+
+	static ReviewQueueCursor nach(ReviewKarte karte) {
+		return new ReviewQueueCursor(karte.karteikarte().getFaelligAm(), karte.karteikarte().getFachId());
+	}
+}
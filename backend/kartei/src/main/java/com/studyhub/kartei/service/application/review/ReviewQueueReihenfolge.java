@@ -0,0 +1,12 @@
+package com.studyhub.kartei.service.application.review;
+
+/**
+ * Order of the Karteikarten within a window of the review queue. Every policy delivers the same Karteikarten per
+ * window, only their order differs.
+ */
+public enum ReviewQueueReihenfolge {
+	/** Strictly by faelligAm, the most overdue Karteikarte first. */
+	FAELLIGKEIT,
+	/** Round robin over the Stapel, so consecutive Karteikarten come from different Stapel where possible. */
+	ABWECHSELND
+}
@@ -0,0 +1,22 @@
+package com.studyhub.kartei.service.application.review;
+
+import com.studyhub.kartei.domain.model.Antwort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ReviewQueueRepository {
+
+	/**
+	 * Reads the first fällige Karteikarten after the cursor of every Stapel of the user, without their Antworten.
+	 * @param nach is the cursor to start after, null for the start of the queue
+	 * @param anzahlProStapel is the maximum number of Karteikarten per Stapel
+	 * @return one list per Stapel, each ordered by faelligAm and karteId
+	 */
+	List<List<ReviewKarte>> findFaelligeKarteikartenProStapel(String username, LocalDateTime now, ReviewQueueCursor nach, int anzahlProStapel);
+
+	Map<UUID, List<Antwort>> findAntwortenByKarteIds(Collection<UUID> karteIds);
+}
@@ -0,0 +1,9 @@
+package com.studyhub.kartei.service.application.review;
+
+import java.util.List;
+
+/**
+ * A window of the review queue. {@code naechsteSeite} is null if no further Karteikarten are fällig.
+ */
+public record ReviewQueueSeite(List<ReviewKarte> karten, ReviewQueueCursor naechsteSeite) {
+}
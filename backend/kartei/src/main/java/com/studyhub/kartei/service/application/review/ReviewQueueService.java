@@ -0,0 +1,142 @@
+package com.studyhub.kartei.service.application.review;
+
+import com.studyhub.kartei.domain.model.Antwort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers the fällige Karteikarten of all Stapel of a user as one queue ordered by faelligAm. Every Stapel
+ * contributes its first Karteikarten after the cursor, the lists are merged k-way, so a page never reads more than
+ * {@code groesse + 1} Karteikarten per Stapel. Antworten are only loaded for the delivered window.
+ * <p>
+ * After a page was delivered, the next page is loaded in the background and handed out if it is requested within
+ * {@link #VORABLADEN_GUELTIG}.
+ */
+@Service
+public class ReviewQueueService {
+
+	static final int MAX_GROESSE = 50;
+	static final Duration VORABLADEN_GUELTIG = Duration.ofMinutes(2);
+	private static final int MAX_VORABGELADEN = 1_000;
+
+	private record Anfrage(ReviewQueueCursor nach, int groesse, ReviewQueueReihenfolge reihenfolge) {}
+
+	private record Vorabgeladen(Anfrage anfrage, Instant erstellt, CompletableFuture<ReviewQueueSeite> seite) {}
+
+	private final ReviewQueueRepository repository;
+	private final Executor executor;
+	private final Map<String, Vorabgeladen> vorabgeladen = Collections.synchronizedMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Vorabgeladen> eldest) {
+			return size() > MAX_VORABGELADEN;
+		}
+	});
+
+	private final Logger log = LoggerFactory.getLogger(ReviewQueueService.class);
+
+	public ReviewQueueService(ReviewQueueRepository repository,
+	                          @Qualifier("reviewQueuePrefetchExecutor") Executor executor) {
+		this.repository = repository;
+		this.executor = executor;
+	}
+
+	/**
+	 * @param nach is the cursor of the previous page, null for the first page
+	 * @param groesse is the number of Karteikarten per page, limited to {@value #MAX_GROESSE}
+	 */
+	public ReviewQueueSeite findReviewQueue(String username, ReviewQueueCursor nach, int groesse, ReviewQueueReihenfolge reihenfolge) {
+		Anfrage anfrage = new Anfrage(nach, Math.max(1, Math.min(groesse, MAX_GROESSE)), reihenfolge);
+		ReviewQueueSeite seite = vorabgeladeneSeite(username, anfrage)
+				.orElseGet(() -> ladeSeite(username, anfrage, LocalDateTime.now()));
+		if (seite.naechsteSeite() != null) vorabladen(username, new Anfrage(seite.naechsteSeite(), anfrage.groesse(), reihenfolge));
+		return seite;
+	}
+
+	private ReviewQueueSeite ladeSeite(String username, Anfrage anfrage, LocalDateTime now) {
+		List<List<ReviewKarte>> proStapel = repository.findFaelligeKarteikartenProStapel(username, now, anfrage.nach(), anfrage.groesse() + 1);
+		List<ReviewKarte> gemischt = mische(proStapel, anfrage.groesse() + 1);
+
+		boolean weitere = gemischt.size() > anfrage.groesse();
+		List<ReviewKarte> fenster = weitere ? gemischt.subList(0, anfrage.groesse()) : gemischt;
+		ReviewQueueCursor naechsteSeite = weitere ? ReviewQueueCursor.nach(fenster.get(fenster.size() - 1)) : null;
+
+		Map<UUID, List<Antwort>> antworten = repository.findAntwortenByKarteIds(
+				fenster.stream().map(k -> k.karteikarte().getFachId()).toList());
+		fenster.forEach(k -> k.karteikarte().setAntworten(antworten.getOrDefault(k.karteikarte().getFachId(), new ArrayList<>())));
+
+		return new ReviewQueueSeite(ordne(fenster, anfrage.reihenfolge()), naechsteSeite);
+	}
+
+	/**
+	 * Merges lists that are each ordered by faelligAm and karteId into the first {@code anzahl} Karteikarten of
+	 * their union. Only the head of every list is held in the heap.
+	 */
+	static List<ReviewKarte> mische(List<List<ReviewKarte>> proStapel, int anzahl) {
+		record Kopf(List<ReviewKarte> liste, int index) {
+			ReviewKarte karte() {
+				return liste.get(index);
+			}
+		}
+
+		PriorityQueue<Kopf> koepfe = new PriorityQueue<>(Comparator.comparing(Kopf::karte, ReviewQueueCursor.REIHENFOLGE));
+		for (List<ReviewKarte> liste : proStapel) {
+			if (!liste.isEmpty()) koepfe.add(new Kopf(liste, 0));
+		}
+
+		List<ReviewKarte> gemischt = new ArrayList<>(anzahl);
+		while (!koepfe.isEmpty() && gemischt.size() < anzahl) {
+			Kopf kopf = koepfe.poll();
+			gemischt.add(kopf.karte());
+			if (kopf.index() + 1 < kopf.liste().size()) koepfe.add(new Kopf(kopf.liste(), kopf.index() + 1));
+		}
+		return gemischt;
+	}
+
+	static List<ReviewKarte> ordne(List<ReviewKarte> fenster, ReviewQueueReihenfolge reihenfolge) {
+		if (reihenfolge == ReviewQueueReihenfolge.FAELLIGKEIT) return fenster;
+
+		Map<UUID, Deque<ReviewKarte>> proStapel = new LinkedHashMap<>();
+		fenster.forEach(k -> proStapel.computeIfAbsent(k.stapelId(), id -> new ArrayDeque<>()).add(k));
+
+		List<ReviewKarte> abwechselnd = new ArrayList<>(fenster.size());
+		while (abwechselnd.size() < fenster.size()) {
+			for (Deque<ReviewKarte> karten : proStapel.values()) {
+				if (!karten.isEmpty()) abwechselnd.add(karten.poll());
+			}
+		}
+		return abwechselnd;
+	}
+
+	private Optional<ReviewQueueSeite> vorabgeladeneSeite(String username, Anfrage anfrage) {
+		Vorabgeladen v = vorabgeladen.remove(username);
+		if (v == null || !v.anfrage().equals(anfrage)) return Optional.empty();
+		if (v.erstellt().plus(VORABLADEN_GUELTIG).isBefore(Instant.now())) return Optional.empty();
+		try {
+			return Optional.of(v.seite().join());
+		} catch (CompletionException e) {
+			log.warn("prefetching the review queue of user '{}' failed", username, e);
+			return Optional.empty();
+		}
+	}
+
+	private void vorabladen(String username, Anfrage anfrage) {
+		LocalDateTime now = LocalDateTime.now();
+		try {
+			CompletableFuture<ReviewQueueSeite> seite = CompletableFuture.supplyAsync(() -> ladeSeite(username, anfrage, now), executor);
+			vorabgeladen.put(username, new Vorabgeladen(anfrage, Instant.now(), seite));
+		} catch (RejectedExecutionException e) {
+			log.debug("skipped prefetching the review queue of user '{}'", username);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+create index if not exists idx_stapel_fach_id on stapel (fach_id);
+create index if not exists idx_stapel_username on stapel (username);
+
+create index if not exists idx_karteikarte_fach_id on karteikarte (fach_id);
+create index if not exists idx_karteikarte_stapel_faellig_am on karteikarte (stapel, faellig_am);
+
+create index if not exists idx_antwort_karteikarte on antwort (karteikarte);
+create index if not exists idx_antwort_stapel on antwort (stapel, stapel_key);
+
+create index if not exists idx_karteikarte_gelernt_event_karteikarte_id on karteikarte_gelernt_event (karteikarte_id);
+create index if not exists idx_karteikarte_gelernt_event_stapel_id on karteikarte_gelernt_event (stapel_id);
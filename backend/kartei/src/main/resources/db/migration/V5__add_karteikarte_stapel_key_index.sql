@@ -0,0 +1 @@
+create index if not exists idx_karteikarte_stapel_key on karteikarte (stapel, stapel_key);
@@ -0,0 +1,14 @@
+create table karteikarte_lernzeit(
+    karteikarte_id uuid primary key,
+    stapel_id uuid not null,
+    review_count int not null default 0,
+    seconds_sum bigint not null default 0
+);
+
+create index if not exists idx_karteikarte_lernzeit_stapel_id on karteikarte_lernzeit (stapel_id);
+
+insert into karteikarte_lernzeit (karteikarte_id, stapel_id, review_count, seconds_sum)
+select karteikarte_id, (array_agg(stapel_id order by gelernt_am desc))[1], count(*), coalesce(sum(seconds_needed), 0)
+from karteikarte_gelernt_event
+where karteikarte_id is not null and stapel_id is not null
+group by karteikarte_id;
@@ -0,0 +1,2 @@
+create index if not exists idx_karteikarte_stapel_faellig_am_erstellt_am on karteikarte (stapel, faellig_am) include (erstellt_am);
+drop index if exists idx_karteikarte_stapel_faellig_am;
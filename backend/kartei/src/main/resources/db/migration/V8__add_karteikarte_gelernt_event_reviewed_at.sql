@@ -0,0 +1,4 @@
+alter table karteikarte_gelernt_event add column if not exists reviewed_at timestamp;
+
+create unique index if not exists idx_karteikarte_gelernt_event_karteikarte_id_reviewed_at
+    on karteikarte_gelernt_event (karteikarte_id, reviewed_at) where reviewed_at is not null;
@@ -0,0 +1,119 @@
+package com.studyhub.kartei.adapter.db;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Führt EXPLAIN für jede Abfrage der DAOs und Repository-Implementierungen auf einem Datensatz realistischer Größe
+ * aus und schlägt fehl, sobald eine davon per Sequential Scan gelesen wird.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, QueryPlanPruefung.Mitschnitt.class})
+@DataJdbcTest
+@ActiveProfiles("test")
+@Sql(scripts = "query_plan_seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+public class QueryPlanRegressionTest {
+
+	private static final String STAPEL = "md5('stapel42')::uuid";
+	private static final String KARTE = "md5('karte42')::uuid";
+	private static final String NOW = "TIMESTAMP '2024-02-01'";
+	private static final String KARTEN = "ARRAY[md5('karte42')::uuid, md5('karte43')::uuid]";
+	// md5('stapel42')::uuid und md5('karte42')::uuid
+	private static final UUID STAPEL_ID = UUID.fromString("1483d706-587d-7f43-edd9-71d805f8deba");
+	private static final UUID KARTE_ID = UUID.fromString("e2abebed-cafb-060b-bf28-87946e8f1b0d");
+
+	private static final QueryPlanPruefung PRUEFUNG = new QueryPlanPruefung(
+			List.of(StapelDao.class, KarteikarteDao.class, KarteikarteGelerntEventDao.class),
+			Map.ofEntries(
+					entry("fachId", STAPEL),
+					entry("karteiSetId", STAPEL),
+					entry("stapelFachId", STAPEL),
+					entry("stapelId", STAPEL),
+					entry("karteId", KARTE),
+					entry("karteikarteId", KARTE),
+					entry("karteiFachId", KARTE),
+					entry("newSetName", "'neuer Name'"),
+					entry("newLernIntervalle", "'1d,3d'"),
+					entry("lernstufen", "'1,0'"),
+					entry("faelligAm", NOW),
+					entry("gelerntAm", NOW),
+					entry("wasHard", "1"),
+					entry("secondsNeeded", "30"),
+					entry("stapelIds", "md5('stapel42')::uuid, md5('stapel2042')::uuid, md5('stapel4042')::uuid"),
+					entry("now", NOW),
+					entry("username", "'user42'")),
+			// lesen bewusst alle Zeilen, findAllFaelligkeiten baut den Fälligkeitsindex beim Start auf
+			Set.of("StapelDao.findAll", "StapelDao.isStapelDbHealthy", "StapelDao.findAllFaelligkeiten"))
+			.erzeugt("StapelDao.findByFachId", StapelDao.class, dao -> dao.findByFachId(STAPEL_ID))
+			.erzeugt("StapelDao.findByUsername", StapelDao.class, dao -> dao.findByUsername("user42"))
+			.erzeugt("StapelDao.countAllByUsername", StapelDao.class, dao -> dao.countAllByUsername("user42"))
+			.erzeugt("StapelDao.existsByFachId", StapelDao.class, dao -> dao.existsByFachId(STAPEL_ID))
+			.erzeugt("KarteikarteDao.findByFachId", KarteikarteDao.class, dao -> dao.findByFachId(KARTE_ID))
+			.erzeugt("KarteikarteDao.existsByFachId", KarteikarteDao.class, dao -> dao.existsByFachId(KARTE_ID))
+			.erzeugt("KarteikarteGelerntEventDao.findByKarteikarteId", KarteikarteGelerntEventDao.class, dao -> dao.findByKarteikarteId(KARTE_ID))
+			.erzeugt("KarteikarteGelerntEventDao.findByStapelId", KarteikarteGelerntEventDao.class, dao -> dao.findByStapelId(STAPEL_ID))
+			.konstante("StapelRepositoryImpl.STAPEL_ID", StapelRepositoryImpl.STAPEL_ID, STAPEL)
+			.konstante("StapelRepositoryImpl.LOCK_STAPEL", StapelRepositoryImpl.LOCK_STAPEL, STAPEL)
+			.konstante("StapelRepositoryImpl.LAST_STAPEL_KEY", StapelRepositoryImpl.LAST_STAPEL_KEY, "42")
+			.konstante("StapelCache.VERSION", StapelCache.VERSION, STAPEL)
+			.konstante("StapelCache.NEUE_VERSION", StapelCache.NEUE_VERSION, STAPEL)
+			.konstante("ReviewQueueRepositoryImpl.FAELLIGE_KARTEIKARTEN_PRO_STAPEL",
+					ReviewQueueRepositoryImpl.FAELLIGE_KARTEIKARTEN_PRO_STAPEL.formatted(ReviewQueueRepositoryImpl.NACH_CURSOR),
+					NOW, "TIMESTAMP '2024-01-15'", "TIMESTAMP '2024-01-15'", KARTE, "21", "'user42'")
+			.konstante("ReviewQueueRepositoryImpl.ANTWORTEN", ReviewQueueRepositoryImpl.ANTWORTEN, KARTEN, KARTEN);
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ApplicationContext context;
+
+	static Stream<Arguments> abfragen() {
+		return PRUEFUNG.abfragen();
+	}
+
+	static Stream<Arguments> aufrufe() {
+		return PRUEFUNG.aufrufe();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("abfragen")
+	@DisplayName("Keine Abfrage wird auf dem Testdatensatz per Sequential Scan ausgeführt")
+	void test_01(String abfrage, String sql) {
+		QueryPlanPruefung.assertKeinSeqScan(jdbcTemplate, abfrage, sql);
+	}
+
+	@Test
+	@DisplayName("Jede Methode ist durch den Plan-Test abgedeckt und jede Ausnahme gehört zu einer Methode")
+	void test_02() {
+		assertThat(PRUEFUNG.nichtAbgedeckt()).isEmpty();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("aufrufe")
+	@DisplayName("Das von Spring Data JDBC erzeugte SQL, auch das Nachladen der Kind-Tabellen, liest keine Tabelle per Sequential Scan")
+	void test_03(String methode) {
+		PRUEFUNG.assertKeinSeqScan(context, jdbcTemplate, methode);
+	}
+}
@@ -0,0 +1,224 @@
+package com.studyhub.kartei.adapter.db;
+
+import com.studyhub.kartei.adapter.db.mapper.StapelMapper;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.StapelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.studyhub.kartei.util.KarteikarteMother.newKarteWithAntworten;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, StapelRepositoryImpl.class, StapelCacheTest.Konfiguration.class})
+@DataJdbcTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/com/studyhub/kartei/service/application/drop_stapel.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class StapelCacheTest {
+
+	/** Wird zwischen dem Schreiben der Daten und dem Erhöhen der Version aufgerufen. */
+	static volatile Runnable zwischendurch = () -> {};
+
+	@TestConfiguration
+	static class Konfiguration {
+		@Bean
+		StapelCache stapelCache(JdbcTemplate jdbcTemplate) {
+			return new StapelCache(jdbcTemplate, 10) {
+				@Override
+				public void geschrieben(Stapel stapel) {
+					zwischendurch.run();
+					super.geschrieben(stapel);
+				}
+
+				@Override
+				public void geaendert(UUID fachId) {
+					zwischendurch.run();
+					super.geaendert(fachId);
+				}
+			};
+		}
+	}
+
+	@Autowired
+	StapelDao stapelDao;
+
+	@Autowired
+	KarteikarteDao karteikarteDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	StapelRepository transaktionalesRepository;
+
+	StapelCache cache;
+	StapelRepository repository;
+	AtomicInteger geladen;
+	Function<UUID, Stapel> laden;
+
+	@BeforeEach
+	void init() {
+		zwischendurch = () -> {};
+		cache = new StapelCache(jdbcTemplate, 10);
+		repository = new StapelRepositoryImpl(stapelDao, jdbcTemplate, cache);
+		geladen = new AtomicInteger();
+		laden = id -> {
+			geladen.incrementAndGet();
+			return stapelDao.findByFachId(id).map(StapelMapper::toStapel).orElse(null);
+		};
+	}
+
+	private Stapel speichere() {
+		return repository.save(neuerStapel());
+	}
+
+	private static Stapel neuerStapel() {
+		return new Stapel(UUID.randomUUID(), UUID.randomUUID(), "Mathe", "", "10m,1d", "peter",
+				new ArrayList<>(List.of(newKarteWithAntworten(UUID.randomUUID(), 2))));
+	}
+
+	@Test
+	@DisplayName("Ein gespeicherter Stapel wird ohne erneutes Laden des Aggregats aus dem Cache geliefert")
+	void test_1() {
+		Stapel stapel = speichere();
+
+		Stapel gefunden = cache.findByFachId(stapel.getFachId(), laden);
+
+		assertThat(geladen).hasValue(0);
+		assertThat(gefunden).isEqualTo(stapel);
+	}
+
+	@Test
+	@DisplayName("Nach einer Änderung an einer Karteikarte wird der Stapel neu geladen")
+	void test_2() {
+		Stapel stapel = speichere();
+		Karteikarte karte = stapel.getKarteikarten().get(0);
+		LocalDateTime faelligAm = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+		int aktualisiert = karteikarteDao.updateReview(karte.getFachId(), stapel.getFachId(), faelligAm, "1d", 0);
+		Stapel gefunden = cache.findByFachId(stapel.getFachId(), laden);
+
+		assertThat(aktualisiert).isEqualTo(1);
+		assertThat(geladen).hasValue(1);
+		assertThat(gefunden.getKarteikarten().get(0).getFaelligAm()).isEqualTo(faelligAm);
+	}
+
+	@Test
+	@DisplayName("Änderungen am gelieferten Stapel verändern den Cache nicht")
+	void test_3() {
+		Stapel stapel = speichere();
+
+		Stapel gefunden = cache.findByFachId(stapel.getFachId(), laden);
+		gefunden.getKarteikarten().clear();
+		gefunden.setName("geändert");
+
+		Stapel erneut = cache.findByFachId(stapel.getFachId(), laden);
+		assertThat(erneut.getName()).isEqualTo("Mathe");
+		assertThat(erneut.getKarteikarten()).hasSize(1);
+		assertThat(erneut.getKarteikarten().get(0).getAntworten()).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Ein gelöschter Stapel wird nicht mehr geliefert")
+	void test_4() {
+		Stapel stapel = speichere();
+
+		stapelDao.deleteByFachId(stapel.getFachId());
+
+		assertThat(cache.findByFachId(stapel.getFachId(), laden)).isNull();
+		assertThat(geladen).hasValue(0);
+	}
+
+	@Test
+	@DisplayName("Ein zurückgerolltes Speichern landet nicht im Cache")
+	void test_5() {
+		Stapel stapel = speichere();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		transaction.executeWithoutResult(status -> {
+			stapel.setName("zurückgerollt");
+			repository.save(stapel);
+			status.setRollbackOnly();
+		});
+		Stapel gefunden = cache.findByFachId(stapel.getFachId(), laden);
+
+		assertThat(gefunden.getName()).isEqualTo("Mathe");
+	}
+
+	@Test
+	@DisplayName("Über die Maximalgröße hinaus wird der am längsten nicht genutzte Stapel verdrängt")
+	void test_6() {
+		Stapel erster = speichere();
+		for (int i = 0; i < 10; i++) speichere();
+
+		cache.findByFachId(erster.getFachId(), laden);
+
+		assertThat(geladen).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("Ein Lesezugriff zwischen dem Speichern und dem Erhöhen der Version liefert den Stand der Datenbank")
+	void test_7() {
+		Stapel stapel = transaktionalesRepository.save(neuerStapel());
+		transaktionalesRepository.findByFachId(stapel.getFachId());
+		List<String> gelesen = new ArrayList<>();
+		zwischendurch = () -> gelesen.addAll(leseNebenlaeufig(stapel.getFachId()));
+
+		stapel.setName("Analysis");
+		transaktionalesRepository.save(stapel);
+
+		assertThat(gelesen.get(0)).isEqualTo(gelesen.get(1));
+		assertThat(transaktionalesRepository.findByFachId(stapel.getFachId()).getName()).isEqualTo("Analysis");
+	}
+
+	@Test
+	@DisplayName("Ein Lesezugriff zwischen dem Umbenennen und dem Erhöhen der Version liefert den Stand der Datenbank")
+	void test_8() {
+		Stapel stapel = transaktionalesRepository.save(neuerStapel());
+		transaktionalesRepository.findByFachId(stapel.getFachId());
+		List<String> gelesen = new ArrayList<>();
+		zwischendurch = () -> gelesen.addAll(leseNebenlaeufig(stapel.getFachId()));
+
+		transaktionalesRepository.changeSetName(stapel.getFachId().toString(), "Analysis");
+
+		assertThat(gelesen.get(0)).isEqualTo(gelesen.get(1));
+		assertThat(transaktionalesRepository.findByFachId(stapel.getFachId()).getName()).isEqualTo("Analysis");
+	}
+
+	/**
+	 * @return den Namen aus dem Repository und den Namen in der Datenbank, gelesen in einem anderen Thread
+	 */
+	private List<String> leseNebenlaeufig(UUID fachId) {
+		return CompletableFuture.supplyAsync(() -> List.of(
+				transaktionalesRepository.findByFachId(fachId).getName(),
+				jdbcTemplate.queryForObject("select name from stapel where fach_id = ?", String.class, fachId))).join();
+	}
+}
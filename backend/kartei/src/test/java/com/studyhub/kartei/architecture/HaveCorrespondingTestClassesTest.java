@@ -3,7 +3,6 @@ package com.studyhub.kartei.architecture;
 import com.studyhub.kartei.KarteiApplication;
 import com.studyhub.kartei.KarteiApplicationTests;
 import com.studyhub.kartei.TestKarteiApplication;
-import com.studyhub.kartei.adapter.config.CacheConfig;
 import com.studyhub.kartei.util.JsoupUtil;
 import com.studyhub.kartei.util.KarteikarteGelerntEventMother;
 import com.studyhub.kartei.util.KarteikarteMother;
@@ -57,7 +56,7 @@ public class HaveCorrespondingTestClassesTest extends ArchCondition<JavaClass> {
 	public boolean ignoreClasses(JavaClass javaClass) {
 		Class<?>[] classes = {
 				KarteiApplication.class, KarteiApplicationTests.class, TestKarteiApplication.class,
-				TestcontainersConfiguration.class, CacheConfig.class, JsoupUtil.class,
+				TestcontainersConfiguration.class, JsoupUtil.class,
 				KarteikarteGelerntEventMother.class, KarteikarteMother.class, StapelMother.class
 		};
 
@@ -16,6 +16,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class KarteikarteTest {
 
+	private static final Scheduler VERDOPPELND = new VerdoppelnderScheduler();
+	private static final LocalDateTime JETZT = LocalDateTime.of(2025, 1, 15, 10, 0);
+
 	@Test
 	@DisplayName("Factory-Methode initiiert Karteikarte mit Default-Werten korrekt")
 	void test_1() {
@@ -39,9 +42,8 @@ public class KarteikarteTest {
 	void test_2() {
 		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d");
 
-		boolean erfolg = normalKarte.updateLernstufen(Schwierigkeit.NORMAL);
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.NORMAL, JETZT);
 
-		assertThat(erfolg).isTrue();
 		assertThat(normalKarte.getLernstufen()).isEqualTo("2h,2d,4d");
 	}
 
@@ -50,9 +52,8 @@ public class KarteikarteTest {
 	void test_3() {
 		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d");
 
-		boolean erfolg = normalKarte.updateLernstufen(Schwierigkeit.EASY);
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.EASY, JETZT);
 
-		assertThat(erfolg).isTrue();
 		assertThat(normalKarte.getLernstufen()).isEqualTo("2d,4d,8d");
 	}
 
@@ -61,9 +62,8 @@ public class KarteikarteTest {
 	void test_4() {
 		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d");
 
-		boolean erfolg = normalKarte.updateLernstufen(Schwierigkeit.HARD);
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.HARD, JETZT);
 
-		assertThat(erfolg).isTrue();
 		assertThat(normalKarte.getLernstufen()).isEqualTo("10m,2h,2d");
 	}
 
@@ -82,9 +82,8 @@ public class KarteikarteTest {
 	void test_6() {
 		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d,4d");
 
-		boolean erfolg = normalKarte.updateLernstufen(Schwierigkeit.NORMAL);
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.NORMAL, JETZT);
 
-		assertThat(erfolg).isTrue();
 		assertThat(normalKarte.getLernstufen()).isEqualTo("2h,2d,4d");
 	}
 
@@ -93,9 +92,8 @@ public class KarteikarteTest {
 	void test_7() {
 		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d,4d");
 
-		boolean erfolg = normalKarte.updateLernstufen(Schwierigkeit.EASY);
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.EASY, JETZT);
 
-		assertThat(erfolg).isTrue();
 		assertThat(normalKarte.getLernstufen()).isEqualTo("2d,4d,8d,16d");
 	}
 
@@ -173,4 +171,27 @@ public class KarteikarteTest {
 
 		assertFalse(res);
 	}
+
+	@Test
+	@DisplayName("Ein Review plant die Karteikarte mit dem Scheduler ein und zählt schwere Antworten")
+	void test_13() {
+		Karteikarte karte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d");
+
+		LocalDateTime faellig = karte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.HARD, JETZT);
+
+		assertThat(faellig).isEqualTo(JETZT.plusMinutes(10));
+		assertThat(karte.getFaelligAm()).isEqualTo(faellig);
+		assertThat(karte.getLernstufen()).isEqualTo("10m,2h,2d");
+		assertThat(karte.getWasHard()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Lernstufen(5 Stück) einer Karte werden erfolgreich geupdated, basierend auf Schwierigkeit.EASY")
+	void test_14() {
+		Karteikarte normalKarte = KarteikarteMother.newKarteikarteWithLernstufen("10m,2h,2d,4d,8d");
+
+		normalKarte.planeNaechstesReview(VERDOPPELND, Schwierigkeit.EASY, JETZT);
+
+		assertThat(normalKarte.getLernstufen()).isEqualTo("2d,4d,8d,16d,32d");
+	}
 }
@@ -0,0 +1,73 @@
+package com.studyhub.kartei.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LernstufenTest {
+
+	@Test
+	@DisplayName("Lernstufen werden gepackt und unverändert wieder formatiert")
+	void test_1() {
+		Lernstufen stufen = Lernstufen.parse("10m,4h,2d,365d");
+
+		assertThat(stufen.anzahl()).isEqualTo(4);
+		assertThat(stufen.toString()).isEqualTo("10m,4h,2d,365d");
+	}
+
+	@Test
+	@DisplayName("Die Minuten einer Lernstufe werden aus Wert und Einheit berechnet")
+	void test_2() {
+		Lernstufen stufen = Lernstufen.parse("10m,4h,2d");
+
+		assertThat(stufen.minuten(0)).isEqualTo(10);
+		assertThat(stufen.minuten(1)).isEqualTo(4 * 60);
+		assertThat(stufen.minuten(2)).isEqualTo(2 * 24 * 60);
+	}
+
+	@Test
+	@DisplayName("Fehlt eine Lernstufe, wird die letzte verwendet")
+	void test_3() {
+		Lernstufen stufen = Lernstufen.parse("10m,1d");
+
+		assertThat(stufen.wert(2)).isEqualTo(1);
+		assertThat(stufen.einheit(2)).isEqualTo(Lernstufen.TAGE);
+	}
+
+	@Test
+	@DisplayName("Nur Lernstufen im Format '10m,4h,2d' sind gültig")
+	void test_4() {
+		assertThat(Lernstufen.isValid("1m")).isTrue();
+		assertThat(Lernstufen.isValid("10m,4h,2d")).isTrue();
+		assertThat(Lernstufen.isValid(null)).isFalse();
+		assertThat(Lernstufen.isValid("")).isFalse();
+		assertThat(Lernstufen.isValid("10m,")).isFalse();
+		assertThat(Lernstufen.isValid(",10m")).isFalse();
+		assertThat(Lernstufen.isValid("10m,,4h")).isFalse();
+		assertThat(Lernstufen.isValid("010m")).isFalse();
+		assertThat(Lernstufen.isValid("0m")).isFalse();
+		assertThat(Lernstufen.isValid("10")).isFalse();
+		assertThat(Lernstufen.isValid("m")).isFalse();
+		assertThat(Lernstufen.isValid("10mh")).isFalse();
+		assertThat(Lernstufen.isValid("10m 4h")).isFalse();
+		assertThat(Lernstufen.isValid("99999999999d")).isFalse();
+	}
+
+	@Test
+	@DisplayName("Ungültige Lernstufen können nicht geparst werden")
+	void test_5() {
+		assertThrows(AggregateInconsistencyException.class, () -> Lernstufen.parse("2m2h2d"));
+	}
+
+	@Test
+	@DisplayName("Zu große Werte werden beim Setzen begrenzt")
+	void test_6() {
+		Lernstufen stufen = Lernstufen.parse("10m,4h,2d");
+
+		stufen.setze(2, Long.MAX_VALUE, Lernstufen.TAGE);
+
+		assertThat(stufen.wert(2)).isEqualTo(Lernstufen.MAX_WERT);
+	}
+}
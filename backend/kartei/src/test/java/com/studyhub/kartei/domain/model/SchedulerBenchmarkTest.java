@@ -0,0 +1,93 @@
+package com.studyhub.kartei.domain.model;
+
+import com.studyhub.kartei.util.KarteikarteMother;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Misst Reviews pro Sekunde für beide Scheduler, einmal nur die Intervallberechnung auf den gepackten Lernstufen
+ * und einmal das komplette Review einer Karteikarte inklusive Parsen und Formatieren der Lernstufen.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=SchedulerBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SchedulerBenchmarkTest {
+
+	private static final int AUFWAERMEN = 200_000;
+	private static final int REVIEWS = 2_000_000;
+	private static final Schwierigkeit[] ANTWORTEN = {Schwierigkeit.NORMAL, Schwierigkeit.HARD, Schwierigkeit.EASY, Schwierigkeit.NORMAL};
+
+	private final Logger log = LoggerFactory.getLogger(SchedulerBenchmarkTest.class);
+
+	static Stream<Arguments> scheduler() {
+		return Stream.of(Arguments.of(new VerdoppelnderScheduler()), Arguments.of(new Sm2Scheduler()));
+	}
+
+	@ParameterizedTest
+	@MethodSource("scheduler")
+	@DisplayName("Die Intervallberechnung auf den gepackten Lernstufen allokiert nichts")
+	void intervallberechnung(Scheduler scheduler) {
+		Lernstufen stufen = Lernstufen.parse("10m,4h,2d");
+		long summe = berechne(scheduler, stufen, AUFWAERMEN);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allokiertVorher = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		summe += berechne(scheduler, stufen, REVIEWS);
+		long dauer = System.nanoTime() - start;
+		long allokiert = threads.getCurrentThreadAllocatedBytes() - allokiertVorher;
+
+		log.info("{}: {} interval computations/s, {} bytes allocated (checksum {})",
+				scheduler.getClass().getSimpleName(), REVIEWS * 1_000_000_000L / dauer, allokiert, summe);
+		assertThat(allokiert).isLessThan(1_024);
+	}
+
+	@ParameterizedTest
+	@MethodSource("scheduler")
+	@DisplayName("Reviews pro Sekunde einer Karteikarte inklusive Parsen und Formatieren der Lernstufen")
+	void review(Scheduler scheduler) {
+		Karteikarte karte = KarteikarteMother.newKarteikarteWithLernstufen("10m,4h,2d");
+		LocalDateTime jetzt = LocalDateTime.of(2025, 1, 15, 10, 0);
+		reviewe(scheduler, karte, jetzt, AUFWAERMEN);
+
+		long start = System.nanoTime();
+		reviewe(scheduler, karte, jetzt, REVIEWS);
+		long dauer = System.nanoTime() - start;
+
+		log.info("{}: {} reviews/s", scheduler.getClass().getSimpleName(), REVIEWS * 1_000_000_000L / dauer);
+		assertThat(Lernstufen.isValid(karte.getLernstufen())).isTrue();
+	}
+
+	private static long berechne(Scheduler scheduler, Lernstufen stufen, int anzahl) {
+		long summe = 0;
+		for (int i = 0; i < anzahl; i++) {
+			Schwierigkeit antwort = ANTWORTEN[i & 3];
+			summe += scheduler.intervallMinuten(stufen, antwort, i & 7);
+			scheduler.naechsteLernstufen(stufen, antwort, i & 7);
+			// Lernstufen zurücksetzen, bevor sie an MAX_WERT stoßen
+			if ((i & 31) == 31) {
+				stufen.setze(0, 10, Lernstufen.MINUTEN);
+				stufen.setze(1, 4, Lernstufen.STUNDEN);
+				stufen.setze(2, 2, Lernstufen.TAGE);
+			}
+		}
+		return summe;
+	}
+
+	private static void reviewe(Scheduler scheduler, Karteikarte karte, LocalDateTime jetzt, int anzahl) {
+		for (int i = 0; i < anzahl; i++) {
+			karte.planeNaechstesReview(scheduler, ANTWORTEN[i & 3], jetzt);
+			if ((i & 31) == 31) karte.setLernstufen("10m,4h,2d");
+		}
+	}
+}
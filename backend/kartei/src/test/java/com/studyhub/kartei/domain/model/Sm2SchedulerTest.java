@@ -0,0 +1,54 @@
+package com.studyhub.kartei.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class Sm2SchedulerTest {
+
+	private final Scheduler scheduler = new Sm2Scheduler();
+
+	private String naechste(String lernstufen, Schwierigkeit schwierigkeit, int wasHard) {
+		Lernstufen stufen = Lernstufen.parse(lernstufen);
+		scheduler.naechsteLernstufen(stufen, schwierigkeit, wasHard);
+		return stufen.toString();
+	}
+
+	@Test
+	@DisplayName("NORMAL vergrößert das Intervall um den Ease-Faktor, die Relern-Stufe bleibt erhalten")
+	void test_1() {
+		assertThat(naechste("10m,4d,8d", Schwierigkeit.NORMAL, 0)).isEqualTo("10m,10d,13d");
+	}
+
+	@Test
+	@DisplayName("EASY vergrößert das Easy-Intervall um den Ease-Faktor")
+	void test_2() {
+		assertThat(naechste("10m,4d,8d", Schwierigkeit.EASY, 0)).isEqualTo("10m,20d,26d");
+	}
+
+	@Test
+	@DisplayName("HARD plant die Relern-Stufe ein und behält die Lernstufen")
+	void test_3() {
+		Lernstufen stufen = Lernstufen.parse("10m,4d,8d");
+
+		assertThat(scheduler.intervallMinuten(stufen, Schwierigkeit.HARD, 0)).isEqualTo(10);
+		assertThat(naechste("10m,4d,8d", Schwierigkeit.HARD, 0)).isEqualTo("10m,4d,8d");
+	}
+
+	@Test
+	@DisplayName("Jede schwere Antwort senkt den Ease-Faktor bis auf das Minimum")
+	void test_4() {
+		assertThat(Sm2Scheduler.ease(0)).isEqualTo(2.5);
+		assertThat(Sm2Scheduler.ease(5)).isCloseTo(1.8, offset(1e-9));
+		assertThat(Sm2Scheduler.ease(100)).isEqualTo(1.3);
+		assertThat(naechste("10m,4d,8d", Schwierigkeit.NORMAL, 100)).isEqualTo("10m,5d,7d");
+	}
+
+	@Test
+	@DisplayName("Auch kleine Intervalle wachsen mindestens um eins")
+	void test_5() {
+		assertThat(naechste("1m,1m,1m", Schwierigkeit.NORMAL, 100)).isEqualTo("1m,2m,3m");
+	}
+}
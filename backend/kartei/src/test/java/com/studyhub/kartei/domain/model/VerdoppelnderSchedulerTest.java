@@ -0,0 +1,51 @@
+package com.studyhub.kartei.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerdoppelnderSchedulerTest {
+
+	private final Scheduler scheduler = new VerdoppelnderScheduler();
+
+	private String naechste(String lernstufen, Schwierigkeit schwierigkeit) {
+		Lernstufen stufen = Lernstufen.parse(lernstufen);
+		scheduler.naechsteLernstufen(stufen, schwierigkeit, 0);
+		return stufen.toString();
+	}
+
+	@Test
+	@DisplayName("Das Intervall ist die Lernstufe der gewählten Schwierigkeit")
+	void test_1() {
+		Lernstufen stufen = Lernstufen.parse("10m,4h,2d");
+
+		assertThat(scheduler.intervallMinuten(stufen, Schwierigkeit.HARD, 0)).isEqualTo(10);
+		assertThat(scheduler.intervallMinuten(stufen, Schwierigkeit.NORMAL, 0)).isEqualTo(4 * 60);
+		assertThat(scheduler.intervallMinuten(stufen, Schwierigkeit.EASY, 0)).isEqualTo(2 * 24 * 60);
+	}
+
+	@Test
+	@DisplayName("NORMAL rückt um eine Stufe vor, EASY verdoppelt ab der dritten Stufe, HARD behält die Lernstufen")
+	void test_2() {
+		assertThat(naechste("10m,4h,2d", Schwierigkeit.NORMAL)).isEqualTo("4h,2d,4d");
+		assertThat(naechste("10m,4h,2d", Schwierigkeit.EASY)).isEqualTo("2d,4d,8d");
+		assertThat(naechste("10m,4h,2d", Schwierigkeit.HARD)).isEqualTo("10m,4h,2d");
+	}
+
+	@Test
+	@DisplayName("Bei EASY bleibt die Anzahl der Lernstufen erhalten")
+	void test_3() {
+		assertThat(naechste("10m,4h,2d,4d,8d", Schwierigkeit.EASY)).isEqualTo("2d,4d,8d,16d,32d");
+		assertThat(naechste("10m,4h,2d,4d,8d", Schwierigkeit.NORMAL)).isEqualTo("4h,2d,4d");
+	}
+
+	@Test
+	@DisplayName("Stapel mit nur zwei Lernstufen verwenden die letzte Lernstufe für EASY")
+	void test_4() {
+		Lernstufen stufen = Lernstufen.parse("10m,1d");
+
+		assertThat(scheduler.intervallMinuten(stufen, Schwierigkeit.EASY, 0)).isEqualTo(24 * 60);
+		assertThat(naechste("10m,1d", Schwierigkeit.EASY)).isEqualTo("1d,2d,4d");
+	}
+}
@@ -0,0 +1,90 @@
+package com.studyhub.kartei.service.application;
+
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import com.studyhub.kartei.adapter.db.StapelCache;
+import com.studyhub.kartei.adapter.db.StapelDao;
+import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
+import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.util.StapelMother;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Importiert eine CSV-Datei mit 200.000 Karteikarten (ca. 50 MB) über den Import-Job und misst die Dauer.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=KarteikarteImportBenchmarkTest}.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@DataJdbcTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class KarteikarteImportBenchmarkTest {
+
+	private static final int KARTEN = 200_000;
+
+	private final Logger log = LoggerFactory.getLogger(KarteikarteImportBenchmarkTest.class);
+
+	@Autowired
+	StapelDao stapelDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName("Eine 50 MB große Datei mit 200.000 Karteikarten wird zeilenweise in Batches importiert")
+	void benchmark() throws IOException {
+		StapelRepository stapelRepository = new StapelRepositoryImpl(stapelDao, jdbcTemplate, new StapelCache(jdbcTemplate, 100));
+		KarteikarteImportJobService service = new KarteikarteImportJobService(stapelRepository, Runnable::run, mock(FaelligkeitsIndexService.class), DataSize.ofMegabytes(64));
+		Stapel stapel = StapelMother.initSetWithoutKarteikarten();
+		stapelRepository.save(stapel);
+		Path datei = schreibeDatei();
+		long bytes = Files.size(datei);
+		KarteikarteImportJob job = new KarteikarteImportJob(stapel.getFachId().toString(), stapel.getUsername());
+
+		long start = System.nanoTime();
+		service.importiere(job, datei);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		log.info("imported {} Karteikarten from {} MB in {}ms", job.toStatus().importiert(), bytes / 1_000_000, millis);
+		assertThat(job.toStatus().status()).isEqualTo(KarteikarteImportJob.Status.ABGESCHLOSSEN);
+		assertThat(job.toStatus().importiert()).isEqualTo(KARTEN);
+		assertThat(jdbcTemplate.queryForObject("select count(*) from karteikarte k join stapel s on k.stapel = s.id where s.fach_id = ?",
+				Integer.class, stapel.getFachId())).isEqualTo(KARTEN);
+	}
+
+	private Path schreibeDatei() throws IOException {
+		Path datei = tempDir.resolve("karten.csv");
+		String fuellung = "x".repeat(200);
+		try (BufferedWriter writer = Files.newBufferedWriter(datei, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < KARTEN; i++) {
+				writer.write("frage " + i + " " + fuellung + ";antwort " + i + ";notiz " + i);
+				writer.newLine();
+			}
+		}
+		return datei;
+	}
+}
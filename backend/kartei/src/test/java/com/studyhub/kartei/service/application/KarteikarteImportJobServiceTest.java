@@ -0,0 +1,133 @@
+package com.studyhub.kartei.service.application;
+
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class KarteikarteImportJobServiceTest {
+
+	private StapelRepository repository;
+	private KarteikarteImportJobService service;
+	private String stapelId;
+
+	@BeforeEach
+	void init() {
+		repository = mock(StapelRepository.class);
+		service = new KarteikarteImportJobService(repository, Runnable::run, mock(FaelligkeitsIndexService.class), DataSize.ofKilobytes(1));
+		stapelId = UUID.randomUUID().toString();
+		when(repository.appendKarteikarten(eq(stapelId), anyList())).thenAnswer(i -> i.<List<?>>getArgument(1).size());
+	}
+
+	private static BufferedReader zeilen(int anzahl) {
+		String inhalt = IntStream.rangeClosed(1, anzahl).mapToObj(i -> "frage" + i + ";antwort" + i).collect(Collectors.joining("\n"));
+		return new BufferedReader(new StringReader(inhalt));
+	}
+
+	@Test
+	@DisplayName("Die Zeilen einer Datei werden in Batches begrenzter Größe an den Stapel angehängt")
+	void test_1() throws IOException {
+		KarteikarteImportJob job = new KarteikarteImportJob(stapelId, "user");
+
+		service.importiere(job, zeilen(2_500));
+
+		ArgumentCaptor<List<Karteikarte>> captor = ArgumentCaptor.forClass(List.class);
+		verify(repository, times(3)).appendKarteikarten(eq(stapelId), captor.capture());
+		assertThat(captor.getAllValues()).extracting(List::size).containsExactly(1_000, 1_000, 500);
+		assertThat(captor.getAllValues().get(2).get(499).getFrage()).isEqualTo("frage2500");
+		assertThat(job.toStatus().status()).isEqualTo(KarteikarteImportJob.Status.ABGESCHLOSSEN);
+		assertThat(job.toStatus().importiert()).isEqualTo(2_500);
+	}
+
+	@Test
+	@DisplayName("Fehlerhafte Zeilen werden mit Zeilennummer gemeldet und übersprungen, leere Zeilen ignoriert")
+	void test_2() throws IOException {
+		KarteikarteImportJob job = new KarteikarteImportJob(stapelId, "user");
+		BufferedReader reader = new BufferedReader(new StringReader("\uFEFFfrage1;aw1;notiz1\nkaputt\n\nfrage3;aw3\na;b;c;d\n"));
+
+		service.importiere(job, reader);
+
+		KarteikarteImportJobStatus status = job.toStatus();
+		assertThat(status.status()).isEqualTo(KarteikarteImportJob.Status.ABGESCHLOSSEN);
+		assertThat(status.gelesen()).isEqualTo(4);
+		assertThat(status.importiert()).isEqualTo(2);
+		assertThat(status.fehlerhaft()).isEqualTo(2);
+		assertThat(status.fehler()).extracting(KarteikarteImportJob.Fehler::zeile).containsExactly(2L, 5L);
+	}
+
+	@Test
+	@DisplayName("Existiert der Stapel nicht, schlägt der Job nach dem ersten Batch fehl")
+	void test_3() throws IOException {
+		String unbekannt = UUID.randomUUID().toString();
+		when(repository.appendKarteikarten(eq(unbekannt), anyList())).thenReturn(0);
+		KarteikarteImportJob job = new KarteikarteImportJob(unbekannt, "user");
+
+		service.importiere(job, zeilen(2_500));
+
+		verify(repository, times(1)).appendKarteikarten(eq(unbekannt), anyList());
+		assertThat(job.toStatus().status()).isEqualTo(KarteikarteImportJob.Status.FEHLGESCHLAGEN);
+		assertThat(job.toStatus().importiert()).isZero();
+	}
+
+	private static InputStream upload(String inhalt) {
+		return new ByteArrayInputStream(inhalt.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("Ein gestarteter Import ist für seinen Besitzer über die Job-Id abrufbar")
+	void test_4() throws IOException {
+		KarteikarteImportJob job = service.starteImport(upload("frage1;aw1\nfrage2;aw2"), stapelId, "user");
+
+		assertThat(service.findJob(job.getJobId(), "user")).contains(job);
+		assertThat(job.toStatus().status()).isEqualTo(KarteikarteImportJob.Status.ABGESCHLOSSEN);
+		assertThat(job.toStatus().importiert()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Leere Uploads werden nicht importiert")
+	void test_5() {
+		assertThrows(InvalidFileException.class, () -> service.starteImport(upload(""), stapelId, "user"));
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	@DisplayName("Ein unbekannter Job wird nicht gefunden")
+	void test_6() {
+		assertThat(service.findJob(UUID.randomUUID(), "user")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Der Job eines anderen Benutzers wird nicht gefunden")
+	void test_7() throws IOException {
+		KarteikarteImportJob job = service.starteImport(upload("frage1;aw1"), stapelId, "user");
+
+		assertThat(service.findJob(job.getJobId(), "anderer")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Uploads über der maximalen Dateigröße werden abgelehnt, ohne einen Job zu starten")
+	void test_8() {
+		String inhalt = "frage;antwort\n".repeat(100);
+
+		assertThrows(ImportTooLargeException.class, () -> service.starteImport(upload(inhalt), stapelId, "user"));
+		verifyNoInteractions(repository);
+	}
+}
@@ -0,0 +1,41 @@
+package com.studyhub.kartei.service.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KarteikarteImportJobTest {
+
+	@Test
+	@DisplayName("Ein neuer Import-Job läuft und hat noch nichts importiert")
+	void test_1() {
+		KarteikarteImportJobStatus status = new KarteikarteImportJob("stapel", "user").toStatus();
+
+		assertThat(status.status()).isEqualTo(KarteikarteImportJob.Status.LAEUFT);
+		assertThat(status.importiert()).isZero();
+		assertThat(status.fehler()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Es werden nur die ersten fehlerhaften Zeilen gespeichert, gezählt werden aber alle")
+	void test_2() {
+		KarteikarteImportJob job = new KarteikarteImportJob("stapel", "user");
+
+		for (int i = 1; i <= KarteikarteImportJob.MAX_FEHLER + 50; i++) job.fehlerhafteZeile(i, "kaputt");
+
+		assertThat(job.toStatus().fehlerhaft()).isEqualTo(KarteikarteImportJob.MAX_FEHLER + 50);
+		assertThat(job.toStatus().fehler()).hasSize(KarteikarteImportJob.MAX_FEHLER);
+	}
+
+	@Test
+	@DisplayName("Ein fehlgeschlagener Job enthält die Fehlermeldung")
+	void test_3() {
+		KarteikarteImportJob job = new KarteikarteImportJob("stapel", "user");
+
+		job.fehlgeschlagen("stapel does not exist");
+
+		assertThat(job.toStatus().status()).isEqualTo(KarteikarteImportJob.Status.FEHLGESCHLAGEN);
+		assertThat(job.toStatus().meldung()).isEqualTo("stapel does not exist");
+	}
+}
@@ -1,20 +1,22 @@
 package com.studyhub.kartei.service.application;
 
-import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.service.application.KarteikarteImportService;
 import com.studyhub.kartei.service.application.StapelRepository;
 import com.studyhub.kartei.util.DateiLader;
-import com.studyhub.kartei.util.StapelMother;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.mock.web.MockMultipartFile;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 public class KarteikarteImportServiceTest {
@@ -26,7 +28,7 @@ public class KarteikarteImportServiceTest {
     @BeforeAll
     static void init() {
         repository = mock(StapelRepository.class);
-        service = new KarteikarteImportService(repository);
+        service = new KarteikarteImportService(repository, mock(FaelligkeitsIndexService.class));
         dl = new DateiLader();
         write("src/test/resources/com/studyhub/kartei/service/application/large1.csv", 1);
         write("src/test/resources/com/studyhub/kartei/service/application/large2.txt", 1);
@@ -54,14 +56,15 @@ public class KarteikarteImportServiceTest {
     @DisplayName("Nachdem die Daten transformiert wurden, werden sie erfolgreich dem gewünschten Stapel hinzugefügt")
     void test_2() throws IOException {
         MockMultipartFile multipartFile = dl.ladeDateiAlsMultipart("src/test/resources/com/studyhub/kartei/service/application/test_fragen.csv");
-        Stapel s = StapelMother.initSetWithoutKarteikarten();
-        UUID stapelId = s.getFachId();
-        when(repository.findByFachId(stapelId)).thenReturn(s);
+        String stapelId = UUID.randomUUID().toString();
+        when(repository.appendKarteikarten(eq(stapelId), anyList())).thenReturn(3);
 
-        service.importKarteikarten(multipartFile, String.valueOf(stapelId));
+        service.importKarteikarten(multipartFile, stapelId);
 
-        assertThat(s.getKarteikarten()).hasSize(3);
-        verify(repository).save(s);
+        ArgumentCaptor<List<Karteikarte>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).appendKarteikarten(eq(stapelId), captor.capture());
+        assertThat(captor.getValue()).extracting(Karteikarte::getFrage).containsExactly("frage1", "frage2", "frage3");
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -162,6 +165,16 @@ public class KarteikarteImportServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Ein Import in einen nicht existierenden Stapel schlägt mit einer StapelUpdateException fehl")
+    void test_10() throws IOException {
+        MockMultipartFile multipartFile = dl.ladeDateiAlsMultipart("src/test/resources/com/studyhub/kartei/service/application/test_fragen.csv");
+        String stapelId = UUID.randomUUID().toString();
+        when(repository.appendKarteikarten(eq(stapelId), anyList())).thenReturn(0);
+
+        assertThrows(StapelUpdateException.class, () -> service.importKarteikarten(multipartFile, stapelId));
+    }
+
     private static void write(String file, int writeFlag) {
         if (writeFlag == 0) {
             try (FileWriter writer = new FileWriter(file)) {
@@ -2,9 +2,14 @@ package com.studyhub.kartei.service.application;
 
 import com.studyhub.kartei.adapter.db.KarteikarteDao;
 import com.studyhub.kartei.adapter.db.KarteikarteRepositoryImpl;
+import com.studyhub.kartei.adapter.db.StapelCache;
+import com.studyhub.kartei.adapter.db.StapelDao;
+import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
 import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Stapel;
 import com.studyhub.kartei.service.application.KarteikarteRepository;
 import com.studyhub.kartei.util.KarteikarteMother;
+import com.studyhub.kartei.util.StapelMother;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,11 +17,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +39,12 @@ public class KarteikarteRepositoryTest {
 	@Autowired
 	KarteikarteDao dao;
 
+	@Autowired
+	StapelDao stapelDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	KarteikarteRepository repository;
 
 	@BeforeEach
@@ -39,6 +52,12 @@ public class KarteikarteRepositoryTest {
 		repository = new KarteikarteRepositoryImpl(dao);
 	}
 
+	private Stapel saveStapelMitZweiKarten(String stapelId, String karteId) {
+		Stapel stapel = StapelMother.initSetWithIds(stapelId, karteId);
+		stapel.getKarteikarten().add(KarteikarteMother.newKarteikarte("andere frage", "andere antwort"));
+		return new StapelRepositoryImpl(stapelDao, jdbcTemplate, new StapelCache(jdbcTemplate, 100)).save(stapel);
+	}
+
 	@Test
 	@DisplayName("Eine Karteikarte kann erfolgreich abgespeichert werden")
 	void test_1() {
@@ -78,4 +97,44 @@ public class KarteikarteRepositoryTest {
 		assertThat(found).isEqualTo(saved);
 		assertThat(found.getAntworten().size()).isEqualTo(3);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Ein Review aktualisiert nur Fälligkeit, Lernstufen und wasHard der betroffenen Karteikarte")
+	void test_4() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		Stapel stapel = saveStapelMitZweiKarten(stapelId, karteId);
+		Karteikarte andere = stapel.getKarteikarten().get(1);
+		Karteikarte karte = repository.findByFachId(karteId);
+		LocalDateTime faelligAm = LocalDateTime.of(2030, 1, 1, 10, 0);
+		karte.setFaelligAm(faelligAm);
+		karte.setLernstufen("1d,2d,4d");
+		karte.karteikarteWasHard();
+
+		boolean erfolg = repository.updateReview(stapelId, karte);
+
+		Karteikarte found = repository.findByFachId(karteId);
+		Karteikarte andereFound = repository.findByFachId(andere.getFachId().toString());
+		assertThat(erfolg).isTrue();
+		assertThat(found.getFaelligAm()).isEqualTo(faelligAm);
+		assertThat(found.getLernstufen()).isEqualTo("1d,2d,4d");
+		assertThat(found.getWasHard()).isEqualTo(1);
+		assertThat(found.getFrage()).isEqualTo("Frage 1");
+		assertThat(andereFound.getLernstufen()).isEqualTo(andere.getLernstufen());
+		assertThat(andereFound.getWasHard()).isZero();
+	}
+
+	@Test
+	@DisplayName("Ein Review einer Karteikarte, die nicht zum angegebenen Stapel gehört, ändert nichts")
+	void test_5() {
+		String karteId = UUID.randomUUID().toString();
+		saveStapelMitZweiKarten(UUID.randomUUID().toString(), karteId);
+		Karteikarte karte = repository.findByFachId(karteId);
+		karte.setLernstufen("1d,2d,4d");
+
+		boolean erfolg = repository.updateReview(UUID.randomUUID().toString(), karte);
+
+		assertThat(erfolg).isFalse();
+		assertThat(repository.findByFachId(karteId).getLernstufen()).isEqualTo("10m,10h,10d");
+	}
+}
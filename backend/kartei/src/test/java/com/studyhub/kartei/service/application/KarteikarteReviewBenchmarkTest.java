@@ -0,0 +1,124 @@
+package com.studyhub.kartei.service.application;
+
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import com.studyhub.kartei.adapter.db.KarteikarteDao;
+import com.studyhub.kartei.adapter.db.KarteikarteGelerntEventDao;
+import com.studyhub.kartei.adapter.db.KarteikarteGelerntEventRepoImpl;
+import com.studyhub.kartei.adapter.db.KarteikarteRepositoryImpl;
+import com.studyhub.kartei.adapter.db.StapelCache;
+import com.studyhub.kartei.adapter.db.StapelDao;
+import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Schwierigkeit;
+import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.domain.model.VerdoppelnderScheduler;
+import com.studyhub.kartei.util.KarteikarteMother;
+import com.studyhub.kartei.util.StapelMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Vergleicht die Dauer eines Reviews vor (Stapel laden und komplett speichern) und nach der Umstellung auf
+ * das Update der einzelnen Karteikarte, jeweils für einen kleinen und einen großen Stapel.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=KarteikarteReviewBenchmarkTest}.
+ */
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@DataJdbcTest
+@ActiveProfiles("test")
+@Sql(scripts = "drop_stapel.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class KarteikarteReviewBenchmarkTest {
+
+	private static final int KLEIN = 20;
+	private static final int GROSS = 2_000;
+	private static final int REVIEWS = 50;
+
+	private final Logger log = LoggerFactory.getLogger(KarteikarteReviewBenchmarkTest.class);
+
+	@Autowired
+	StapelDao stapelDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	KarteikarteDao karteikarteDao;
+
+	@Autowired
+	KarteikarteGelerntEventDao eventDao;
+
+	StapelRepository stapelRepository;
+	KarteikarteService service;
+
+	@BeforeEach
+	void init() {
+		stapelRepository = new StapelRepositoryImpl(stapelDao, jdbcTemplate, new StapelCache(jdbcTemplate, 100));
+		service = new KarteikarteService(stapelRepository, new KarteikarteRepositoryImpl(karteikarteDao), new KarteikarteGelerntEventRepoImpl(eventDao),
+				mock(FaelligkeitsIndexService.class), new VerdoppelnderScheduler());
+	}
+
+	@Test
+	@DisplayName("Die Dauer eines Reviews hängt nach der Umstellung nicht mehr von der Größe des Stapels ab")
+	void benchmark() {
+		String kleinKarteId = UUID.randomUUID().toString();
+		String grossKarteId = UUID.randomUUID().toString();
+		String klein = saveStapel(KLEIN, kleinKarteId);
+		String gross = saveStapel(GROSS, grossKarteId);
+
+		// zuerst die Einzelupdates messen, damit die beim Neuschreiben des Stapels entstehenden toten Zeilen sie nicht verfälschen
+		long kleinNachher = measure(i -> service.updateKarteikarteForNextReview(new UpdateInfo(klein, kleinKarteId, Schwierigkeit.HARD, 5)));
+		long grossNachher = measure(i -> service.updateKarteikarteForNextReview(new UpdateInfo(gross, grossKarteId, Schwierigkeit.HARD, 5)));
+		long kleinVorher = measure(i -> reviewMitStapel(klein, kleinKarteId));
+		long grossVorher = measure(i -> reviewMitStapel(gross, grossKarteId));
+
+		log.info("review latency for {} / {} cards: before={}ms / {}ms, after={}µs / {}µs per review",
+				KLEIN, GROSS, kleinVorher / REVIEWS / 1_000_000, grossVorher / REVIEWS / 1_000_000,
+				kleinNachher / REVIEWS / 1_000, grossNachher / REVIEWS / 1_000);
+		assertThat(stapelRepository.findByFachId(UUID.fromString(gross)).getKarteikarten()).hasSize(GROSS);
+		assertThat(grossNachher).isLessThan(grossVorher);
+		assertThat(grossNachher).isLessThan(kleinNachher * 3);
+	}
+
+	private String saveStapel(int karten, String karteId) {
+		Stapel stapel = StapelMother.initSetWithIds(UUID.randomUUID().toString(), karteId);
+		for (int i = 1; i < karten; i++) {
+			stapel.getKarteikarten().add(KarteikarteMother.newKarteWithAntworten(UUID.randomUUID(), 2));
+		}
+		stapelRepository.save(stapel);
+		return stapel.getFachId().toString();
+	}
+
+	private void reviewMitStapel(String stapelId, String karteId) {
+		Stapel stapel = stapelRepository.findByFachId(UUID.fromString(stapelId));
+		Karteikarte karte = stapel.findKarteikarteByFachId(karteId);
+		karte.setFaelligAm(LocalDateTime.now().plusHours(10));
+		stapelRepository.save(stapel);
+	}
+
+	private long measure(Consumer<Integer> review) {
+		review.accept(-1);
+		long start = System.nanoTime();
+		for (int i = 0; i < REVIEWS; i++) review.accept(i);
+		return System.nanoTime() - start;
+	}
+}
@@ -1,9 +1,12 @@
 package com.studyhub.kartei.service.application;
 
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
 import com.studyhub.kartei.domain.model.FrageTyp;
 import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
 import com.studyhub.kartei.domain.model.Schwierigkeit;
 import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.domain.model.VerdoppelnderScheduler;
 import com.studyhub.kartei.service.application.KarteikarteRepository;
 import com.studyhub.kartei.service.application.KarteikarteService;
 import com.studyhub.kartei.service.application.StapelRepository;
@@ -17,10 +20,12 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 public class KarteikarteServiceTest {
@@ -28,6 +33,7 @@ public class KarteikarteServiceTest {
 	private static StapelRepository stapelRepository;
 	private static KarteikarteRepository karteikarteRepository;
 	private static KarteikarteGelerntEventRepository eventRepo;
+	private static FaelligkeitsIndexService faelligkeitsIndex;
 	private static KarteikarteService karteikarteService;
 	private static LocalDateTime now;
 
@@ -36,7 +42,8 @@ public class KarteikarteServiceTest {
 		stapelRepository = mock(StapelRepository.class);
 		karteikarteRepository = mock(KarteikarteRepository.class);
 		eventRepo = mock(KarteikarteGelerntEventRepository.class);
-		karteikarteService = new KarteikarteService(stapelRepository, karteikarteRepository, eventRepo);
+		faelligkeitsIndex = mock(FaelligkeitsIndexService.class);
+		karteikarteService = new KarteikarteService(stapelRepository, karteikarteRepository, eventRepo, faelligkeitsIndex, new VerdoppelnderScheduler());
 		now = LocalDateTime.now();
 	}
 
@@ -98,14 +105,16 @@ public class KarteikarteServiceTest {
 		String stapelId = UUID.randomUUID().toString();
 		String karteId = UUID.randomUUID().toString();
 		UpdateInfo info = new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 0);
-		Stapel stapel = StapelMother.initSetWithIds(stapelId, karteId);
-		Karteikarte karteToUpdate = stapel.findKarteikarteByFachId(karteId);
-		when(stapelRepository.findByFachId(UUID.fromString(stapelId))).thenReturn(stapel);
+		Karteikarte karteToUpdate = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karteToUpdate);
+		when(karteikarteRepository.updateReview(stapelId, karteToUpdate)).thenReturn(true);
 
 		karteikarteService.updateKarteikarteForNextReview(info);
 
 		assertThat(karteToUpdate.getFaelligAm().toLocalDate()).isEqualTo(LocalDateTime.now().plusDays(10).toLocalDate());
-		verify(stapelRepository).save(stapel);
+		verify(karteikarteRepository).updateReview(stapelId, karteToUpdate);
+		verify(stapelRepository, never()).findByFachId(UUID.fromString(stapelId));
+		verify(faelligkeitsIndex).karteGeplant(UUID.fromString(stapelId), UUID.fromString(karteId), karteToUpdate.getFaelligAm());
 	}
 
 	@Test
@@ -114,14 +123,15 @@ public class KarteikarteServiceTest {
 		String stapelId = UUID.randomUUID().toString();
 		String karteId = UUID.randomUUID().toString();
 		UpdateInfo info = new UpdateInfo(stapelId, karteId, Schwierigkeit.NORMAL, 0);
-		Stapel stapel = StapelMother.initSetWithIds(stapelId, karteId);
-		Karteikarte karteToUpdate = stapel.findKarteikarteByFachId(karteId);
-		when(stapelRepository.findByFachId(UUID.fromString(stapelId))).thenReturn(stapel);
+		Karteikarte karteToUpdate = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karteToUpdate);
+		when(karteikarteRepository.updateReview(stapelId, karteToUpdate)).thenReturn(true);
 
 		karteikarteService.updateKarteikarteForNextReview(info);
 
 		assertThat(karteToUpdate.getFaelligAm().toLocalDate()).isEqualTo(LocalDateTime.now().plusHours(10).toLocalDate());
-		verify(stapelRepository).save(stapel);
+		verify(karteikarteRepository).updateReview(stapelId, karteToUpdate);
+		verify(stapelRepository, never()).findByFachId(UUID.fromString(stapelId));
 	}
 
 	@Test
@@ -130,44 +140,169 @@ public class KarteikarteServiceTest {
 		String stapelId = UUID.randomUUID().toString();
 		String karteId = UUID.randomUUID().toString();
 		UpdateInfo info = new UpdateInfo(stapelId, karteId, Schwierigkeit.HARD, 0);
-		Stapel stapel = StapelMother.initSetWithIds(stapelId, karteId);
-		Karteikarte karteToUpdate = stapel.findKarteikarteByFachId(karteId);
-		when(stapelRepository.findByFachId(UUID.fromString(stapelId))).thenReturn(stapel);
+		Karteikarte karteToUpdate = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karteToUpdate);
+		when(karteikarteRepository.updateReview(stapelId, karteToUpdate)).thenReturn(true);
 
 		karteikarteService.updateKarteikarteForNextReview(info);
 
 		assertThat(karteToUpdate.getFaelligAm().toLocalDate()).isEqualTo(LocalDateTime.now().plusMinutes(10).toLocalDate());
-		verify(stapelRepository).save(stapel);
-	}
-
-	@Test
-	@DisplayName("Wenn die Zeiteinheit weder 'm', 'h' oder 'd' ist, wird das originale Fälligkeitsdatum zurückgegeben")
-	void test_8() {
-		LocalDateTime now = LocalDateTime.now();
-
-		LocalDateTime computed = karteikarteService.addTimeToDate(now, 'z', 10);
-
-		assertThat(computed).isEqualTo(now);
+		verify(karteikarteRepository).updateReview(stapelId, karteToUpdate);
+		verify(stapelRepository, never()).findByFachId(UUID.fromString(stapelId));
 	}
 
 	@Test
 	@DisplayName("Wenn eine Karteikarte existiert, wird false zurückgegeben")
 	void test_9() {
 		Karteikarte k = KarteikarteMother.newKarteikarte("f", "a");
-		when(karteikarteRepository.findByFachId(k.getFachId().toString())).thenReturn(k);
+		when(karteikarteRepository.existsByFachId(k.getFachId().toString())).thenReturn(true);
 
 		boolean exists = karteikarteService.karteNotExistsById(k.getFachId().toString());
 
 		assertThat(exists).isFalse();
+		verify(karteikarteRepository, never()).findByFachId(k.getFachId().toString());
 	}
 
 	@Test
 	@DisplayName("Wenn eine Karteikarte nicht existiert, wird true zurückgegeben")
 	void test_10() {
-		when(karteikarteRepository.findByFachId(anyString())).thenReturn(null);
+		when(karteikarteRepository.existsByFachId(anyString())).thenReturn(false);
 
 		boolean exists = karteikarteService.karteNotExistsById(UUID.randomUUID().toString());
 
 		assertThat(exists).isTrue();
 	}
+
+	@Test
+	@DisplayName("Ein Review schlägt fehl, wenn die Karteikarte nicht existiert")
+	void test_11() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(null);
+
+		boolean erfolg = karteikarteService.updateKarteikarteForNextReview(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 0));
+
+		assertThat(erfolg).isFalse();
+		verify(karteikarteRepository, never()).updateReview(eq(stapelId), any());
+	}
+
+	@Test
+	@DisplayName("Ein Review schlägt fehl, wenn die Karteikarte nicht zum angegebenen Stapel gehört")
+	void test_12() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		Karteikarte karte = StapelMother.initSetWithIds(UUID.randomUUID().toString(), karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(karteikarteRepository.updateReview(stapelId, karte)).thenReturn(false);
+
+		boolean erfolg = karteikarteService.updateKarteikarteForNextReview(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 0));
+
+		assertThat(erfolg).isFalse();
+	}
+
+	@Test
+	@DisplayName("Gebündelte Reviews werden ab ihrem Review-Zeitpunkt eingeplant und als Event mit diesem Zeitpunkt gespeichert")
+	void test_13() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		LocalDateTime reviewedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+		Karteikarte karte = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(karteikarteRepository.updateReview(stapelId, karte)).thenReturn(true);
+		when(eventRepo.saveIfAbsent(any())).thenReturn(true);
+
+		List<ReviewErgebnis> ergebnisse = karteikarteService.updateKarteikartenForNextReview(
+				List.of(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 12, reviewedAt)));
+
+		assertThat(ergebnisse).containsExactly(new ReviewErgebnis(karteId, reviewedAt, ReviewErgebnis.Status.ANGEWENDET));
+		assertThat(karte.getFaelligAm()).isEqualTo(reviewedAt.plusDays(10));
+		verify(eventRepo).saveIfAbsent(new KarteikarteGelerntEvent(UUID.fromString(stapelId), UUID.fromString(karteId), reviewedAt, 12));
+		verify(faelligkeitsIndex).karteGeplant(UUID.fromString(stapelId), UUID.fromString(karteId), reviewedAt.plusDays(10));
+	}
+
+	@Test
+	@DisplayName("Ein bereits übermitteltes Review wird nicht erneut angewendet")
+	void test_14() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		LocalDateTime reviewedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+		Karteikarte karte = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		LocalDateTime faelligVorher = karte.getFaelligAm();
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(eventRepo.saveIfAbsent(any())).thenReturn(false);
+
+		List<ReviewErgebnis> ergebnisse = karteikarteService.updateKarteikartenForNextReview(
+				List.of(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 12, reviewedAt)));
+
+		assertThat(ergebnisse).extracting(ReviewErgebnis::status).containsExactly(ReviewErgebnis.Status.BEREITS_ANGEWENDET);
+		assertThat(karte.getFaelligAm()).isEqualTo(faelligVorher);
+		verify(karteikarteRepository, never()).updateReview(stapelId, karte);
+	}
+
+	@Test
+	@DisplayName("Reviews gelöschter Karteikarten werden übersprungen, die übrigen Reviews werden angewendet")
+	void test_15() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		String geloeschteKarteId = UUID.randomUUID().toString();
+		LocalDateTime reviewedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+		Karteikarte karte = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(karteikarteRepository.findByFachId(geloeschteKarteId)).thenReturn(null);
+		when(karteikarteRepository.updateReview(stapelId, karte)).thenReturn(true);
+		when(eventRepo.saveIfAbsent(any())).thenReturn(true);
+
+		List<ReviewErgebnis> ergebnisse = karteikarteService.updateKarteikartenForNextReview(List.of(
+				new UpdateInfo(stapelId, geloeschteKarteId, Schwierigkeit.HARD, 3, reviewedAt),
+				new UpdateInfo(stapelId, karteId, Schwierigkeit.HARD, 3, reviewedAt.plusSeconds(5))));
+
+		assertThat(ergebnisse).extracting(ReviewErgebnis::status)
+				.containsExactly(ReviewErgebnis.Status.NICHT_GEFUNDEN, ReviewErgebnis.Status.ANGEWENDET);
+		verify(eventRepo, never()).saveIfAbsent(new KarteikarteGelerntEvent(UUID.fromString(stapelId), UUID.fromString(geloeschteKarteId), reviewedAt, 3));
+	}
+
+	@Test
+	@DisplayName("Liegt der Review-Zeitpunkt in der Zukunft, wird ab jetzt eingeplant")
+	void test_16() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		Karteikarte karte = StapelMother.initSetWithIds(stapelId, karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(karteikarteRepository.updateReview(stapelId, karte)).thenReturn(true);
+		when(eventRepo.saveIfAbsent(any())).thenReturn(true);
+
+		karteikarteService.updateKarteikartenForNextReview(
+				List.of(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 12, LocalDateTime.now().plusDays(30))));
+
+		assertThat(karte.getFaelligAm().toLocalDate()).isEqualTo(LocalDateTime.now().plusDays(10).toLocalDate());
+	}
+
+	@Test
+	@DisplayName("Ein Batch ohne Review-Zeitpunkt oder mit zu vielen Reviews wird abgelehnt")
+	void test_17() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		List<UpdateInfo> zuViele = Collections.nCopies(KarteikarteService.MAX_REVIEWS_PRO_BATCH + 1,
+				new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 1, LocalDateTime.now()));
+
+		assertThrows(KarteikarteUpdateException.class, () -> karteikarteService.updateKarteikartenForNextReview(
+				List.of(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 1))));
+		assertThrows(KarteikarteUpdateException.class, () -> karteikarteService.updateKarteikartenForNextReview(zuViele));
+		verify(karteikarteRepository, never()).findByFachId(karteId);
+	}
+
+	@Test
+	@DisplayName("Gehört eine Karteikarte nicht zum angegebenen Stapel, wird der ganze Batch abgelehnt")
+	void test_18() {
+		String stapelId = UUID.randomUUID().toString();
+		String karteId = UUID.randomUUID().toString();
+		Karteikarte karte = StapelMother.initSetWithIds(UUID.randomUUID().toString(), karteId).findKarteikarteByFachId(karteId);
+		when(karteikarteRepository.findByFachId(karteId)).thenReturn(karte);
+		when(karteikarteRepository.updateReview(stapelId, karte)).thenReturn(false);
+		when(eventRepo.saveIfAbsent(any())).thenReturn(true);
+
+		assertThrows(KarteikarteUpdateException.class, () -> karteikarteService.updateKarteikartenForNextReview(
+				List.of(new UpdateInfo(stapelId, karteId, Schwierigkeit.EASY, 1, LocalDateTime.now()))));
+		verify(faelligkeitsIndex, never()).karteGeplant(eq(UUID.fromString(stapelId)), eq(UUID.fromString(karteId)), any());
+	}
 }
@@ -1,5 +1,7 @@
 package com.studyhub.kartei.service.application;
 
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
+import com.studyhub.kartei.adapter.db.StapelCache;
 import com.studyhub.kartei.adapter.db.StapelDao;
 import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
 import com.studyhub.kartei.domain.model.Karteikarte;
@@ -14,14 +16,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.studyhub.kartei.util.KarteikarteMother.newKarteWithAntworten;
+import static com.studyhub.kartei.util.KarteikarteMother.newKarteWithIdAndFälligAm;
 import static com.studyhub.kartei.util.KarteikarteMother.newKarteikarte;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -38,12 +44,15 @@ public class StapelRepositoryTest {
 	@Autowired
 	StapelDao dao;
 
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	StapelRepository stapelRepository;
 
 
 	@BeforeEach
 	void init() {
-		stapelRepository = new StapelRepositoryImpl(dao);
+		stapelRepository = new StapelRepositoryImpl(dao, jdbcTemplate, new StapelCache(jdbcTemplate, 100));
 	}
 
 	@Test
@@ -101,7 +110,7 @@ public class StapelRepositoryTest {
 		String karteToDelete = "7f8a3d6e-2c4b-4f8e-924b-8e5f9a6d3b1c";
 		Stapel s = StapelMother.initSetWithIds(setId, karteToDelete);
 		stapelRepository.save(s);
-		StapelService service = new StapelService(stapelRepository, mock(KarteikarteGelerntEventRepository.class), mock(LernzeitService.class));
+		StapelService service = new StapelService(stapelRepository, mock(KarteikarteGelerntEventRepository.class), mock(LernzeitService.class), mock(FaelligkeitsIndexService.class));
 
 		Stapel saved = service.deleteKarteikarteByFachId(UUID.fromString(setId), UUID.fromString(karteToDelete));
 
@@ -209,5 +218,84 @@ public class StapelRepositoryTest {
 	void test_16() {
 		assertThat(stapelRepository.isStapelDbHealthy()).isTrue();
 	}
-}
 
+	@Test
+	@DisplayName("Neue Karteikarten werden samt Antworten an einen bestehenden Stapel angehängt, ohne vorhandene Zeilen neu zu schreiben")
+	void test_17() {
+		Stapel stapel = StapelMother.initStapelWithNAnworten(2);
+		stapelRepository.save(stapel);
+		String stapelId = stapel.getFachId().toString();
+		List<Integer> vorher = jdbcTemplate.queryForList("select k.id from karteikarte k join stapel s on k.stapel = s.id where s.fach_id = ?", Integer.class, stapel.getFachId());
+		Karteikarte normal = newKarteikarte("frage2", "antwort2");
+		Karteikarte choice = newKarteWithAntworten(UUID.randomUUID(), 3);
+
+		int angehaengt = stapelRepository.appendKarteikarten(stapelId, List.of(normal, choice));
+
+		Stapel found = stapelRepository.findByFachId(stapel.getFachId());
+		List<Integer> nachher = jdbcTemplate.queryForList("select k.id from karteikarte k join stapel s on k.stapel = s.id where s.fach_id = ?", Integer.class, stapel.getFachId());
+		assertThat(angehaengt).isEqualTo(2);
+		assertThat(nachher).containsAll(vorher).hasSize(3);
+		assertThat(found.getKarteikarten()).extracting(Karteikarte::getFachId)
+				.containsExactly(stapel.getKarteikarten().get(0).getFachId(), normal.getFachId(), choice.getFachId());
+		assertThat(found.getKarteikarten().get(0).getAntworten()).hasSize(2);
+		assertThat(found.findKarteikarteByFachId(choice.getFachId().toString()).getAntworten()).isEqualTo(choice.getAntworten());
+		assertThat(found.findKarteikarteByFachId(normal.getFachId().toString()).getLernstufen()).isEqualTo("10m,1d");
+	}
+
+	@Test
+	@DisplayName("Angehängte Karteikarten bleiben erhalten, wenn der Stapel danach als Aggregat gespeichert wird")
+	void test_18() {
+		Stapel stapel = StapelMother.initStapelWithNAnworten(1);
+		stapelRepository.save(stapel);
+		Karteikarte choice = newKarteWithAntworten(UUID.randomUUID(), 3);
+		stapelRepository.appendKarteikarten(stapel.getFachId().toString(), List.of(choice));
+
+		stapelRepository.save(stapelRepository.findByFachId(stapel.getFachId()));
+
+		Stapel found = stapelRepository.findByFachId(stapel.getFachId());
+		assertThat(found.getKarteikarten()).hasSize(2);
+		assertThat(found.findKarteikarteByFachId(choice.getFachId().toString()).getAntworten()).hasSize(3);
+	}
+
+	@Test
+	@DisplayName("An einen nicht existierenden Stapel werden keine Karteikarten angehängt")
+	void test_19() {
+		int angehaengt = stapelRepository.appendKarteikarten(UUID.randomUUID().toString(), List.of(newKarteikarte("f", "a")));
+
+		assertThat(angehaengt).isZero();
+	}
+
+	@Test
+	@DisplayName("Die Übersicht zählt Karteikarten, fällige und neue Karteikarten pro Stapel eines Users")
+	void test_20() {
+		LocalDateTime now = LocalDateTime.now();
+		Karteikarte faellig = newKarteWithIdAndFälligAm(UUID.randomUUID(), now.minusDays(2));
+		Karteikarte neu = newKarteWithIdAndFälligAm(UUID.randomUUID(), now.plusMinutes(10));
+		Karteikarte spaeter = newKarteWithIdAndFälligAm(UUID.randomUUID(), now.plusDays(3));
+		Stapel mitKarten = new Stapel(UUID.randomUUID(), UUID.randomUUID(), "mit Karten", "b", "10m,1d", "uebersicht", List.of(faellig, neu, spaeter));
+		Stapel leer = new Stapel(UUID.randomUUID(), UUID.randomUUID(), "leer", "b", "10m,1d", "uebersicht", List.of());
+		stapelRepository.save(mitKarten);
+		stapelRepository.save(leer);
+
+		List<StapelUebersicht> uebersicht = stapelRepository.findUebersichtByUsername("uebersicht", now);
+
+		assertThat(uebersicht).containsExactly(
+				new StapelUebersicht(mitKarten.getFachId(), "mit Karten", 3, 1, 1),
+				new StapelUebersicht(leer.getFachId(), "leer", 0, 0, 0));
+	}
+
+	@Test
+	@DisplayName("Eine Karteikarte ohne FrageTyp wird angehängt und ohne FrageTyp geladen")
+	void test_21() {
+		Stapel stapel = StapelMother.initStapelWithNAnworten(1);
+		stapelRepository.save(stapel);
+		Karteikarte ohneTyp = newKarteWithAntworten(UUID.randomUUID(), 2);
+		ohneTyp.setFrageTyp(null);
+
+		int angehaengt = stapelRepository.appendKarteikarten(stapel.getFachId().toString(), List.of(ohneTyp));
+
+		Stapel found = stapelRepository.findByFachId(stapel.getFachId());
+		assertThat(angehaengt).isEqualTo(1);
+		assertThat(found.findKarteikarteByFachId(ohneTyp.getFachId().toString()).getFrageTyp()).isNull();
+	}
+}
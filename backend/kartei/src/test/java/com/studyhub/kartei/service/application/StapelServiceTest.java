@@ -1,5 +1,6 @@
 package com.studyhub.kartei.service.application;
 
+import com.studyhub.kartei.service.application.faelligkeit.FaelligkeitsIndexService;
 import com.studyhub.kartei.domain.model.Karteikarte;
 import com.studyhub.kartei.domain.model.Stapel;
 import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
@@ -28,13 +29,15 @@ public class StapelServiceTest {
 	static StapelService service;
 	static LernzeitService lernzeitService;
 	static KarteikarteGelerntEventRepository gelerntEventRepository;
+	static FaelligkeitsIndexService faelligkeitsIndex;
 
 	@BeforeAll
 	static void init() {
 		repo = mock(StapelRepository.class);
 		lernzeitService = mock(LernzeitService.class);
 		gelerntEventRepository = mock(KarteikarteGelerntEventRepository.class);
-		service = new StapelService(repo, gelerntEventRepository, lernzeitService);
+		faelligkeitsIndex = mock(FaelligkeitsIndexService.class);
+		service = new StapelService(repo, gelerntEventRepository, lernzeitService, faelligkeitsIndex);
 	}
 
 	@Test
@@ -106,17 +109,17 @@ public class StapelServiceTest {
 	@DisplayName("Wenn ein Karteikarten-Set existiert, wird true returned")
 	void test_08() {
 		String id = UUID.randomUUID().toString();
-		Stapel set = StapelMother.initSet();
-		when(repo.findByFachId(any(UUID.class))).thenReturn(set);
+		when(repo.existsByFachId(UUID.fromString(id))).thenReturn(true);
 
 		assertThat(service.stapelNotExists(id)).isFalse();
+		verify(repo, never()).findByFachId(UUID.fromString(id));
 	}
 
 	@Test
 	@DisplayName("Wenn ein Karteikarten-Set nicht existiert, wird false returned")
 	void test_09() {
 		String id = UUID.randomUUID().toString();
-		when(repo.findByFachId(any(UUID.class))).thenReturn(null);
+		when(repo.existsByFachId(any(UUID.class))).thenReturn(false);
 
 		assertThat(service.stapelNotExists(id)).isTrue();
 	}
@@ -213,10 +216,12 @@ public class StapelServiceTest {
 	@Test
 	@DisplayName("Die Anzahl fälliger Karteikarten aller Stapel wird als Map mit key=Stapelname, value=AnzahlFälligerKarten korrekt berechnet")
 	void test_18() {
-		List<Stapel> allStapel = StapelMother.initManyStapel();
-		when(repo.findAll()).thenReturn(allStapel);
+		LocalDateTime now = LocalDateTime.of(2025, 1, 5, 10, 0);
+		when(faelligkeitsIndex.findFaelligeKarteikartenProUser(now)).thenReturn(Map.of(
+				"peter", Map.of("stapel1", 1, "stapel2", 2),
+				"paul", Map.of("stapel3", 3)));
 
-		Map<String, Integer> resultMap = service.getAnzahlFaelligeKartenForEachStapel(LocalDateTime.of(2025, 1, 5, 10, 0));
+		Map<String, Integer> resultMap = service.getAnzahlFaelligeKartenForEachStapel(now);
 
 		assertThat(resultMap).isNotNull();
 		assertThat(resultMap.size()).isEqualTo(3);
@@ -228,17 +233,25 @@ public class StapelServiceTest {
 	@Test
 	@DisplayName("Benötigte Daten eines Stapels werden korrekt in ein Dto gepackt")
 	void test_19() {
-		List<Stapel> stapel = StapelMother.initManyStapel();
-		when(lernzeitService.getVorraussichtlicheLernzeitFürStapel(any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+		UUID stapel1 = UUID.fromString("40c0ea04-fb47-4fbe-a512-76280cb7dd12");
+		List<StapelUebersicht> stapel = List.of(
+				new StapelUebersicht(stapel1, "stapel1", 5, 4, 0),
+				new StapelUebersicht(UUID.randomUUID(), "stapel2", 3, 1, 2),
+				new StapelUebersicht(UUID.randomUUID(), "stapel3", 0, 0, 0));
+		when(lernzeitService.getVorraussichtlicheLernzeitFürStapel(anyCollection(), any(LocalDateTime.class)))
+				.thenReturn(Map.of(stapel1, 1));
 
-		List<StapelDashboardDataResponse> dtos = service.prepareDashboardInfo(stapel);
+		List<StapelDashboardDataResponse> dtos = service.prepareDashboardInfo(stapel, LocalDateTime.now());
 
+		verify(lernzeitService, times(1)).getVorraussichtlicheLernzeitFürStapel(anyCollection(), any(LocalDateTime.class));
 		assertThat(dtos.size()).isEqualTo(3);
 		assertThat(dtos.get(0).name()).isEqualTo("stapel1");
 		assertThat(dtos.get(0).fachId()).isEqualTo("40c0ea04-fb47-4fbe-a512-76280cb7dd12");
-		assertThat(dtos.get(0).vorraussichtlicheLernzeit()).isNotNull();
+		assertThat(dtos.get(0).vorraussichtlicheLernzeit()).isEqualTo(1);
+		assertThat(dtos.get(1).vorraussichtlicheLernzeit()).isEqualTo(0);
 		assertThat(dtos.get(0).anzahlNeueKarteikarten()).isEqualTo(0);
 		assertThat(dtos.get(0).anzahlFaelligeKarteikarten()).isEqualTo(4);
+		assertThat(dtos.get(1).anzahlNeueKarteikarten()).isEqualTo(2);
 	}
 
 	@Test
@@ -302,4 +315,29 @@ public class StapelServiceTest {
 			service.updateSetWithNewKarteikarte(stapelId, k);
 		});
 	}
+
+	@Test
+	@DisplayName("Für das Dashboard werden nur die Übersichten der Stapel geladen, nicht die Stapel mit allen Karteikarten")
+	void test_25() {
+		when(repo.findUebersichtByUsername(eq("peter"), any(LocalDateTime.class)))
+				.thenReturn(List.of(new StapelUebersicht(UUID.randomUUID(), "stapel1", 3, 2, 1)));
+
+		List<StapelDashboardDataResponse> dtos = service.prepareDashboardInfo("peter");
+
+		verify(repo, never()).findByUsername(any());
+		assertThat(dtos).extracting(StapelDashboardDataResponse::name).containsExactly("stapel1");
+		assertThat(dtos.get(0).anzahlFaelligeKarteikarten()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Es werden nur die Namen der Stapel mit fälligen Karteikarten zurückgegeben")
+	void test_26() {
+		when(repo.findUebersichtByUsername(eq("peter"), any(LocalDateTime.class))).thenReturn(List.of(
+				new StapelUebersicht(UUID.randomUUID(), "faellig", 3, 2, 1),
+				new StapelUebersicht(UUID.randomUUID(), "nicht faellig", 3, 0, 0)));
+
+		List<String> namen = service.getFaelligeStapelNamenByUsername("peter");
+
+		assertThat(namen).containsExactly("faellig");
+	}
 }
\ No newline at end of file
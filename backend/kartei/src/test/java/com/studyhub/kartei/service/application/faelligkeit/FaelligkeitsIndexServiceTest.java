@@ -0,0 +1,78 @@
+package com.studyhub.kartei.service.application.faelligkeit;
+
+import com.studyhub.kartei.service.application.StapelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class FaelligkeitsIndexServiceTest {
+
+	private static final LocalDateTime HEUTE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+	private StapelRepository repository;
+	private FaelligkeitsIndexService service;
+	private UUID mathe;
+
+	@BeforeEach
+	void init() {
+		repository = mock(StapelRepository.class);
+		service = new FaelligkeitsIndexService(repository);
+		mathe = UUID.randomUUID();
+		when(repository.findAllFaelligkeiten()).thenReturn(List.of(new KarteikarteFaelligkeit("peter", mathe, "Mathe", null, null)));
+		service.neuAufbauen();
+	}
+
+	@AfterEach
+	void cleanup() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	@DisplayName("Änderungen innerhalb einer Transaktion erreichen den Index erst nach dem Commit")
+	void test_1() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		service.karteGeplant(mathe, UUID.randomUUID(), HEUTE.minusDays(1));
+		assertThat(service.findFaelligeKarteikartenProUser(HEUTE)).isEmpty();
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		assertThat(service.findFaelligeKarteikartenProUser(HEUTE)).containsOnly(Map.entry("peter", Map.of("Mathe", 1)));
+	}
+
+	@Test
+	@DisplayName("Nach einem Rollback bleibt der Index unverändert")
+	void test_2() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		service.karteGeplant(mathe, UUID.randomUUID(), HEUTE.minusDays(1));
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertThat(service.findFaelligeKarteikartenProUser(HEUTE)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Änderungen während eines Neuaufbaus gehen nicht verloren")
+	void test_3() {
+		UUID bio = UUID.randomUUID();
+		when(repository.findAllFaelligkeiten()).thenAnswer(invocation -> {
+			service.karteGeplant(bio, UUID.randomUUID(), HEUTE.minusDays(1));
+			return List.of(new KarteikarteFaelligkeit("peter", bio, "Bio", null, null));
+		});
+
+		service.neuAufbauen();
+
+		assertThat(service.findFaelligeKarteikartenProUser(HEUTE)).containsOnly(Map.entry("peter", Map.of("Bio", 1)));
+	}
+}
@@ -0,0 +1,118 @@
+package com.studyhub.kartei.service.application.faelligkeit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FaelligkeitsIndexTest {
+
+	private static final LocalDateTime HEUTE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+	private FaelligkeitsIndex index;
+	private UUID mathe;
+	private UUID bio;
+
+	@BeforeEach
+	void init() {
+		index = new FaelligkeitsIndex();
+		mathe = UUID.randomUUID();
+		bio = UUID.randomUUID();
+		index.stapelAngelegt(mathe, "peter", "Mathe");
+		index.stapelAngelegt(bio, "peter", "Bio");
+	}
+
+	@Test
+	@DisplayName("Fällige Karteikarten werden pro User und Stapelname gezählt, User ohne fällige Karteikarten fehlen")
+	void test_1() {
+		UUID chemie = UUID.randomUUID();
+		index.stapelAngelegt(chemie, "paul", "Chemie");
+		index.karteGeplant(mathe, UUID.randomUUID(), HEUTE.minusDays(1));
+		index.karteGeplant(mathe, UUID.randomUUID(), HEUTE.minusHours(1));
+		index.karteGeplant(bio, UUID.randomUUID(), HEUTE.minusMinutes(1));
+		index.karteGeplant(bio, UUID.randomUUID(), HEUTE.plusDays(1));
+		index.karteGeplant(chemie, UUID.randomUUID(), HEUTE.plusDays(2));
+
+		Map<String, Map<String, Integer>> faellig = index.faelligeKarteikarten(HEUTE);
+
+		assertThat(faellig).containsOnlyKeys("peter");
+		assertThat(faellig.get("peter")).containsOnly(Map.entry("Mathe", 2), Map.entry("Bio", 1));
+	}
+
+	@Test
+	@DisplayName("Karteikarten werden erst gezählt, wenn ihr Termin vorbei ist")
+	void test_2() {
+		index.karteGeplant(mathe, UUID.randomUUID(), HEUTE.plusMinutes(5));
+		index.karteGeplant(bio, UUID.randomUUID(), HEUTE.plusMinutes(10));
+
+		assertThat(index.faelligeKarteikarten(HEUTE)).isEmpty();
+		assertThat(index.faelligeKarteikarten(HEUTE.plusMinutes(7))).containsOnly(Map.entry("peter", Map.of("Mathe", 1)));
+		assertThat(index.faelligeKarteikarten(HEUTE.plusMinutes(20))).containsOnly(Map.entry("peter", Map.of("Mathe", 1, "Bio", 1)));
+	}
+
+	@Test
+	@DisplayName("Eine gelernte Karteikarte ist nicht mehr fällig, bis ihr neuer Termin vorbei ist")
+	void test_3() {
+		UUID karte = UUID.randomUUID();
+		index.karteGeplant(mathe, karte, HEUTE.minusMinutes(1));
+		index.vorruecken(HEUTE);
+
+		index.karteGeplant(mathe, karte, HEUTE.plusDays(1));
+
+		assertThat(index.faelligeKarteikarten(HEUTE)).isEmpty();
+		assertThat(index.faelligeKarteikarten(HEUTE.plusDays(2))).containsOnly(Map.entry("peter", Map.of("Mathe", 1)));
+	}
+
+	@Test
+	@DisplayName("Der alte Termin einer verschobenen Karteikarte wird nicht mehr gezählt")
+	void test_4() {
+		UUID karte = UUID.randomUUID();
+		index.karteGeplant(mathe, karte, HEUTE.plusMinutes(5));
+
+		index.karteGeplant(mathe, karte, HEUTE.plusDays(3));
+
+		assertThat(index.faelligeKarteikarten(HEUTE.plusDays(1))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Gelöschte Karteikarten und Stapel werden nicht mehr gezählt")
+	void test_5() {
+		UUID karte = UUID.randomUUID();
+		index.karteGeplant(mathe, karte, HEUTE.minusDays(1));
+		index.karteGeplant(mathe, UUID.randomUUID(), HEUTE.minusDays(1));
+		index.karteGeplant(bio, UUID.randomUUID(), HEUTE.minusDays(1));
+
+		index.karteEntfernt(karte);
+		index.stapelEntfernt(bio);
+
+		assertThat(index.faelligeKarteikarten(HEUTE)).containsOnly(Map.entry("peter", Map.of("Mathe", 1)));
+	}
+
+	@Test
+	@DisplayName("Der Neuaufbau ersetzt den bisherigen Inhalt des Index")
+	void test_6() {
+		UUID karte = UUID.randomUUID();
+		index.karteGeplant(bio, UUID.randomUUID(), HEUTE.minusDays(1));
+		List<KarteikarteFaelligkeit> faelligkeiten = List.of(
+				new KarteikarteFaelligkeit("peter", mathe, "Mathe", karte, HEUTE.minusDays(1)),
+				new KarteikarteFaelligkeit("paul", bio, "Bio", null, null));
+
+		index.neuAufbauen(faelligkeiten, HEUTE);
+
+		assertThat(index.faelligeKarteikarten(HEUTE)).containsOnly(Map.entry("peter", Map.of("Mathe", 1)));
+	}
+
+	@Test
+	@DisplayName("Karteikarten eines unbekannten Stapels werden ignoriert")
+	void test_7() {
+		index.karteGeplant(UUID.randomUUID(), UUID.randomUUID(), HEUTE.minusDays(1));
+
+		assertThat(index.faelligeKarteikarten(HEUTE)).isEmpty();
+	}
+}
@@ -2,7 +2,11 @@ package com.studyhub.kartei.service.application.lernzeit;
 
 import com.studyhub.kartei.adapter.db.KarteikarteGelerntEventDao;
 import com.studyhub.kartei.adapter.db.KarteikarteGelerntEventRepoImpl;
+import com.studyhub.kartei.adapter.db.StapelCache;
+import com.studyhub.kartei.adapter.db.StapelDao;
+import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
 import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
+import com.studyhub.kartei.domain.model.Stapel;
 import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
 import org.assertj.core.data.Percentage;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
@@ -25,6 +30,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.studyhub.kartei.util.KarteikarteGelerntEventMother.initEvents;
+import static com.studyhub.kartei.util.KarteikarteGelerntEventMother.initStapelWithKartenAndId;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Testcontainers
@@ -53,6 +60,12 @@ public class KarteikarteGelerntEventRepositoryTest {
 	@Autowired
 	KarteikarteGelerntEventDao dao;
 
+	@Autowired
+	StapelDao stapelDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	KarteikarteGelerntEventRepository repo;
 
 	@BeforeEach
@@ -124,4 +137,62 @@ public class KarteikarteGelerntEventRepositoryTest {
 
 		assertThat(events.size()).isEqualTo(7);
 	}
+
+	private UUID saveStapelMitEvents() {
+		UUID stapelId = UUID.randomUUID();
+		Stapel stapel = initStapelWithKartenAndId(stapelId);
+		new StapelRepositoryImpl(stapelDao, jdbcTemplate, new StapelCache(jdbcTemplate, 100)).save(stapel);
+		initEvents(stapelId).forEach(repo::save);
+		return stapelId;
+	}
+
+	@Test
+	@DisplayName("Die vorraussichtliche Lernzeit summiert die durchschnittlichen Sekunden aller fälligen Karteikarten eines Stapels")
+	void test_7() {
+		UUID stapelId = saveStapelMitEvents();
+
+		List<VorraussichtlicheLernzeit> eineFaellig = repo.sumVorraussichtlicheLernzeit(List.of(stapelId), LocalDateTime.of(2025, 1, 15, 10, 0));
+		List<VorraussichtlicheLernzeit> beideFaellig = repo.sumVorraussichtlicheLernzeit(List.of(stapelId), LocalDateTime.of(2025, 1, 20, 10, 1));
+
+		assertThat(eineFaellig).containsExactly(new VorraussichtlicheLernzeit(stapelId, 41));
+		assertThat(beideFaellig).containsExactly(new VorraussichtlicheLernzeit(stapelId, 93));
+	}
+
+	@Test
+	@DisplayName("Die vorraussichtliche Lernzeit mehrerer Stapel wird gemeinsam berechnet, Stapel ohne gelernte Karteikarten fehlen")
+	void test_8() {
+		UUID stapelId = saveStapelMitEvents();
+		UUID ohneEvents = UUID.randomUUID();
+
+		List<VorraussichtlicheLernzeit> lernzeiten = repo.sumVorraussichtlicheLernzeit(List.of(stapelId, ohneEvents), LocalDateTime.of(2025, 1, 20, 10, 1));
+
+		assertThat(lernzeiten).containsExactly(new VorraussichtlicheLernzeit(stapelId, 93));
+	}
+
+	@Test
+	@DisplayName("Werden die Events einer Karteikarte gelöscht, zählt sie nicht mehr zur vorraussichtlichen Lernzeit")
+	void test_9() {
+		UUID stapelId = saveStapelMitEvents();
+
+		repo.deleteAllByKarteiFachId(UUID.fromString("3f29a9a6-5b76-4cbf-bde0-ef6a64d3d90f"));
+
+		assertThat(repo.sumVorraussichtlicheLernzeit(List.of(stapelId), LocalDateTime.of(2025, 1, 20, 10, 1)))
+				.containsExactly(new VorraussichtlicheLernzeit(stapelId, 52));
+	}
+
+	@Test
+	@DisplayName("Ein Review mit gleicher Karteikarte und gleichem Zeitpunkt wird nur einmal gespeichert und gezählt")
+	void test_10() {
+		UUID stapelId = saveStapelMitEvents();
+		UUID karteId = UUID.fromString("3f29a9a6-5b76-4cbf-bde0-ef6a64d3d90f");
+		KarteikarteGelerntEvent event = new KarteikarteGelerntEvent(stapelId, karteId, LocalDateTime.of(2025, 1, 10, 8, 30, 0, 123_456_000), 40);
+		int vorher = repo.coundByKarteikarteId(karteId);
+
+		boolean erstesMal = repo.saveIfAbsent(event);
+		boolean zweitesMal = repo.saveIfAbsent(event);
+
+		assertThat(erstesMal).isTrue();
+		assertThat(zweitesMal).isFalse();
+		assertThat(repo.coundByKarteikarteId(karteId)).isEqualTo(vorher + 1);
+	}
 }
@@ -1,46 +1,36 @@
 package com.studyhub.kartei.service.application.lernzeit;
 
-import com.studyhub.kartei.domain.model.KarteikarteGelerntEvent;
-import com.studyhub.kartei.domain.model.Stapel;
-import com.studyhub.kartei.service.application.StapelRepository;
-import com.studyhub.kartei.service.application.lernzeit.KarteikarteGelerntEventRepository;
-import com.studyhub.kartei.service.application.lernzeit.LernzeitService;
-import com.studyhub.kartei.util.KarteikarteGelerntEventMother;
-import com.studyhub.kartei.util.StapelMother;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
 
 public class LernzeitServiceTest {
 
-	private static StapelRepository stapelRepository;
 	private static KarteikarteGelerntEventRepository karteikarteGelerntEventRepository;
 	private static LernzeitService lernzeitService;
 
 	@BeforeAll
 	public static void init() {
-		stapelRepository = mock(StapelRepository.class);
 		karteikarteGelerntEventRepository = mock(KarteikarteGelerntEventRepository.class);
-		lernzeitService = new LernzeitService(stapelRepository, karteikarteGelerntEventRepository);
+		lernzeitService = new LernzeitService(karteikarteGelerntEventRepository);
 	}
 
 	@Test
-	@DisplayName("Alle Events für einen Stapel werden gefunden und die vorraussichtliche Lernzeit dafür berechnet.")
+	@DisplayName("Die vorraussichtliche Lernzeit eines Stapels wird aus den Statistiken der fälligen Karteikarten gelesen")
 	void test_1() {
 		LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 0);
 		UUID stapelId = UUID.randomUUID();
-		List<KarteikarteGelerntEvent> events = KarteikarteGelerntEventMother.initEvents(stapelId);
-		Stapel stapel = KarteikarteGelerntEventMother.initStapelWithKartenAndId(stapelId);
-		when(karteikarteGelerntEventRepository.findByStapelId(stapelId)).thenReturn(events);
-		when(stapelRepository.findByFachId(stapelId)).thenReturn(stapel);
+		when(karteikarteGelerntEventRepository.sumVorraussichtlicheLernzeit(List.of(stapelId), now))
+				.thenReturn(List.of(new VorraussichtlicheLernzeit(stapelId, 41)));
 
 		int vorraussichtlicheZeit = lernzeitService.getVorraussichtlicheLernzeitFürStapel(stapelId, now);
 
@@ -48,18 +38,20 @@ public class LernzeitServiceTest {
 	}
 
 	@Test
-	@DisplayName("Alle Events für einen Stapel werden gefunden und die vorraussichtliche Lernzeit dafür berechnet.")
+	@DisplayName("Die vorraussichtliche Lernzeit mehrerer Stapel wird mit einer Abfrage berechnet")
 	void test_2() {
 		LocalDateTime now = LocalDateTime.of(2025, 1, 20, 10, 1);
-		UUID stapelId = UUID.randomUUID();
-		List<KarteikarteGelerntEvent> events = KarteikarteGelerntEventMother.initEvents(stapelId);
-		Stapel stapel = KarteikarteGelerntEventMother.initStapelWithKartenAndId(stapelId);
-		when(karteikarteGelerntEventRepository.findByStapelId(stapelId)).thenReturn(events);
-		when(stapelRepository.findByFachId(stapelId)).thenReturn(stapel);
+		UUID stapel1 = UUID.randomUUID();
+		UUID stapel2 = UUID.randomUUID();
+		UUID stapel3 = UUID.randomUUID();
+		List<UUID> stapelIds = List.of(stapel1, stapel2, stapel3);
+		when(karteikarteGelerntEventRepository.sumVorraussichtlicheLernzeit(stapelIds, now))
+				.thenReturn(List.of(new VorraussichtlicheLernzeit(stapel1, 93), new VorraussichtlicheLernzeit(stapel3, 12)));
 
-		int vorraussichtlicheZeit = lernzeitService.getVorraussichtlicheLernzeitFürStapel(stapelId, now);
+		Map<UUID, Integer> vorraussichtlicheZeiten = lernzeitService.getVorraussichtlicheLernzeitFürStapel(stapelIds, now);
 
-		assertThat(vorraussichtlicheZeit).isEqualTo(93);
+		assertThat(vorraussichtlicheZeiten).containsOnly(entry(stapel1, 93), entry(stapel3, 12));
+		verify(karteikarteGelerntEventRepository, times(1)).sumVorraussichtlicheLernzeit(stapelIds, now);
 	}
 
 	@Test
@@ -119,9 +111,7 @@ public class LernzeitServiceTest {
 	void test_9() {
 		LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 0);
 		UUID stapelId = UUID.randomUUID();
-		List<KarteikarteGelerntEvent> events = List.of();
-		Stapel stapel = KarteikarteGelerntEventMother.initStapelWithKartenAndId(stapelId);
-		when(karteikarteGelerntEventRepository.findByStapelId(stapelId)).thenReturn(events);
+		when(karteikarteGelerntEventRepository.sumVorraussichtlicheLernzeit(List.of(stapelId), now)).thenReturn(List.of());
 
 		int vorraussichtlicheZeit = lernzeitService.getVorraussichtlicheLernzeitFürStapel(stapelId, now);
 
@@ -132,14 +122,10 @@ public class LernzeitServiceTest {
 	@DisplayName("Wenn der Stapel keine Karteikarten erhält, wird 0 zurückgegeben")
 	void test_10() {
 		LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 0);
-		UUID stapelId = UUID.randomUUID();
-		List<KarteikarteGelerntEvent> events = KarteikarteGelerntEventMother.initEvents(stapelId);
-		Stapel stapel = StapelMother.initSetWithoutKarteikarten();
-		when(karteikarteGelerntEventRepository.findByStapelId(stapelId)).thenReturn(events);
-		when(stapelRepository.findByFachId(stapelId)).thenReturn(stapel);
+		when(karteikarteGelerntEventRepository.sumVorraussichtlicheLernzeit(List.of(), now)).thenReturn(List.of());
 
-		int vorraussichtlicheZeit = lernzeitService.getVorraussichtlicheLernzeitFürStapel(stapelId, now);
+		Map<UUID, Integer> vorraussichtlicheZeiten = lernzeitService.getVorraussichtlicheLernzeitFürStapel(List.of(), now);
 
-		assertThat(vorraussichtlicheZeit).isEqualTo(0);
+		assertThat(vorraussichtlicheZeiten).isEmpty();
 	}
 }
@@ -0,0 +1,106 @@
+package com.studyhub.kartei.service.application.review;
+
+import com.studyhub.kartei.adapter.db.ReviewQueueRepositoryImpl;
+import com.studyhub.kartei.adapter.db.StapelCache;
+import com.studyhub.kartei.adapter.db.StapelDao;
+import com.studyhub.kartei.adapter.db.StapelRepositoryImpl;
+import com.studyhub.kartei.domain.model.Antwort;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import com.studyhub.kartei.domain.model.Stapel;
+import com.studyhub.kartei.service.application.StapelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static com.studyhub.kartei.util.KarteikarteMother.newKarteWithAntworten;
+import static com.studyhub.kartei.util.KarteikarteMother.newKarteWithIdAndFälligAm;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@DataJdbcTest
+@ActiveProfiles("test")
+@Rollback(false)
+@Sql(scripts = "/com/studyhub/kartei/service/application/drop_stapel.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+public class ReviewQueueRepositoryTest {
+
+	private static final LocalDateTime HEUTE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+	@Autowired
+	StapelDao dao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	StapelRepository stapelRepository;
+	ReviewQueueRepository repository;
+
+	@BeforeEach
+	void init() {
+		stapelRepository = new StapelRepositoryImpl(dao, jdbcTemplate, new StapelCache(jdbcTemplate, 100));
+		repository = new ReviewQueueRepositoryImpl(jdbcTemplate);
+	}
+
+	private Stapel speichere(String username, String name, Karteikarte... karteikarten) {
+		Stapel stapel = new Stapel(UUID.randomUUID(), UUID.randomUUID(), name, "", "10m,1d", username, new ArrayList<>(List.of(karteikarten)));
+		return stapelRepository.save(stapel);
+	}
+
+	private static Karteikarte karte(int stunden) {
+		return newKarteWithIdAndFälligAm(UUID.randomUUID(), HEUTE.minusHours(stunden));
+	}
+
+	@Test
+	@DisplayName("Pro Stapel des Users werden höchstens anzahlProStapel fällige Karteikarten nach Fälligkeit geliefert")
+	void test_1() {
+		Stapel mathe = speichere("peter", "Mathe", karte(1), karte(5), karte(3), karte(-2));
+		Stapel bio = speichere("peter", "Bio", karte(4));
+		speichere("paul", "Chemie", karte(6));
+
+		List<List<ReviewKarte>> proStapel = repository.findFaelligeKarteikartenProStapel("peter", HEUTE, null, 2);
+
+		assertThat(proStapel).hasSize(2);
+		Map<UUID, List<LocalDateTime>> faellig = new HashMap<>();
+		proStapel.forEach(liste -> faellig.put(liste.get(0).stapelId(), liste.stream().map(k -> k.karteikarte().getFaelligAm()).toList()));
+		assertThat(faellig.get(mathe.getFachId())).containsExactly(HEUTE.minusHours(5), HEUTE.minusHours(3));
+		assertThat(faellig.get(bio.getFachId())).containsExactly(HEUTE.minusHours(4));
+	}
+
+	@Test
+	@DisplayName("Mit Cursor werden nur Karteikarten nach der letzten gelieferten Karteikarte geliefert")
+	void test_2() {
+		speichere("peter", "Mathe", karte(1), karte(5), karte(3));
+		ReviewKarte erste = repository.findFaelligeKarteikartenProStapel("peter", HEUTE, null, 1).get(0).get(0);
+
+		List<List<ReviewKarte>> proStapel = repository.findFaelligeKarteikartenProStapel("peter", HEUTE, ReviewQueueCursor.nach(erste), 10);
+
+		assertThat(proStapel.get(0)).extracting(k -> k.karteikarte().getFaelligAm())
+				.containsExactly(HEUTE.minusHours(3), HEUTE.minusHours(1));
+	}
+
+	@Test
+	@DisplayName("Antworten werden für die angefragten Karteikarten geladen")
+	void test_3() {
+		Karteikarte mitAntworten = newKarteWithAntworten(UUID.randomUUID(), 3);
+		Karteikarte ohneAntworten = newKarteWithAntworten(UUID.randomUUID(), 0);
+		speichere("peter", "Mathe", mitAntworten, ohneAntworten, newKarteWithAntworten(UUID.randomUUID(), 2));
+
+		Map<UUID, List<Antwort>> antworten =
+				repository.findAntwortenByKarteIds(List.of(mitAntworten.getFachId(), ohneAntworten.getFachId()));
+
+		assertThat(antworten).containsOnlyKeys(mitAntworten.getFachId());
+		assertThat(antworten.get(mitAntworten.getFachId())).extracting("antwort").containsExactly("aw0", "aw1", "aw2");
+	}
+}
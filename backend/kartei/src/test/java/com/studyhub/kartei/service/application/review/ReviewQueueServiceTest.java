@@ -0,0 +1,157 @@
+package com.studyhub.kartei.service.application.review;
+
+import com.studyhub.kartei.domain.model.Antwort;
+import com.studyhub.kartei.domain.model.FrageTyp;
+import com.studyhub.kartei.domain.model.Karteikarte;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ReviewQueueServiceTest {
+
+	private static final LocalDateTime GESTERN = LocalDateTime.now().minusDays(1);
+
+	private ReviewQueueRepository repository;
+	private ReviewQueueService service;
+	private UUID mathe;
+	private UUID bio;
+
+	@BeforeEach
+	void init() {
+		repository = mock(ReviewQueueRepository.class);
+		service = new ReviewQueueService(repository, Runnable::run);
+		mathe = UUID.randomUUID();
+		bio = UUID.randomUUID();
+		when(repository.findAntwortenByKarteIds(anyCollection())).thenReturn(Map.of());
+	}
+
+	private static ReviewKarte karte(UUID stapelId, int minuten) {
+		Karteikarte karteikarte = Karteikarte.initNewKarteikarte("frage" + minuten, "antwort", "", FrageTyp.NORMAL);
+		karteikarte.setFaelligAm(GESTERN.plusMinutes(minuten));
+		return new ReviewKarte(stapelId, stapelId.toString(), karteikarte);
+	}
+
+	private static List<ReviewKarte> stapel(UUID stapelId, int... minuten) {
+		return Arrays.stream(minuten).mapToObj(m -> karte(stapelId, m)).toList();
+	}
+
+	private void faellig(List<ReviewKarte>... proStapel) {
+		when(repository.findFaelligeKarteikartenProStapel(eq("peter"), any(), any(), anyInt())).thenReturn(List.of(proStapel));
+	}
+
+	private static List<String> fragen(ReviewQueueSeite seite) {
+		return seite.karten().stream().map(k -> k.karteikarte().getFrage()).toList();
+	}
+
+	@Test
+	@DisplayName("Die fälligen Karteikarten aller Stapel werden nach Fälligkeit gemischt")
+	void test_1() {
+		faellig(stapel(mathe, 1, 4, 6), stapel(bio, 2, 3, 5));
+
+		ReviewQueueSeite seite = service.findReviewQueue("peter", null, 20, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		assertThat(fragen(seite)).containsExactly("frage1", "frage2", "frage3", "frage4", "frage5", "frage6");
+		assertThat(seite.naechsteSeite()).isNull();
+	}
+
+	@Test
+	@DisplayName("Eine Seite enthält höchstens groesse Karteikarten und zeigt auf die letzte gelieferte Karteikarte")
+	void test_2() {
+		faellig(stapel(mathe, 1, 4, 6), stapel(bio, 2, 3, 5));
+
+		ReviewQueueSeite seite = service.findReviewQueue("peter", null, 3, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		assertThat(fragen(seite)).containsExactly("frage1", "frage2", "frage3");
+		ReviewKarte letzte = seite.karten().get(2);
+		assertThat(seite.naechsteSeite()).isEqualTo(new ReviewQueueCursor(letzte.karteikarte().getFaelligAm(), letzte.karteikarte().getFachId()));
+		verify(repository).findFaelligeKarteikartenProStapel(eq("peter"), any(), isNull(), eq(4));
+	}
+
+	@Test
+	@DisplayName("Antworten werden nur für die Karteikarten der Seite geladen")
+	void test_3() {
+		service = new ReviewQueueService(repository, vorabladen -> {});
+		List<ReviewKarte> karten = stapel(mathe, 1, 2, 3);
+		faellig(karten);
+		UUID ersteId = karten.get(0).karteikarte().getFachId();
+		List<Antwort> antworten = List.of(new Antwort("a", true));
+		when(repository.findAntwortenByKarteIds(anyCollection())).thenReturn(Map.of(ersteId, antworten));
+
+		ReviewQueueSeite seite = service.findReviewQueue("peter", null, 2, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		verify(repository).findAntwortenByKarteIds(List.of(ersteId, karten.get(1).karteikarte().getFachId()));
+		assertThat(seite.karten().get(0).karteikarte().getAntworten()).isEqualTo(antworten);
+		assertThat(seite.karten().get(1).karteikarte().getAntworten()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Bei abwechselnder Reihenfolge wechseln sich die Stapel innerhalb der Seite ab")
+	void test_4() {
+		faellig(stapel(mathe, 1, 2, 3), stapel(bio, 4, 5, 6));
+
+		ReviewQueueSeite seite = service.findReviewQueue("peter", null, 5, ReviewQueueReihenfolge.ABWECHSELND);
+
+		assertThat(fragen(seite)).containsExactly("frage1", "frage4", "frage2", "frage5", "frage3");
+		assertThat(seite.naechsteSeite().faelligAm()).isEqualTo(GESTERN.plusMinutes(5));
+	}
+
+	@Test
+	@DisplayName("Die vorab geladene nächste Seite wird ohne weitere Datenbankabfrage ausgeliefert")
+	void test_5() {
+		List<Runnable> vorabladen = new ArrayList<>();
+		Executor executor = vorabladen::add;
+		service = new ReviewQueueService(repository, executor);
+		faellig(stapel(mathe, 1, 2, 3, 4));
+
+		ReviewQueueSeite erste = service.findReviewQueue("peter", null, 2, ReviewQueueReihenfolge.FAELLIGKEIT);
+		assertThat(vorabladen).hasSize(1);
+		faellig(stapel(mathe, 3, 4));
+		vorabladen.get(0).run();
+		clearInvocations(repository);
+
+		ReviewQueueSeite zweite = service.findReviewQueue("peter", erste.naechsteSeite(), 2, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		assertThat(fragen(zweite)).containsExactly("frage3", "frage4");
+		verify(repository, never()).findFaelligeKarteikartenProStapel(any(), any(), any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("Passt die vorab geladene Seite nicht zur Anfrage, wird neu geladen")
+	void test_6() {
+		faellig(stapel(mathe, 1, 2, 3, 4));
+		service.findReviewQueue("peter", null, 2, ReviewQueueReihenfolge.FAELLIGKEIT);
+		clearInvocations(repository);
+
+		service.findReviewQueue("peter", null, 2, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		verify(repository).findFaelligeKarteikartenProStapel(eq("peter"), any(), isNull(), eq(3));
+	}
+
+	@Test
+	@DisplayName("Die Seitengröße wird auf das Maximum begrenzt")
+	void test_7() {
+		faellig();
+
+		ReviewQueueSeite seite = service.findReviewQueue("peter", null, 10_000, ReviewQueueReihenfolge.FAELLIGKEIT);
+
+		assertThat(seite.karten()).isEmpty();
+		verify(repository).findFaelligeKarteikartenProStapel(eq("peter"), any(), isNull(), eq(ReviewQueueService.MAX_GROESSE + 1));
+	}
+
+	@Test
+	@DisplayName("Karteikarten mit gleicher Fälligkeit werden nach ihrer Id wie in der Datenbank sortiert")
+	void test_8() {
+		UUID klein = UUID.fromString("00000000-0000-0000-0000-000000000001");
+		UUID gross = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+		assertThat(ReviewQueueCursor.UUID_REIHENFOLGE.compare(klein, gross)).isNegative();
+		assertThat(klein.compareTo(gross)).isPositive();
+	}
+}
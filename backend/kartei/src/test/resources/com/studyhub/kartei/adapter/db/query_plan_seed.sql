@@ -0,0 +1,24 @@
+-- 2000 User mit je 10 Stapeln, 200.000 Karteikarten mit je 2 Antworten, 200.000 Lern-Events und deren Lernzeit-Statistik
+INSERT INTO stapel (id, fach_id, modul_fach_id, name, beschreibung, lern_intervalle, username)
+SELECT g, md5('stapel' || g)::uuid, md5('modul' || g)::uuid, 'stapel' || g, null, '10m,1d,3d', 'user' || (g % 2000)
+FROM generate_series(1, 20000) g;
+
+INSERT INTO karteikarte (id, fach_id, frage, antwort, erstellt_am, letzte_aenderung_am, faellig_am, notiz, was_hard, frage_typ, antwortzeit_sekunden, lernstufen, stapel, stapel_key)
+SELECT g, md5('karte' || g)::uuid, 'frage' || g, 'antwort', TIMESTAMP '2024-01-01', TIMESTAMP '2024-01-01',
+       TIMESTAMP '2024-01-01' + (g % 365) * INTERVAL '1 day', null, 0, 'NORMAL', 0, '', g % 20000 + 1, g / 20000
+FROM generate_series(1, 200000) g;
+
+INSERT INTO antwort (antwort, wahrheit, karteikarte, karteikarte_key, stapel, stapel_key)
+SELECT 'antwort', g % 2 = 0, g % 200000 + 1, g / 200000, (g % 200000 + 1) % 20000 + 1, (g % 200000 + 1) / 20000
+FROM generate_series(1, 400000) g;
+
+INSERT INTO karteikarte_gelernt_event (stapel_id, karteikarte_id, gelernt_am, seconds_needed)
+SELECT md5('stapel' || (g % 20000 + 1))::uuid, md5('karte' || (g % 200000 + 1))::uuid, TIMESTAMP '2024-01-01' + (g % 365) * INTERVAL '1 day', g % 60
+FROM generate_series(1, 200000) g;
+
+INSERT INTO karteikarte_lernzeit (karteikarte_id, stapel_id, review_count, seconds_sum)
+SELECT karteikarte_id, min(stapel_id::text)::uuid, count(*), sum(seconds_needed)
+FROM karteikarte_gelernt_event
+GROUP BY karteikarte_id;
+
+ANALYZE;
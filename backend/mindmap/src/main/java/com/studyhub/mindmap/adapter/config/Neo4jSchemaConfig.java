@@ -0,0 +1,44 @@
+package com.studyhub.mindmap.adapter.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.util.List;
+
+/**
+ * The targeted writes of the MindmapNodeRepository look up nodes by nodeId. The uniqueness constraint gives them an
+ * index, so a lookup does not scan all MindmapNodes. The operation log is looked up by mapId; the constraint on
+ * MindmapLog also makes the MERGE of a new log safe under concurrent patches.
+ */
+@Configuration
+public class Neo4jSchemaConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(Neo4jSchemaConfig.class);
+
+	private static final List<String> SCHEMA = List.of(
+			"CREATE CONSTRAINT mindmap_node_id IF NOT EXISTS FOR (n:MindmapNode) REQUIRE n.nodeId IS UNIQUE",
+			"CREATE CONSTRAINT mindmap_log_map_id IF NOT EXISTS FOR (l:MindmapLog) REQUIRE l.mapId IS UNIQUE",
+			"CREATE INDEX mindmap_operation_map_version IF NOT EXISTS FOR (o:MindmapOperation) ON (o.mapId, o.version)");
+
+	private final Neo4jClient neo4jClient;
+
+	public Neo4jSchemaConfig(Neo4jClient neo4jClient) {
+		this.neo4jClient = neo4jClient;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void createConstraints() {
+		try {
+			SCHEMA.forEach(statement -> neo4jClient.query(statement).run());
+			log.info("Ensured constraints and indexes of the mindmap schema");
+		} catch (DataAccessException e) {
+			// the service still starts without Neo4j, the schema is created on the next start
+			log.warn("Could not create the mindmap schema: {}", e.getMessage());
+		}
+	}
+}
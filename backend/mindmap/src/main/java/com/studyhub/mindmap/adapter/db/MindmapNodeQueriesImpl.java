@@ -0,0 +1,176 @@
+package com.studyhub.mindmap.adapter.db;
+
+import com.studyhub.mindmap.application.service.MindmapNodeQueries;
+import com.studyhub.mindmap.application.service.MindmapNodeView;
+import com.studyhub.mindmap.application.service.MindmapOverview;
+import com.studyhub.mindmap.domain.model.NodeRole;
+import com.studyhub.mindmap.domain.model.NodeType;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Each read is one Cypher statement that returns one row per node, the tree is assembled from the parent ids of the
+ * rows.
+ */
+@Repository
+public class MindmapNodeQueriesImpl implements MindmapNodeQueries {
+
+	private static final String NODE_COLUMNS = "n.nodeId AS nodeId, n.modulId AS modulId, n.modulTitel AS modulTitel, " +
+			"n.title AS title, n.text AS text, n.nodeType AS nodeType, n.nodeRole AS nodeRole, n.username AS username, " +
+			"COUNT { (n)-[:LINKS_TO]->() } AS childCount";
+
+	private static final String ROOTS_BY_USERNAME = """
+			MATCH (n:MindmapNode {username: $username})
+			WHERE n.nodeRole = 'ROOT'
+			RETURN %s
+			ORDER BY n.title
+			""".formatted(NODE_COLUMNS);
+
+	// one row per module, the module-less roots form the group with a null modulId
+	private static final String OVERVIEW_BY_USERNAME = """
+			MATCH (root:MindmapNode {username: $username})
+			WHERE root.nodeRole = 'ROOT'
+			WITH root, COUNT { (root)-[:LINKS_TO*0..]->() } AS nodeCount
+			ORDER BY root.title
+			WITH root.modulId AS modulId,
+			     collect(CASE WHEN root.modulTitel <> '' THEN root.modulTitel END)[0] AS modulTitel,
+			     collect({nodeId: root.nodeId, title: root.title, nodeCount: nodeCount}) AS mindmaps
+			RETURN modulId, modulTitel, mindmaps
+			ORDER BY modulTitel, modulId
+			""";
+
+	private static final String ROOT_ID_BY_NODE_ID = """
+			MATCH (root:MindmapNode {username: $username})-[:LINKS_TO*0..]->(:MindmapNode {nodeId: $id})
+			WHERE root.nodeRole = 'ROOT'
+			RETURN root.nodeId
+			LIMIT 1
+			""";
+
+	private static final String ROOT_BY_MODUL_ID = """
+			MATCH (root:MindmapNode {modulId: $id})
+			WHERE root.nodeRole = 'ROOT'
+			WITH root LIMIT 1
+			""";
+
+	private static final String NODE_BY_ID = """
+			MATCH (root:MindmapNode {nodeId: $id})
+			""";
+
+	// Variable-length bounds cannot be parameters, the depth is an int and formatted into the statement.
+	private static final String SUBTREE = """
+			MATCH path = (root)-[:LINKS_TO*0..%d]->(n:MindmapNode)
+			RETURN %s, CASE length(path) WHEN 0 THEN null ELSE nodes(path)[-2].nodeId END AS parentId
+			ORDER BY length(path)
+			""";
+
+	private record Row(UUID parentId, MindmapNodeView view) {}
+
+	private final Neo4jClient neo4jClient;
+
+	public MindmapNodeQueriesImpl(Neo4jClient neo4jClient) {
+		this.neo4jClient = neo4jClient;
+	}
+
+	@Override
+	public List<MindmapNodeView> findRootsByUsername(String username) {
+		return List.copyOf(neo4jClient.query(ROOTS_BY_USERNAME)
+				.bind(username).to("username")
+				.fetchAs(MindmapNodeView.class)
+				.mappedBy((typeSystem, record) -> toView(record))
+				.all());
+	}
+
+	@Override
+	public MindmapOverview findOverviewByUsername(String username) {
+		List<MindmapOverview.Modul> modules = new ArrayList<>();
+		List<MindmapOverview.Mindmap> others = List.of();
+		for (MindmapOverview.Modul group : neo4jClient.query(OVERVIEW_BY_USERNAME)
+				.bind(username).to("username")
+				.fetchAs(MindmapOverview.Modul.class)
+				.mappedBy((typeSystem, record) -> toModul(record))
+				.all()) {
+			if (group.modulId() == null) {
+				others = group.mindmaps();
+			} else {
+				modules.add(group);
+			}
+		}
+		return new MindmapOverview(modules, others);
+	}
+
+	@Override
+	public Optional<UUID> findRootIdByNodeId(UUID nodeId, String username) {
+		return neo4jClient.query(ROOT_ID_BY_NODE_ID)
+				.bind(nodeId.toString()).to("id")
+				.bind(username).to("username")
+				.fetchAs(UUID.class)
+				.mappedBy((typeSystem, record) -> uuid(record.get(0)))
+				.one();
+	}
+
+	@Override
+	public Optional<MindmapNodeView> findTreeByModulId(UUID modulId, int depth) {
+		return findTree(ROOT_BY_MODUL_ID, modulId, depth);
+	}
+
+	@Override
+	public Optional<MindmapNodeView> findTreeByNodeId(UUID nodeId, int depth) {
+		return findTree(NODE_BY_ID, nodeId, depth);
+	}
+
+	private Optional<MindmapNodeView> findTree(String matchRoot, UUID id, int depth) {
+		if (depth < 0) throw new IllegalArgumentException("depth must not be negative: " + depth);
+
+		Collection<Row> rows = neo4jClient.query(matchRoot + SUBTREE.formatted(depth, NODE_COLUMNS))
+				.bind(id.toString()).to("id")
+				.fetchAs(Row.class)
+				.mappedBy((typeSystem, record) -> new Row(uuid(record.get("parentId")), toView(record)))
+				.all();
+
+		// rows are ordered by depth, so every parent is in the map before its children
+		Map<UUID, MindmapNodeView> byId = new HashMap<>();
+		MindmapNodeView root = null;
+		for (Row row : rows) {
+			if (row.parentId() == null) {
+				root = row.view();
+			} else {
+				byId.get(row.parentId()).childNodes().add(row.view());
+			}
+			byId.put(row.view().nodeId(), row.view());
+		}
+		return Optional.ofNullable(root);
+	}
+
+	private static MindmapNodeView toView(Record record) {
+		return new MindmapNodeView(
+				uuid(record.get("nodeId")),
+				uuid(record.get("modulId")),
+				record.get("modulTitel").asString(null),
+				record.get("title").asString(null),
+				record.get("text").asString(null),
+				record.get("nodeType").isNull() ? null : NodeType.valueOf(record.get("nodeType").asString()),
+				record.get("nodeRole").isNull() ? null : NodeRole.valueOf(record.get("nodeRole").asString()),
+				record.get("username").asString(null),
+				record.get("childCount").asLong(),
+				new ArrayList<>());
+	}
+
+	private static MindmapOverview.Modul toModul(Record record) {
+		UUID modulId = uuid(record.get("modulId"));
+		List<MindmapOverview.Mindmap> mindmaps = record.get("mindmaps").asList(mindmap -> new MindmapOverview.Mindmap(
+				uuid(mindmap.get("nodeId")),
+				modulId,
+				mindmap.get("title").asString(null),
+				mindmap.get("nodeCount").asLong()));
+		long nodeCount = mindmaps.stream().mapToLong(MindmapOverview.Mindmap::nodeCount).sum();
+		return new MindmapOverview.Modul(modulId, record.get("modulTitel").asString(null), nodeCount, mindmaps);
+	}
+
+	private static UUID uuid(Value value) {
+		return value.isNull() ? null : UUID.fromString(value.asString());
+	}
+}
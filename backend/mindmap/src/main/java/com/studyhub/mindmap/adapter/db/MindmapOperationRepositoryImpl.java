@@ -0,0 +1,137 @@
+package com.studyhub.mindmap.adapter.db;
+
+import com.studyhub.mindmap.application.service.LoggedOperation;
+import com.studyhub.mindmap.application.service.MindmapOperationRepository;
+import com.studyhub.mindmap.domain.model.NodeOperation;
+import com.studyhub.mindmap.domain.model.NodeType;
+import com.studyhub.mindmap.domain.model.OperationType;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.Node;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * The version of a map is kept on a MindmapLog node, writing it locks the log of the map. Every operation is stored
+ * as a MindmapOperation node with the version of its patch and its position in the patch.
+ */
+@Repository
+public class MindmapOperationRepositoryImpl implements MindmapOperationRepository {
+
+	private static final String NEXT_VERSION = """
+			MERGE (log:MindmapLog {mapId: $mapId})
+			ON CREATE SET log.version = 0
+			SET log.version = log.version + 1
+			RETURN log.version
+			""";
+
+	private static final String CURRENT_VERSION = """
+			OPTIONAL MATCH (log:MindmapLog {mapId: $mapId})
+			RETURN coalesce(log.version, 0)
+			""";
+
+	private static final String APPEND = """
+			UNWIND $operations AS op
+			CREATE (:MindmapOperation {mapId: $mapId, version: $version, seq: op.seq, type: op.type, nodeId: op.nodeId,
+			        parentId: op.parentId, title: op.title, text: op.text, nodeType: op.nodeType})
+			""";
+
+	private static final String OPERATIONS_SINCE = """
+			MATCH (op:MindmapOperation {mapId: $mapId})
+			WHERE op.version > $version
+			RETURN op
+			ORDER BY op.version, op.seq
+			""";
+
+	private static final String DELETE_LOGS = """
+			MATCH (log:MindmapLog)
+			WHERE log.mapId IN $mapIds
+			DELETE log
+			""";
+
+	private static final String DELETE_OPERATIONS = """
+			MATCH (op:MindmapOperation)
+			WHERE op.mapId IN $mapIds
+			DELETE op
+			""";
+
+	private final Neo4jClient neo4jClient;
+
+	public MindmapOperationRepositoryImpl(Neo4jClient neo4jClient) {
+		this.neo4jClient = neo4jClient;
+	}
+
+	@Override
+	public long nextVersion(UUID mapId) {
+		return neo4jClient.query(NEXT_VERSION)
+				.bind(mapId.toString()).to("mapId")
+				.fetchAs(Long.class)
+				.one()
+				.orElseThrow();
+	}
+
+	@Override
+	public long currentVersion(UUID mapId) {
+		return neo4jClient.query(CURRENT_VERSION)
+				.bind(mapId.toString()).to("mapId")
+				.fetchAs(Long.class)
+				.one()
+				.orElse(0L);
+	}
+
+	@Override
+	public void append(UUID mapId, long version, List<NodeOperation> operations) {
+		List<Map<String, Object>> rows = new ArrayList<>(operations.size());
+		for (int seq = 0; seq < operations.size(); seq++) {
+			NodeOperation operation = operations.get(seq);
+			// HashMap, because the driver takes null values but Map.of does not
+			Map<String, Object> row = new HashMap<>();
+			row.put("seq", seq);
+			row.put("type", operation.type().name());
+			row.put("nodeId", operation.nodeId().toString());
+			row.put("parentId", operation.parentId() == null ? null : operation.parentId().toString());
+			row.put("title", operation.title());
+			row.put("text", operation.text());
+			row.put("nodeType", operation.nodeType() == null ? null : operation.nodeType().name());
+			rows.add(row);
+		}
+		neo4jClient.query(APPEND)
+				.bind(mapId.toString()).to("mapId")
+				.bind(version).to("version")
+				.bind(rows).to("operations")
+				.run();
+	}
+
+	@Override
+	public List<LoggedOperation> findOperationsSince(UUID mapId, long version) {
+		return List.copyOf(neo4jClient.query(OPERATIONS_SINCE)
+				.bind(mapId.toString()).to("mapId")
+				.bind(version).to("version")
+				.fetchAs(LoggedOperation.class)
+				.mappedBy((typeSystem, record) -> toLoggedOperation(record.get("op").asNode()))
+				.all());
+	}
+
+	@Override
+	public void deleteByMapIds(Collection<UUID> mapIds) {
+		List<String> ids = mapIds.stream().map(UUID::toString).toList();
+		neo4jClient.query(DELETE_LOGS).bind(ids).to("mapIds").run();
+		neo4jClient.query(DELETE_OPERATIONS).bind(ids).to("mapIds").run();
+	}
+
+	private static LoggedOperation toLoggedOperation(Node op) {
+		NodeOperation operation = new NodeOperation(
+				OperationType.valueOf(op.get("type").asString()),
+				UUID.fromString(op.get("nodeId").asString()),
+				uuid(op.get("parentId")),
+				op.get("title").asString(null),
+				op.get("text").asString(null),
+				op.get("nodeType").isNull() ? null : NodeType.valueOf(op.get("nodeType").asString()));
+		return new LoggedOperation(op.get("version").asLong(), operation);
+	}
+
+	private static UUID uuid(Value value) {
+		return value.isNull() ? null : UUID.fromString(value.asString());
+	}
+}
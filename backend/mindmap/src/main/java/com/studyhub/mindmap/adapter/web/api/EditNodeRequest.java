@@ -0,0 +1,11 @@
+package com.studyhub.mindmap.adapter.web.api;
+
+import com.studyhub.mindmap.domain.model.NodeType;
+
+import java.util.UUID;
+
+/**
+ * Fields that are null are left unchanged.
+ */
+public record EditNodeRequest(UUID nodeId, String title, String text, NodeType nodeType) {
+}
@@ -1,14 +1,22 @@
 package com.studyhub.mindmap.adapter.web.api;
 
 import com.studyhub.mindmap.application.service.MindmapNodeRepository;
+import com.studyhub.mindmap.application.service.MindmapNodeView;
+import com.studyhub.mindmap.application.service.MindmapOverview;
 import com.studyhub.mindmap.application.service.MindmapNotExistsException;
+import com.studyhub.mindmap.application.service.MindmapOperations;
+import com.studyhub.mindmap.application.service.MindmapPatchService;
 import com.studyhub.mindmap.application.service.MindmapService;
 import com.studyhub.mindmap.application.service.NodeSaveException;
+import com.studyhub.mindmap.application.service.PatchConflictException;
+import com.studyhub.mindmap.domain.model.IllegalChildConsistencyException;
+import com.studyhub.mindmap.domain.model.IllegalNodeOperationException;
 import com.studyhub.mindmap.domain.model.MindmapNode;
 import com.studyhub.mindmap.domain.model.NodeType;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.yaml.snakeyaml.util.Tuple;
@@ -22,10 +30,12 @@ public class MindmapApiController {
 	private static final Logger log = LoggerFactory.getLogger(MindmapApiController.class);
 	private final MindmapService mindmapService;
 	private final MindmapNodeRepository mindmapNodeRepository;
+	private final MindmapPatchService mindmapPatchService;
 
-	public MindmapApiController(MindmapService mindmapService, MindmapNodeRepository mindmapNodeRepository) {
+	public MindmapApiController(MindmapService mindmapService, MindmapNodeRepository mindmapNodeRepository, MindmapPatchService mindmapPatchService) {
 		this.mindmapService = mindmapService;
 		this.mindmapNodeRepository = mindmapNodeRepository;
+		this.mindmapPatchService = mindmapPatchService;
 	}
 
 	@GetMapping("/get-all-mindmaps-by-username")
@@ -45,6 +55,11 @@ public class MindmapApiController {
 		return ResponseEntity.ok(res);
 	}
 
+	@GetMapping("/get-mindmap-overview")
+	public ResponseEntity<MindmapOverview> getMindmapOverview(HttpServletRequest request) {
+		return ResponseEntity.ok(mindmapService.getMindmapOverview(request));
+	}
+
 	@GetMapping("/get-all-other-mindmaps-by-username")
 	public ResponseEntity<List<MindmapNode>> getAllOtherMindmapsByUsername(HttpServletRequest request) {
 		List<MindmapNode> res = mindmapService.getAllOtherMindmapsByUsername(request);
@@ -62,6 +77,32 @@ public class MindmapApiController {
 		}
 	}
 
+	@GetMapping("/get-mindmap-roots-by-username")
+	public ResponseEntity<List<MindmapNodeView>> getMindmapRootsByUsername(HttpServletRequest request) {
+		return ResponseEntity.ok(mindmapService.getMindmapRootsByUsername(request));
+	}
+
+	@GetMapping("/get-mindmap-tree-by-modulid")
+	public ResponseEntity<MindmapNodeView> getMindmapTreeByModulid(@RequestParam("modulId") UUID modulId,
+	                                                               @RequestParam(value = "depth", defaultValue = "2") int depth) {
+		try {
+			return ResponseEntity.ok(mindmapService.getMindmapTreeByModulId(modulId, depth));
+		} catch (MindmapNotExistsException e) {
+			log.warn(e.getMessage());
+			return ResponseEntity.badRequest().body(null);
+		}
+	}
+
+	@GetMapping("/expand-node")
+	public ResponseEntity<List<MindmapNodeView>> expandNode(@RequestParam("nodeId") UUID nodeId) {
+		try {
+			return ResponseEntity.ok(mindmapService.expandNode(nodeId));
+		} catch (MindmapNotExistsException e) {
+			log.warn(e.getMessage());
+			return ResponseEntity.badRequest().body(null);
+		}
+	}
+
 	@GetMapping("/create-mindmap-test")
 	public ResponseEntity<Map<String, List<MindmapNode>>> createMindmap() {
 		Map<String, List<MindmapNode>> res = new HashMap<>();
@@ -105,13 +146,77 @@ public class MindmapApiController {
 	}
 
 	@PostMapping("/create-new-node")
-	public ResponseEntity<Void> createNewNode(@RequestBody NewNodeRequest req) {
+	public ResponseEntity<Void> createNewNode(@RequestBody NewNodeRequest req, HttpServletRequest httpServletRequest) {
 		try {
-			mindmapService.createNewNode(req);
+			mindmapService.createNewNode(req, httpServletRequest);
 			return ResponseEntity.ok().build();
+		} catch(MindmapNotExistsException e) {
+			log.warn("Could not save node of role CHILD: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
 		} catch(NodeSaveException e) {
 			log.error("Could not save node of role CHILD to parent:", e);
 			return ResponseEntity.internalServerError().build();
 		}
 	}
-}
\ No newline at end of file
+
+	@PostMapping("/edit-node")
+	public ResponseEntity<Void> editNode(@RequestBody EditNodeRequest req, HttpServletRequest httpServletRequest) {
+		try {
+			mindmapService.editNode(req.nodeId(), req.title(), req.text(), req.nodeType(), httpServletRequest);
+			return ResponseEntity.ok().build();
+		} catch (MindmapNotExistsException e) {
+			log.warn("Could not edit node: {}", e.getMessage());
+			return ResponseEntity.notFound().build();
+		} catch (IllegalChildConsistencyException e) {
+			log.warn("Could not edit node: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	@PostMapping("/move-node")
+	public ResponseEntity<Void> moveNode(@RequestBody MoveNodeRequest req, HttpServletRequest httpServletRequest) {
+		try {
+			mindmapService.moveNode(req.nodeId(), req.newParentId(), httpServletRequest);
+			return ResponseEntity.ok().build();
+		} catch (MindmapNotExistsException e) {
+			log.warn("Could not move node: {}", e.getMessage());
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	@DeleteMapping("/delete-node")
+	public ResponseEntity<Void> deleteNode(@RequestParam("nodeId") UUID nodeId, HttpServletRequest httpServletRequest) {
+		try {
+			mindmapService.deleteNode(nodeId, httpServletRequest);
+			return ResponseEntity.ok().build();
+		} catch (MindmapNotExistsException e) {
+			log.warn("Could not delete node: {}", e.getMessage());
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	@PostMapping("/apply-patch")
+	public ResponseEntity<Long> applyPatch(@RequestBody MindmapPatchRequest req, HttpServletRequest httpServletRequest) {
+		try {
+			return ResponseEntity.ok(mindmapPatchService.applyPatch(req.mapId(), req.baseVersion(), req.operations(), httpServletRequest));
+		} catch (PatchConflictException e) {
+			log.info("Rejected patch: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		} catch (MindmapNotExistsException | IllegalNodeOperationException e) {
+			log.warn("Could not apply patch: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	@GetMapping("/get-operations-since")
+	public ResponseEntity<MindmapOperations> getOperationsSince(@RequestParam("mapId") UUID mapId,
+	                                                            @RequestParam(value = "version", defaultValue = "0") long version,
+	                                                            HttpServletRequest request) {
+		try {
+			return ResponseEntity.ok(mindmapPatchService.getOperationsSince(mapId, version, request));
+		} catch (MindmapNotExistsException e) {
+			log.warn(e.getMessage());
+			return ResponseEntity.badRequest().body(null);
+		}
+	}
+}
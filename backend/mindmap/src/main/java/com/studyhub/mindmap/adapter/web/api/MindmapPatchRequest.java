@@ -0,0 +1,9 @@
+package com.studyhub.mindmap.adapter.web.api;
+
+import com.studyhub.mindmap.domain.model.NodeOperation;
+
+import java.util.List;
+import java.util.UUID;
+
+public record MindmapPatchRequest(UUID mapId, Long baseVersion, List<NodeOperation> operations) {
+}
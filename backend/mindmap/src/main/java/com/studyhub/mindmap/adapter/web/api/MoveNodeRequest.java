@@ -0,0 +1,6 @@
+package com.studyhub.mindmap.adapter.web.api;
+
+import java.util.UUID;
+
+public record MoveNodeRequest(UUID nodeId, UUID newParentId) {
+}
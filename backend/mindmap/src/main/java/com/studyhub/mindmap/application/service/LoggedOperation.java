@@ -0,0 +1,9 @@
+package com.studyhub.mindmap.application.service;
+
+import com.studyhub.mindmap.domain.model.NodeOperation;
+
+/**
+ * @param version the version of the map the patch containing the operation produced
+ */
+public record LoggedOperation(long version, NodeOperation operation) {
+}
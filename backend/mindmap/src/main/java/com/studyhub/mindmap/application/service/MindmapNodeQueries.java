@@ -0,0 +1,38 @@
+package com.studyhub.mindmap.application.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Depth-limited reads of mindmaps. Unlike the derived finders of the MindmapNodeRepository they do not load the
+ * whole subtree of a node. The implementation is a bean of its own and not a fragment of the MindmapNodeRepository,
+ * Spring Data only looks for fragment implementations in the package of the fragment interface.
+ */
+public interface MindmapNodeQueries {
+
+	/**
+	 * @return the roots of all mindmaps of the user, without children
+	 */
+	List<MindmapNodeView> findRootsByUsername(String username);
+
+	/**
+	 * @return the roots of all mindmaps of the user grouped by module, with node counts
+	 */
+	MindmapOverview findOverviewByUsername(String username);
+
+	/**
+	 * @return the id of the root of the user's mindmap that contains the node, empty if there is none
+	 */
+	Optional<UUID> findRootIdByNodeId(UUID nodeId, String username);
+
+	/**
+	 * @param depth levels below the root to load, 0 loads the root only
+	 */
+	Optional<MindmapNodeView> findTreeByModulId(UUID modulId, int depth);
+
+	/**
+	 * @param depth levels below the node to load, 0 loads the node only
+	 */
+	Optional<MindmapNodeView> findTreeByNodeId(UUID nodeId, int depth);
+}
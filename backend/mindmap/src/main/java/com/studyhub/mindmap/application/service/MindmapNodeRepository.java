@@ -1,13 +1,23 @@
 package com.studyhub.mindmap.application.service;
 
 import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeType;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Besides the aggregate methods, which load and save a node with its whole subtree, the repository offers single
+ * Cypher statements for node mutations. They touch only the affected nodes and relationships, so their cost does not
+ * depend on the size of the mindmap. Each statement only matches nodes below a root of the given user and returns the
+ * number of matched nodes, 0 if a referenced node does not exist or belongs to another user.
+ * Depth-limited reads are offered by the {@link MindmapNodeQueries}.
+ */
 public interface MindmapNodeRepository extends Neo4jRepository<MindmapNode, UUID> {
 
     Optional<MindmapNode> findByModulId(UUID modulId);
@@ -15,4 +25,55 @@ public interface MindmapNodeRepository extends Neo4jRepository<MindmapNode, UUID
 	Optional<Set<MindmapNode>> findAllByUsername(String username);
 
 	void deleteAllByUsername(String username);
+
+	@Transactional
+	@Query("MATCH (:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(parent:MindmapNode {nodeId: $parentId}) " +
+			"CREATE (parent)-[:LINKS_TO]->(:MindmapNode {nodeId: $nodeId, title: $title, text: $text, nodeType: $nodeType, nodeRole: 'CHILD'}) " +
+			"RETURN count(parent)")
+	long createChildNode(@Param("parentId") UUID parentId,
+	                     @Param("nodeId") UUID nodeId,
+	                     @Param("title") String title,
+	                     @Param("text") String text,
+	                     @Param("nodeType") NodeType nodeType,
+	                     @Param("username") String username);
+
+	@Transactional
+	@Query("MATCH (:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(node:MindmapNode {nodeId: $nodeId}) " +
+			"SET node.title = $title RETURN count(node)")
+	long updateTitle(@Param("nodeId") UUID nodeId, @Param("title") String title, @Param("username") String username);
+
+	@Transactional
+	@Query("MATCH (:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(node:MindmapNode {nodeId: $nodeId}) " +
+			"SET node.text = $text RETURN count(node)")
+	long updateText(@Param("nodeId") UUID nodeId, @Param("text") String text, @Param("username") String username);
+
+	@Transactional
+	@Query("MATCH (:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(node:MindmapNode {nodeId: $nodeId}) " +
+			"SET node.nodeType = $nodeType RETURN count(node)")
+	long updateNodeType(@Param("nodeId") UUID nodeId, @Param("nodeType") NodeType nodeType, @Param("username") String username);
+
+	/**
+	 * Moves a child node with its subtree below a new parent of the same mindmap. The path from the root to the new
+	 * parent is walked downwards, so the check that the new parent is not inside the moved subtree costs O(depth).
+	 * @return 0 if a node does not exist, the node is a root, the nodes belong to different mindmaps or the move would
+	 * create a cycle
+	 */
+	@Transactional
+	@Query("MATCH path = (root:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(newParent:MindmapNode {nodeId: $newParentId}) " +
+			"MATCH (root)-[:LINKS_TO*0..]->(:MindmapNode)-[old:LINKS_TO]->(node:MindmapNode {nodeId: $nodeId}) WHERE NOT node IN nodes(path) " +
+			"DELETE old " +
+			"CREATE (newParent)-[:LINKS_TO]->(node) " +
+			"RETURN count(node)")
+	long moveNode(@Param("nodeId") UUID nodeId, @Param("newParentId") UUID newParentId, @Param("username") String username);
+
+	/**
+	 * Deletes a child node with its subtree, roots are left untouched.
+	 * @return the number of deleted nodes
+	 */
+	@Transactional
+	@Query("MATCH (:MindmapNode {nodeRole: 'ROOT', username: $username})-[:LINKS_TO*0..]->(:MindmapNode)-[:LINKS_TO]->(node:MindmapNode {nodeId: $nodeId}) " +
+			"MATCH (node)-[:LINKS_TO*0..]->(descendant:MindmapNode) " +
+			"DETACH DELETE descendant " +
+			"RETURN count(descendant)")
+	long deleteSubtree(@Param("nodeId") UUID nodeId, @Param("username") String username);
 }
@@ -0,0 +1,27 @@
+package com.studyhub.mindmap.application.service;
+
+import com.studyhub.mindmap.domain.model.NodeRole;
+import com.studyhub.mindmap.domain.model.NodeType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model of a mindmap node for depth-limited reads. childCount is the number of children in the database, on the
+ * frontier of a cut off tree childNodes stays empty and childCount tells whether the node can be expanded.
+ */
+public record MindmapNodeView(UUID nodeId,
+                              UUID modulId,
+                              String modulTitel,
+                              String title,
+                              String text,
+                              NodeType nodeType,
+                              NodeRole nodeRole,
+                              String username,
+                              long childCount,
+                              List<MindmapNodeView> childNodes) {
+
+	public boolean isFrontier() {
+		return childCount > childNodes.size();
+	}
+}
@@ -0,0 +1,35 @@
+package com.studyhub.mindmap.application.service;
+
+import com.studyhub.mindmap.domain.model.NodeOperation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-map log of applied patches. Every patch gets the next version of its map, clients fetch the operations after
+ * the version they know instead of reloading the map.
+ */
+public interface MindmapOperationRepository {
+
+	/**
+	 * Increments the version of the map and locks its log until the transaction ends, so patches of one map are
+	 * applied one after another.
+	 * @return the new version, 1 for the first patch
+	 */
+	long nextVersion(UUID mapId);
+
+	long currentVersion(UUID mapId);
+
+	void append(UUID mapId, long version, List<NodeOperation> operations);
+
+	/**
+	 * @return the operations of all patches after the version, in the order they were applied
+	 */
+	List<LoggedOperation> findOperationsSince(UUID mapId, long version);
+
+	/**
+	 * Deletes the versions and operations of the maps.
+	 */
+	void deleteByMapIds(Collection<UUID> mapIds);
+}
@@ -0,0 +1,10 @@
+package com.studyhub.mindmap.application.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param version the current version of the map, clients pass it as the next base version
+ */
+public record MindmapOperations(UUID mapId, long version, List<LoggedOperation> operations) {
+}
@@ -0,0 +1,22 @@
+package com.studyhub.mindmap.application.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The roots of a user's mindmaps, grouped by module. Mindmaps without a module are listed in others.
+ */
+public record MindmapOverview(List<Modul> modules, List<Mindmap> others) {
+
+	/**
+	 * @param nodeCount nodes of all mindmaps of the module
+	 */
+	public record Modul(UUID modulId, String modulTitel, long nodeCount, List<Mindmap> mindmaps) {
+	}
+
+	/**
+	 * @param nodeCount nodes of the mindmap including its root
+	 */
+	public record Mindmap(UUID nodeId, UUID modulId, String title, long nodeCount) {
+	}
+}
@@ -0,0 +1,151 @@
+package com.studyhub.mindmap.application.service;
+
+import com.studyhub.mindmap.domain.model.IllegalNodeOperationException;
+import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeOperation;
+import com.studyhub.mindmap.domain.model.NodeRole;
+import com.studyhub.mindmap.domain.model.OperationType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies batches of node operations to a mindmap and keeps the operation log of the map.
+ */
+@Service
+public class MindmapPatchService {
+
+	public static final int MAX_OPERATIONS = 500;
+
+	private final Logger log = LoggerFactory.getLogger(MindmapPatchService.class);
+	private final MindmapNodeRepository mindmapNodeRepository;
+	private final MindmapNodeQueries mindmapNodeQueries;
+	private final MindmapOperationRepository operationRepository;
+	private final JWTService jwtService;
+
+	public MindmapPatchService(MindmapNodeRepository mindmapNodeRepository, MindmapNodeQueries mindmapNodeQueries, MindmapOperationRepository operationRepository, JWTService jwtService) {
+		this.mindmapNodeRepository = mindmapNodeRepository;
+		this.mindmapNodeQueries = mindmapNodeQueries;
+		this.operationRepository = operationRepository;
+		this.jwtService = jwtService;
+	}
+
+	/**
+	 * Validates the operations in order against the map loaded once with an index, then writes each with a targeted
+	 * statement and appends them to the log. Everything happens in one transaction, so a patch is applied completely
+	 * or not at all. Once the map is known to belong to the user, its log is locked, so patches of one map cannot
+	 * interleave.
+	 *
+	 * @param baseVersion the version the operations are based on, null to apply them on top of the current version
+	 * @return the new version of the map
+	 * @throws MindmapNotExistsException if the user has no mindmap with the id
+	 * @throws PatchConflictException if the map has changed since the base version
+	 * @throws IllegalNodeOperationException if an operation would break the tree or the patch is empty or too large
+	 */
+	@Transactional
+	public long applyPatch(UUID mapId, Long baseVersion, List<NodeOperation> operations, HttpServletRequest request) {
+		if (operations == null || operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+			throw new IllegalNodeOperationException("A patch needs 1 to %d operations.".formatted(MAX_OPERATIONS));
+		}
+		String username = jwtService.extractUsernameFromHeader(request);
+		// the ownership check reads only the root, the log is locked and the map loaded after it
+		requireOwnMindmap(mapId, username);
+
+		long version = operationRepository.nextVersion(mapId);
+		if (baseVersion != null && baseVersion != version - 1) {
+			throw new PatchConflictException("Mindmap %s is at version %d, the patch is based on version %d."
+					.formatted(mapId, version - 1, baseVersion));
+		}
+
+		MindmapNode root = mindmapNodeRepository.findById(mapId)
+				.orElseThrow(() -> new MindmapNotExistsException("Mindmap %s does not exist.".formatted(mapId)))
+				.indexed();
+		operations.forEach(operation -> operation.applyTo(root));
+
+		try {
+			for (NodeOperation operation : operations) {
+				if (write(operation, username) == 0) {
+					throw new IllegalStateException("Validated operation %s matched no node.".formatted(operation));
+				}
+			}
+		} catch (DataIntegrityViolationException e) {
+			// ids are only checked within the map, an id of another map is caught by the uniqueness constraint
+			throw new IllegalNodeOperationException("A node id of the patch already exists: %s".formatted(e.getMessage()));
+		}
+		operationRepository.append(mapId, version, operations);
+		log.info("Applied patch with %d operations to mindmap %s, now at version %d".formatted(operations.size(), mapId, version));
+		return version;
+	}
+
+	/**
+	 * Applies the operations of a single-node endpoint without loading the map. The targeted writes are scoped to the
+	 * user's mindmaps and check the tree themselves, so the operations are logged like a patch at O(depth) cost.
+	 *
+	 * @param operations operations on nodes of one mindmap, ADD operations are found by their parent
+	 * @return the new version of the map
+	 * @throws MindmapNotExistsException if an operation matches no node in the mindmap, nothing is written then
+	 */
+	@Transactional
+	public long applyNodeOperations(List<NodeOperation> operations, HttpServletRequest request) {
+		String username = jwtService.extractUsernameFromHeader(request);
+		NodeOperation first = operations.get(0);
+		UUID anchor = first.type() == OperationType.ADD ? first.parentId() : first.nodeId();
+		UUID mapId = mindmapNodeQueries.findRootIdByNodeId(anchor, username)
+				.orElseThrow(() -> new MindmapNotExistsException("Node %s does not exist.".formatted(anchor)));
+
+		long version = operationRepository.nextVersion(mapId);
+		for (NodeOperation operation : operations) {
+			if (write(operation, username) == 0) {
+				throw new MindmapNotExistsException("Operation %s matched no node of mindmap %s.".formatted(operation, mapId));
+			}
+		}
+		operationRepository.append(mapId, version, operations);
+		return version;
+	}
+
+	/**
+	 * Deletes the operation logs of all mindmaps of the user, before the mindmaps themselves are deleted.
+	 */
+	@Transactional
+	public void deleteLogsByUsername(String username) {
+		List<UUID> mapIds = mindmapNodeQueries.findRootsByUsername(username).stream()
+				.map(MindmapNodeView::nodeId)
+				.toList();
+		operationRepository.deleteByMapIds(mapIds);
+	}
+
+	/**
+	 * @return the operations of all patches after the version and the current version of the map
+	 * @throws MindmapNotExistsException if the user has no mindmap with the id
+	 */
+	@Transactional(readOnly = true)
+	public MindmapOperations getOperationsSince(UUID mapId, long version, HttpServletRequest request) {
+		requireOwnMindmap(mapId, jwtService.extractUsernameFromHeader(request));
+		return new MindmapOperations(mapId, operationRepository.currentVersion(mapId),
+				operationRepository.findOperationsSince(mapId, version));
+	}
+
+	private void requireOwnMindmap(UUID mapId, String username) {
+		mindmapNodeQueries.findTreeByNodeId(mapId, 0)
+				.filter(node -> node.nodeRole() == NodeRole.ROOT && username.equals(node.username()))
+				.orElseThrow(() -> new MindmapNotExistsException("Mindmap %s does not exist.".formatted(mapId)));
+	}
+
+	private long write(NodeOperation operation, String username) {
+		return switch (operation.type()) {
+			case ADD -> mindmapNodeRepository.createChildNode(operation.parentId(), operation.nodeId(),
+					operation.title(), operation.text(), operation.nodeType(), username);
+			case RENAME -> mindmapNodeRepository.updateTitle(operation.nodeId(), operation.title(), username);
+			case RETEXT -> mindmapNodeRepository.updateText(operation.nodeId(), operation.text(), username);
+			case RETYPE -> mindmapNodeRepository.updateNodeType(operation.nodeId(), operation.nodeType(), username);
+			case MOVE -> mindmapNodeRepository.moveNode(operation.nodeId(), operation.parentId(), username);
+			case DELETE -> mindmapNodeRepository.deleteSubtree(operation.nodeId(), username);
+		};
+	}
+}
@@ -3,25 +3,37 @@ package com.studyhub.mindmap.application.service;
 import com.studyhub.mindmap.adapter.modul.ModulApiAdatper;
 import com.studyhub.mindmap.adapter.web.api.NewMindmapRequest;
 import com.studyhub.mindmap.adapter.web.api.NewNodeRequest;
+import com.studyhub.mindmap.domain.model.IllegalChildConsistencyException;
 import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeOperation;
 import com.studyhub.mindmap.domain.model.NodeRole;
+import com.studyhub.mindmap.domain.model.NodeType;
+import com.studyhub.mindmap.domain.model.OperationType;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
 @Service
 public class MindmapService {
 
+	/** Deepest tree a single depth-limited read returns, deeper levels are fetched by expanding frontier nodes. */
+	public static final int MAX_DEPTH = 10;
+
 	private final Logger log = LoggerFactory.getLogger(MindmapService.class);
 	private final MindmapNodeRepository mindmapNodeRepository;
+	private final MindmapNodeQueries mindmapNodeQueries;
 	private final JWTService jwtService;
+	private final MindmapPatchService patchService;
 
-	public MindmapService(MindmapNodeRepository mindmapNodeRepository, JWTService jwtService) {
+	public MindmapService(MindmapNodeRepository mindmapNodeRepository, MindmapNodeQueries mindmapNodeQueries, JWTService jwtService, MindmapPatchService patchService) {
 		this.mindmapNodeRepository = mindmapNodeRepository;
+		this.mindmapNodeQueries = mindmapNodeQueries;
 		this.jwtService = jwtService;
+		this.patchService = patchService;
     }
 
 	public MindmapNode getMindmapByModulId(UUID modulId) {
@@ -36,33 +48,87 @@ public class MindmapService {
 
 	public Set<MindmapNode> getAllMindmapsByUsername(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		Optional<Set<MindmapNode>> set = mindmapNodeRepository.findAllByUsername(username);
-		if (set.isPresent()) {
-			return mindmapNodeRepository.findAllByUsername(username).get();
-		} else {
-			throw new MindmapNotExistsException("No mindmaps found for user: %s".formatted(username));
-		}
+		return mindmapNodeRepository.findAllByUsername(username)
+				.orElseThrow(() -> new MindmapNotExistsException("No mindmaps found for user: %s".formatted(username)));
+	}
 
+	/**
+	 * @return the roots of the user's mindmaps with their child counts, but without descendants
+	 */
+	public List<MindmapNodeView> getMindmapRootsByUsername(HttpServletRequest request) {
+		String username = jwtService.extractUsernameFromHeader(request);
+		return mindmapNodeQueries.findRootsByUsername(username);
+	}
+
+	/**
+	 * @param depth levels below the root, capped at {@link #MAX_DEPTH}
+	 * @throws MindmapNotExistsException if there is no mindmap for the module
+	 */
+	public MindmapNodeView getMindmapTreeByModulId(UUID modulId, int depth) {
+		return mindmapNodeQueries.findTreeByModulId(modulId, clampDepth(depth))
+				.orElseThrow(() -> new MindmapNotExistsException("Mindmap with modulId " + modulId + " does not exist."));
+	}
+
+	/**
+	 * @return the children of the node, each with its child count
+	 * @throws MindmapNotExistsException if the node does not exist
+	 */
+	public List<MindmapNodeView> expandNode(UUID nodeId) {
+		return mindmapNodeQueries.findTreeByNodeId(nodeId, 1)
+				.orElseThrow(() -> new MindmapNotExistsException("Node %s does not exist.".formatted(nodeId)))
+				.childNodes();
+	}
+
+	private static int clampDepth(int depth) {
+		return Math.max(0, Math.min(depth, MAX_DEPTH));
 	}
 
 	public void saveMindmap(MindmapNode res) {
 		mindmapNodeRepository.save(res);
 	}
 
-	public void createNewNode(NewNodeRequest req) throws RuntimeException {
-		MindmapNode newChildNode = req.toChildNode();
-		UUID parentId = req.getParentId();
+	/**
+	 * Creates the child with a single statement below the parent, the parent's subtree is neither loaded nor written.
+	 * @throws MindmapNotExistsException if the parent does not exist in a mindmap of the user
+	 */
+	public void createNewNode(NewNodeRequest req, HttpServletRequest request) {
+		MindmapNode child = req.toChildNode();
+		patchService.applyNodeOperations(List.of(new NodeOperation(OperationType.ADD, child.getNodeId(), req.getParentId(),
+				child.getTitle(), child.getText(), child.getNodeType())), request);
+	}
 
-		Optional<MindmapNode> parentNode = mindmapNodeRepository.findById(parentId);
+	/**
+	 * Changes the values that are not null with one entry in the operation log.
+	 * @throws IllegalChildConsistencyException if the title is empty
+	 * @throws MindmapNotExistsException if the node does not exist in a mindmap of the user
+	 */
+	public void editNode(UUID nodeId, String title, String text, NodeType nodeType, HttpServletRequest request) {
+		if (title != null && title.isEmpty()) {
+			throw new IllegalChildConsistencyException("title");
+		}
+		List<NodeOperation> operations = new ArrayList<>();
+		if (title != null) operations.add(new NodeOperation(OperationType.RENAME, nodeId, null, title, null, null));
+		if (text != null) operations.add(new NodeOperation(OperationType.RETEXT, nodeId, null, null, text, null));
+		if (nodeType != null) operations.add(new NodeOperation(OperationType.RETYPE, nodeId, null, null, null, nodeType));
+		if (!operations.isEmpty()) {
+			patchService.applyNodeOperations(operations, request);
+		}
+	}
 
-		if (parentNode.isPresent()) {
-			MindmapNode res = parentNode.get();
-			res.getChildNodes().add(newChildNode);
+	/**
+	 * @throws MindmapNotExistsException if a node does not exist in a mindmap of the user, the nodes belong to
+	 * different mindmaps, the node is a root or the new parent lies in its subtree
+	 */
+	public void moveNode(UUID nodeId, UUID newParentId, HttpServletRequest request) {
+		patchService.applyNodeOperations(List.of(new NodeOperation(OperationType.MOVE, nodeId, newParentId, null, null, null)), request);
+	}
 
-			mindmapNodeRepository.save(res);
-		} else {
-			throw new RuntimeException();
-		}
+	/**
+	 * Deletes the child node with its subtree.
+	 * @throws MindmapNotExistsException if the child node does not exist in a mindmap of the user
+	 */
+	public void deleteNode(UUID nodeId, HttpServletRequest request) {
+		patchService.applyNodeOperations(List.of(new NodeOperation(OperationType.DELETE, nodeId, null, null, null, null)), request);
 	}
 
 	public void createNewMindmap(NewMindmapRequest req1, HttpServletRequest req2) throws RuntimeException {
@@ -71,39 +137,33 @@ public class MindmapService {
 		mindmapNodeRepository.save(newRootNode);
 	}
 
+	/**
+	 * Full mindmaps keyed by the module title, mindmaps without a module are left out.
+	 * The overview from {@link #getMindmapOverview(HttpServletRequest)} lists the same mindmaps without loading their trees.
+	 */
 	public Map<String, List<MindmapNode>> getAllMindmapsGroupedByModule(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		Set<MindmapNode> nodes = mindmapNodeRepository.findAllByUsername(username).get();
-		List<String> modulIds = nodes.stream()
-				.map(MindmapNode::getModulId)
-				.filter(Objects::nonNull)
-				.map(String::valueOf)
-				.distinct()
-				.toList();
-		Map<String, List<MindmapNode>> res = new HashMap<>();
-		for(String modulId : modulIds) {
-			List<MindmapNode> mindmapList = new ArrayList<>();
-			String titel = "";
-			for(MindmapNode node : nodes) {
-				System.out.println(node);
-				if(node.hasModulId()) {
-					if(node.getModulId().toString().equals(modulId)) {
-						mindmapList.add(node);
-						if(node.hasModulTitel())
-							titel = node.getModulTitel();
-					}
-
-				}
-
-
-			}
-
-			res.put(titel, mindmapList);
+		Set<MindmapNode> nodes = mindmapNodeRepository.findAllByUsername(username).orElse(Set.of());
+		Map<UUID, List<MindmapNode>> byModulId = new LinkedHashMap<>();
+		Map<UUID, String> titel = new HashMap<>();
+		for (MindmapNode node : nodes) {
+			if (!node.hasModulId()) continue;
+			byModulId.computeIfAbsent(node.getModulId(), id -> new ArrayList<>()).add(node);
+			if (node.hasModulTitel()) titel.put(node.getModulId(), node.getModulTitel());
 		}
-		System.out.println(res);
+		Map<String, List<MindmapNode>> res = new HashMap<>();
+		byModulId.forEach((modulId, mindmaps) -> res.put(titel.getOrDefault(modulId, ""), mindmaps));
 		return res;
 	}
 
+	/**
+	 * @return the roots of the user's mindmaps grouped by module and the module-less mindmaps, read in one query
+	 */
+	public MindmapOverview getMindmapOverview(HttpServletRequest request) {
+		String username = jwtService.extractUsernameFromHeader(request);
+		return mindmapNodeQueries.findOverviewByUsername(username);
+	}
+
 	public List<MindmapNode> getAllOtherMindmapsByUsername(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
 		Set<MindmapNode> nodes = mindmapNodeRepository.findAllByUsername(username).get();
@@ -120,7 +180,9 @@ public class MindmapService {
 		return res;
 	}
 
+	@Transactional
 	public void deleteAllMindmapsByUsername(String username) {
+		patchService.deleteLogsByUsername(username);
 		mindmapNodeRepository.deleteAllByUsername(username);
 	}
 }
@@ -0,0 +1,7 @@
+package com.studyhub.mindmap.application.service;
+
+public class PatchConflictException extends RuntimeException {
+	public PatchConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,9 @@
+package com.studyhub.mindmap.domain.model;
+
+import java.util.UUID;
+
+public class IllegalNodeMoveException extends IllegalNodeOperationException {
+    public IllegalNodeMoveException(UUID nodeId, UUID newParentId) {
+        super("Node %s cannot be moved below %s, which lies in its own subtree".formatted(nodeId, newParentId));
+    }
+}
@@ -0,0 +1,7 @@
+package com.studyhub.mindmap.domain.model;
+
+public class IllegalNodeOperationException extends RuntimeException {
+    public IllegalNodeOperationException(String reason) {
+        super(reason);
+    }
+}
@@ -1,21 +1,29 @@
 package com.studyhub.mindmap.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import org.neo4j.driver.util.Pair;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.neo4j.core.schema.GeneratedValue;
 import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Relationship;
 import org.yaml.snakeyaml.util.Tuple;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
+/**
+ * Nodes are equal if they have the same nodeId, so hashing a mindmap in a set does not walk its subtree.
+ */
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @DirectedAcyclicTree
 public class MindmapNode {
     @Id
     @GeneratedValue
+    @EqualsAndHashCode.Include
     private UUID nodeId;
     private UUID modulId;
     private String modulTitel;
@@ -28,6 +36,11 @@ public class MindmapNode {
     @Relationship(type = "LINKS_TO", direction = Relationship.Direction.OUTGOING)
     private List<MindmapNode> childNodes;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private NodeIndex index;
+
     public MindmapNode(UUID modulId, String modulTitel, String  title, String text, NodeType nodeType, NodeRole nodeRole, String username) {
         this.nodeId = UUID.randomUUID();
         this.modulId = modulId;
@@ -108,28 +121,96 @@ public class MindmapNode {
 
     public MindmapNode() {}
 
+    /**
+     * Enables the id index for lookups and changes through this node, usually the root. The index is built on the
+     * first lookup and kept in sync by the mutation methods; changes made directly to a list from
+     * {@link #getChildNodes()} must be followed by {@link #setChildNodes(List)} to rebuild it.
+     */
+    public MindmapNode indexed() {
+        if (index == null) {
+            index = new NodeIndex(this);
+        }
+        return this;
+    }
+
     public int size() {
-        int c = 1;
-        for (MindmapNode childNode : childNodes) {
-            c += childNode.size();
+        if (index != null) {
+            return index.size();
+        }
+        int c = 0;
+        Deque<MindmapNode> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            MindmapNode node = stack.pop();
+            c++;
+            children(node).forEach(stack::push);
         }
         return c;
     }
 
+    /**
+     * @return false if there is no node with the parentId
+     */
     public boolean addChildNode(UUID parentId, MindmapNode node) {
-        MindmapNode parent = findChildNode(parentId);
-        return parent.getChildNodes().add(node);
+        MindmapNode parent = findNode(parentId);
+        if (parent == null) {
+            return false;
+        }
+        boolean added = parent.getChildNodes().add(node);
+        if (index != null) index.register(parent, node);
+        return added;
     }
 
     public boolean removeSubtreeAt(UUID nodeId) {
-        MindmapNode toRemove = findChildNode(nodeId);
-        return childNodes.remove(toRemove);
+        return removeChild(findParentNode(nodeId), nodeId);
     }
 
+    /**
+     * @return false if the child is not a direct child of the parent
+     */
     public boolean removeChildNode(UUID parentId, UUID childId) {
-        MindmapNode parent = findChildNode(parentId);
-        MindmapNode child = findChildNode(childId);
-        return parent.getChildNodes().remove(child);
+        return removeChild(findNode(parentId), childId);
+    }
+
+    private boolean removeChild(MindmapNode parent, UUID childId) {
+        if (parent == null) {
+            return false;
+        }
+        Iterator<MindmapNode> it = children(parent).iterator();
+        while (it.hasNext()) {
+            MindmapNode child = it.next();
+            if (childId.equals(child.nodeId)) {
+                it.remove();
+                if (index != null) index.unregister(child);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a node with its subtree below a new parent. With the index the cycle check walks the parent pointers of
+     * the new parent in O(depth), otherwise it searches the subtree of the moved node.
+     * @return false if one of the nodes does not exist or the node is this node
+     * @throws IllegalNodeMoveException if the new parent lies in the subtree of the node
+     */
+    public boolean moveChildNode(UUID nodeId, UUID newParentId) {
+        MindmapNode parent = findParentNode(nodeId);
+        MindmapNode newParent = findNode(newParentId);
+        if (parent == null || newParent == null) {
+            return false;
+        }
+        MindmapNode node = findChildNode(nodeId);
+        boolean cycle = index != null
+                ? index.isInSubtree(newParentId, nodeId)
+                : node == newParent || node.findChildNode(newParentId) != null;
+        if (cycle) {
+            throw new IllegalNodeMoveException(nodeId, newParentId);
+        }
+        children(parent).removeIf(child -> child == node);
+        newParent.getChildNodes().add(node);
+        if (index != null) index.reparent(node, newParent);
+        return true;
     }
 
     public void setChildNodeTitel(UUID nodeId, String title) {
@@ -147,20 +228,66 @@ public class MindmapNode {
         node.setNodeType(nodeType);
     }
 
+    /**
+     * @return the descendant with the id, null if there is none
+     */
     public MindmapNode findChildNode(UUID uuid) {
-        for (MindmapNode childNode : childNodes) {
-            if (childNode.nodeId.equals(uuid)) {
-                return childNode;
-            } else {
-                MindmapNode result = childNode.findChildNode(uuid);
-                if (result != null) {
-                    return result;
-                }
+        if (index != null) {
+            MindmapNode node = index.find(uuid);
+            return node == this ? null : node;
+        }
+        return searchDescendant(uuid, false);
+    }
+
+    /**
+     * @return the parent of the descendant with the id, null if there is none
+     */
+    public MindmapNode findParentNode(UUID uuid) {
+        if (index != null) {
+            return index.parentOf(uuid);
+        }
+        return searchDescendant(uuid, true);
+    }
+
+    /**
+     * @return this node or the descendant with the id, null if there is none
+     */
+    public MindmapNode findNode(UUID uuid) {
+        return uuid != null && uuid.equals(nodeId) ? this : findChildNode(uuid);
+    }
+
+    /**
+     * Depth-first search in pre-order with an explicit stack, so deep trees cannot overflow the call stack.
+     */
+    private MindmapNode searchDescendant(UUID uuid, boolean returnParent) {
+        if (uuid == null) {
+            return null;
+        }
+        Deque<MindmapNode> parents = new ArrayDeque<>();
+        Deque<Iterator<MindmapNode>> iterators = new ArrayDeque<>();
+        parents.push(this);
+        iterators.push(children(this).iterator());
+        while (!iterators.isEmpty()) {
+            Iterator<MindmapNode> it = iterators.peek();
+            if (!it.hasNext()) {
+                iterators.pop();
+                parents.pop();
+                continue;
+            }
+            MindmapNode child = it.next();
+            if (uuid.equals(child.nodeId)) {
+                return returnParent ? parents.peek() : child;
             }
+            parents.push(child);
+            iterators.push(children(child).iterator());
         }
         return null;
     }
 
+    static List<MindmapNode> children(MindmapNode node) {
+        return node.childNodes == null ? List.of() : node.childNodes;
+    }
+
     public boolean hasModulId() {
         return modulId != null;
     }
@@ -199,6 +326,7 @@ public class MindmapNode {
 
     public void setChildNodes(List<MindmapNode> childNodes) {
         this.childNodes = childNodes;
+        if (index != null) index.invalidate();
     }
 
     public UUID getModulId() {
@@ -232,7 +360,7 @@ public class MindmapNode {
                 ", nodeType=" + nodeType +
                 ", nodeRole=" + nodeRole +
                 ", username='" + username + '\'' +
-                ", childNodes=" + childNodes +
+                ", childCount=" + children(this).size() +
                 '}';
     }
 
@@ -0,0 +1,93 @@
+package com.studyhub.mindmap.domain.model;
+
+import java.util.*;
+
+/**
+ * Id index of the tree below a MindmapNode with a parent pointer for every node. It is built on the first lookup,
+ * after that lookups are O(1) and ancestor checks walk the parent pointers in O(depth).
+ * The mutation methods of MindmapNode keep it in sync, changes made directly to a child list are not seen.
+ */
+final class NodeIndex {
+
+    private final MindmapNode root;
+    private Map<UUID, MindmapNode> nodes;
+    private Map<UUID, MindmapNode> parents;
+
+    NodeIndex(MindmapNode root) {
+        this.root = root;
+    }
+
+    private void build() {
+        if (nodes != null) return;
+        nodes = new HashMap<>();
+        parents = new HashMap<>();
+        register(null, root);
+    }
+
+    void invalidate() {
+        nodes = null;
+        parents = null;
+    }
+
+    MindmapNode find(UUID nodeId) {
+        build();
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * @return the parent of the node, null for the root or an unknown id
+     */
+    MindmapNode parentOf(UUID nodeId) {
+        build();
+        return parents.get(nodeId);
+    }
+
+    int size() {
+        build();
+        return nodes.size();
+    }
+
+    /**
+     * @return true if the node is the subtree root or one of its descendants
+     */
+    boolean isInSubtree(UUID nodeId, UUID subtreeRootId) {
+        build();
+        for (MindmapNode node = nodes.get(nodeId); node != null; node = parents.get(node.getNodeId())) {
+            if (node.getNodeId().equals(subtreeRootId)) return true;
+        }
+        return false;
+    }
+
+    void register(MindmapNode parent, MindmapNode subtree) {
+        if (nodes == null) return;
+        Deque<MindmapNode> stack = new ArrayDeque<>();
+        nodes.put(subtree.getNodeId(), subtree);
+        if (parent != null) parents.put(subtree.getNodeId(), parent);
+        stack.push(subtree);
+        while (!stack.isEmpty()) {
+            MindmapNode node = stack.pop();
+            for (MindmapNode child : MindmapNode.children(node)) {
+                nodes.put(child.getNodeId(), child);
+                parents.put(child.getNodeId(), node);
+                stack.push(child);
+            }
+        }
+    }
+
+    void unregister(MindmapNode subtree) {
+        if (nodes == null) return;
+        Deque<MindmapNode> stack = new ArrayDeque<>();
+        stack.push(subtree);
+        while (!stack.isEmpty()) {
+            MindmapNode node = stack.pop();
+            nodes.remove(node.getNodeId());
+            parents.remove(node.getNodeId());
+            MindmapNode.children(node).forEach(stack::push);
+        }
+    }
+
+    void reparent(MindmapNode node, MindmapNode newParent) {
+        if (nodes == null) return;
+        parents.put(node.getNodeId(), newParent);
+    }
+}
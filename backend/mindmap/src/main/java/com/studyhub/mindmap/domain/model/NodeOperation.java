@@ -0,0 +1,77 @@
+package com.studyhub.mindmap.domain.model;
+
+import org.yaml.snakeyaml.util.Tuple;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A single change of a mindmap as part of a patch. The client generates the nodeId of added nodes.
+ *
+ * @param nodeId the node the operation changes, for ADD the id of the new node
+ * @param parentId the parent for ADD and the new parent for MOVE, otherwise unused
+ * @param title the title for ADD and RENAME
+ * @param text the text for ADD and RETEXT
+ * @param nodeType the type for ADD and RETYPE
+ */
+public record NodeOperation(OperationType type, UUID nodeId, UUID parentId, String title, String text, NodeType nodeType) {
+
+    /**
+     * Applies the operation to the tree below the root, which keeps the tree acyclic, its node ids unique and
+     * the root in place. The root should be {@link MindmapNode#indexed() indexed}, so a patch costs O(1) per
+     * operation plus O(depth) per move.
+     *
+     * @throws IllegalNodeOperationException if the operation would break the tree or misses a value
+     */
+    public void applyTo(MindmapNode root) {
+        if (type == null || nodeId == null) {
+            throw new IllegalNodeOperationException("type and nodeId must be set");
+        }
+        switch (type) {
+            case ADD -> {
+                Tuple<List<String>, Boolean> resTuple = MindmapNode.checkConsistency(nodeId, title, nodeType, "dummy");
+                if (!resTuple._2()) {
+                    throw new IllegalNodeOperationException("ADD %s: %s must be set".formatted(nodeId, resTuple._1()));
+                }
+                if (root.findNode(nodeId) != null) {
+                    throw new IllegalNodeOperationException("ADD %s: node already exists".formatted(nodeId));
+                }
+                MindmapNode node = new MindmapNode(nodeId, null, null, title, text, nodeType, NodeRole.CHILD);
+                if (!root.addChildNode(parentId, node)) {
+                    throw new IllegalNodeOperationException("ADD %s: parent %s does not exist".formatted(nodeId, parentId));
+                }
+            }
+            case RENAME -> {
+                if (title == null || title.isEmpty()) {
+                    throw new IllegalNodeOperationException("RENAME %s: title must be set".formatted(nodeId));
+                }
+                existing(root).setTitle(title);
+            }
+            case RETEXT -> existing(root).setText(text);
+            case RETYPE -> {
+                if (nodeType == null) {
+                    throw new IllegalNodeOperationException("RETYPE %s: nodeType must be set".formatted(nodeId));
+                }
+                existing(root).setNodeType(nodeType);
+            }
+            case MOVE -> {
+                if (!root.moveChildNode(nodeId, parentId)) {
+                    throw new IllegalNodeOperationException("MOVE %s: node or parent %s does not exist, or node is the root".formatted(nodeId, parentId));
+                }
+            }
+            case DELETE -> {
+                if (!root.removeSubtreeAt(nodeId)) {
+                    throw new IllegalNodeOperationException("DELETE %s: node does not exist or is the root".formatted(nodeId));
+                }
+            }
+        }
+    }
+
+    private MindmapNode existing(MindmapNode root) {
+        MindmapNode node = root.findNode(nodeId);
+        if (node == null) {
+            throw new IllegalNodeOperationException("%s %s: node does not exist".formatted(type, nodeId));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,5 @@
+package com.studyhub.mindmap.domain.model;
+
+public enum OperationType {
+    ADD, RENAME, RETEXT, RETYPE, MOVE, DELETE
+}
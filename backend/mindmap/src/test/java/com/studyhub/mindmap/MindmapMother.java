@@ -70,6 +70,34 @@ public class MindmapMother {
         return root;
     }
 
+    /**
+     * @return a mindmap in which every node has exactly one child, size nodes including the root
+     */
+    public static MindmapNode initChain(int size) {
+        MindmapNode root = MindmapNode.initRootNode(UUID.randomUUID(), "Modul1", "ROOT", "blabla", NodeType.SUBJECT, "peter77");
+        MindmapNode last = root;
+        for (int i = 1; i < size; i++) {
+            MindmapNode child = initChildNode(UUID.randomUUID(), "ch" + i, "bla", NodeType.SUBJECT);
+            last.getChildNodes().add(child);
+            last = child;
+        }
+        return root;
+    }
+
+    /**
+     * @return a mindmap in which every node has up to degree children, size nodes including the root
+     */
+    public static MindmapNode initWideTree(int size, int degree) {
+        List<MindmapNode> nodes = new ArrayList<>(size);
+        nodes.add(MindmapNode.initRootNode(UUID.randomUUID(), "Modul1", "ROOT", "blabla", NodeType.SUBJECT, "peter77"));
+        for (int i = 1; i < size; i++) {
+            MindmapNode child = initChildNode(UUID.randomUUID(), "ch" + i, "bla", NodeType.SUBJECT);
+            nodes.get((i - 1) / degree).getChildNodes().add(child);
+            nodes.add(child);
+        }
+        return nodes.get(0);
+    }
+
     private static List<MindmapNode> of(MindmapNode... childs) {
         return new ArrayList<>(Arrays.asList(childs));
     }
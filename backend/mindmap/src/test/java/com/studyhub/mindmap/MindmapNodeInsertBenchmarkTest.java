@@ -0,0 +1,152 @@
+package com.studyhub.mindmap;
+
+import com.studyhub.mindmap.adapter.config.Neo4jSchemaConfig;
+import com.studyhub.mindmap.adapter.db.MindmapNodeQueriesImpl;
+import com.studyhub.mindmap.adapter.db.MindmapOperationRepositoryImpl;
+import com.studyhub.mindmap.adapter.web.api.NewNodeRequest;
+import com.studyhub.mindmap.application.service.JWTService;
+import com.studyhub.mindmap.application.service.MindmapNodeRepository;
+import com.studyhub.mindmap.application.service.MindmapPatchService;
+import com.studyhub.mindmap.application.service.MindmapService;
+import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.neo4j.DataNeo4jTest;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Misst das Einfügen eines Knotens in eine kleine und eine große Mindmap. Mit den gezielten Cypher-Anweisungen
+ * hängt die Dauer nicht von der Größe der Mindmap ab, zum Vergleich wird das Laden und Speichern des ganzen Baums gemessen.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=MindmapNodeInsertBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers
+@DataNeo4jTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MindmapNodeInsertBenchmarkTest {
+
+    private static final int KLEIN = 10;
+    private static final int GROSS = 2_000;
+    private static final int AUFWAERMEN = 50;
+    private static final int EINFUEGEN = 300;
+
+    static Neo4jContainer<?> container = new Neo4jContainer<>("neo4j:5");
+
+    @DynamicPropertySource
+    static void neo4jProperties(DynamicPropertyRegistry registry) {
+        container.start();
+        registry.add("spring.neo4j.uri", container::getBoltUrl);
+        registry.add("spring.neo4j.authentication.password", container::getAdminPassword);
+    }
+
+    private final Logger log = LoggerFactory.getLogger(MindmapNodeInsertBenchmarkTest.class);
+    private final Random random = new Random(42);
+
+    @Autowired
+    private MindmapNodeRepository mindmapRepository;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    private MindmapService mindmapService;
+
+    @BeforeEach
+    void setup() {
+        neo4jClient.query("MATCH (n:MindmapNode) DETACH DELETE n").run();
+        new Neo4jSchemaConfig(neo4jClient).createConstraints();
+        JWTService jwtService = mock(JWTService.class);
+        when(jwtService.extractUsernameFromHeader(any())).thenReturn("peter77");
+        MindmapNodeQueriesImpl mindmapQueries = new MindmapNodeQueriesImpl(neo4jClient);
+        MindmapPatchService patchService = new MindmapPatchService(mindmapRepository, mindmapQueries, new MindmapOperationRepositoryImpl(neo4jClient), jwtService);
+        mindmapService = new MindmapService(mindmapRepository, mindmapQueries, jwtService, patchService);
+    }
+
+    @Test
+    @DisplayName("Das Einfügen eines Knotens dauert in einer großen Mindmap nicht länger als in einer kleinen")
+    void einfuegen() {
+        List<UUID> klein = mindmap(KLEIN);
+        List<UUID> gross = mindmap(GROSS);
+        fuegeEin(klein, AUFWAERMEN);
+        fuegeEin(gross, AUFWAERMEN);
+
+        long proKnotenKlein = fuegeEin(klein, EINFUEGEN);
+        long proKnotenGross = fuegeEin(gross, EINFUEGEN);
+        long ladenUndSpeichern = ladeUndSpeichere(gross.get(0), 10);
+
+        log.info("insert into {} nodes: {} µs, into {} nodes: {} µs, load and save of {} nodes: {} µs",
+                KLEIN, proKnotenKlein / 1_000, GROSS, proKnotenGross / 1_000, GROSS, ladenUndSpeichern / 1_000);
+        assertThat(mindmapRepository.count()).isEqualTo(KLEIN + GROSS + 2L * (AUFWAERMEN + EINFUEGEN) + 10);
+        assertThat(proKnotenGross).isLessThan(3 * proKnotenKlein);
+    }
+
+    /**
+     * Legt eine Mindmap mit einem Baum vom Grad 4 an.
+     * @return die Ids der Knoten, die Wurzel zuerst
+     */
+    private List<UUID> mindmap(int groesse) {
+        List<UUID> ids = IntStream.range(0, groesse).mapToObj(i -> UUID.randomUUID()).toList();
+        List<Map<String, Object>> knoten = new ArrayList<>();
+        List<Map<String, Object>> kanten = new ArrayList<>();
+        for (int i = 0; i < groesse; i++) {
+            knoten.add(Map.of("nodeId", ids.get(i).toString(), "title", "Knoten " + i, "nodeRole", i == 0 ? "ROOT" : "CHILD"));
+            if (i > 0) kanten.add(Map.of("parent", ids.get((i - 1) / 4).toString(), "child", ids.get(i).toString()));
+        }
+        neo4jClient.query("UNWIND $knoten AS k CREATE (:MindmapNode {nodeId: k.nodeId, title: k.title, nodeType: 'SUBJECT', nodeRole: k.nodeRole, username: 'peter77'})")
+                .bind(knoten).to("knoten").run();
+        neo4jClient.query("UNWIND $kanten AS k MATCH (p:MindmapNode {nodeId: k.parent}), (c:MindmapNode {nodeId: k.child}) CREATE (p)-[:LINKS_TO]->(c)")
+                .bind(kanten).to("kanten").run();
+        return ids;
+    }
+
+    /**
+     * @return die mittlere Dauer in Nanosekunden
+     */
+    private long fuegeEin(List<UUID> mindmap, int anzahl) {
+        long start = System.nanoTime();
+        for (int i = 0; i < anzahl; i++) {
+            UUID parentId = mindmap.get(random.nextInt(mindmap.size()));
+            mindmapService.createNewNode(new NewNodeRequest(parentId, "neu " + i, NodeType.SUBJECT), null);
+        }
+        return (System.nanoTime() - start) / anzahl;
+    }
+
+    /**
+     * Der bisherige Weg: den Baum ab der Wurzel laden, ein Child anhängen und den Baum speichern.
+     * @return die mittlere Dauer in Nanosekunden
+     */
+    private long ladeUndSpeichere(UUID rootId, int anzahl) {
+        long start = System.nanoTime();
+        for (int i = 0; i < anzahl; i++) {
+            MindmapNode root = mindmapRepository.findById(rootId).get();
+            root.getChildNodes().add(MindmapNode.initChildNode("geladen " + i, null, NodeType.SUBJECT));
+            mindmapRepository.save(root);
+        }
+        return (System.nanoTime() - start) / anzahl;
+    }
+}
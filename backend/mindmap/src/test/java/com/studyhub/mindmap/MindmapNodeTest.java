@@ -1,13 +1,18 @@
 package com.studyhub.mindmap;
 
+import com.studyhub.mindmap.domain.model.IllegalNodeMoveException;
+import com.studyhub.mindmap.domain.model.IllegalNodeOperationException;
 import com.studyhub.mindmap.domain.model.IllegalRootConsistencyException;
 import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeOperation;
 import com.studyhub.mindmap.domain.model.NodeType;
+import com.studyhub.mindmap.domain.model.OperationType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.util.Tuple;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -209,4 +214,115 @@ public class MindmapNodeTest {
             MindmapNode root = MindmapNode.initRootNode(modulId, null, titel, "info", nodeType, username);
         });
     }
+
+    private static final UUID CH1 = UUID.fromString("3fa85f64-5717-4562-b3fc-2c963f66afa6");
+    private static final UUID CH2 = UUID.fromString("c0a80123-4567-89ab-cdef-1234567890ab");
+    private static final UUID CH11 = UUID.fromString("e1d7c0e3-2bc0-4af2-9f25-9a3bb9db88ec");
+
+    @Test
+    @DisplayName("Eine Kette aus 100.000 Knoten wird ohne StackOverflowError durchsucht und gezählt")
+    void test15() {
+        MindmapNode root = MindmapMother.initChain(100_000);
+        MindmapNode last = root;
+        while (!last.getChildNodes().isEmpty()) last = last.getChildNodes().get(0);
+
+        assertThat(root.size()).isEqualTo(100_000);
+        assertThat(root.findChildNode(last.getNodeId())).isSameAs(last);
+        assertThat(root.toString()).contains("childCount=1");
+        assertThat(Set.of(root)).contains(root);
+    }
+
+    @Test
+    @DisplayName("Ein Knoten wird mit seinem Teilbaum verschoben, mit und ohne Index")
+    void test16() {
+        MindmapNode indexed = MindmapMother.initBasicMindmap().indexed();
+
+        assertThat(mindmap.moveChildNode(CH1, CH2)).isTrue();
+        assertThat(indexed.moveChildNode(CH1, CH2)).isTrue();
+
+        for (MindmapNode tree : List.of(mindmap, indexed)) {
+            assertThat(tree.getChildNodes()).extracting(MindmapNode::getNodeId).containsExactly(CH2);
+            assertThat(tree.findParentNode(CH11).getNodeId()).isEqualTo(CH1);
+            assertThat(tree.findParentNode(CH1).getNodeId()).isEqualTo(CH2);
+            assertThat(tree.size()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    @DisplayName("Ein Knoten kann nicht in seinen eigenen Teilbaum verschoben werden")
+    void test17() {
+        MindmapNode indexed = MindmapMother.initBasicMindmap().indexed();
+
+        assertThrows(IllegalNodeMoveException.class, () -> mindmap.moveChildNode(CH1, CH11));
+        assertThrows(IllegalNodeMoveException.class, () -> indexed.moveChildNode(CH1, CH11));
+        assertThrows(IllegalNodeMoveException.class, () -> indexed.moveChildNode(CH1, CH1));
+        assertThat(indexed.moveChildNode(indexed.getNodeId(), CH1)).isFalse();
+        assertThat(indexed.findParentNode(CH11).getNodeId()).isEqualTo(CH1);
+    }
+
+    @Test
+    @DisplayName("Der Index bleibt nach Hinzufügen und Entfernen von Teilbäumen aktuell")
+    void test18() {
+        MindmapNode indexed = MindmapMother.initBasicMindmap().indexed();
+        MindmapNode newChild = MindmapNode.initChildNode("im new", "bla", NodeType.SUBJECT);
+        assertThat(indexed.size()).isEqualTo(7);
+
+        indexed.addChildNode(CH11, newChild);
+        assertThat(indexed.removeChildNode(CH11, newChild.getNodeId())).isTrue();
+        assertThat(indexed.size()).isEqualTo(7);
+        indexed.addChildNode(CH11, newChild);
+        boolean removed = indexed.removeSubtreeAt(CH1);
+
+        assertThat(removed).isTrue();
+        assertThat(indexed.size()).isEqualTo(4);
+        assertThat(indexed.findChildNode(CH11)).isNull();
+        assertThat(indexed.findChildNode(newChild.getNodeId())).isNull();
+        assertThat(indexed.addChildNode(indexed.getNodeId(), newChild)).isTrue();
+        assertThat(indexed.findParentNode(newChild.getNodeId())).isSameAs(indexed);
+    }
+
+    @Test
+    @DisplayName("Die Operationen eines Patches werden nacheinander auf den Baum angewendet")
+    void test19() {
+        MindmapNode indexed = MindmapMother.initBasicMindmap().indexed();
+        UUID newId = UUID.randomUUID();
+
+        List.of(new NodeOperation(OperationType.ADD, newId, CH11, "Integrale", null, NodeType.SUBJECT),
+                new NodeOperation(OperationType.RENAME, CH11, null, "Analysis 2", null, null),
+                new NodeOperation(OperationType.MOVE, CH11, CH2, null, null, null),
+                new NodeOperation(OperationType.DELETE, CH1, null, null, null, null))
+                .forEach(operation -> operation.applyTo(indexed));
+
+        assertThat(indexed.findParentNode(CH11).getNodeId()).isEqualTo(CH2);
+        assertThat(indexed.findParentNode(newId).getNodeId()).isEqualTo(CH11);
+        assertThat(indexed.findChildNode(CH11).getTitle()).isEqualTo("Analysis 2");
+        assertThat(indexed.findChildNode(CH1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Operationen, die den Baum beschädigen würden, werden abgelehnt")
+    void test20() {
+        MindmapNode indexed = MindmapMother.initBasicMindmap().indexed();
+        UUID rootId = indexed.getNodeId();
+
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.ADD, CH1, rootId, "doppelt", null, NodeType.SUBJECT).applyTo(indexed));
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.ADD, UUID.randomUUID(), UUID.randomUUID(), "verwaist", null, NodeType.SUBJECT).applyTo(indexed));
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.ADD, UUID.randomUUID(), rootId, "", null, NodeType.SUBJECT).applyTo(indexed));
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.RENAME, UUID.randomUUID(), null, "weg", null, null).applyTo(indexed));
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.MOVE, CH1, CH11, null, null, null).applyTo(indexed));
+        assertThrows(IllegalNodeOperationException.class, () -> new NodeOperation(OperationType.DELETE, rootId, null, null, null, null).applyTo(indexed));
+        assertThat(indexed.size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Knoten sind gleich, wenn ihre nodeId gleich ist, unabhängig von Inhalt und Kindern")
+    void test21() {
+        MindmapNode ch1 = mindmap.findChildNode(CH1);
+        MindmapNode kopie = MindmapMother.initBasicMindmap().findChildNode(CH1);
+        kopie.setTitle("anders");
+        kopie.setChildNodes(List.of());
+
+        assertThat(kopie).isEqualTo(ch1).hasSameHashCodeAs(ch1);
+        assertThat(ch1).isNotEqualTo(mindmap.findChildNode(CH2));
+    }
 }
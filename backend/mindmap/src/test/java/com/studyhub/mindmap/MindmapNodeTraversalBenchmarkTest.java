@@ -0,0 +1,114 @@
+package com.studyhub.mindmap;
+
+import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Misst Suchen und Verschieben in einem breiten Baum und einer tiefen Kette mit je 10.000 Knoten, einmal mit der
+ * Tiefensuche und einmal mit dem Index.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=MindmapNodeTraversalBenchmarkTest}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MindmapNodeTraversalBenchmarkTest {
+
+    private static final int KNOTEN = 10_000;
+    private static final int AUFWAERMEN = 2_000;
+    private static final int OPERATIONEN = 5_000;
+
+    private final Logger log = LoggerFactory.getLogger(MindmapNodeTraversalBenchmarkTest.class);
+
+    static Stream<Arguments> baeume() {
+        Supplier<MindmapNode> breit = () -> MindmapMother.initWideTree(KNOTEN, 4);
+        Supplier<MindmapNode> tief = () -> MindmapMother.initChain(KNOTEN);
+        return Stream.of(
+                Arguments.of("breit", breit, false),
+                Arguments.of("breit", breit, true),
+                Arguments.of("tief", tief, false),
+                Arguments.of("tief", tief, true));
+    }
+
+    @ParameterizedTest(name = "{0}, Index: {2}")
+    @MethodSource("baeume")
+    @DisplayName("Suchen eines Knotens anhand seiner Id")
+    void suchen(String name, Supplier<MindmapNode> baum, boolean index) {
+        MindmapNode root = index ? baum.get().indexed() : baum.get();
+        List<UUID> ids = ids(root);
+        Random random = new Random(42);
+        suche(root, ids, random, AUFWAERMEN);
+
+        long start = System.nanoTime();
+        int gefunden = suche(root, ids, random, OPERATIONEN);
+        long dauer = System.nanoTime() - start;
+
+        log.info("{} tree, index {}: {} lookups/s", name, index, OPERATIONEN * 1_000_000_000L / dauer);
+        assertThat(gefunden).isEqualTo(OPERATIONEN);
+    }
+
+    @ParameterizedTest(name = "{0}, Index: {2}")
+    @MethodSource("baeume")
+    @DisplayName("Verschieben eines Blatts unter einen anderen Knoten inklusive Zyklusprüfung")
+    void verschieben(String name, Supplier<MindmapNode> baum, boolean index) {
+        MindmapNode root = index ? baum.get().indexed() : baum.get();
+        List<UUID> ids = ids(root);
+        Random random = new Random(42);
+        verschiebe(root, ids, random, AUFWAERMEN);
+
+        long start = System.nanoTime();
+        verschiebe(root, ids, random, OPERATIONEN);
+        long dauer = System.nanoTime() - start;
+
+        log.info("{} tree, index {}: {} moves/s", name, index, OPERATIONEN * 1_000_000_000L / dauer);
+        assertThat(root.size()).isEqualTo(KNOTEN);
+    }
+
+    private static int suche(MindmapNode root, List<UUID> ids, Random random, int anzahl) {
+        int gefunden = 0;
+        for (int i = 0; i < anzahl; i++) {
+            if (root.findChildNode(ids.get(1 + random.nextInt(ids.size() - 1))) != null) gefunden++;
+        }
+        return gefunden;
+    }
+
+    /**
+     * Hängt einen neuen Knoten an einen zufälligen Knoten und verschiebt ihn unter einen anderen zufälligen Knoten.
+     * Das neue Blatt hat keinen Teilbaum, die Zyklusprüfung schlägt also nie an, muss aber durchlaufen werden.
+     */
+    private static void verschiebe(MindmapNode root, List<UUID> ids, Random random, int anzahl) {
+        for (int i = 0; i < anzahl; i++) {
+            MindmapNode blatt = MindmapNode.initChildNode("blatt", null, NodeType.SUBJECT);
+            root.addChildNode(ids.get(random.nextInt(ids.size())), blatt);
+            root.moveChildNode(blatt.getNodeId(), ids.get(random.nextInt(ids.size())));
+            root.removeSubtreeAt(blatt.getNodeId());
+        }
+    }
+
+    private static List<UUID> ids(MindmapNode root) {
+        List<UUID> ids = new ArrayList<>(KNOTEN);
+        Deque<MindmapNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            MindmapNode node = stack.pop();
+            ids.add(node.getNodeId());
+            node.getChildNodes().forEach(stack::push);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,149 @@
+package com.studyhub.mindmap;
+
+import com.studyhub.mindmap.adapter.config.Neo4jSchemaConfig;
+import com.studyhub.mindmap.adapter.db.MindmapOperationRepositoryImpl;
+import com.studyhub.mindmap.application.service.LoggedOperation;
+import com.studyhub.mindmap.application.service.MindmapOperationRepository;
+import com.studyhub.mindmap.domain.model.NodeOperation;
+import com.studyhub.mindmap.domain.model.NodeType;
+import com.studyhub.mindmap.domain.model.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.neo4j.DataNeo4jTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DataNeo4jTest
+@Import(MindmapOperationRepositoryImpl.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MindmapOperationRepositoryTest {
+
+    static Neo4jContainer<?> container = new Neo4jContainer<>("neo4j:5");
+
+    @DynamicPropertySource
+    static void neo4jProperties(DynamicPropertyRegistry registry) {
+        container.start();
+        registry.add("spring.neo4j.uri", container::getBoltUrl);
+        registry.add("spring.neo4j.authentication.password", container::getAdminPassword);
+    }
+
+    @Autowired
+    private MindmapOperationRepository operationRepository;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID mapId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        neo4jClient.query("MATCH (n) WHERE n:MindmapLog OR n:MindmapOperation DELETE n").run();
+        new Neo4jSchemaConfig(neo4jClient).createConstraints();
+    }
+
+    @Test
+    @DisplayName("Die Version einer Mindmap beginnt bei 0 und wird mit jedem Patch um eins erhöht")
+    void test1() {
+        assertThat(operationRepository.currentVersion(mapId)).isZero();
+
+        assertThat(operationRepository.nextVersion(mapId)).isEqualTo(1);
+        assertThat(operationRepository.nextVersion(mapId)).isEqualTo(2);
+
+        assertThat(operationRepository.currentVersion(mapId)).isEqualTo(2);
+        assertThat(operationRepository.currentVersion(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    @DisplayName("Die Operationen nach einer Version werden in der Reihenfolge geliefert, in der sie angewendet wurden")
+    void test2() {
+        UUID nodeId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        NodeOperation add = new NodeOperation(OperationType.ADD, nodeId, parentId, "Integrale", null, NodeType.SUBJECT);
+        NodeOperation rename = new NodeOperation(OperationType.RENAME, nodeId, null, "Integralrechnung", null, null);
+        NodeOperation delete = new NodeOperation(OperationType.DELETE, nodeId, null, null, null, null);
+        operationRepository.append(mapId, 1, List.of(add));
+        operationRepository.append(mapId, 2, List.of(rename, delete));
+        operationRepository.append(UUID.randomUUID(), 2, List.of(add));
+
+        assertThat(operationRepository.findOperationsSince(mapId, 0)).containsExactly(
+                new LoggedOperation(1, add), new LoggedOperation(2, rename), new LoggedOperation(2, delete));
+        assertThat(operationRepository.findOperationsSince(mapId, 1)).extracting(LoggedOperation::operation)
+                .containsExactly(rename, delete);
+        assertThat(operationRepository.findOperationsSince(mapId, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Beim Löschen werden Version und Operationen nur der angegebenen Mindmaps entfernt")
+    void test3() {
+        UUID andere = UUID.randomUUID();
+        NodeOperation rename = new NodeOperation(OperationType.RENAME, UUID.randomUUID(), null, "neu", null, null);
+        for (UUID id : List.of(mapId, andere)) {
+            operationRepository.append(id, operationRepository.nextVersion(id), List.of(rename));
+        }
+
+        operationRepository.deleteByMapIds(List.of(mapId));
+
+        assertThat(operationRepository.currentVersion(mapId)).isZero();
+        assertThat(operationRepository.findOperationsSince(mapId, 0)).isEmpty();
+        assertThat(operationRepository.currentVersion(andere)).isEqualTo(1);
+        assertThat(operationRepository.findOperationsSince(andere, 0)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Solange eine Transaktion die Version einer neuen Mindmap hält, wartet eine zweite, bis sie abgeschlossen ist")
+    void test4() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch gesperrt = new CountDownLatch(1);
+        CountDownLatch freigeben = new CountDownLatch(1);
+
+        CompletableFuture<Long> erste = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            long version = operationRepository.nextVersion(mapId);
+            gesperrt.countDown();
+            await(freigeben);
+            return version;
+        }));
+        assertThat(gesperrt.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Long> zweite = CompletableFuture.supplyAsync(() ->
+                transaction.execute(status -> operationRepository.nextVersion(mapId)));
+
+        Thread.sleep(500);
+        assertThat(zweite).isNotDone();
+        freigeben.countDown();
+
+        assertThat(erste.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(zweite.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(operationRepository.currentVersion(mapId)).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.studyhub.mindmap;
+
+import com.studyhub.mindmap.application.service.JWTService;
+import com.studyhub.mindmap.application.service.MindmapNodeQueries;
+import com.studyhub.mindmap.application.service.MindmapNodeRepository;
+import com.studyhub.mindmap.application.service.MindmapNodeView;
+import com.studyhub.mindmap.application.service.MindmapNotExistsException;
+import com.studyhub.mindmap.application.service.MindmapOperationRepository;
+import com.studyhub.mindmap.application.service.MindmapPatchService;
+import com.studyhub.mindmap.application.service.PatchConflictException;
+import com.studyhub.mindmap.domain.model.IllegalNodeOperationException;
+import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeOperation;
+import com.studyhub.mindmap.domain.model.NodeRole;
+import com.studyhub.mindmap.domain.model.NodeType;
+import com.studyhub.mindmap.domain.model.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MindmapPatchServiceTest {
+
+	private static final UUID CH1 = UUID.fromString("3fa85f64-5717-4562-b3fc-2c963f66afa6");
+	private static final UUID CH2 = UUID.fromString("c0a80123-4567-89ab-cdef-1234567890ab");
+	private static final UUID CH11 = UUID.fromString("e1d7c0e3-2bc0-4af2-9f25-9a3bb9db88ec");
+
+	MindmapPatchService patchService;
+	MindmapNodeRepository mindmapNodeRepository;
+	MindmapNodeQueries mindmapNodeQueries;
+	MindmapOperationRepository operationRepository;
+	JWTService mockJwtService;
+	MindmapNode mindmap;
+
+	@BeforeEach
+	void setup() {
+		mindmapNodeRepository = mock(MindmapNodeRepository.class);
+		mindmapNodeQueries = mock(MindmapNodeQueries.class);
+		operationRepository = mock(MindmapOperationRepository.class);
+		mockJwtService = mock(JWTService.class);
+		patchService = new MindmapPatchService(mindmapNodeRepository, mindmapNodeQueries, operationRepository, mockJwtService);
+
+		mindmap = MindmapMother.initBasicMindmap();
+		when(mockJwtService.extractUsernameFromHeader(any())).thenReturn("peter77");
+		when(mindmapNodeRepository.findById(mindmap.getNodeId())).thenReturn(Optional.of(mindmap));
+		when(mindmapNodeQueries.findTreeByNodeId(mindmap.getNodeId(), 0)).thenReturn(Optional.of(new MindmapNodeView(mindmap.getNodeId(),
+				mindmap.getModulId(), "Modul1", "ROOT", null, NodeType.SUBJECT, NodeRole.ROOT, "peter77", 2, List.of())));
+		when(operationRepository.nextVersion(mindmap.getNodeId())).thenReturn(4L);
+	}
+
+	@Test
+	@DisplayName("Ein gültiger Patch wird in Reihenfolge geschrieben, protokolliert und liefert die neue Version")
+	void test1() {
+		UUID newId = UUID.randomUUID();
+		List<NodeOperation> operations = List.of(
+				new NodeOperation(OperationType.ADD, newId, CH11, "Integrale", null, NodeType.SUBJECT),
+				new NodeOperation(OperationType.MOVE, CH11, CH2, null, null, null),
+				new NodeOperation(OperationType.RENAME, newId, null, "Integralrechnung", null, null));
+		when(mindmapNodeRepository.createChildNode(CH11, newId, "Integrale", null, NodeType.SUBJECT, "peter77")).thenReturn(1L);
+		when(mindmapNodeRepository.moveNode(CH11, CH2, "peter77")).thenReturn(1L);
+		when(mindmapNodeRepository.updateTitle(newId, "Integralrechnung", "peter77")).thenReturn(1L);
+
+		long version = patchService.applyPatch(mindmap.getNodeId(), 3L, operations, null);
+
+		assertThat(version).isEqualTo(4L);
+		InOrder inOrder = inOrder(mindmapNodeRepository, operationRepository);
+		inOrder.verify(mindmapNodeRepository).createChildNode(CH11, newId, "Integrale", null, NodeType.SUBJECT, "peter77");
+		inOrder.verify(mindmapNodeRepository).moveNode(CH11, CH2, "peter77");
+		inOrder.verify(mindmapNodeRepository).updateTitle(newId, "Integralrechnung", "peter77");
+		inOrder.verify(operationRepository).append(mindmap.getNodeId(), 4L, operations);
+		verify(mindmapNodeRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("Ein Patch auf einer veralteten Version wird ohne Schreiben abgelehnt")
+	void test2() {
+		List<NodeOperation> operations = List.of(new NodeOperation(OperationType.DELETE, CH1, null, null, null, null));
+
+		assertThatThrownBy(() -> patchService.applyPatch(mindmap.getNodeId(), 2L, operations, null))
+				.isInstanceOf(PatchConflictException.class);
+		verify(mindmapNodeRepository, never()).deleteSubtree(any(), any());
+		verify(operationRepository, never()).append(any(), anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Ist eine Operation ungültig, wird keine Operation des Patches geschrieben")
+	void test3() {
+		List<NodeOperation> operations = List.of(
+				new NodeOperation(OperationType.RENAME, CH1, null, "Analysis", null, null),
+				new NodeOperation(OperationType.MOVE, CH1, CH11, null, null, null));
+
+		assertThatThrownBy(() -> patchService.applyPatch(mindmap.getNodeId(), null, operations, null))
+				.isInstanceOf(IllegalNodeOperationException.class);
+		verify(mindmapNodeRepository, never()).updateTitle(any(), any(), any());
+		verify(mindmapNodeRepository, never()).moveNode(any(), any(), any());
+		verify(operationRepository, never()).append(any(), anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Ein Patch auf eine fremde oder unbekannte Mindmap wird abgelehnt, bevor ihr Protokoll gesperrt wird")
+	void test4() {
+		List<NodeOperation> operations = List.of(new NodeOperation(OperationType.DELETE, CH1, null, null, null, null));
+		when(mockJwtService.extractUsernameFromHeader(any())).thenReturn("otto");
+
+		assertThatThrownBy(() -> patchService.applyPatch(mindmap.getNodeId(), null, operations, null))
+				.isInstanceOf(MindmapNotExistsException.class);
+		assertThatThrownBy(() -> patchService.applyPatch(UUID.randomUUID(), null, operations, null))
+				.isInstanceOf(MindmapNotExistsException.class);
+		verify(operationRepository, never()).nextVersion(any());
+		verify(mindmapNodeRepository, never()).findById(any());
+		verify(mindmapNodeRepository, never()).deleteSubtree(any(), any());
+	}
+
+	@Test
+	@DisplayName("Leere Patches werden abgelehnt, bevor die Version erhöht wird")
+	void test5() {
+		assertThatThrownBy(() -> patchService.applyPatch(mindmap.getNodeId(), null, List.of(), null))
+				.isInstanceOf(IllegalNodeOperationException.class);
+		verify(operationRepository, never()).nextVersion(any());
+	}
+}
@@ -1,28 +1,35 @@
 package com.studyhub.mindmap;
 
+import com.studyhub.mindmap.adapter.db.MindmapNodeQueriesImpl;
+import com.studyhub.mindmap.application.service.MindmapNodeQueries;
 import com.studyhub.mindmap.application.service.MindmapNodeRepository;
+import com.studyhub.mindmap.application.service.MindmapNodeView;
+import com.studyhub.mindmap.application.service.MindmapOverview;
 import com.studyhub.mindmap.domain.model.MindmapNode;
 import com.studyhub.mindmap.domain.model.NodeType;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.neo4j.DataNeo4jTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.Neo4jContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Testcontainers
 @DataNeo4jTest
+@Import(MindmapNodeQueriesImpl.class)
 @ActiveProfiles("test")
 public class MindmapRepositoryTest {
 
-    static Neo4jContainer<?> container = new Neo4jContainer<>("neo4j:latest");
+    static Neo4jContainer<?> container = new Neo4jContainer<>("neo4j:5");
 
     @DynamicPropertySource
     static void neo4jProperties(DynamicPropertyRegistry registry) {
@@ -34,6 +41,9 @@ public class MindmapRepositoryTest {
     @Autowired
     private MindmapNodeRepository mindmapRepository;
 
+    @Autowired
+    private MindmapNodeQueries mindmapQueries;
+
     private MindmapNode mindmap = MindmapMother.initBasicMindmap();
 
     @Test
@@ -114,4 +124,166 @@ public class MindmapRepositoryTest {
         assertThat(mindmapRepository.findAllByUsername("peter").get()).isNotNull();
         assertThat(mindmapRepository.findAllByUsername("peter").get()).hasSize(0);
     }
-}
\ No newline at end of file
+
+    private static final UUID ROOT_MODUL_ID = UUID.fromString("b4a1fe90-8d8f-4c6d-bb38-0e5fcac1c1c0");
+    private static final UUID CH1 = UUID.fromString("3fa85f64-5717-4562-b3fc-2c963f66afa6");
+    private static final UUID CH2 = UUID.fromString("c0a80123-4567-89ab-cdef-1234567890ab");
+    private static final UUID CH11 = UUID.fromString("e1d7c0e3-2bc0-4af2-9f25-9a3bb9db88ec");
+
+    @Test
+    @DisplayName("Ein Child wird mit einer einzelnen Anweisung unter dem Elternknoten angelegt")
+    void test6() {
+        mindmapRepository.save(mindmap);
+        UUID nodeId = UUID.randomUUID();
+
+        long created = mindmapRepository.createChildNode(CH11, nodeId, "newchild", null, NodeType.PROCESS, "peter77");
+
+        MindmapNode res = mindmapRepository.findByModulId(ROOT_MODUL_ID).get();
+        assertThat(created).isEqualTo(1);
+        assertThat(res.size()).isEqualTo(8);
+        assertThat(res.findChildNode(CH11).getChildNodes()).extracting(MindmapNode::getNodeId).containsExactly(nodeId);
+        assertThat(res.findChildNode(nodeId).getNodeType()).isEqualTo(NodeType.PROCESS);
+    }
+
+    @Test
+    @DisplayName("Titel, Text und Typ eines Knotens werden geändert, ohne den Baum zu verändern")
+    void test7() {
+        mindmapRepository.save(mindmap);
+
+        mindmapRepository.updateTitle(CH1, "neu", "peter77");
+        mindmapRepository.updateText(CH1, "text", "peter77");
+        mindmapRepository.updateNodeType(CH1, NodeType.PROCESS, "peter77");
+
+        MindmapNode res = mindmapRepository.findByModulId(ROOT_MODUL_ID).get();
+        MindmapNode ch1 = res.findChildNode(CH1);
+        assertThat(ch1.getTitle()).isEqualTo("neu");
+        assertThat(ch1.getText()).isEqualTo("text");
+        assertThat(ch1.getNodeType()).isEqualTo(NodeType.PROCESS);
+        assertThat(res.size()).isEqualTo(7);
+        assertThat(mindmapRepository.updateTitle(UUID.randomUUID(), "neu", "peter77")).isZero();
+    }
+
+    @Test
+    @DisplayName("Ein Knoten wird mit seinem Teilbaum unter einen anderen Knoten verschoben, aber nicht in seinen eigenen Teilbaum")
+    void test8() {
+        mindmapRepository.save(mindmap);
+
+        long moved = mindmapRepository.moveNode(CH1, CH2, "peter77");
+        long cycle = mindmapRepository.moveNode(CH2, CH11, "peter77");
+
+        MindmapNode res = mindmapRepository.findByModulId(ROOT_MODUL_ID).get();
+        assertThat(moved).isEqualTo(1);
+        assertThat(cycle).isZero();
+        assertThat(res.getChildNodes()).extracting(MindmapNode::getNodeId).containsExactly(CH2);
+        assertThat(res.findChildNode(CH2).findChildNode(CH11)).isNotNull();
+        assertThat(res.size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Ein Knoten wird mit seinem Teilbaum gelöscht")
+    void test9() {
+        mindmapRepository.save(mindmap);
+
+        long deleted = mindmapRepository.deleteSubtree(CH1, "peter77");
+
+        MindmapNode res = mindmapRepository.findByModulId(ROOT_MODUL_ID).get();
+        assertThat(deleted).isEqualTo(3);
+        assertThat(res.size()).isEqualTo(4);
+        assertThat(mindmapRepository.existsById(CH11)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Für die Übersicht werden nur die Wurzeln der Mindmaps eines Users mit der Anzahl ihrer Kinder geladen")
+    void test10() {
+        mindmapRepository.save(MindmapMother.initBasicMindmapForUser("peter77"));
+        mindmapRepository.save(MindmapMother.initBasicMindmapForUser("susi83746"));
+
+        List<MindmapNodeView> res = mindmapQueries.findRootsByUsername("peter77");
+
+        assertThat(res).hasSize(1);
+        assertThat(res.get(0).childNodes()).isEmpty();
+        assertThat(res.get(0).childCount()).isEqualTo(2);
+        assertThat(res.get(0).isFrontier()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Ein Baum wird bis zur angefragten Tiefe geladen, die Knoten an der Grenze tragen die Anzahl ihrer Kinder")
+    void test11() {
+        mindmapRepository.save(mindmap);
+
+        MindmapNodeView res = mindmapQueries.findTreeByModulId(ROOT_MODUL_ID, 1).get();
+
+        assertThat(res.childNodes()).extracting(MindmapNodeView::nodeId).containsExactlyInAnyOrder(CH1, CH2);
+        assertThat(res.isFrontier()).isFalse();
+        assertThat(res.childNodes()).allSatisfy(child -> {
+            assertThat(child.childNodes()).isEmpty();
+            assertThat(child.childCount()).isEqualTo(2);
+        });
+        assertThat(mindmapQueries.findTreeByModulId(ROOT_MODUL_ID, 2).get().childNodes())
+                .allSatisfy(child -> assertThat(child.childNodes()).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Ein Knoten wird mit seinen Kindern geladen, ein unbekannter Knoten liefert nichts")
+    void test12() {
+        mindmapRepository.save(mindmap);
+
+        MindmapNodeView res = mindmapQueries.findTreeByNodeId(CH1, 1).get();
+
+        assertThat(res.childNodes()).extracting(MindmapNodeView::nodeId).containsExactlyInAnyOrder(CH11, UUID.fromString("7d444840-9dc0-11d1-b245-5ffdce74fad2"));
+        assertThat(mindmapQueries.findTreeByNodeId(UUID.randomUUID(), 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Die Übersicht gruppiert die Wurzeln eines Users nach Modul und zählt die Knoten, Mindmaps ohne Modul stehen unter others")
+    void test13() {
+        UUID modulId = UUID.randomUUID();
+        mindmapRepository.save(MindmapMother.initBasicMindmapWithModulId(modulId, "eins"));
+        mindmapRepository.save(MindmapMother.initBasicMindmapWithModulId(modulId, "zwei"));
+        mindmapRepository.save(MindmapMother.initBasicMindmapForUser("peter77"));
+        mindmapRepository.save(MindmapNode.initNoneModulRootNode("Data Science", "blub", NodeType.SUBJECT, "peter77"));
+        mindmapRepository.save(MindmapMother.initBasicMindmapForUser("susi83746"));
+
+        MindmapOverview res = mindmapQueries.findOverviewByUsername("peter77");
+
+        assertThat(res.modules()).hasSize(2);
+        MindmapOverview.Modul modul = res.modules().stream().filter(m -> m.modulId().equals(modulId)).findFirst().get();
+        assertThat(modul.modulTitel()).isEqualTo("Modul1");
+        assertThat(modul.nodeCount()).isEqualTo(14);
+        assertThat(modul.mindmaps()).extracting(MindmapOverview.Mindmap::title).containsExactly("eins", "zwei");
+        assertThat(res.others()).extracting(MindmapOverview.Mindmap::title).containsExactly("Data Science");
+        assertThat(res.others().get(0).nodeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Knoten fremder Mindmaps werden weder geändert noch verschoben oder gelöscht, verschoben wird nur innerhalb einer Mindmap")
+    void test14() {
+        mindmapRepository.save(mindmap);
+        MindmapNode andere = MindmapMother.initBasicMindmapForUser("peter77");
+        mindmapRepository.save(andere);
+
+        assertThat(mindmapRepository.createChildNode(CH11, UUID.randomUUID(), "fremd", null, NodeType.SUBJECT, "otto")).isZero();
+        assertThat(mindmapRepository.updateTitle(CH1, "fremd", "otto")).isZero();
+        assertThat(mindmapRepository.updateText(CH1, "fremd", "otto")).isZero();
+        assertThat(mindmapRepository.updateNodeType(CH1, NodeType.PROCESS, "otto")).isZero();
+        assertThat(mindmapRepository.moveNode(CH11, CH2, "otto")).isZero();
+        assertThat(mindmapRepository.moveNode(CH11, andere.getNodeId(), "peter77")).isZero();
+        assertThat(mindmapRepository.deleteSubtree(CH1, "otto")).isZero();
+
+        MindmapNode res = mindmapRepository.findByModulId(ROOT_MODUL_ID).get();
+        assertThat(res.findChildNode(CH1).getTitle()).isEqualTo("ch1");
+        assertThat(res.size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Zu einem Knoten wird die Wurzel seiner Mindmap gefunden, aber nur für den Besitzer der Mindmap")
+    void test15() {
+        mindmapRepository.save(mindmap);
+        mindmapRepository.save(MindmapMother.initBasicMindmapForUser("otto"));
+
+        assertThat(mindmapQueries.findRootIdByNodeId(CH11, "peter77")).contains(mindmap.getNodeId());
+        assertThat(mindmapQueries.findRootIdByNodeId(mindmap.getNodeId(), "peter77")).contains(mindmap.getNodeId());
+        assertThat(mindmapQueries.findRootIdByNodeId(CH11, "otto")).isEmpty();
+        assertThat(mindmapQueries.findRootIdByNodeId(UUID.randomUUID(), "peter77")).isEmpty();
+    }
+}
@@ -1,34 +1,62 @@
 package com.studyhub.mindmap;
 
 import com.studyhub.mindmap.application.service.JWTService;
+import com.studyhub.mindmap.application.service.MindmapNodeQueries;
 import com.studyhub.mindmap.application.service.MindmapNodeRepository;
+import com.studyhub.mindmap.application.service.MindmapNodeView;
+import com.studyhub.mindmap.application.service.MindmapNotExistsException;
+import com.studyhub.mindmap.application.service.MindmapOperationRepository;
+import com.studyhub.mindmap.application.service.MindmapPatchService;
 import com.studyhub.mindmap.application.service.MindmapService;
+import com.studyhub.mindmap.adapter.web.api.NewNodeRequest;
+import com.studyhub.mindmap.domain.model.IllegalChildConsistencyException;
 import com.studyhub.mindmap.domain.model.MindmapNode;
+import com.studyhub.mindmap.domain.model.NodeOperation;
+import com.studyhub.mindmap.domain.model.NodeRole;
 import com.studyhub.mindmap.domain.model.NodeType;
-import org.junit.jupiter.api.BeforeAll;
+import com.studyhub.mindmap.domain.model.OperationType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
 
 public class MindmapServiceTest {
 
-	static MindmapService mindmapService;
+	private static final UUID MAP_ID = UUID.randomUUID();
 
-	@BeforeAll
-	static void setup() {
-		MindmapNodeRepository mindmapNodeRepository = mock(MindmapNodeRepository.class);
-		JWTService mockJwtService = mock(JWTService.class);
-		mindmapService = new MindmapService(mindmapNodeRepository, mockJwtService);
+	MindmapService mindmapService;
+	MindmapNodeRepository mindmapNodeRepository;
+	MindmapNodeQueries mindmapNodeQueries;
+	MindmapOperationRepository operationRepository;
+	JWTService mockJwtService;
+
+	@BeforeEach
+	void setup() {
+		mindmapNodeRepository = mock(MindmapNodeRepository.class);
+		mindmapNodeQueries = mock(MindmapNodeQueries.class);
+		operationRepository = mock(MindmapOperationRepository.class);
+		mockJwtService = mock(JWTService.class);
+		mindmapService = new MindmapService(mindmapNodeRepository, mindmapNodeQueries, mockJwtService,
+				new MindmapPatchService(mindmapNodeRepository, mindmapNodeQueries, operationRepository, mockJwtService));
+		when(mockJwtService.extractUsernameFromHeader(any())).thenReturn("peter");
+		when(mindmapNodeQueries.findRootIdByNodeId(any(), eq("peter"))).thenReturn(Optional.of(MAP_ID));
+		when(operationRepository.nextVersion(MAP_ID)).thenReturn(3L);
 	}
 
 	@Test
@@ -46,5 +74,160 @@ public class MindmapServiceTest {
 
 	}
 
+	@Test
+	@DisplayName("Ein neuer Knoten wird direkt unter dem Elternknoten angelegt, ohne die Mindmap zu laden oder ganz zu speichern")
+	void test2() {
+		UUID parentId = UUID.randomUUID();
+		when(mindmapNodeRepository.createChildNode(eq(parentId), any(), eq("Analysis"), isNull(), eq(NodeType.SUBJECT), eq("peter"))).thenReturn(1L);
+
+		mindmapService.createNewNode(new NewNodeRequest(parentId, "Analysis", NodeType.SUBJECT), null);
+
+		verify(mindmapNodeRepository).createChildNode(eq(parentId), any(), eq("Analysis"), isNull(), eq(NodeType.SUBJECT), eq("peter"));
+		verify(operationRepository).append(eq(MAP_ID), eq(3L), argThat(operations -> operations.get(0).type() == OperationType.ADD));
+		verify(mindmapNodeRepository, never()).findById(any());
+		verify(mindmapNodeRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("Existiert der Elternknoten nicht, wird eine MindmapNotExistsException geworfen")
+	void test3() {
+		when(mindmapNodeQueries.findRootIdByNodeId(any(), any())).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> mindmapService.createNewNode(new NewNodeRequest(UUID.randomUUID(), "Analysis", NodeType.SUBJECT), null))
+				.isInstanceOf(MindmapNotExistsException.class);
+		verify(operationRepository, never()).nextVersion(any());
+	}
+
+	@Test
+	@DisplayName("Ein Knoten kann nicht in einen leeren Titel umbenannt werden")
+	void test4() {
+		UUID nodeId = UUID.randomUUID();
+
+		assertThatThrownBy(() -> mindmapService.editNode(nodeId, "", null, null, null))
+				.isInstanceOf(IllegalChildConsistencyException.class);
+		verify(mindmapNodeRepository, never()).updateTitle(any(), any(), any());
+		verify(operationRepository, never()).nextVersion(any());
+	}
+
+	@Test
+	@DisplayName("Wird kein Knoten umbenannt, existiert er nicht und es wird nichts protokolliert")
+	void test5() {
+		UUID nodeId = UUID.randomUUID();
+
+		assertThatThrownBy(() -> mindmapService.editNode(nodeId, "Analysis", null, null, null))
+				.isInstanceOf(MindmapNotExistsException.class);
+		verify(mindmapNodeRepository).updateTitle(nodeId, "Analysis", "peter");
+		verify(operationRepository, never()).append(any(), anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Ein Knoten, der nicht verschoben werden kann, führt zu einer MindmapNotExistsException")
+	void test6() {
+		UUID nodeId = UUID.randomUUID();
+		UUID newParentId = UUID.randomUUID();
+		when(mindmapNodeRepository.moveNode(nodeId, newParentId, "peter")).thenReturn(0L);
+
+		assertThatThrownBy(() -> mindmapService.moveNode(nodeId, newParentId, null))
+				.isInstanceOf(MindmapNotExistsException.class);
+	}
+
+	@Test
+	@DisplayName("Die Tiefe eines Baums wird auf MAX_DEPTH begrenzt")
+	void test7() {
+		UUID modulId = UUID.randomUUID();
+		MindmapNodeView root = new MindmapNodeView(UUID.randomUUID(), modulId, "Modul", "ROOT", null, NodeType.SUBJECT, NodeRole.ROOT, "peter", 0, List.of());
+		when(mindmapNodeQueries.findTreeByModulId(modulId, MindmapService.MAX_DEPTH)).thenReturn(Optional.of(root));
+
+		MindmapNodeView res = mindmapService.getMindmapTreeByModulId(modulId, 1_000);
+
+		assertThat(res).isEqualTo(root);
+	}
+
+	@Test
+	@DisplayName("Beim Aufklappen eines Knotens werden nur seine Kinder mit Tiefe 1 geladen")
+	void test8() {
+		UUID nodeId = UUID.randomUUID();
+		MindmapNodeView child = new MindmapNodeView(UUID.randomUUID(), null, null, "ch1", null, NodeType.SUBJECT, NodeRole.CHILD, null, 3, List.of());
+		MindmapNodeView node = new MindmapNodeView(nodeId, null, null, "ROOT", null, NodeType.SUBJECT, NodeRole.ROOT, "peter", 1, List.of(child));
+		when(mindmapNodeQueries.findTreeByNodeId(nodeId, 1)).thenReturn(Optional.of(node));
+
+		List<MindmapNodeView> res = mindmapService.expandNode(nodeId);
+
+		assertThat(res).containsExactly(child);
+		assertThat(res.get(0).isFrontier()).isTrue();
+	}
+
+	@Test
+	@DisplayName("Existiert der aufzuklappende Knoten nicht, wird eine MindmapNotExistsException geworfen")
+	void test9() {
+		when(mindmapNodeQueries.findTreeByNodeId(any(), anyInt())).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> mindmapService.expandNode(UUID.randomUUID()))
+				.isInstanceOf(MindmapNotExistsException.class);
+	}
+
+	@Test
+	@DisplayName("Die Mindmaps eines Users werden nach Modul gruppiert, der Schlüssel ist der Modultitel")
+	void test10() {
+		UUID analysis = UUID.randomUUID();
+		MindmapNode mm1 = MindmapNode.initRootNode(analysis, "Analysis", "Folgen", "blub", NodeType.SUBJECT, "peter");
+		MindmapNode mm2 = MindmapNode.initRootNode(analysis, "", "Reihen", "blub", NodeType.SUBJECT, "peter");
+		MindmapNode mm3 = MindmapNode.initRootNode(UUID.randomUUID(), "Algebra", "Gruppen", "blub", NodeType.SUBJECT, "peter");
+		MindmapNode mm4 = MindmapNode.initNoneModulRootNode("Data Science", "blub", NodeType.SUBJECT, "peter");
+		when(mindmapNodeRepository.findAllByUsername("peter")).thenReturn(Optional.of(Set.of(mm1, mm2, mm3, mm4)));
+
+		Map<String, List<MindmapNode>> res = mindmapService.getAllMindmapsGroupedByModule(null);
 
+		assertThat(res).containsOnlyKeys("Analysis", "Algebra");
+		assertThat(res.get("Analysis")).containsExactlyInAnyOrder(mm1, mm2);
+		assertThat(res.get("Algebra")).containsExactly(mm3);
+	}
+
+	@Test
+	@DisplayName("Knoten werden nur in den Mindmaps des angemeldeten Users geändert, verschoben und gelöscht")
+	void test11() {
+		UUID nodeId = UUID.randomUUID();
+		UUID newParentId = UUID.randomUUID();
+		when(mindmapNodeRepository.updateText(nodeId, "text", "peter")).thenReturn(1L);
+		when(mindmapNodeRepository.moveNode(nodeId, newParentId, "peter")).thenReturn(1L);
+		when(mindmapNodeRepository.deleteSubtree(nodeId, "peter")).thenReturn(1L);
+
+		mindmapService.editNode(nodeId, null, "text", null, null);
+		mindmapService.moveNode(nodeId, newParentId, null);
+		mindmapService.deleteNode(nodeId, null);
+
+		verify(mindmapNodeRepository).updateText(nodeId, "text", "peter");
+		verify(mindmapNodeRepository).moveNode(nodeId, newParentId, "peter");
+		verify(mindmapNodeRepository).deleteSubtree(nodeId, "peter");
+	}
+
+	@Test
+	@DisplayName("Jede Änderung eines einzelnen Knotens erhöht die Version der Mindmap und wird protokolliert")
+	void test12() {
+		UUID nodeId = UUID.randomUUID();
+		when(mindmapNodeRepository.updateTitle(nodeId, "Analysis", "peter")).thenReturn(1L);
+		when(mindmapNodeRepository.updateNodeType(nodeId, NodeType.SUBJECT, "peter")).thenReturn(1L);
+		when(mindmapNodeRepository.deleteSubtree(nodeId, "peter")).thenReturn(1L);
+		when(operationRepository.nextVersion(MAP_ID)).thenReturn(3L, 4L);
+
+		mindmapService.editNode(nodeId, "Analysis", null, NodeType.SUBJECT, null);
+		mindmapService.deleteNode(nodeId, null);
+
+		verify(operationRepository).append(MAP_ID, 3L, List.of(
+				new NodeOperation(OperationType.RENAME, nodeId, null, "Analysis", null, null),
+				new NodeOperation(OperationType.RETYPE, nodeId, null, null, null, NodeType.SUBJECT)));
+		verify(operationRepository).append(MAP_ID, 4L, List.of(new NodeOperation(OperationType.DELETE, nodeId, null, null, null, null)));
+	}
+
+	@Test
+	@DisplayName("Beim Löschen aller Mindmaps eines Users werden auch ihre Protokolle gelöscht")
+	void test13() {
+		MindmapNodeView root = new MindmapNodeView(MAP_ID, null, null, "ROOT", null, NodeType.SUBJECT, NodeRole.ROOT, "peter", 0, List.of());
+		when(mindmapNodeQueries.findRootsByUsername("peter")).thenReturn(List.of(root));
+
+		mindmapService.deleteAllMindmapsByUsername("peter");
+
+		verify(operationRepository).deleteByMapIds(List.of(MAP_ID));
+		verify(mindmapNodeRepository).deleteAllByUsername("peter");
+	}
 }
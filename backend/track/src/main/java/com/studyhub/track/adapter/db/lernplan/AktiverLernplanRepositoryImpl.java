@@ -0,0 +1,34 @@
+package com.studyhub.track.adapter.db.lernplan;
+
+import com.studyhub.track.application.service.AktiverLernplanRepository;
+import com.studyhub.track.application.service.AktiverLernplanTag;
+import org.springframework.stereotype.Repository;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+@Repository
+public class AktiverLernplanRepositoryImpl implements AktiverLernplanRepository {
+
+	private final LernplanDao lernplanDao;
+
+	public AktiverLernplanRepositoryImpl(LernplanDao lernplanDao) {
+		this.lernplanDao = lernplanDao;
+	}
+
+	@Override
+	public void aktualisiere(String username) {
+		lernplanDao.deleteAktiverLernplanTage(username);
+		lernplanDao.insertAktiverLernplanTage(username);
+	}
+
+	@Override
+	public List<AktiverLernplanTag> findByUsername(String username) {
+		return lernplanDao.findAktiverLernplanTage(username);
+	}
+
+	@Override
+	public boolean isTagGeplant(String username, DayOfWeek tag) {
+		return lernplanDao.existsGeplanteSession(username, tag.name());
+	}
+}
@@ -0,0 +1,23 @@
+package com.studyhub.track.adapter.db.lernplan;
+
+import com.studyhub.track.application.service.AktiverLernplanTag;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+public class AktiverLernplanTagRowMapper implements RowMapper<AktiverLernplanTag> {
+
+	@Override
+	public AktiverLernplanTag mapRow(ResultSet rs, int rowNum) throws SQLException {
+		String tag = rs.getString("tag");
+		return new AktiverLernplanTag(
+				rs.getString("titel"),
+				tag == null ? null : DayOfWeek.valueOf(tag),
+				rs.getObject("beginn", LocalTime.class),
+				rs.getObject("session_id", UUID.class));
+	}
+}
@@ -1,5 +1,6 @@
 package com.studyhub.track.adapter.db.lernplan;
 
+import com.studyhub.track.application.service.AktiverLernplanTag;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.relational.core.sql.LockMode;
@@ -30,4 +31,32 @@ public interface LernplanDao extends CrudRepository<LernplanDto, Long> {
 	@Modifying
 	@Query("update lernplan set is_active = false where username = :username")
 	void deactivateAllByUsername(@Param("username") String username);
+
+	@Modifying
+	@Query("delete from tag where session_id = :sessionId and lernplan in (select id from lernplan where username = :username)")
+	int deleteTageBySessionId(@Param("sessionId") UUID sessionId,
+	                          @Param("username") String username);
+
+	@Modifying
+	@Query("delete from aktiver_lernplan_tag where username = :username")
+	void deleteAktiverLernplanTage(@Param("username") String username);
+
+	@Modifying
+	@Query("insert into aktiver_lernplan_tag (lernplan, username, titel, lernplan_key, tag, beginn, session_id) " +
+			"select l.id, l.username, l.titel, t.lernplan_key, t.tag, t.beginn, t.session_id " +
+			"from lernplan l left join tag t on t.lernplan = l.id " +
+			"where l.username = :username and l.is_active = true")
+	void insertAktiverLernplanTage(@Param("username") String username);
+
+	@Query(value = "select titel, tag, beginn, session_id from aktiver_lernplan_tag " +
+			"where username = :username order by lernplan_key",
+			rowMapperClass = AktiverLernplanTagRowMapper.class)
+	List<AktiverLernplanTag> findAktiverLernplanTage(@Param("username") String username);
+
+	@Query("select exists (select 1 from aktiver_lernplan_tag t " +
+			"join session s on s.fach_id = t.session_id " +
+			"join block b on b.session = s.id " +
+			"where t.username = :username and t.tag = :tag)")
+	boolean existsGeplanteSession(@Param("username") String username,
+	                              @Param("tag") String tag);
 }
@@ -62,5 +62,10 @@ public class LernplanRepositoryImpl implements LernplanRepository {
 		lernplanDao.deactivateAllByUsername(username);
 	}
 
+	@Override
+	public int deleteTageBySessionId(UUID sessionId, String username) {
+		return lernplanDao.deleteTageBySessionId(sessionId, username);
+	}
+
 
 }
@@ -0,0 +1,17 @@
+package com.studyhub.track.adapter.db.modul;
+
+/**
+ * Eine Zeile der aggregierten Statistik-Abfrage aus {@link ModulDao#getGeneralStatistics(String)}.
+ * Die benutzerweiten Werte sind in jeder Zeile identisch, pro Fachsemester gibt es eine Zeile.
+ */
+public record GeneralStatisticsRow(
+		int totalStudyTime,
+		int numberActiveModules,
+		int numberNotActiveModules,
+		String maxStudiedModul,
+		String minStudiedModul,
+		long eventSeconds,
+		int lerntage,
+		Integer fachsemester,
+		Integer fachsemesterSeconds) {
+}
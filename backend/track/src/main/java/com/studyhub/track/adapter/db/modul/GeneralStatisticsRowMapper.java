@@ -0,0 +1,23 @@
+package com.studyhub.track.adapter.db.modul;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class GeneralStatisticsRowMapper implements RowMapper<GeneralStatisticsRow> {
+
+	@Override
+	public GeneralStatisticsRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new GeneralStatisticsRow(
+				rs.getInt("total_study_time"),
+				rs.getInt("number_active_modules"),
+				rs.getInt("number_not_active_modules"),
+				rs.getString("max_studied_modul"),
+				rs.getString("min_studied_modul"),
+				rs.getLong("event_seconds"),
+				rs.getInt("lerntage"),
+				rs.getObject("fachsemester", Integer.class),
+				rs.getObject("fachsemester_seconds", Integer.class));
+	}
+}
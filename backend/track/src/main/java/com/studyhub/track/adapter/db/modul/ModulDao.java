@@ -37,6 +37,9 @@ public interface ModulDao extends CrudRepository<ModulDto, Integer> {
 	@Query("select seconds_learned from modul where fach_id = :fachId")
 	Optional<Integer> findSecondsById(UUID fachId);
 
+	@Query("select username from modul where fach_id = :fachId")
+	Optional<String> findUsernameByFachId(@Param("fachId") UUID fachId);
+
 	@Query("SELECT m.name FROM Modul m WHERE m.username = :username AND m.seconds_learned = (" +
 			"SELECT MAX(m2.seconds_learned) FROM Modul m2 WHERE m2.username = :username" +
 			") ORDER BY m.name ASC")
@@ -54,5 +57,38 @@ public interface ModulDao extends CrudRepository<ModulDto, Integer> {
 
 	List<ModulDto> findByUsername(String username);
 
-	List<ModulDto> findActiveModuleByUsername(boolean active, String username);
+	List<ModulDto> findByUsernameAndActiveOrderBySecondsLearnedDescFachIdDesc(String username, boolean active);
+
+	@Query("select id from modul where username = :username and active = :active " +
+			"order by seconds_learned desc, fach_id desc limit :limit")
+	List<Integer> findIdsByUsernameAndActive(@Param("username") String username,
+	                                         @Param("active") boolean active,
+	                                         @Param("limit") int limit);
+
+	@Query("select id from modul where username = :username and active = :active " +
+			"and (seconds_learned, fach_id) < (:afterSeconds, :afterFachId) " +
+			"order by seconds_learned desc, fach_id desc limit :limit")
+	List<Integer> findIdsByUsernameAndActiveAfter(@Param("username") String username,
+	                                              @Param("active") boolean active,
+	                                              @Param("afterSeconds") int afterSeconds,
+	                                              @Param("afterFachId") UUID afterFachId,
+	                                              @Param("limit") int limit);
+
+	@Query(value = "WITH m AS (SELECT name, seconds_learned, active, semesterstufe FROM modul WHERE username = :username), " +
+			"totals AS (SELECT COALESCE(SUM(seconds_learned), 0) AS total_study_time, " +
+			"COUNT(*) FILTER (WHERE active = true) AS number_active_modules, " +
+			"COUNT(*) FILTER (WHERE active = false) AS number_not_active_modules, " +
+			"MAX(seconds_learned) AS max_seconds, MIN(seconds_learned) AS min_seconds FROM m), " +
+			"extremes AS (SELECT " +
+			"(SELECT m.name FROM m, totals t WHERE m.seconds_learned = t.max_seconds ORDER BY m.name ASC LIMIT 1) AS max_studied_modul, " +
+			"(SELECT m.name FROM m, totals t WHERE m.seconds_learned = t.min_seconds ORDER BY m.name ASC LIMIT 1) AS min_studied_modul), " +
+			"events AS (SELECT COALESCE(SUM(seconds_learned), 0) AS event_seconds, COUNT(DISTINCT datum) AS lerntage " +
+			"FROM modul_gelernt_tag WHERE username = :username), " +
+			"per_semester AS (SELECT semesterstufe AS fachsemester, CAST(COALESCE(SUM(seconds_learned), 0) AS int) AS fachsemester_seconds " +
+			"FROM m GROUP BY semesterstufe) " +
+			"SELECT t.total_study_time, t.number_active_modules, t.number_not_active_modules, " +
+			"x.max_studied_modul, x.min_studied_modul, e.event_seconds, e.lerntage, s.fachsemester, s.fachsemester_seconds " +
+			"FROM totals t CROSS JOIN extremes x CROSS JOIN events e LEFT JOIN per_semester s ON true",
+			rowMapperClass = GeneralStatisticsRowMapper.class)
+	List<GeneralStatisticsRow> getGeneralStatistics(@Param("username") String username);
 }
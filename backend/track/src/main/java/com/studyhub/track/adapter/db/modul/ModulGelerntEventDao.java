@@ -1,5 +1,7 @@
 package com.studyhub.track.adapter.db.modul;
 
+import com.studyhub.track.application.service.ModulSecondsPerDate;
+import com.studyhub.track.application.service.StudyTimeSummary;
 import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
@@ -12,15 +14,50 @@ import java.util.UUID;
 
 public interface ModulGelerntEventDao extends CrudRepository<ModulGelerntEventDto, Integer> {
 	@Query("SELECT COALESCE(SUM(seconds_learned), 0) " +
-			"FROM modul_gelernt_event " +
-			"WHERE date_gelernt = :date AND username = :username AND modul_id = :modulId")
+			"FROM modul_gelernt_tag " +
+			"WHERE datum = :date AND username = :username AND modul_id = :modulId")
 	int getSumSecondsLearned(@Param("date") LocalDate date,
 	                         @Param("username") String username,
 	                         @Param("modulId") UUID modulId);
 
+	@Query(value = "SELECT CAST(date_trunc(:datePart, datum) AS date) AS bucket, modul_id, " +
+			"SUM(seconds_learned) AS seconds_learned " +
+			"FROM modul_gelernt_tag " +
+			"WHERE username = :username AND datum BETWEEN :from AND :to " +
+			"GROUP BY bucket, modul_id",
+			rowMapperClass = ModulSecondsPerDateRowMapper.class)
+	List<ModulSecondsPerDate> getSumSecondsLearnedPerDate(@Param("from") LocalDate from,
+	                                                      @Param("to") LocalDate to,
+	                                                      @Param("username") String username,
+	                                                      @Param("datePart") String datePart);
+
+	@Query(value = "SELECT COALESCE(SUM(seconds_learned), 0) AS seconds_learned, COUNT(DISTINCT datum) AS lerntage " +
+			"FROM modul_gelernt_tag WHERE username = :username",
+			rowMapperClass = StudyTimeSummaryRowMapper.class)
+	StudyTimeSummary getStudyTimeSummary(@Param("username") String username);
+
 	List<ModulGelerntEvent> findAllByUsername(String username);
 
+	@Modifying
+	@Query("INSERT INTO modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count) " +
+			"VALUES (:username, :datum, :modulId, :seconds, 1) " +
+			"ON CONFLICT (username, datum, modul_id) DO UPDATE SET " +
+			"seconds_learned = modul_gelernt_tag.seconds_learned + EXCLUDED.seconds_learned, " +
+			"event_count = modul_gelernt_tag.event_count + 1")
+	void upsertTag(@Param("username") String username,
+	               @Param("datum") LocalDate datum,
+	               @Param("modulId") UUID modulId,
+	               @Param("seconds") int seconds);
+
 	@Modifying
 	@Query("delete from modul_gelernt_event where modul_id = :modulId")
 	void deleteByModulId(@Param("modulId") UUID modulId);
+
+	@Modifying
+	@Query("delete from modul_gelernt_tag where modul_id = :modulId")
+	void deleteTageByModulId(@Param("modulId") UUID modulId);
+
+	@Modifying
+	@Query("delete from modul_gelernt_event where date_gelernt < :cutoff")
+	int deleteByDateGelerntBefore(@Param("cutoff") LocalDate cutoff);
 }
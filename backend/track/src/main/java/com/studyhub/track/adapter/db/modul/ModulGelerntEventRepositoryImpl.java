@@ -1,8 +1,12 @@
 package com.studyhub.track.adapter.db.modul;
 
 import com.studyhub.track.application.service.ModulGelerntEventRepository;
+import com.studyhub.track.application.service.ModulSecondsPerDate;
+import com.studyhub.track.application.service.StatisticBucket;
+import com.studyhub.track.application.service.StudyTimeSummary;
 import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,9 +23,15 @@ public class ModulGelerntEventRepositoryImpl implements ModulGelerntEventReposit
 		this.dao = dao;
 	}
 
+	/**
+	 * Speichert das Event und addiert es auf die Tagessumme in {@code modul_gelernt_tag}.
+	 */
 	@Override
+	@Transactional
 	public ModulGelerntEvent save(ModulGelerntEvent event) {
-		return toModulGelerntEvent(dao.save(toDto(event)));
+		ModulGelerntEventDto saved = dao.save(toDto(event));
+		dao.upsertTag(event.username(), event.dateGelernt(), event.modulId(), event.secondsLearned());
+		return toModulGelerntEvent(saved);
 	}
 
 	@Override
@@ -29,13 +39,34 @@ public class ModulGelerntEventRepositoryImpl implements ModulGelerntEventReposit
 		return dao.getSumSecondsLearned(date, username, modulId);
 	}
 
+	@Override
+	public List<ModulSecondsPerDate> getSumSecondsLearnedPerDate(LocalDate from, LocalDate to, String username, StatisticBucket bucket) {
+		return dao.getSumSecondsLearnedPerDate(from, to, username, bucket.getDatePart());
+	}
+
+	@Override
+	public StudyTimeSummary getStudyTimeSummary(String username) {
+		return dao.getStudyTimeSummary(username);
+	}
+
 	@Override
 	public List<ModulGelerntEvent> getAllByUsername(String username) {
 		return dao.findAllByUsername(username);
 	}
 
 	@Override
+	@Transactional
 	public void deleteAllByModulId(UUID modulId) {
 		dao.deleteByModulId(modulId);
+		dao.deleteTageByModulId(modulId);
+	}
+
+	/**
+	 * Löscht alle Events, die vor dem Stichtag gelernt wurden. Die Tagessummen bleiben erhalten, da jedes Event
+	 * bereits beim Speichern in {@code modul_gelernt_tag} eingerechnet wird.
+	 */
+	@Override
+	public int deleteAllBefore(LocalDate cutoff) {
+		return dao.deleteByDateGelerntBefore(cutoff);
 	}
 }
@@ -0,0 +1,78 @@
+package com.studyhub.track.adapter.db.modul;
+
+import com.studyhub.track.application.service.ModulLernzeitBatchRepository;
+import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.*;
+
+@Repository
+public class ModulLernzeitBatchRepositoryImpl implements ModulLernzeitBatchRepository {
+
+	private static final String UPDATE_SECONDS =
+			"update modul set seconds_learned = seconds_learned + ? where fach_id = ?";
+	private static final String INSERT_EVENT =
+			"insert into modul_gelernt_event (event_id, modul_id, username, seconds_learned, date_gelernt) values (?, ?, ?, ?, ?)";
+	private static final String UPSERT_TAG =
+			"insert into modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count) values (?, ?, ?, ?, 1) " +
+			"on conflict (username, datum, modul_id) do update set " +
+			"seconds_learned = modul_gelernt_tag.seconds_learned + excluded.seconds_learned, " +
+			"event_count = modul_gelernt_tag.event_count + 1";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ModulListCache modulListCache;
+
+	public ModulLernzeitBatchRepositoryImpl(JdbcTemplate jdbcTemplate, ModulListCache modulListCache) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.modulListCache = modulListCache;
+	}
+
+	/**
+	 * Adds the seconds of all events to their modules with one batch update and saves the events together with
+	 * their daily sum with batch inserts. Events of modules that no longer exist are discarded.
+	 *
+	 * @param events The events to save
+	 * @return The events that were actually saved
+	 */
+	@Override
+	@Transactional
+	public List<ModulGelerntEvent> saveLernzeitBatch(List<ModulGelerntEvent> events) {
+		if (events.isEmpty()) return List.of();
+
+		Map<UUID, Integer> secondsPerModul = new LinkedHashMap<>();
+		for (ModulGelerntEvent event : events) {
+			secondsPerModul.merge(event.modulId(), event.secondsLearned(), Integer::sum);
+		}
+
+		List<UUID> modulIds = new ArrayList<>(secondsPerModul.keySet());
+		List<Object[]> updateArgs = modulIds.stream()
+				.map(id -> new Object[]{secondsPerModul.get(id), id})
+				.toList();
+		int[] updated = jdbcTemplate.batchUpdate(UPDATE_SECONDS, updateArgs);
+
+		Set<UUID> existingModule = new HashSet<>();
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] != 0) existingModule.add(modulIds.get(i));
+		}
+
+		List<ModulGelerntEvent> persisted = events.stream()
+				.filter(e -> existingModule.contains(e.modulId()))
+				.toList();
+		List<Object[]> insertArgs = persisted.stream()
+				.map(e -> new Object[]{e.eventId(), e.modulId(), e.username(), e.secondsLearned(), Date.valueOf(e.dateGelernt())})
+				.toList();
+		jdbcTemplate.batchUpdate(INSERT_EVENT, insertArgs);
+
+		List<Object[]> tagArgs = persisted.stream()
+				.map(e -> new Object[]{e.username(), Date.valueOf(e.dateGelernt()), e.modulId(), e.secondsLearned()})
+				.toList();
+		jdbcTemplate.batchUpdate(UPSERT_TAG, tagArgs);
+
+		modulListCache.invalidateAll(persisted.stream().map(ModulGelerntEvent::username).distinct().toList());
+
+		return persisted;
+	}
+}
@@ -0,0 +1,65 @@
+package com.studyhub.track.adapter.db.modul;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Begrenzter Cache der Modulliste pro Benutzer. Einträge verfallen nach {@code modul.cache.ttl-seconds}
+ * bzw. werden bei mehr als {@code modul.cache.maximum-size} Benutzern verdrängt. Gecacht werden die
+ * gelesenen {@link ModulDto}s, damit jeder Aufruf eigene {@code Modul}-Instanzen erhält.
+ * Hit-, Miss- und Eviction-Zahlen werden unter {@code cache.*} mit {@code cache=modul_list} exportiert.
+ */
+@Component
+public class ModulListCache {
+
+	static final String CACHE_NAME = "modul_list";
+
+	private final Cache<String, List<ModulDto>> cache;
+
+	public ModulListCache(MeterRegistry registry,
+	                      @Value("${modul.cache.maximum-size:10000}") long maximumSize,
+	                      @Value("${modul.cache.ttl-seconds:300}") long ttlSeconds) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+	}
+
+	public List<ModulDto> get(String username, Function<String, List<ModulDto>> loader) {
+		return cache.get(username, loader);
+	}
+
+	/**
+	 * Entfernt die Modulliste des Benutzers. Innerhalb einer Transaktion wird zusätzlich nach deren Abschluss
+	 * invalidiert, damit ein paralleler Lesezugriff keinen Stand vor dem Commit im Cache hinterlässt.
+	 */
+	public void invalidate(String username) {
+		if (username == null) return;
+		cache.invalidate(username);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(username);
+				}
+			});
+		}
+	}
+
+	public void invalidateAll(Collection<String> usernames) {
+		usernames.forEach(this::invalidate);
+	}
+}
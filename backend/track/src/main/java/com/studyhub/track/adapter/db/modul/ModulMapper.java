@@ -1,8 +1,18 @@
 package com.studyhub.track.adapter.db.modul;
 
+import com.studyhub.track.domain.model.modul.Kreditpunkte;
 import com.studyhub.track.domain.model.modul.Modul;
+import com.studyhub.track.domain.model.modul.Modultermin;
+import com.studyhub.track.domain.model.semester.Semester;
 import org.springframework.data.relational.core.sql.In;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps between {@link Modul} and {@link ModulDto}. {@link #toModul(ModulDto)} copies the mutable parts of the dto,
+ * because the dtos are shared by the {@link ModulListCache} and changes to a returned Modul must not reach the cache.
+ */
 public class ModulMapper {
 
 	private ModulMapper() {
@@ -40,12 +50,33 @@ public class ModulMapper {
 				dto.fachId(),
 				dto.name(),
 				dto.secondsLearned(),
-				dto.kreditpunkte(),
+				copy(dto.kreditpunkte()),
 				dto.username(),
 				dto.active(),
 				dto.semesterstufe(),
-				dto.semester(),
-				dto.modultermine());
+				copy(dto.semester()),
+				copy(dto.modultermine()));
+	}
+
+	private static Kreditpunkte copy(Kreditpunkte k) {
+		if (k == null) return null;
+		return new Kreditpunkte(k.getAnzahlPunkte(), k.getKontaktzeitStunden(), k.getSelbststudiumStunden());
+	}
+
+	private static Semester copy(Semester s) {
+		if (s == null) return null;
+		return new Semester(s.getModul(), s.getFachSemester(), s.getSemesterTyp(), s.getVorlesungBeginn(),
+				s.getVorlesungEnde(), s.getSemesterBeginn(), s.getSemesterEnde());
+	}
+
+	private static List<Modultermin> copy(List<Modultermin> termine) {
+		if (termine == null) return null;
+		List<Modultermin> copies = new ArrayList<>(termine.size());
+		for (Modultermin t : termine) {
+			copies.add(new Modultermin(t.getTerminName(), t.getStartDate(), t.getEndeDate(), t.getNotiz(),
+					t.getTerminart(), t.getTerminfrequenz()));
+		}
+		return copies;
 	}
 
 	public static ModulDto toModulDtoNoId(Modul modul) {
@@ -1,16 +1,16 @@
 package com.studyhub.track.adapter.db.modul;
 
+import com.studyhub.track.application.service.ModulKeyset;
 import com.studyhub.track.application.service.ModulRepository;
 import com.studyhub.track.application.service.NoModulPresentException;
+import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
+import com.studyhub.track.application.service.dto.GeneralStatisticsDtoBuilder;
 import com.studyhub.track.domain.model.modul.Modul;
 import com.studyhub.track.domain.model.modul.Modultermin;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 import static com.studyhub.track.adapter.db.modul.ModulMapper.toModul;
 import static com.studyhub.track.adapter.db.modul.ModulMapper.toModulDto;
@@ -19,9 +19,11 @@ import static com.studyhub.track.adapter.db.modul.ModulMapper.toModulDto;
 public class ModulRepositoryImpl implements ModulRepository {
 
 	private final ModulDao modulDao;
+	private final ModulListCache modulListCache;
 
-	public ModulRepositoryImpl(ModulDao modulDao) {
+	public ModulRepositoryImpl(ModulDao modulDao, ModulListCache modulListCache) {
 		this.modulDao = modulDao;
+		this.modulListCache = modulListCache;
 	}
 
 	@Override
@@ -34,7 +36,9 @@ public class ModulRepositoryImpl implements ModulRepository {
 	public Modul save(Modul modul) {
 		Integer existingDbKey =
 				modulDao.findByFachId(modul.getFachId()).map(ModulDto::id).orElse(null);
-		return toModul(modulDao.save(ModulMapper.toModulDto(modul, existingDbKey)));
+		ModulDto saved = modulDao.save(ModulMapper.toModulDto(modul, existingDbKey));
+		modulListCache.invalidate(modul.getUsername());
+		return toModul(saved);
 	}
 
 	@Override
@@ -44,7 +48,7 @@ public class ModulRepositoryImpl implements ModulRepository {
 
 	@Override
 	public int deleteByUuid(UUID fachId) {
-
+		invalidateOwnerOf(fachId);
 		return modulDao.deleteByFachId(fachId);
 	}
 
@@ -77,6 +81,7 @@ public class ModulRepositoryImpl implements ModulRepository {
 	public void saveAll(List<Modul> modulList) {
 		List<ModulDto> mapped = modulList.stream().map(ModulMapper::toModulDto).toList();
 		modulDao.saveAll(mapped);
+		modulListCache.invalidateAll(modulList.stream().map(Modul::getUsername).distinct().toList());
 	}
 
 	@Override
@@ -91,7 +96,7 @@ public class ModulRepositoryImpl implements ModulRepository {
 
 	@Override
 	public List<Modul> findByUsername(String username) {
-		return modulDao.findByUsername(username).stream().map(ModulMapper::toModul).toList();
+		return modulListCache.get(username, modulDao::findByUsername).stream().map(ModulMapper::toModul).toList();
 	}
 
 	@Override
@@ -111,9 +116,14 @@ public class ModulRepositoryImpl implements ModulRepository {
 
 	@Override
 	public void setActive(UUID fachId, boolean active) {
+		invalidateOwnerOf(fachId);
 		modulDao.setActive(fachId, active);
 	}
 
+	private void invalidateOwnerOf(UUID fachId) {
+		modulDao.findUsernameByFachId(fachId).ifPresent(modulListCache::invalidate);
+	}
+
 	@Override
 	public boolean addModultermin(UUID fachId, Modultermin modultermin) {
 		if (modultermin == null || fachId == null) return false;
@@ -147,11 +157,47 @@ public class ModulRepositoryImpl implements ModulRepository {
 
 	@Override
 	public List<Modul> findActiveModuleByUsername(boolean active, String username) {
-		return modulDao.findAll().stream()
-				.filter(m -> m.active() == active)
-				.filter(m -> m.username().equals(username))
-				.sorted(Comparator.comparing(ModulDto::secondsLearned).reversed())
+		return modulDao.findByUsernameAndActiveOrderBySecondsLearnedDescFachIdDesc(username, active).stream()
+				.map(ModulMapper::toModul)
+				.toList();
+	}
+
+	@Override
+	public List<Modul> findActiveModuleByUsername(boolean active, String username, ModulKeyset after, int limit) {
+		List<Integer> ids = after == null
+				? modulDao.findIdsByUsernameAndActive(username, active, limit)
+				: modulDao.findIdsByUsernameAndActiveAfter(username, active, after.secondsLearned(), after.fachId(), limit);
+		if (ids.isEmpty()) return List.of();
+
+		Map<Integer, ModulDto> byId = new HashMap<>();
+		modulDao.findAllById(ids).forEach(dto -> byId.put(dto.id(), dto));
+		return ids.stream()
+				.map(byId::get)
+				.filter(Objects::nonNull)
 				.map(ModulMapper::toModul)
 				.toList();
 	}
-}
\ No newline at end of file
+
+	@Override
+	public GeneralStatisticsDto getGeneralStatistics(String username) {
+		List<GeneralStatisticsRow> rows = modulDao.getGeneralStatistics(username);
+		GeneralStatisticsRow first = rows.get(0);
+		Map<Integer, Integer> studyTimePerSemester = new HashMap<>();
+
+		for (GeneralStatisticsRow row : rows) {
+			if (row.fachsemester() != null) studyTimePerSemester.put(row.fachsemester(), row.fachsemesterSeconds());
+		}
+
+		int durchschnittProTag = first.lerntage() == 0 ? 0 : (int) Math.round((double) first.eventSeconds() / first.lerntage());
+
+		return new GeneralStatisticsDtoBuilder().builder()
+				.withTotalStudyTime(first.totalStudyTime())
+				.withTotalStudyTimePerSemester(studyTimePerSemester)
+				.withDurchschnittlicheLernzeitProTag(durchschnittProTag)
+				.withNumberActiveModules(first.numberActiveModules())
+				.withNumberNotActiveModules(first.numberNotActiveModules())
+				.withMaxStudiedModul(first.maxStudiedModul())
+				.withMinStudiedModul(first.minStudiedModul())
+				.build();
+	}
+}
@@ -0,0 +1,20 @@
+package com.studyhub.track.adapter.db.modul;
+
+import com.studyhub.track.application.service.ModulSecondsPerDate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class ModulSecondsPerDateRowMapper implements RowMapper<ModulSecondsPerDate> {
+
+	@Override
+	public ModulSecondsPerDate mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new ModulSecondsPerDate(
+				rs.getObject("bucket", LocalDate.class),
+				rs.getObject("modul_id", UUID.class),
+				rs.getInt("seconds_learned"));
+	}
+}
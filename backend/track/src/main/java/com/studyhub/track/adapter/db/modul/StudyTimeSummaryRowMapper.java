@@ -0,0 +1,15 @@
+package com.studyhub.track.adapter.db.modul;
+
+import com.studyhub.track.application.service.StudyTimeSummary;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class StudyTimeSummaryRowMapper implements RowMapper<StudyTimeSummary> {
+
+	@Override
+	public StudyTimeSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new StudyTimeSummary(rs.getLong("seconds_learned"), rs.getInt("lerntage"));
+	}
+}
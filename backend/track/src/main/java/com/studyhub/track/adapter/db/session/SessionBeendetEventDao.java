@@ -1,5 +1,6 @@
 package com.studyhub.track.adapter.db.session;
 
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
@@ -15,4 +16,20 @@ public interface SessionBeendetEventDao extends CrudRepository<SessionBeendetEve
 	@Modifying
 	@Query("DELETE FROM session_beendet_event WHERE username = :username")
 	int deleteAllByUsername(@Param("username") String username);
+
+	@Query(value = "SELECT b.konzentration_bewertung, b.produktivitaet_bewertung, b.schwierigkeit_bewertung, COUNT(*) AS anzahl " +
+			"FROM session_beendet_event e JOIN session_bewertung b ON b.session_beendet_event = e.id " +
+			"WHERE e.username = :username " +
+			"GROUP BY b.konzentration_bewertung, b.produktivitaet_bewertung, b.schwierigkeit_bewertung",
+			rowMapperClass = SessionBewertungHaeufigkeitRowMapper.class)
+	List<SessionBewertungHaeufigkeit> countBewertungenByUsername(@Param("username") String username);
+
+	@Query(value = "SELECT CAST(date_trunc('day', e.beendet_datum) AS date) AS datum, " +
+			"AVG(b.konzentration_bewertung) AS konzentration_bewertung, " +
+			"AVG(b.produktivitaet_bewertung) AS produktivitaet_bewertung, " +
+			"AVG(b.schwierigkeit_bewertung) AS schwierigkeit_bewertung " +
+			"FROM session_beendet_event e JOIN session_bewertung b ON b.session_beendet_event = e.id " +
+			"WHERE e.session_id = :sessionId GROUP BY 1",
+			rowMapperClass = SessionBewertungTagesdurchschnittRowMapper.class)
+	List<SessionBewertungTagesdurchschnittRow> findTagesdurchschnitteBySessionId(@Param("sessionId") UUID sessionId);
 }
@@ -1,11 +1,16 @@
 package com.studyhub.track.adapter.db.session;
 
 import com.studyhub.track.application.service.SessionBeendetEventRepository;
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
+import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
 import com.studyhub.track.domain.model.session.SessionBeendetEvent;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import static com.studyhub.track.adapter.db.session.SessionBeendetEventMapper.*;
 
 @Repository
@@ -50,4 +55,15 @@ public class SessionBeendetEventRepositoryImpl implements SessionBeendetEventRep
 	public int deleteAllByUsername(String username) {
 		return eventDao.deleteAllByUsername(username);
 	}
+
+	@Override
+	public List<SessionBewertungHaeufigkeit> countBewertungenByUsername(String username) {
+		return eventDao.countBewertungenByUsername(username);
+	}
+
+	@Override
+	public Map<LocalDate, SessionBewertungAveragesDto> findTagesdurchschnitteBySessionId(UUID sessionId) {
+		return eventDao.findTagesdurchschnitteBySessionId(sessionId).stream()
+				.collect(Collectors.toMap(SessionBewertungTagesdurchschnittRow::datum, SessionBewertungTagesdurchschnittRow::durchschnitte));
+	}
 }
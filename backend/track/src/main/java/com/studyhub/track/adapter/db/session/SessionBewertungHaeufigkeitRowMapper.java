@@ -0,0 +1,19 @@
+package com.studyhub.track.adapter.db.session;
+
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class SessionBewertungHaeufigkeitRowMapper implements RowMapper<SessionBewertungHaeufigkeit> {
+
+	@Override
+	public SessionBewertungHaeufigkeit mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new SessionBewertungHaeufigkeit(
+				rs.getObject("konzentration_bewertung", Integer.class),
+				rs.getObject("produktivitaet_bewertung", Integer.class),
+				rs.getObject("schwierigkeit_bewertung", Integer.class),
+				rs.getInt("anzahl"));
+	}
+}
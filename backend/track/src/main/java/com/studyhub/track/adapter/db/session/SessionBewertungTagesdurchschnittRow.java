@@ -0,0 +1,11 @@
+package com.studyhub.track.adapter.db.session;
+
+import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
+
+import java.time.LocalDate;
+
+/**
+ * Eine Zeile aus {@link SessionBeendetEventDao#findTagesdurchschnitteBySessionId(java.util.UUID)}.
+ */
+public record SessionBewertungTagesdurchschnittRow(LocalDate datum, SessionBewertungAveragesDto durchschnitte) {
+}
@@ -0,0 +1,21 @@
+package com.studyhub.track.adapter.db.session;
+
+import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+public class SessionBewertungTagesdurchschnittRowMapper implements RowMapper<SessionBewertungTagesdurchschnittRow> {
+
+	@Override
+	public SessionBewertungTagesdurchschnittRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return new SessionBewertungTagesdurchschnittRow(
+				rs.getObject("datum", LocalDate.class),
+				new SessionBewertungAveragesDto(
+						rs.getDouble("konzentration_bewertung"),
+						rs.getDouble("produktivitaet_bewertung"),
+						rs.getDouble("schwierigkeit_bewertung")));
+	}
+}
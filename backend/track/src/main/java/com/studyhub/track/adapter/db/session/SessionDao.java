@@ -4,6 +4,7 @@ import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,4 +16,16 @@ public interface SessionDao extends CrudRepository<SessionDto, Long> {
     @Modifying
     @Query("delete from session where fach_id = :fachId")
     long deleteByFachId(@Param("fachId") UUID fachId);
+
+    @Modifying
+    @Query("delete from block where modul_id = :modulId and session in (select id from session where username = :username)")
+    int deleteBlocksByModulId(@Param("modulId") UUID modulId,
+                              @Param("username") String username);
+
+    @Query(value = "select s.id, s.fach_id, s.username, s.titel, s.beschreibung, b.fach_id as block_fach_id, " +
+            "b.modul_id, b.modul_name, b.lernzeit_seconds, b.pausezeit_seconds " +
+            "from session s left join block b on b.session = s.id " +
+            "where s.fach_id in (:fachIds) order by s.id, b.session_key",
+            resultSetExtractorClass = SessionMitBloeckenExtractor.class)
+    List<SessionDto> findAllByFachIdIn(@Param("fachIds") Collection<UUID> fachIds);
 }
@@ -0,0 +1,48 @@
+package com.studyhub.track.adapter.db.session;
+
+import com.studyhub.track.domain.model.session.Block;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds sessions from a join of {@code session} and {@code block} that is ordered by session and
+ * {@code session_key}. Sessions without blocks appear as a single row with {@code null} block columns.
+ */
+public class SessionMitBloeckenExtractor implements ResultSetExtractor<List<SessionDto>> {
+
+	@Override
+	public List<SessionDto> extractData(ResultSet rs) throws SQLException {
+		Map<Long, SessionDto> sessions = new LinkedHashMap<>();
+		while (rs.next()) {
+			long id = rs.getLong("id");
+			SessionDto session = sessions.get(id);
+			if (session == null) {
+				session = new SessionDto(
+						id,
+						rs.getObject("fach_id", UUID.class),
+						rs.getString("username"),
+						rs.getString("titel"),
+						rs.getString("beschreibung"),
+						new ArrayList<>());
+				sessions.put(id, session);
+			}
+			UUID modulId = rs.getObject("modul_id", UUID.class);
+			if (modulId != null) {
+				session.blocks().add(new Block(
+						rs.getObject("block_fach_id", UUID.class),
+						modulId,
+						rs.getString("modul_name"),
+						rs.getInt("lernzeit_seconds"),
+						rs.getInt("pausezeit_seconds")));
+			}
+		}
+		return new ArrayList<>(sessions.values());
+	}
+}
@@ -3,6 +3,7 @@ package com.studyhub.track.adapter.db.session;
 import com.studyhub.track.domain.model.session.SessionRepository;
 import com.studyhub.track.domain.model.session.Session;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,4 +44,15 @@ public class SessionRepositoryImpl implements SessionRepository {
 		Optional<SessionDto> dto = sessionDao.findByFachId(fachId);
 		return dto.map(SessionMapper::toEntity).orElse(null);
 	}
+
+	@Override
+	public int deleteBlocksByModulId(UUID modulId, String username) {
+		return sessionDao.deleteBlocksByModulId(modulId, username);
+	}
+
+	@Override
+	public List<Session> findAllByFachIdIn(Collection<UUID> fachIds) {
+		if (fachIds.isEmpty()) return List.of();
+		return sessionDao.findAllByFachIdIn(fachIds).stream().map(SessionMapper::toEntity).toList();
+	}
 }
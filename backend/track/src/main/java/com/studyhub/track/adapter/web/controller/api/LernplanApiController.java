@@ -92,14 +92,8 @@ public class LernplanApiController {
 	@GetMapping("/is-today-planned")
 	public ResponseEntity<Boolean> isTodayPlanned(HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		LernplanWochenuebersicht res = lernplanService.collectLernplanWochenuebersicht(username);
-
-		if (res == null) {
-			return ResponseEntity.ok(false);
-		}  else {
-			boolean isTodayPlanned = res.isTodayPlanned();
-			return ResponseEntity.ok(isTodayPlanned);
-		}
+		boolean isTodayPlanned = lernplanService.isTodayPlanned(username);
+		return ResponseEntity.ok(isTodayPlanned);
 	}
 
 	@PostMapping("/bearbeite-lernplan")
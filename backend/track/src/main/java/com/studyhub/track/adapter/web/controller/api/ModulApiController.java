@@ -8,9 +8,9 @@ import com.studyhub.track.application.JWTService;
 import com.studyhub.track.adapter.db.modul.ModulDto;
 import com.studyhub.track.adapter.db.modul.ModulMapper;
 import com.studyhub.track.adapter.web.*;
-import com.studyhub.track.application.service.ModulEventService;
+import com.studyhub.track.application.service.ModulKeyset;
+import com.studyhub.track.application.service.ModulLernzeitIngestionService;
 import com.studyhub.track.application.service.ModulService;
-import com.studyhub.track.application.service.ModulUpdateService;
 import com.studyhub.track.application.service.dto.ModulSelectDto;
 import com.studyhub.track.application.service.dto.NeuerModulterminRequest;
 import com.studyhub.track.domain.model.modul.Modul;
@@ -27,17 +27,17 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/modul/v1")
 public class ModulApiController {
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private final ModulService modulService;
-	private final ModulUpdateService modulUpdateService;
-	private final ModulEventService modulEventService;
+	private final ModulLernzeitIngestionService lernzeitIngestionService;
 	private final AuthenticationService authenticationService;
 	private final JWTService jwtService;
 	private final PrometheusMetrics metrics;
 
-	public ModulApiController(ModulService service, ModulUpdateService modulUpdateService, ModulEventService modulEventService, AuthenticationService authenticationService , JWTService jwtService, PrometheusMetrics metrics) {
+	public ModulApiController(ModulService service, ModulLernzeitIngestionService lernzeitIngestionService, AuthenticationService authenticationService , JWTService jwtService, PrometheusMetrics metrics) {
 		this.modulService = service;
-		this.modulUpdateService = modulUpdateService;
-		this.modulEventService = modulEventService;
+		this.lernzeitIngestionService = lernzeitIngestionService;
         this.authenticationService = authenticationService;
         this.jwtService = jwtService;
         this.metrics = metrics;
@@ -101,10 +101,19 @@ public class ModulApiController {
 	}
 
 	@GetMapping("/get-active-modules")
-	public ResponseEntity<List<Modul>> getActiveModules(HttpServletRequest request) {
+	public ResponseEntity<List<Modul>> getActiveModules(@RequestParam(value = "limit", required = false) Integer limit,
+	                                                    @RequestParam(value = "afterSeconds", required = false) Integer afterSeconds,
+	                                                    @RequestParam(value = "afterFachId", required = false) UUID afterFachId,
+	                                                    HttpServletRequest request) {
 		String username = jwtService.extractUsernameFromHeader(request);
-		List<Modul> l = modulService.findActiveModuleByUsername(true, username);
-		return ResponseEntity.ok(l);
+		if (limit == null) {
+			return ResponseEntity.ok(modulService.findActiveModuleByUsername(true, username));
+		}
+		if (limit < 1 || limit > MAX_PAGE_SIZE || (afterSeconds == null) != (afterFachId == null)) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+		}
+		ModulKeyset after = afterSeconds == null ? null : new ModulKeyset(afterSeconds, afterFachId);
+		return ResponseEntity.ok(modulService.findActiveModuleByUsername(true, username, after, limit));
 	}
 
 	/** POST MAPPINGS **/
@@ -136,8 +145,7 @@ public class ModulApiController {
 			String username = jwtService.extractUsernameFromHeader(httpServletRequest);
 			UUID modulId = UUID.fromString(timerRequest.modulId());
 			int secondsLearned = timerRequest.toSeconds();
-			modulUpdateService.updateSeconds(modulId, secondsLearned);
-			modulEventService.saveEvent(secondsLearned, modulId, username);
+			lernzeitIngestionService.recordLernzeit(modulId, secondsLearned, username);
 		} catch (Exception e) {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
 		}
@@ -151,8 +159,7 @@ public class ModulApiController {
 		UUID modulId = request.modulId();
 		int secondsLearned = request.localTimeToSeconds();
 		if(secondsLearned > 5) {
-			modulUpdateService.updateSeconds(modulId, secondsLearned);
-			modulEventService.saveEvent(secondsLearned, modulId, username);
+			lernzeitIngestionService.recordLernzeit(modulId, secondsLearned, username);
 			return ResponseEntity.ok().build();
 		} else {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
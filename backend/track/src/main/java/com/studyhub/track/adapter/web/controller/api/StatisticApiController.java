@@ -4,8 +4,10 @@ import com.studyhub.track.application.JWTService;
 import com.studyhub.track.application.service.ModulEventService;
 import com.studyhub.track.application.service.ModulService;
 import com.studyhub.track.application.service.ModulStat;
+import com.studyhub.track.application.service.StatisticBucket;
 import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
@@ -16,6 +18,8 @@ import java.util.Map;
 @RequestMapping("/api/modul/v1")
 public class StatisticApiController {
 
+	private static final int MAX_CHART_DAYS = 366;
+
 	private final ModulEventService modulEventService;
 	private final ModulService modulService;
 	private final JWTService jwtService;
@@ -27,9 +31,14 @@ public class StatisticApiController {
 	}
 
 	@GetMapping("/chart")
-	public ResponseEntity<Map<LocalDate, List<ModulStat>>> getStats(HttpServletRequest request) {
+	public ResponseEntity<Map<LocalDate, List<ModulStat>>> getStats(@RequestParam(value = "days", defaultValue = "7") int days,
+	                                                                @RequestParam(value = "bucket", defaultValue = "DAY") StatisticBucket bucket,
+	                                                                HttpServletRequest request) {
+		if (days < 1 || days > MAX_CHART_DAYS) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+		}
 		String username = jwtService.extractUsernameFromHeader(request);
-		return ResponseEntity.ok(modulEventService.getStatisticsForRecentDays(7, username));
+		return ResponseEntity.ok(modulEventService.getStatisticsForRecentDays(days, bucket, username));
 	}
 
 	@GetMapping("/get-general-statistics")
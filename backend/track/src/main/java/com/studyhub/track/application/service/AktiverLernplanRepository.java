@@ -0,0 +1,10 @@
+package com.studyhub.track.application.service;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+public interface AktiverLernplanRepository {
+	void aktualisiere(String username);
+	List<AktiverLernplanTag> findByUsername(String username);
+	boolean isTagGeplant(String username, DayOfWeek tag);
+}
@@ -0,0 +1,12 @@
+package com.studyhub.track.application.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Row of the precomputed projection of a user's active Lernplan. An active Lernplan without any Tag is
+ * represented by a single row whose {@code tag}, {@code beginn} and {@code sessionId} are {@code null}.
+ */
+public record AktiverLernplanTag(String titel, DayOfWeek tag, LocalTime beginn, UUID sessionId) {
+}
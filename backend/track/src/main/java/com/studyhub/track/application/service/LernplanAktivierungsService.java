@@ -13,13 +13,16 @@ import java.util.UUID;
 public class LernplanAktivierungsService {
 
 	private final LernplanRepository lernplanRepository;
+	private final AktiverLernplanRepository aktiverLernplanRepository;
 
-	public LernplanAktivierungsService(LernplanRepository lernplanRepository) {
+	public LernplanAktivierungsService(LernplanRepository lernplanRepository, AktiverLernplanRepository aktiverLernplanRepository) {
 		this.lernplanRepository = lernplanRepository;
+		this.aktiverLernplanRepository = aktiverLernplanRepository;
 	}
 
 	/**
-	 * Deactivates all Lernplan-Entities of a user and then activates the desired Lernplan.
+	 * Deactivates all Lernplan-Entities of a user, then activates the desired Lernplan and refreshes the
+	 * projection of the active Lernplan.
 	 * @param lernplanId ID of the Lernplan to activate
 	 * @param username Username of the user
 	 */
@@ -27,5 +30,6 @@ public class LernplanAktivierungsService {
 	public void setActiveLernplan(UUID lernplanId, String username) {
 		lernplanRepository.deactivateAllByUsername(username);
 		lernplanRepository.setIsActiveOfLernplan(lernplanId, true);
+		aktiverLernplanRepository.aktualisiere(username);
 	}
 }
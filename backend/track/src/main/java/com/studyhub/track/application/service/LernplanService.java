@@ -4,24 +4,30 @@ import com.studyhub.track.application.service.dto.LernplanWochenuebersicht;
 import com.studyhub.track.application.service.dto.LernplanTagesuebersicht;
 import com.studyhub.track.domain.model.lernplan.Lernplan;
 import com.studyhub.track.domain.model.lernplan.LernplanRepository;
-import com.studyhub.track.domain.model.lernplan.Tag;
 import com.studyhub.track.domain.model.session.Session;
 import com.studyhub.track.domain.model.session.SessionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LernplanService {
 
 	private final LernplanRepository lernplanRepository;
 	private final SessionRepository sessionRepository;
+	private final AktiverLernplanRepository aktiverLernplanRepository;
+	private final DateProvider dateProvider;
 
-	public LernplanService(LernplanRepository lernplanRepository, SessionRepository sessionRepository) {
+	public LernplanService(LernplanRepository lernplanRepository, SessionRepository sessionRepository,
+	                       AktiverLernplanRepository aktiverLernplanRepository, DateProvider dateProvider) {
 		this.lernplanRepository = lernplanRepository;
 		this.sessionRepository = sessionRepository;
+		this.aktiverLernplanRepository = aktiverLernplanRepository;
+		this.dateProvider = dateProvider;
 	}
 
 	/**
@@ -39,23 +45,32 @@ public class LernplanService {
 	 * Builds a {@link LernplanWochenuebersicht} (weekly overview) for the specified user.
 	 * <p>
 	 * Each day of the week is represented by a {@link LernplanTagesuebersicht},
-	 * which includes the session details for that day.
+	 * which includes the session details for that day. The days are read from the precomputed projection
+	 * of the active Lernplan and all referenced sessions are loaded together with their blocks in one query.
+	 * Days whose session no longer exists are skipped.
 	 * </p>
 	 *
 	 * @param username the username of the user
 	 * @return the generated {@link LernplanWochenuebersicht} object, or {@code null} if no active Lernplan exists
 	 */
 	public LernplanWochenuebersicht collectLernplanWochenuebersicht(String username) {
-		Lernplan entityLerntag = lernplanRepository.findActiveByUsername(username);
+		List<AktiverLernplanTag> tage = aktiverLernplanRepository.findByUsername(username);
 
-		if (entityLerntag == null) return null;
+		if (tage.isEmpty()) return null;
+
+		Set<UUID> sessionIds = tage.stream()
+				.map(AktiverLernplanTag::sessionId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		Map<UUID, Session> sessionsById = sessionRepository.findAllByFachIdIn(sessionIds).stream()
+				.collect(Collectors.toMap(Session::getFachId, Function.identity()));
 
 		List<LernplanTagesuebersicht> sessions = new ArrayList<>();
-		for (Tag tag : entityLerntag.getTagesListe()) {
-			UUID sessionId = tag.getSessionId();
-			Session session = sessionRepository.findSessionByFachId(sessionId);
+		for (AktiverLernplanTag tag : tage) {
+			Session session = sessionsById.get(tag.sessionId());
+			if (tag.tag() == null || session == null) continue;
 			String dayString = "";
-			switch (tag.getTag()) {
+			switch (tag.tag()) {
 				case MONDAY -> dayString = "Montags";
 				case TUESDAY -> dayString = "Dienstags";
 				case WEDNESDAY -> dayString = "Mittwochs";
@@ -67,13 +82,25 @@ public class LernplanService {
 
 			sessions.add(new LernplanTagesuebersicht(
 					dayString,
-					tag.getBeginn().toString(),
+					tag.beginn().toString(),
 					session.getFachId().toString(),
 					session.getBlocks()
 			));
 		}
 
-		return new LernplanWochenuebersicht(entityLerntag.getTitel(), sessions);
+		return new LernplanWochenuebersicht(tage.get(0).titel(), sessions);
+	}
+
+	/**
+	 * Checks whether the active Lernplan of the user has a session with at least one block planned for today,
+	 * without building the weekly overview.
+	 *
+	 * @param username the username of the user
+	 * @return {@code true} if a non-empty session is planned for today, {@code false} otherwise
+	 */
+	public boolean isTodayPlanned(String username) {
+		DayOfWeek today = dateProvider.getTodayDate().getDayOfWeek();
+		return aktiverLernplanRepository.isTagGeplant(username, today);
 	}
 
 	/**
@@ -108,15 +135,18 @@ public class LernplanService {
 
 	/**
 	 * Updates an existing {@link Lernplan} with new data and persists the changes in the database.
+	 * If the Lernplan is active, the projection of the active Lernplan is refreshed as well.
 	 *
 	 * @param bearbeiteterPlan the edited Lernplan provided by the user
 	 * @return {@code true} if the updated Lernplan was successfully saved, {@code false} otherwise
 	 */
+	@Transactional
 	public boolean saveBearbeitetenLernplan(Lernplan bearbeiteterPlan) {
 		UUID lernplanId = bearbeiteterPlan.getFachId();
 		Lernplan alterPlan = lernplanRepository.findByFachId(lernplanId);
 		alterPlan.aktualisiereTagesliste(bearbeiteterPlan.getTagesListe());
 		Lernplan saved = lernplanRepository.save(alterPlan);
+		if (alterPlan.isActive()) aktiverLernplanRepository.aktualisiere(alterPlan.getUsername());
 		return saved != null;
 	}
 }
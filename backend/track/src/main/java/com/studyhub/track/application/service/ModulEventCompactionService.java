@@ -0,0 +1,42 @@
+package com.studyhub.track.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Removes raw {@code ModulGelerntEvent}s that are older than the configured retention. Every event is added to the
+ * daily rollup when it is saved, so the statistics are not affected by the deletion.
+ */
+@Service
+public class ModulEventCompactionService {
+
+	private final Logger log = LoggerFactory.getLogger(ModulEventCompactionService.class);
+	private final ModulGelerntEventRepository modulGelerntEventRepository;
+	private final DateProvider dateProvider;
+	private final int retentionDays;
+
+	public ModulEventCompactionService(ModulGelerntEventRepository modulGelerntEventRepository,
+	                                   DateProvider dateProvider,
+	                                   @Value("${modul.event-compaction.retention-days:90}") int retentionDays) {
+		this.modulGelerntEventRepository = modulGelerntEventRepository;
+		this.dateProvider = dateProvider;
+		this.retentionDays = retentionDays;
+	}
+
+	/**
+	 * Deletes all events learned before today minus the retention days.
+	 * @return The number of deleted events
+	 */
+	@Scheduled(cron = "${modul.event-compaction.cron:0 30 3 * * *}")
+	public int compactEvents() {
+		LocalDate cutoff = dateProvider.getTodayDate().minusDays(retentionDays);
+		int deleted = modulGelerntEventRepository.deleteAllBefore(cutoff);
+		log.info("Compacted {} ModulGelerntEvents learned before {}", deleted, cutoff);
+		return deleted;
+	}
+}
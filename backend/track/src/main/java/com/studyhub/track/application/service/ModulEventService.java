@@ -41,26 +41,44 @@ public class ModulEventService {
 	 * @return A {@code Map<LocalDate, List<ModulStat>}
 	 */
 	public Map<LocalDate, List<ModulStat>> getStatisticsForRecentDays(int days, String username) {
+		return getStatisticsForRecentDays(days, StatisticBucket.DAY, username);
+	}
+
+	/**
+	 * Computes a {@code Map<LocalDate, List<ModulStat>} for the frontend to display how much of a module the user learned
+	 * in the recent days, summed up per day, week or month. The sums are computed by a single range query. The key of
+	 * a week or month is its first day. The range starts at the beginning of the bucket containing the first day, so
+	 * the oldest week or month is summed up completely instead of only from the first requested day.
+	 * @param days The amount of recent days that should be computed
+	 * @param bucket The granularity of the sums
+	 * @param username The username of the user
+	 * @return A {@code Map<LocalDate, List<ModulStat>}
+	 */
+	public Map<LocalDate, List<ModulStat>> getStatisticsForRecentDays(int days, StatisticBucket bucket, String username) {
 		List<Modul> modules = modulRepository.findByUsername(username);
-		Map<LocalDate, List<ModulStat>> dataMap = new TreeMap<>();
+		LocalDate today = dateProvider.getTodayDate();
+		LocalDate from = bucket.startOf(today.minusDays(days - 1L));
+		List<ModulSecondsPerDate> sums = modulGelerntEvent.getSumSecondsLearnedPerDate(from, today, username, bucket);
+
+		Map<LocalDate, Map<UUID, Integer>> secondsPerDate = new HashMap<>();
+		for (ModulSecondsPerDate sum : sums) {
+			secondsPerDate.computeIfAbsent(sum.date(), d -> new HashMap<>()).merge(sum.modulId(), sum.secondsLearned(), Integer::sum);
+		}
 
-		for (int i = 0; i < days; i++) {
-			LocalDate date = dateProvider.getTodayDate().minusDays(i);
+		Map<LocalDate, List<ModulStat>> dataMap = new TreeMap<>();
+		secondsPerDate.forEach((date, secondsPerModul) -> {
 			List<ModulStat> statistics = new LinkedList<>();
 			for (Modul modul : modules) {
-				int seconds = modulGelerntEvent.getSumSecondsLearned(date, username, modul.getFachId());
+				int seconds = secondsPerModul.getOrDefault(modul.getFachId(), 0);
 				if(seconds > 0) {
-					ModulStat stat =  new ModulStat(modul.getName(), String.valueOf(seconds));
-					statistics.add(stat);
+					statistics.add(new ModulStat(modul.getName(), String.valueOf(seconds)));
 				}
 			}
 
-			if (statistics.isEmpty()) continue;
-
-			dataMap.put(date, statistics);
-		}
+			if (!statistics.isEmpty()) dataMap.put(date, statistics);
+		});
 
-		logger.info("Generated statistics for the last {} days for user '{}': {}", days, username, dataMap);
+		logger.info("Generated statistics for the last {} days per {} for user '{}': {}", days, bucket, username, dataMap);
 		return dataMap;
 	}
 
@@ -70,14 +88,12 @@ public class ModulEventService {
 	 * @return
 	 */
 	public Integer computeAverageStudyTimePerDay(String username) {
-		List<ModulGelerntEvent> allEvents = modulGelerntEvent.getAllByUsername(username);
-		int anzahlEvents = (int) allEvents.stream().map(ModulGelerntEvent::dateGelernt).distinct().count();
-		int sum = allEvents.stream().mapToInt(ModulGelerntEvent::secondsLearned).sum();
+		StudyTimeSummary summary = modulGelerntEvent.getStudyTimeSummary(username);
 
-		if(anzahlEvents == 0) return 0;
+		if(summary.lerntage() == 0) return 0;
 
-		logger.info("Computed average study time per day for user '{}': {} seconds over {} days", username, sum, anzahlEvents);
-		return (int) Math.round((double) sum / anzahlEvents);
+		logger.info("Computed average study time per day for user '{}': {} seconds over {} days", username, summary.secondsLearned(), summary.lerntage());
+		return (int) Math.round((double) summary.secondsLearned() / summary.lerntage());
 	}
 
 	/**
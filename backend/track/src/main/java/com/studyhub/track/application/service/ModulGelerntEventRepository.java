@@ -8,6 +8,9 @@ import java.util.UUID;
 public interface ModulGelerntEventRepository {
 	ModulGelerntEvent save(ModulGelerntEvent event);
 	int getSumSecondsLearned(LocalDate date, String username, UUID modulId);
+	List<ModulSecondsPerDate> getSumSecondsLearnedPerDate(LocalDate from, LocalDate to, String username, StatisticBucket bucket);
+	StudyTimeSummary getStudyTimeSummary(String username);
 	List<ModulGelerntEvent> getAllByUsername(String username);
 	void deleteAllByModulId(UUID modulId);
+	int deleteAllBefore(LocalDate cutoff);
 }
@@ -0,0 +1,10 @@
+package com.studyhub.track.application.service;
+
+import java.util.UUID;
+
+/**
+ * Position of the last module of a page when paging through modules ordered by seconds learned
+ * and fach id descending.
+ */
+public record ModulKeyset(int secondsLearned, UUID fachId) {
+}
@@ -0,0 +1,8 @@
+package com.studyhub.track.application.service;
+
+import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
+import java.util.List;
+
+public interface ModulLernzeitBatchRepository {
+	List<ModulGelerntEvent> saveLernzeitBatch(List<ModulGelerntEvent> events);
+}
@@ -0,0 +1,144 @@
+package com.studyhub.track.application.service;
+
+import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry point for study time sent by the timer. By default every call is written through
+ * {@link ModulUpdateService} and {@link ModulEventService} immediately. With
+ * {@code modul.ingestion.write-behind.enabled=true} the increments are coalesced per module, user and day
+ * and flushed periodically as one batched update plus one batched event insert.
+ * <p>
+ * The buffer holds {@code modul.ingestion.write-behind.max-buffer-size} entries, increments for a new entry are
+ * written through while it is full. Entries of a failed flush are put back and never dropped. After
+ * {@code modul.ingestion.write-behind.max-retries} failed flushes in a row all increments are written through, so
+ * during a database outage the request fails like without the buffer instead of buffering study time that may never
+ * be written. Buffering resumes after the next successful flush.
+ */
+@Service
+public class ModulLernzeitIngestionService {
+
+	private final Logger log = LoggerFactory.getLogger(ModulLernzeitIngestionService.class);
+	private final ModulUpdateService modulUpdateService;
+	private final ModulEventService modulEventService;
+	private final ModulLernzeitBatchRepository batchRepository;
+	private final DateProvider dateProvider;
+	private final boolean writeBehindEnabled;
+	private final int maxBufferSize;
+	private final int maxRetries;
+	private final Map<LernzeitKey, Integer> buffer = new ConcurrentHashMap<>();
+	private final AtomicInteger failedFlushes = new AtomicInteger();
+	private final Timer flushTimer;
+	private final Counter failedFlushCounter;
+
+	public ModulLernzeitIngestionService(ModulUpdateService modulUpdateService,
+	                                     ModulEventService modulEventService,
+	                                     ModulLernzeitBatchRepository batchRepository,
+	                                     DateProvider dateProvider,
+	                                     MeterRegistry registry,
+	                                     @Value("${modul.ingestion.write-behind.enabled:false}") boolean writeBehindEnabled,
+	                                     @Value("${modul.ingestion.write-behind.max-buffer-size:10000}") int maxBufferSize,
+	                                     @Value("${modul.ingestion.write-behind.max-retries:5}") int maxRetries) {
+		this.modulUpdateService = modulUpdateService;
+		this.modulEventService = modulEventService;
+		this.batchRepository = batchRepository;
+		this.dateProvider = dateProvider;
+		this.writeBehindEnabled = writeBehindEnabled;
+		this.maxBufferSize = maxBufferSize;
+		this.maxRetries = maxRetries;
+		this.flushTimer = Timer.builder("modul_lernzeit_flush")
+				.description("Time it takes to flush the buffered study time to the database")
+				.register(registry);
+		Gauge.builder("modul_lernzeit_buffer_depth", buffer, Map::size)
+				.description("Number of coalesced study time entries waiting to be flushed")
+				.register(registry);
+		this.failedFlushCounter = Counter.builder("modul_lernzeit_flush_failed")
+				.description("Number of flushes of the buffered study time that failed and were put back into the buffer")
+				.register(registry);
+	}
+
+	/**
+	 * Records study time of a user for a module.
+	 * @param fachId The id of the module
+	 * @param seconds The seconds to add to the module
+	 * @param username The username of the user
+	 */
+	public void recordLernzeit(UUID fachId, int seconds, String username) {
+		LernzeitKey key = new LernzeitKey(fachId, username, dateProvider.getTodayDate());
+		if (!writeBehindEnabled || isWritingThrough() || isFull(key)) {
+			modulUpdateService.updateSeconds(fachId, seconds);
+			modulEventService.saveEvent(seconds, fachId, username);
+			return;
+		}
+		buffer.merge(key, seconds, Integer::sum);
+	}
+
+	/**
+	 * Writes all buffered increments to the database. Entries that fail to be written are put back into the
+	 * buffer and retried with the next flush.
+	 */
+	@Scheduled(fixedDelayString = "${modul.ingestion.write-behind.flush-interval-ms:2000}")
+	public synchronized void flush() {
+		if (buffer.isEmpty()) return;
+
+		Map<LernzeitKey, Integer> drained = new HashMap<>();
+		for (LernzeitKey key : buffer.keySet()) {
+			Integer seconds = buffer.remove(key);
+			if (seconds != null) drained.put(key, seconds);
+		}
+		List<ModulGelerntEvent> events = drained.entrySet().stream()
+				.map(entry -> new ModulGelerntEvent(UUID.randomUUID(), entry.getKey().fachId(), entry.getKey().username(),
+						entry.getValue(), entry.getKey().dateGelernt()))
+				.toList();
+
+		try {
+			List<ModulGelerntEvent> persisted = flushTimer.recordCallable(() -> batchRepository.saveLernzeitBatch(events));
+			log.info("Flushed {} buffered study time entries, dropped {} for unknown modules", persisted.size(), events.size() - persisted.size());
+			if (failedFlushes.getAndSet(0) >= maxRetries) log.info("Flush succeeded again, buffering study time");
+		} catch (Exception e) {
+			// the buffer may exceed its size by the entries added during the flush, new entries are written through then
+			drained.forEach((key, seconds) -> buffer.merge(key, seconds, Integer::sum));
+			failedFlushCounter.increment();
+			int failed = failedFlushes.incrementAndGet();
+			log.error("Could not flush {} buffered study time entries, {} failed flushes in a row", events.size(), failed, e);
+			if (failed == maxRetries) log.error("Writing study time through until a flush succeeds");
+		}
+	}
+
+	private boolean isWritingThrough() {
+		return failedFlushes.get() >= maxRetries;
+	}
+
+	private boolean isFull(LernzeitKey key) {
+		return buffer.size() >= maxBufferSize && !buffer.containsKey(key);
+	}
+
+	@PreDestroy
+	public void flushOnShutdown() {
+		flush();
+		if (!buffer.isEmpty()) log.error("Shutting down with {} unflushed study time entries", buffer.size());
+	}
+
+	public int getBufferDepth() {
+		return buffer.size();
+	}
+
+	private record LernzeitKey(UUID fachId, String username, LocalDate dateGelernt) {}
+}
@@ -1,5 +1,6 @@
 package com.studyhub.track.application.service;
 
+import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
 import com.studyhub.track.domain.model.modul.Modul;
 import com.studyhub.track.domain.model.modul.Modultermin;
 import java.util.List;
@@ -26,4 +27,7 @@ public interface ModulRepository {
 	boolean deleteModultermin(UUID fachId, Modultermin modultermin);
 
 	List<Modul> findActiveModuleByUsername(boolean active, String username);
+	List<Modul> findActiveModuleByUsername(boolean active, String username, ModulKeyset after, int limit);
+
+	GeneralStatisticsDto getGeneralStatistics(String username);
 }
@@ -0,0 +1,11 @@
+package com.studyhub.track.application.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ModulSecondsPerDate(
+		LocalDate date,
+		UUID modulId,
+		int secondsLearned
+) {
+}
@@ -2,7 +2,6 @@ package com.studyhub.track.application.service;
 
 
 import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
-import com.studyhub.track.application.service.dto.GeneralStatisticsDtoBuilder;
 import com.studyhub.track.application.service.dto.ModulSelectDto;
 import com.studyhub.track.application.service.dto.NeuerModulterminRequest;
 import com.studyhub.track.domain.model.modul.Modul;
@@ -86,6 +85,18 @@ public class ModulService {
 		return modulRepository.findActiveModuleByUsername(isActive, username);
 	}
 
+	/**
+	 * Finds one page of the modules of a user by their activity status, ordered by seconds learned descending.
+	 * @param isActive True for active modules, false for inactive modules.
+	 * @param username The username of the user.
+	 * @param after The last module of the previous page, or null for the first page.
+	 * @param limit The maximum number of modules to return.
+	 * @return List of modules following {@code after}.
+	 */
+	public List<Modul> findActiveModuleByUsername(boolean isActive, String username, ModulKeyset after, int limit) {
+		return modulRepository.findActiveModuleByUsername(isActive, username, after, limit);
+	}
+
 	/**
 	 * Toggles the activity status of a module.
 	 * @param fachId The id of the module to toggle.
@@ -325,31 +336,18 @@ public class ModulService {
 	}
 
 	/**
-	 * Gets general statistics for a user.
+	 * Gets general statistics for a user. All values are computed by a single aggregated query.
 	 * @param username The username of the user.
 	 * @return General statistics DTO.
 	 */
 	public GeneralStatisticsDto getGeneralStatistics(String username) {
-		GeneralStatisticsDtoBuilder statBuilder = new GeneralStatisticsDtoBuilder().builder();
-
-		statBuilder.withTotalStudyTime(getTotalStudyTimeForUser(username));
-		statBuilder.withTotalStudyTimePerSemester(getTotalStudyTimePerFachSemester(username));
-		statBuilder.withDurchschnittlicheLernzeitProTag(modulEventService.computeAverageStudyTimePerDay(username));
-		statBuilder.withNumberActiveModules(countActiveModules(username));
-
-		int numberActiveModules = countActiveModules(username);
-		statBuilder.withNumberActiveModules(numberActiveModules);
-		int numberNotActiveModules = countNotActiveModules(username);
-		statBuilder.withNumberNotActiveModules(numberNotActiveModules);
-
-		if(numberActiveModules == 0 && numberNotActiveModules == 0) {
-			statBuilder.withMaxStudiedModul("Keine Module verfügbar");
-			statBuilder.withMinStudiedModul("Keine Module verfügbar");
-		} else {
-			statBuilder.withMaxStudiedModul(findModulWithMaxSeconds(username));
-			statBuilder.withMinStudiedModul(findModulWithMinSeconds(username));
+		GeneralStatisticsDto stats = modulRepository.getGeneralStatistics(username);
+
+		if(stats.getNumberActiveModules() == 0 && stats.getNumberNotActiveModules() == 0) {
+			stats.setMaxStudiedModul("Keine Module verfügbar");
+			stats.setMinStudiedModul("Keine Module verfügbar");
 		}
 
-		return statBuilder.build();
+		return stats;
 	}
 }
@@ -1,8 +1,11 @@
 package com.studyhub.track.application.service;
 
+import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
 import com.studyhub.track.domain.model.session.SessionBeendetEvent;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface SessionBeendetEventRepository {
@@ -11,5 +14,7 @@ public interface SessionBeendetEventRepository {
 	List<SessionBeendetEvent> findAllBySessionId(UUID sessionId);
 	SessionBeendetEvent findByEventId(UUID eventId);
 	int deleteAllByUsername(String username);
+	List<SessionBewertungHaeufigkeit> countBewertungenByUsername(String username);
+	Map<LocalDate, SessionBewertungAveragesDto> findTagesdurchschnitteBySessionId(UUID sessionId);
 
 }
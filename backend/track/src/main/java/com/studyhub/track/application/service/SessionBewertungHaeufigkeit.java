@@ -0,0 +1,13 @@
+package com.studyhub.track.application.service;
+
+/**
+ * Number of session ratings of a user with exactly this combination of values. Single values may be
+ * {@code null} if the rating was stored without them.
+ */
+public record SessionBewertungHaeufigkeit(
+		Integer konzentrationBewertung,
+		Integer produktivitaetBewertung,
+		Integer schwierigkeitBewertung,
+		int anzahl
+) {
+}
@@ -1,14 +1,11 @@
 package com.studyhub.track.application.service;
 
 import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
-import com.studyhub.track.domain.model.session.SessionBeendetEvent;
-import com.studyhub.track.domain.model.session.SessionBewertung;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class SessionBewertungService {
@@ -25,7 +22,7 @@ public class SessionBewertungService {
 	 * @return The average konzentrationBewertung as a Double.
 	 */
 	public Double getAverageKonzentrationBewertungByUsername(String username) {
-		return getAverageByUsername(username, SessionBewertung::getKonzentrationBewertung);
+		return statistik(username).durchschnittKonzentration();
 	}
 
 	/**
@@ -34,7 +31,7 @@ public class SessionBewertungService {
 	 * @return The average produktivitaetBewertung as a Double.
 	 */
 	public Double getAverageProduktivitaetBewertungByUsername(String username) {
-		return getAverageByUsername(username, SessionBewertung::getProduktivitaetBewertung);
+		return statistik(username).durchschnittProduktivitaet();
 	}
 
 	/**
@@ -43,133 +40,68 @@ public class SessionBewertungService {
 	 * @return The average schwierigkeitBewertung as a Double.
 	 */
 	public Double getAverageSchwierigkeitBewertungByUsername(String username) {
-		return getAverageByUsername(username, SessionBewertung::getSchwierigkeitBewertung);
+		return statistik(username).durchschnittSchwierigkeit();
 	}
 
 	/**
 	 * Generates a histogram of konzentrationBewertung for a given username.
 	 * @param username The username of the user
-	 * @return A map representing the histogram with 10 bins.
+	 * @return A map representing the histogram with 11 bins for the ratings 0 to 10.
 	 */
 	public Map<Integer, Integer> getKonzentrationHisto(String username) {
-		return getHistogramByUsername(username, SessionBewertung::getKonzentrationBewertung);
+		return statistik(username).histogrammKonzentration();
 	}
 
 	/**
 	 * Generates a histogram of produktivitaetBewertung for a given username.
 	 * @param username The username of the user
-	 * @return A map representing the histogram with 10 bins.
+	 * @return A map representing the histogram with 11 bins for the ratings 0 to 10.
 	 */
 	public Map<Integer, Integer> getProduktivitaetHisto(String username) {
-		return getHistogramByUsername(username, SessionBewertung::getProduktivitaetBewertung);
+		return statistik(username).histogrammProduktivitaet();
 	}
 
 	/**
 	 * Generates a histogram of schwierigkeitBewertung for a given username.
 	 * @param username The username of the user
-	 * @return A map representing the histogram with 10 bins.
+	 * @return A map representing the histogram with 11 bins for the ratings 0 to 10.
 	 */
 	public Map<Integer, Integer> getSchwierigkeitHisto(String username) {
-		return getHistogramByUsername(username, SessionBewertung::getSchwierigkeitBewertung);
+		return statistik(username).histogrammSchwierigkeit();
 	}
 
 	/**
 	 * Gets the overall statistics for all SessionBewertung attributes averaged in a dto.
+	 * All three averages are computed from a single read of the user's ratings.
 	 * @param username The username for which to get the statistics.
 	 * @return A SessionBewertungGeneralStatistikDto containing the average values.
 	 */
 	public SessionBewertungGeneralStatistikDto getSessionBewertungStatistikByUsername(String username) {
+		SessionBewertungStatistik statistik = statistik(username);
 		return new SessionBewertungGeneralStatistikDto(
-			getAverageKonzentrationBewertungByUsername(username),
-			getAverageProduktivitaetBewertungByUsername(username),
-			getAverageSchwierigkeitBewertungByUsername(username)
+			statistik.durchschnittKonzentration(),
+			statistik.durchschnittProduktivitaet(),
+			statistik.durchschnittSchwierigkeit()
 		);
 	}
 
 	/**
 	 * Computes monthly averages of SessionBewertung for a given sessionId. Needed for the chart rendering in frontend.
+	 * The ratings are averaged per day in the database.
 	 * @param sessionId The id of the session
 	 * @return A map where the key is the date and the value is a SessionBewertungAveragesDto containing average ratings for that date.
 	 */
 	public Map<LocalDate, SessionBewertungAveragesDto> getMonthlySessionBewertungStatistik(UUID sessionId) {
-		List<SessionBeendetEvent> events = sessionBeendetEventRepository.findAllBySessionId(sessionId);
-
-		Map<LocalDate, List<SessionBeendetEvent>> grouped = events.stream()
-				.collect(Collectors.groupingBy(e -> e.getBeendetDatum().toLocalDate()));
-
-		Map<LocalDate, SessionBewertungAveragesDto> groupedAverages = grouped.entrySet().stream()
-				.collect(Collectors.toMap(
-						Map.Entry::getKey,
-						entry -> {
-							List<SessionBeendetEvent> eventsList = entry.getValue();
-
-							double avgKonz = eventsList.stream()
-									.mapToDouble(e -> e.getBewertung().getKonzentrationBewertung())
-									.average()
-									.orElse(0.0);
-
-							double avgProduktiv = eventsList.stream()
-									.mapToDouble(e -> e.getBewertung().getProduktivitaetBewertung())
-									.average()
-									.orElse(0.0);
-
-							double avgSchwierigkeit = eventsList.stream()
-									.mapToDouble(e -> e.getBewertung().getSchwierigkeitBewertung())
-									.average()
-									.orElse(0.0);
-
-							SessionBewertungAveragesDto averagesDto = new SessionBewertungAveragesDto(avgKonz, avgProduktiv, avgSchwierigkeit);
-
-							return averagesDto;
-						}
-				));
-		return groupedAverages;
+		return sessionBeendetEventRepository.findTagesdurchschnitteBySessionId(sessionId);
 	}
 
 	/**
-	 * Helper method to calculate average of a specific SessionBewertung attribute by username.
+	 * Helper method to aggregate all ratings of a user. The database groups the ratings by their values,
+	 * so averages and histograms of all three attributes are computed in one pass over at most 11³ rows.
 	 * @param username Username of the user
-	 * @param mapper Function to map attributes of the SessionBewertung
-	 * @return
+	 * @return The aggregated statistics of the user's ratings
 	 */
-	private Double getAverageByUsername(
-			String username,
-			Function<SessionBewertung, Integer> mapper) {
-
-		List<SessionBeendetEvent> events = sessionBeendetEventRepository.findAllByUsername(username);
-
-		if (events.isEmpty()) return 0.0;
-
-		int sum = events.stream()
-				.map(SessionBeendetEvent::getBewertung)
-				.map(mapper)
-				.reduce(0, Integer::sum);
-
-		return sum / (double) events.size();
-	}
-
-	/**
-	 * Helper method to create a histogram of a specific SessionBewertung attribute by username.
-	 * @param username Username of the user
-	 * @param mapper Function to map attributes of the SessionBewertung
-	 * @return A map representing the histogram with 10 bins.
-	 */
-	private Map<Integer, Integer> getHistogramByUsername(String username,
-	                                                     Function<SessionBewertung, Integer> mapper) {
-		List<SessionBeendetEvent> events = sessionBeendetEventRepository.findAllByUsername(username);
-		Map<Integer, Integer> histogram = new HashMap<>();
-
-		for (int i = 0; i <= 10; i++) histogram.put(i, 0);
-
-		for (int i = 0; i <= 10; i++) {
-			int j = i;
-			events.stream()
-					.map(SessionBeendetEvent::getBewertung)
-					.map(mapper)
-					.filter(bewertung -> bewertung == j)
-					.forEach(bewertung -> histogram.put(j, histogram.get(j) + 1));
-		}
-
-		return histogram;
+	private SessionBewertungStatistik statistik(String username) {
+		return SessionBewertungStatistik.aus(sessionBeendetEventRepository.countBewertungenByUsername(username));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.studyhub.track.application.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Averages and 0–10 histograms of all three rating dimensions, computed in a single pass over the
+ * grouped ratings of a user.
+ */
+public class SessionBewertungStatistik {
+
+	private static final int MAX_BEWERTUNG = 10;
+
+	private final int[] konzentration = new int[MAX_BEWERTUNG + 1];
+	private final int[] produktivitaet = new int[MAX_BEWERTUNG + 1];
+	private final int[] schwierigkeit = new int[MAX_BEWERTUNG + 1];
+
+	public static SessionBewertungStatistik aus(List<SessionBewertungHaeufigkeit> haeufigkeiten) {
+		SessionBewertungStatistik statistik = new SessionBewertungStatistik();
+		for (SessionBewertungHaeufigkeit h : haeufigkeiten) {
+			zaehle(statistik.konzentration, h.konzentrationBewertung(), h.anzahl());
+			zaehle(statistik.produktivitaet, h.produktivitaetBewertung(), h.anzahl());
+			zaehle(statistik.schwierigkeit, h.schwierigkeitBewertung(), h.anzahl());
+		}
+		return statistik;
+	}
+
+	public double durchschnittKonzentration() {
+		return durchschnitt(konzentration);
+	}
+
+	public double durchschnittProduktivitaet() {
+		return durchschnitt(produktivitaet);
+	}
+
+	public double durchschnittSchwierigkeit() {
+		return durchschnitt(schwierigkeit);
+	}
+
+	public Map<Integer, Integer> histogrammKonzentration() {
+		return histogramm(konzentration);
+	}
+
+	public Map<Integer, Integer> histogrammProduktivitaet() {
+		return histogramm(produktivitaet);
+	}
+
+	public Map<Integer, Integer> histogrammSchwierigkeit() {
+		return histogramm(schwierigkeit);
+	}
+
+	private static void zaehle(int[] zaehler, Integer bewertung, int anzahl) {
+		if (bewertung != null) zaehler[bewertung] += anzahl;
+	}
+
+	private static double durchschnitt(int[] zaehler) {
+		long summe = 0;
+		long anzahl = 0;
+		for (int bewertung = 0; bewertung <= MAX_BEWERTUNG; bewertung++) {
+			summe += (long) bewertung * zaehler[bewertung];
+			anzahl += zaehler[bewertung];
+		}
+		return anzahl == 0 ? 0.0 : summe / (double) anzahl;
+	}
+
+	private static Map<Integer, Integer> histogramm(int[] zaehler) {
+		Map<Integer, Integer> histogramm = new HashMap<>();
+		for (int bewertung = 0; bewertung <= MAX_BEWERTUNG; bewertung++) histogramm.put(bewertung, zaehler[bewertung]);
+		return histogramm;
+	}
+}
@@ -2,7 +2,6 @@ package com.studyhub.track.application.service;
 
 import com.studyhub.track.application.service.dto.SessionInfoDto;
 import com.studyhub.track.application.service.dto.SessionRequest;
-import com.studyhub.track.domain.model.session.Block;
 import com.studyhub.track.domain.model.session.Session;
 import com.studyhub.track.domain.model.session.SessionRepository;
 import org.springframework.stereotype.Service;
@@ -70,14 +69,7 @@ public class SessionService {
 	 */
 	@Transactional
 	public void deleteModuleFromBlocks(UUID modulId, String username) {
-		List<Session> userSessions = sessionRepository.findAllByUsername(username);
-		for(Session session : userSessions) {
-			List<Block> filteredBlocks = session.getBlocks()
-					.stream().filter(e -> !e.getModulId().equals(modulId))
-					.toList();
-			session.setBlocks(filteredBlocks);
-			sessionRepository.save(session);
-		}
+		sessionRepository.deleteBlocksByModulId(modulId, username);
 	}
 
 	/**
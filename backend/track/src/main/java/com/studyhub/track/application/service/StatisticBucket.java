@@ -0,0 +1,38 @@
+package com.studyhub.track.application.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularity in which learned seconds are summed up for the statistic charts.
+ */
+public enum StatisticBucket {
+	DAY("day"),
+	WEEK("week"),
+	MONTH("month");
+
+	private final String datePart;
+
+	StatisticBucket(String datePart) {
+		this.datePart = datePart;
+	}
+
+	/**
+	 * @return The field name used with PostgreSQL's {@code date_trunc}.
+	 */
+	public String getDatePart() {
+		return datePart;
+	}
+
+	/**
+	 * @return The first day of the bucket containing the date, like {@code date_trunc} does. Weeks start on Monday.
+	 */
+	public LocalDate startOf(LocalDate date) {
+		return switch (this) {
+			case DAY -> date;
+			case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			case MONTH -> date.withDayOfMonth(1);
+		};
+	}
+}
@@ -0,0 +1,7 @@
+package com.studyhub.track.application.service;
+
+public record StudyTimeSummary(
+		long secondsLearned,
+		int lerntage
+) {
+}
@@ -11,4 +11,5 @@ public interface LernplanRepository {
 	int deleteByFachId(UUID fachId);
 	void setIsActiveOfLernplan(UUID fachId, boolean isActive);
 	void deactivateAllByUsername(String username);
+	int deleteTageBySessionId(UUID sessionId, String username);
 }
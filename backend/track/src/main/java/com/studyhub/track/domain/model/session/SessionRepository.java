@@ -1,5 +1,6 @@
 package com.studyhub.track.domain.model.session;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -8,4 +9,6 @@ public interface SessionRepository {
 	List<Session> findAllByUsername(String username);
     long deleteByFachId(UUID fachId);
 	Session findSessionByFachId(UUID fachId);
+	int deleteBlocksByModulId(UUID modulId, String username);
+	List<Session> findAllByFachIdIn(Collection<UUID> fachIds);
 }
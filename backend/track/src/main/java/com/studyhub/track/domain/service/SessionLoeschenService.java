@@ -2,12 +2,9 @@ package com.studyhub.track.domain.service;
 
 import com.studyhub.track.domain.model.lernplan.LernplanRepository;
 import com.studyhub.track.domain.model.session.SessionRepository;
-import com.studyhub.track.domain.model.lernplan.Lernplan;
-import com.studyhub.track.domain.model.lernplan.Tag;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -32,17 +29,6 @@ public class SessionLoeschenService {
 	@Transactional
 	public void sessionLoeschen(UUID sessionId, String username) {
 		sessionRepository.deleteByFachId(sessionId);
-		List<Lernplan> lernplaene = lernplanRepository.findAllByUsername(username);
-
-		for (Lernplan lernplan : lernplaene) {
-			List<Tag> tage = lernplan.getTagesListe();
-
-			boolean removed = tage.removeIf(tag -> sessionId.equals(tag.getSessionId()));
-
-			if(removed) {
-				lernplanRepository.save(lernplan);
-				removed = false;
-			}
-		}
+		lernplanRepository.deleteTageBySessionId(sessionId, username);
 	}
 }
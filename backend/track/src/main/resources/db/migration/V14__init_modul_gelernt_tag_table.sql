@@ -0,0 +1,13 @@
+create table modul_gelernt_tag(
+    username varchar(200) not null,
+    datum date not null,
+    modul_id uuid not null,
+    seconds_learned bigint not null,
+    event_count int not null,
+    primary key (username, datum, modul_id)
+);
+
+insert into modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count)
+select username, date_gelernt, modul_id, sum(seconds_learned), count(*)
+from modul_gelernt_event
+group by username, date_gelernt, modul_id;
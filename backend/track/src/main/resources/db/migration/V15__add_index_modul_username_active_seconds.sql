@@ -0,0 +1,2 @@
+create index if not exists idx_modul_username_active_seconds
+    on modul (username, active, seconds_learned desc, fach_id desc);
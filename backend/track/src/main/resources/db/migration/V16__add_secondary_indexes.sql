@@ -0,0 +1,22 @@
+create index if not exists idx_modul_fach_id on modul (fach_id);
+create index if not exists idx_modultermin_modul on modultermin (modul);
+
+create index if not exists idx_modul_gelernt_event_username on modul_gelernt_event (username);
+create index if not exists idx_modul_gelernt_event_modul_id on modul_gelernt_event (modul_id);
+create index if not exists idx_modul_gelernt_event_date_gelernt on modul_gelernt_event (date_gelernt);
+create index if not exists idx_modul_gelernt_tag_modul_id on modul_gelernt_tag (modul_id);
+
+create index if not exists idx_session_username on session (username);
+create index if not exists idx_session_fach_id on session (fach_id);
+create index if not exists idx_block_session on block (session);
+create index if not exists idx_block_modul_id on block (modul_id);
+
+create index if not exists idx_lernplan_username_active on lernplan (username, is_active);
+create index if not exists idx_lernplan_fach_id on lernplan (fach_id);
+create index if not exists idx_tag_lernplan on tag (lernplan);
+create index if not exists idx_tag_session_id on tag (session_id);
+
+create index if not exists idx_session_beendet_event_username on session_beendet_event (username);
+create index if not exists idx_session_beendet_event_session_id on session_beendet_event (session_id);
+create index if not exists idx_session_beendet_event_event_id on session_beendet_event (event_id);
+create index if not exists idx_session_bewertung_event on session_bewertung (session_beendet_event);
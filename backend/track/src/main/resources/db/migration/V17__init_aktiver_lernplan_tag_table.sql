@@ -0,0 +1,17 @@
+create table aktiver_lernplan_tag(
+    lernplan int not null references lernplan(id) on delete cascade,
+    username varchar(200) not null,
+    titel varchar(100),
+    lernplan_key int,
+    tag varchar(9),
+    beginn time,
+    session_id uuid
+);
+
+create index if not exists idx_aktiver_lernplan_tag_username_tag on aktiver_lernplan_tag (username, tag);
+
+insert into aktiver_lernplan_tag (lernplan, username, titel, lernplan_key, tag, beginn, session_id)
+select l.id, l.username, l.titel, t.lernplan_key, t.tag, t.beginn, t.session_id
+from lernplan l
+left join tag t on t.lernplan = l.id
+where l.is_active = true;
@@ -0,0 +1,119 @@
+package com.studyhub.track.adapter.db;
+
+import com.studyhub.track.adapter.db.modul.ModulDao;
+import com.studyhub.track.adapter.db.modul.ModulDto;
+import com.studyhub.track.adapter.db.modul.ModulListCache;
+import com.studyhub.track.adapter.db.modul.ModulMapper;
+import com.studyhub.track.adapter.db.modul.ModulRepositoryImpl;
+import com.studyhub.track.domain.model.modul.Modul;
+import com.studyhub.track.util.ModulMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ModulListCacheTest {
+
+	ModulDao modulDao;
+	SimpleMeterRegistry registry;
+	ModulRepositoryImpl repository;
+	Modul modul;
+
+	@BeforeEach
+	void init() {
+		modulDao = mock(ModulDao.class);
+		registry = new SimpleMeterRegistry();
+		repository = new ModulRepositoryImpl(modulDao, new ModulListCache(registry, 100, 60));
+		modul = ModulMother.initModul();
+		ModulDto dto = ModulMapper.toModulDto(modul, 1);
+		when(modulDao.findByUsername("user123")).thenReturn(List.of(dto));
+		when(modulDao.findByFachId(modul.getFachId())).thenReturn(Optional.of(dto));
+		when(modulDao.findUsernameByFachId(modul.getFachId())).thenReturn(Optional.of("user123"));
+		when(modulDao.save(any())).thenReturn(dto);
+	}
+
+	@Test
+	@DisplayName("Die Modulliste eines Benutzers wird nur beim ersten Aufruf aus der Datenbank geladen")
+	void test_01() {
+		List<Modul> first = repository.findByUsername("user123");
+		List<Modul> second = repository.findByUsername("user123");
+
+		verify(modulDao, times(1)).findByUsername("user123");
+		assertThat(second).isEqualTo(first);
+		assertThat(second.get(0)).isNotSameAs(first.get(0));
+		assertThat(registry.get("cache.gets").tag("cache", "modul_list").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.gets").tag("cache", "modul_list").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Speichern eines Moduls invalidiert die Modulliste des Benutzers")
+	void test_02() {
+		repository.findByUsername("user123");
+
+		repository.save(modul);
+		repository.findByUsername("user123");
+
+		verify(modulDao, times(2)).findByUsername("user123");
+	}
+
+	@Test
+	@DisplayName("Löschen eines Moduls invalidiert die Modulliste des Besitzers")
+	void test_03() {
+		repository.findByUsername("user123");
+
+		repository.deleteByUuid(modul.getFachId());
+		repository.findByUsername("user123");
+
+		verify(modulDao, times(2)).findByUsername("user123");
+	}
+
+	@Test
+	@DisplayName("Aktivieren eines Moduls invalidiert die Modulliste des Besitzers")
+	void test_04() {
+		repository.findByUsername("user123");
+
+		repository.setActive(modul.getFachId(), false);
+		repository.findByUsername("user123");
+
+		verify(modulDao, times(2)).findByUsername("user123");
+		verify(modulDao, never()).findByFachId(any());
+	}
+
+	@Test
+	@DisplayName("Schreibzugriffe invalidieren nur die Modulliste des betroffenen Benutzers")
+	void test_05() {
+		when(modulDao.findByUsername("anderer")).thenReturn(List.of());
+		repository.findByUsername("user123");
+		repository.findByUsername("anderer");
+
+		repository.saveAll(List.of(modul));
+		repository.findByUsername("user123");
+		repository.findByUsername("anderer");
+
+		verify(modulDao, times(2)).findByUsername("user123");
+		verify(modulDao, times(1)).findByUsername("anderer");
+	}
+
+	@Test
+	@DisplayName("Änderungen an einem gelesenen Modul verändern die Modulliste im Cache nicht")
+	void test_06() {
+		Modul gelesen = repository.findByUsername("user123").get(0);
+		int termine = gelesen.getModultermine().size();
+
+		gelesen.getModultermine().add(ModulMother.DEFAULT_MODULTERMINE.get(0));
+		gelesen.getKreditpunkte().setAnzahlPunkte(99);
+		gelesen.getSemester().setFachSemester(99);
+
+		Modul erneut = repository.findByUsername("user123").get(0);
+		assertThat(erneut.getModultermine()).hasSize(termine);
+		assertThat(erneut.getKreditpunkte().getAnzahlPunkte()).isNotEqualTo(99);
+		assertThat(erneut.getSemester().getFachSemester()).isNotEqualTo(99);
+	}
+}
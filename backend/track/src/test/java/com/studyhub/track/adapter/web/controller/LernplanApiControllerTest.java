@@ -21,6 +21,8 @@ import org.springframework.test.web.servlet.RequestBuilder;
 import java.util.List;
 import static com.studyhub.track.util.LernplanMother.initFullLernplan;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -112,6 +114,19 @@ public class LernplanApiControllerTest {
 					.andExpect(status().isOk())
 					.andExpect(content().json(objectMapper.writeValueAsString(lernplaene)));
 		}
+
+		@Test
+		@DisplayName("/is-today-planned fragt nur den heutigen Tag ab, ohne die Wochenübersicht zu erstellen")
+		void test_4() throws Exception {
+			when(jwtService.extractUsernameFromHeader(any())).thenReturn("testuser");
+			when(lernplanService.isTodayPlanned("testuser")).thenReturn(true);
+
+			mockMvc.perform(authorizedGet("/api/plan/v1/is-today-planned"))
+					.andExpect(status().isOk())
+					.andExpect(content().string("true"));
+
+			verify(lernplanService, never()).collectLernplanWochenuebersicht(any());
+		}
 	}
 
 	private RequestBuilder authorizedGet(String url) {
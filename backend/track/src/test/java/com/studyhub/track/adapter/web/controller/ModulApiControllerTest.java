@@ -8,9 +8,9 @@ import com.studyhub.track.adapter.security.SecurityConfig;
 import com.studyhub.track.adapter.web.controller.request.dto.AddTimeRequest;
 import com.studyhub.track.adapter.web.ModulForm;
 import com.studyhub.track.adapter.web.controller.api.ModulApiController;
-import com.studyhub.track.application.service.ModulUpdateService;
+import com.studyhub.track.application.service.ModulKeyset;
+import com.studyhub.track.application.service.ModulLernzeitIngestionService;
 import com.studyhub.track.application.service.dto.NeuerModulterminRequest;
-import com.studyhub.track.application.service.ModulEventService;
 import com.studyhub.track.application.service.ModulService;
 import com.studyhub.track.domain.model.modul.Modul;
 import com.studyhub.track.domain.model.modul.Terminart;
@@ -64,9 +64,6 @@ class ModulApiControllerTest {
 	@MockitoBean
 	private JWTService jwtService;
 
-	@MockitoBean
-	private ModulEventService modulEventService;
-
 	@MockitoBean
 	private AuthenticationService authenticationService;
 
@@ -74,7 +71,7 @@ class ModulApiControllerTest {
 	private PrometheusMetrics metrics;
 
 	@MockitoBean
-	private ModulUpdateService modulUpdateService;
+	private ModulLernzeitIngestionService lernzeitIngestionService;
 
 	@Autowired
 	private ModulApiController modulApiController;
@@ -290,5 +287,36 @@ class ModulApiControllerTest {
 						.content(objectMapper.writeValueAsString(req)))
 				.andExpect(status().isCreated());
 	}
-}
 
+	@Test
+	@DisplayName("Get-Request auf /get-active-modules mit Keyset liefert die nächste Seite")
+	@WithMockUser(username="testuser", roles = "USER")
+	void test_31() throws Exception {
+		UUID afterFachId = UUID.randomUUID();
+		when(jwtService.extractUsernameFromHeader(any())).thenReturn("testuser");
+
+		mvc.perform(get("/api/modul/v1/get-active-modules")
+						.param("limit", "10")
+						.param("afterSeconds", "120")
+						.param("afterFachId", afterFachId.toString()))
+				.andExpect(status().isOk());
+
+		verify(modulService).findActiveModuleByUsername(true, "testuser", new ModulKeyset(120, afterFachId), 10);
+	}
+
+	@Test
+	@DisplayName("Get-Request auf /get-active-modules mit ungültiger Seitengröße liefert 400")
+	@WithMockUser(username="testuser", roles = "USER")
+	void test_32() throws Exception {
+		mvc.perform(get("/api/modul/v1/get-active-modules").param("limit", "1000"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Get-Request auf /get-active-modules mit unvollständigem Keyset liefert 400")
+	@WithMockUser(username="testuser", roles = "USER")
+	void test_33() throws Exception {
+		mvc.perform(get("/api/modul/v1/get-active-modules").param("limit", "10").param("afterSeconds", "120"))
+				.andExpect(status().isBadRequest());
+	}
+}
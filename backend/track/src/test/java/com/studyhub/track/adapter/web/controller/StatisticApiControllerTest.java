@@ -5,10 +5,13 @@ import com.studyhub.track.adapter.security.SecurityConfig;
 import com.studyhub.track.adapter.web.controller.api.StatisticApiController;
 import com.studyhub.track.application.service.ModulEventService;
 import com.studyhub.track.application.service.ModulService;
+import com.studyhub.track.application.service.StatisticBucket;
 import com.studyhub.track.util.ApiEndpointArgumentProvider;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
@@ -16,6 +19,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -52,4 +58,23 @@ class StatisticApiControllerTest {
 		mvc.perform(get("/api/modul/v1/%s".formatted(endpoint)))
 				.andExpect(status().isOk());
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Das Chart kann für 90 Tage wochenweise abgefragt werden")
+	@WithMockUser(username = "testuser", roles = "USER")
+	void test_3() throws Exception {
+		mvc.perform(get("/api/modul/v1/chart").param("days", "90").param("bucket", "WEEK"))
+				.andExpect(status().isOk());
+
+		verify(modulEventService).getStatisticsForRecentDays(eq(90), eq(StatisticBucket.WEEK), any());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"0", "-7", "367"})
+	@DisplayName("Ungültige Zeiträume für das Chart werden abgelehnt")
+	@WithMockUser(username = "testuser", roles = "USER")
+	void test_4(String days) throws Exception {
+		mvc.perform(get("/api/modul/v1/chart").param("days", days))
+				.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,129 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.adapter.db.lernplan.AktiverLernplanRepositoryImpl;
+import com.studyhub.track.adapter.db.lernplan.LernplanDao;
+import com.studyhub.track.adapter.db.lernplan.LernplanRepositoryImpl;
+import com.studyhub.track.adapter.db.session.SessionDao;
+import com.studyhub.track.adapter.db.session.SessionRepositoryImpl;
+import com.studyhub.track.application.service.AktiverLernplanRepository;
+import com.studyhub.track.application.service.AktiverLernplanTag;
+import com.studyhub.track.domain.model.lernplan.LernplanRepository;
+import com.studyhub.track.domain.model.session.SessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Testcontainers
+@DataJdbcTest
+@Rollback(false)
+@Sql(scripts = "drop_lernplan_table.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"init_session_db_data.sql", "init_lernplan_db_data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class AktiverLernplanRepositoryTest {
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.2")
+			.withDatabaseName("lernplantest")
+			.withUsername("timo")
+			.withPassword("1234");
+
+	@DynamicPropertySource
+	static void overrideProps(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	LernplanDao lernplanDao;
+
+	@Autowired
+	SessionDao sessionDao;
+
+	AktiverLernplanRepository repository;
+
+	LernplanRepository lernplanRepository;
+
+	SessionRepository sessionRepository;
+
+	@BeforeEach
+	void setUp() {
+		repository = new AktiverLernplanRepositoryImpl(lernplanDao);
+		lernplanRepository = new LernplanRepositoryImpl(lernplanDao);
+		sessionRepository = new SessionRepositoryImpl(sessionDao);
+	}
+
+	@Test
+	@DisplayName("Die Projektion enthält nach dem Aktualisieren genau die Tage des aktiven Lernplans in Reihenfolge")
+	void test_01() {
+		repository.aktualisiere("timo");
+
+		assertThat(repository.findByUsername("timo")).containsExactly(
+				new AktiverLernplanTag("Sommersemester", DayOfWeek.MONDAY, LocalTime.of(8, 0),
+						UUID.fromString("11111111-1111-1111-1111-111111111111")),
+				new AktiverLernplanTag("Sommersemester", DayOfWeek.WEDNESDAY, LocalTime.of(10, 30),
+						UUID.fromString("33333333-3333-3333-3333-333333333333")));
+	}
+
+	@Test
+	@DisplayName("Ein aktiver Lernplan ohne Tage wird als einzelne Zeile ohne Tag abgebildet")
+	void test_02() {
+		repository.aktualisiere("alex");
+
+		assertThat(repository.findByUsername("alex"))
+				.containsExactly(new AktiverLernplanTag("Leerer Plan", null, null, null));
+	}
+
+	@Test
+	@DisplayName("Nach einem Wechsel des aktiven Lernplans spiegelt die Projektion den neuen Lernplan wider")
+	void test_03() {
+		repository.aktualisiere("timo");
+
+		lernplanRepository.deactivateAllByUsername("timo");
+		lernplanRepository.setIsActiveOfLernplan(UUID.fromString("77777777-7777-7777-7777-777777777777"), true);
+		repository.aktualisiere("timo");
+
+		assertThat(repository.findByUsername("timo"))
+				.extracting(AktiverLernplanTag::titel, AktiverLernplanTag::tag)
+				.containsExactly(tuple("Klausurphase", DayOfWeek.TUESDAY));
+		assertThat(repository.isTagGeplant("timo", DayOfWeek.TUESDAY)).isTrue();
+		assertThat(repository.isTagGeplant("timo", DayOfWeek.MONDAY)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Ein Tag gilt nur als geplant, solange die Session des Tages Blöcke hat")
+	void test_04() {
+		repository.aktualisiere("timo");
+		assertThat(repository.isTagGeplant("timo", DayOfWeek.MONDAY)).isTrue();
+
+		sessionRepository.deleteBlocksByModulId(UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa"), "timo");
+		sessionRepository.deleteBlocksByModulId(UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb"), "timo");
+
+		assertThat(repository.isTagGeplant("timo", DayOfWeek.MONDAY)).isFalse();
+		assertThat(repository.isTagGeplant("timo", DayOfWeek.WEDNESDAY)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Wird der aktive Lernplan gelöscht, verschwindet er auch aus der Projektion")
+	void test_05() {
+		repository.aktualisiere("timo");
+
+		lernplanRepository.deleteByFachId(UUID.fromString("66666666-6666-6666-6666-666666666666"));
+
+		assertThat(repository.findByUsername("timo")).isEmpty();
+	}
+}
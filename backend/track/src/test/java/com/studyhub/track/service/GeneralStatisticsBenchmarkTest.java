@@ -0,0 +1,146 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.adapter.db.modul.ModulDao;
+import com.studyhub.track.adapter.db.modul.ModulGelerntEventDao;
+import com.studyhub.track.adapter.db.modul.ModulGelerntEventRepositoryImpl;
+import com.studyhub.track.adapter.db.modul.ModulListCache;
+import com.studyhub.track.adapter.db.modul.ModulRepositoryImpl;
+import com.studyhub.track.application.service.ModulGelerntEventRepository;
+import com.studyhub.track.application.service.ModulRepository;
+import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
+import com.studyhub.track.domain.model.modul.Modul;
+import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vergleicht die Latenz der allgemeinen Statistiken vor (ein Query pro Kennzahl) und nach der
+ * Zusammenfassung in eine aggregierte Abfrage. Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=GeneralStatisticsBenchmarkTest}.
+ */
+@Testcontainers
+@DataJdbcTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GeneralStatisticsBenchmarkTest {
+
+	private static final String USERNAME = "benchmark-user";
+	private static final int MODULE = 15;
+	private static final int EVENTS = 5000;
+	private static final int ITERATIONS = 50;
+
+	private final Logger log = LoggerFactory.getLogger(GeneralStatisticsBenchmarkTest.class);
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.2")
+			.withDatabaseName("modultest")
+			.withUsername("timo")
+			.withPassword("1234");
+
+	@DynamicPropertySource
+	static void overrideProps(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	ModulDao modulDao;
+
+	@Autowired
+	ModulGelerntEventDao eventDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	ModulRepository modulRepository;
+	ModulGelerntEventRepository eventRepository;
+
+	@BeforeEach
+	void seed() {
+		modulRepository = new ModulRepositoryImpl(modulDao, new ModulListCache(new SimpleMeterRegistry(), 100, 60));
+		eventRepository = new ModulGelerntEventRepositoryImpl(eventDao);
+		Random random = new Random(42);
+		List<Object[]> module = new ArrayList<>();
+		List<UUID> modulIds = new ArrayList<>();
+		for (int i = 0; i < MODULE; i++) {
+			UUID fachId = UUID.randomUUID();
+			modulIds.add(fachId);
+			module.add(new Object[]{fachId, "modul" + i, random.nextInt(100_000), USERNAME, i % 2 == 0, i % 6 + 1});
+		}
+		jdbcTemplate.batchUpdate("insert into modul (fach_id, name, seconds_learned, username, active, semesterstufe) values (?, ?, ?, ?, ?, ?)", module);
+
+		List<Object[]> events = new ArrayList<>();
+		for (int i = 0; i < EVENTS; i++) {
+			LocalDate date = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700));
+			events.add(new Object[]{UUID.randomUUID(), modulIds.get(random.nextInt(MODULE)), USERNAME, random.nextInt(3600), Date.valueOf(date)});
+		}
+		jdbcTemplate.batchUpdate("insert into modul_gelernt_event (event_id, modul_id, username, seconds_learned, date_gelernt) values (?, ?, ?, ?, ?)", events);
+		jdbcTemplate.update("insert into modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count) " +
+				"select username, date_gelernt, modul_id, sum(seconds_learned), count(*) from modul_gelernt_event " +
+				"where username = ? group by username, date_gelernt, modul_id", USERNAME);
+	}
+
+	@Test
+	@DisplayName("Die aggregierte Abfrage liefert dieselben Statistiken schneller als die Einzelabfragen")
+	void benchmark() {
+		GeneralStatisticsDto before = statisticsWithSingleQueries();
+		GeneralStatisticsDto after = modulRepository.getGeneralStatistics(USERNAME);
+		assertThat(after).isEqualTo(before);
+
+		long beforeNanos = measure(this::statisticsWithSingleQueries);
+		long afterNanos = measure(() -> modulRepository.getGeneralStatistics(USERNAME));
+
+		log.info("general statistics for {} events: before={}µs, after={}µs per call",
+				EVENTS, beforeNanos / ITERATIONS / 1000, afterNanos / ITERATIONS / 1000);
+		assertThat(afterNanos).isLessThan(beforeNanos);
+	}
+
+	private long measure(Runnable runnable) {
+		for (int i = 0; i < 5; i++) runnable.run();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) runnable.run();
+		return System.nanoTime() - start;
+	}
+
+	private GeneralStatisticsDto statisticsWithSingleQueries() {
+		GeneralStatisticsDto dto = new GeneralStatisticsDto();
+		Integer total = modulRepository.getTotalStudyTime(USERNAME);
+		dto.setTotalStudyTime(total == null ? 0 : total);
+
+		Map<Integer, Integer> perSemester = new HashMap<>();
+		for (Modul modul : modulRepository.findByUsername(USERNAME)) {
+			perSemester.merge(modul.getSemesterstufe(), modul.getSecondsLearned(), Integer::sum);
+		}
+		dto.setTotalStudyTimePerSemester(perSemester);
+
+		List<ModulGelerntEvent> events = eventRepository.getAllByUsername(USERNAME);
+		long days = events.stream().map(ModulGelerntEvent::dateGelernt).distinct().count();
+		int sum = events.stream().mapToInt(ModulGelerntEvent::secondsLearned).sum();
+		dto.setDurchschnittlicheLernzeitProTag(days == 0 ? 0 : (int) Math.round((double) sum / days));
+
+		modulRepository.countActiveModules(USERNAME);
+		dto.setNumberActiveModules(modulRepository.countActiveModules(USERNAME));
+		dto.setNumberNotActiveModules(modulRepository.countNotActiveModules(USERNAME));
+		dto.setMaxStudiedModul(modulRepository.findByMaxSeconds(USERNAME));
+		dto.setMinStudiedModul(modulRepository.findByMinSeconds(USERNAME));
+		return dto;
+	}
+}
@@ -1,16 +1,19 @@
 package com.studyhub.track.service;
 
+import com.studyhub.track.application.service.AktiverLernplanRepository;
 import com.studyhub.track.application.service.LernplanAktivierungsService;
 import com.studyhub.track.domain.model.lernplan.LernplanRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
 
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -20,6 +23,9 @@ public class LernplanAktivierungsServiceTest {
     @Mock
     private LernplanRepository lernplanRepository;
 
+    @Mock
+    private AktiverLernplanRepository aktiverLernplanRepository;
+
     @InjectMocks
     private LernplanAktivierungsService service;
 
@@ -34,4 +40,17 @@ public class LernplanAktivierungsServiceTest {
         verify(lernplanRepository, times(1)).deactivateAllByUsername(username);
         verify(lernplanRepository, times(1)).setIsActiveOfLernplan(desiredLernplanId, true);
     }
+
+    @Test
+    @DisplayName("Nach dem Aktivieren eines Lernplans wird die Projektion des aktiven Lernplans für den Benutzer aktualisiert")
+    void test_2() {
+        UUID desiredLernplanId = UUID.randomUUID();
+        String username = "peter77";
+
+        service.setActiveLernplan(desiredLernplanId, username);
+
+        InOrder inOrder = inOrder(lernplanRepository, aktiverLernplanRepository);
+        inOrder.verify(lernplanRepository).setIsActiveOfLernplan(desiredLernplanId, true);
+        inOrder.verify(aktiverLernplanRepository).aktualisiere(username);
+    }
 }
@@ -1,5 +1,9 @@
 package com.studyhub.track.service;
 
+import com.studyhub.track.application.service.AktiverLernplanRepository;
+import com.studyhub.track.application.service.AktiverLernplanTag;
+import com.studyhub.track.application.service.DateProvider;
+import com.studyhub.track.application.service.dto.LernplanTagesuebersicht;
 import com.studyhub.track.domain.model.lernplan.LernplanRepository;
 import com.studyhub.track.application.service.LernplanService;
 import com.studyhub.track.domain.model.session.SessionRepository;
@@ -12,7 +16,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import static com.studyhub.track.util.LernplanMother.*;
 import static com.studyhub.track.util.SessionMother.*;
@@ -28,6 +35,12 @@ public class LernplanServiceTest {
 	@Mock
 	private SessionRepository sessionRepository;
 
+	@Mock
+	private AktiverLernplanRepository aktiverLernplanRepository;
+
+	@Mock
+	private DateProvider dateProvider;
+
 	@InjectMocks
 	private LernplanService lernplanService;
 
@@ -60,10 +73,9 @@ public class LernplanServiceTest {
 	void test_3() {
 		String username = "testuser";
 		UUID sessionId = UUID.randomUUID();
-		Lernplan aktiverLernplan = initFullLernplan(sessionId);
 		Session s = createSessionWithTwoBlocks(sessionId);
-		when(lernplanRepository.findActiveByUsername(username)).thenReturn(aktiverLernplan);
-		when(sessionRepository.findSessionByFachId(sessionId)).thenReturn(s);
+		when(aktiverLernplanRepository.findByUsername(username)).thenReturn(aktiveTage(initFullLernplan(sessionId)));
+		when(sessionRepository.findAllByFachIdIn(Set.of(sessionId))).thenReturn(List.of(s));
 		LernplanWochenuebersicht expected = initFullLernplanWochenuebersicht(sessionId);
 
 		LernplanWochenuebersicht actual = lernplanService.collectLernplanWochenuebersicht(username);
@@ -110,4 +122,87 @@ public class LernplanServiceTest {
 		assertThat(result).isEqualTo(0);
 		verify(lernplanRepository, times(1)).deleteByFachId(fachId);
 	}
+
+	@Test
+	@DisplayName("Die Sessions der Wochenübersicht werden gesammelt in einer Abfrage geladen und nicht einzeln pro Tag.")
+	void test_7() {
+		String username = "testuser";
+		UUID sessionId = UUID.randomUUID();
+		when(aktiverLernplanRepository.findByUsername(username)).thenReturn(aktiveTage(initFullLernplanWithRandomSessions(sessionId)));
+		when(sessionRepository.findAllByFachIdIn(anyCollection())).thenReturn(List.of(createSessionWithTwoBlocks(sessionId)));
+
+		LernplanWochenuebersicht actual = lernplanService.collectLernplanWochenuebersicht(username);
+
+		verify(sessionRepository, times(1)).findAllByFachIdIn(argThat(ids -> ids.size() == 7));
+		verify(sessionRepository, never()).findSessionByFachId(any());
+		assertThat(actual.sessionList())
+				.as("Tage, deren Session nicht mehr existiert, werden übersprungen")
+				.extracting(LernplanTagesuebersicht::weekday)
+				.containsExactly("Dienstags");
+	}
+
+	@Test
+	@DisplayName("Ein aktiver Lernplan ohne Tage ergibt eine leere Wochenübersicht mit dem Titel des Lernplans.")
+	void test_8() {
+		String username = "testuser";
+		when(aktiverLernplanRepository.findByUsername(username))
+				.thenReturn(List.of(new AktiverLernplanTag("Leerer Plan", null, null, null)));
+
+		LernplanWochenuebersicht actual = lernplanService.collectLernplanWochenuebersicht(username);
+
+		assertThat(actual).isEqualTo(new LernplanWochenuebersicht("Leerer Plan", List.of()));
+	}
+
+	@Test
+	@DisplayName("Ohne aktiven Lernplan wird keine Wochenübersicht erstellt.")
+	void test_9() {
+		when(aktiverLernplanRepository.findByUsername("testuser")).thenReturn(List.of());
+
+		LernplanWochenuebersicht actual = lernplanService.collectLernplanWochenuebersicht("testuser");
+
+		assertThat(actual).isNull();
+	}
+
+	@Test
+	@DisplayName("Ob heute gelernt werden soll, wird nur für den heutigen Wochentag abgefragt.")
+	void test_10() {
+		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 6, 4));
+		when(aktiverLernplanRepository.isTagGeplant("testuser", DayOfWeek.WEDNESDAY)).thenReturn(true);
+
+		boolean isTodayPlanned = lernplanService.isTodayPlanned("testuser");
+
+		assertThat(isTodayPlanned).isTrue();
+		verify(aktiverLernplanRepository, never()).findByUsername(any());
+	}
+
+	@Test
+	@DisplayName("Wird ein aktiver Lernplan bearbeitet, wird die Projektion des aktiven Lernplans aktualisiert.")
+	void test_11() {
+		Lernplan alterPlan = initFullLernplan();
+		when(lernplanRepository.findByFachId(alterPlan.getFachId())).thenReturn(alterPlan);
+		when(lernplanRepository.save(alterPlan)).thenReturn(alterPlan);
+
+		lernplanService.saveBearbeitetenLernplan(alterPlan);
+
+		verify(aktiverLernplanRepository, times(1)).aktualisiere("testuser");
+	}
+
+	@Test
+	@DisplayName("Wird ein inaktiver Lernplan bearbeitet, bleibt die Projektion des aktiven Lernplans unverändert.")
+	void test_12() {
+		Lernplan alterPlan = initFullLernplan();
+		alterPlan.setActive(false);
+		when(lernplanRepository.findByFachId(alterPlan.getFachId())).thenReturn(alterPlan);
+		when(lernplanRepository.save(alterPlan)).thenReturn(alterPlan);
+
+		lernplanService.saveBearbeitetenLernplan(alterPlan);
+
+		verify(aktiverLernplanRepository, never()).aktualisiere(any());
+	}
+
+	private static List<AktiverLernplanTag> aktiveTage(Lernplan lernplan) {
+		return lernplan.getTagesListe().stream()
+				.map(tag -> new AktiverLernplanTag(lernplan.getTitel(), tag.getTag(), tag.getBeginn(), tag.getSessionId()))
+				.toList();
+	}
 }
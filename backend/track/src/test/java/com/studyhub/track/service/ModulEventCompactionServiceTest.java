@@ -0,0 +1,30 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.application.service.DateProvider;
+import com.studyhub.track.application.service.ModulEventCompactionService;
+import com.studyhub.track.application.service.ModulGelerntEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ModulEventCompactionServiceTest {
+
+	@Test
+	@DisplayName("Events, die älter als die Aufbewahrungsdauer sind, werden gelöscht")
+	void test_01() {
+		ModulGelerntEventRepository eventRepo = mock(ModulGelerntEventRepository.class);
+		DateProvider dateProvider = mock(DateProvider.class);
+		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 4, 1));
+		when(eventRepo.deleteAllBefore(LocalDate.of(2025, 1, 1))).thenReturn(12);
+		ModulEventCompactionService service = new ModulEventCompactionService(eventRepo, dateProvider, 90);
+
+		int deleted = service.compactEvents();
+
+		assertThat(deleted).isEqualTo(12);
+		verify(eventRepo, times(1)).deleteAllBefore(LocalDate.of(2025, 1, 1));
+	}
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -41,9 +42,16 @@ class ModulEventServiceTest {
 				ModulMother.initModulWithNameAndUsername("Mathe", "timo123"),
 				ModulMother.initModulWithNameAndUsername("AlDat", "timo123"));
 
+		List<ModulSecondsPerDate> sums = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			for (Modul modul : modules) {
+				sums.add(new ModulSecondsPerDate(LocalDate.of(2025, 1, 10).minusDays(i), modul.getFachId(), 20));
+			}
+		}
+
 		when(modulRepo.findByUsername("timo123")).thenReturn(modules);
 		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 1, 10));
-		when(eventRepo.getSumSecondsLearned(any(), any(), any())).thenReturn(20);
+		when(eventRepo.getSumSecondsLearnedPerDate(LocalDate.of(2025, 1, 4), LocalDate.of(2025, 1, 10), "timo123", StatisticBucket.DAY)).thenReturn(sums);
 
 		Map<LocalDate, List<ModulStat>> res = service.getStatisticsForRecentDays(7, "timo123");
 
@@ -64,31 +72,56 @@ class ModulEventServiceTest {
 
 		when(modulRepo.findByUsername("timo123")).thenReturn(modules);
 		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 1, 10));
-		when(eventRepo.getSumSecondsLearned(any(), any(), any())).thenReturn(0);
+		when(eventRepo.getSumSecondsLearnedPerDate(any(), any(), any(), any())).thenReturn(List.of());
 
 		Map<LocalDate, List<ModulStat>> res = service.getStatisticsForRecentDays(7, "token");
 
 		assertThat(res).isEmpty();
 	}
 
+	@Test
+	@DisplayName("Die Lerndaten werden über eine einzige Bereichsabfrage pro Woche zusammengefasst")
+	void test_07() {
+		Modul mathe = ModulMother.initModulWithNameAndUsername("Mathe", "timo123");
+		Modul aldat = ModulMother.initModulWithNameAndUsername("AlDat", "timo123");
+		when(modulRepo.findByUsername("timo123")).thenReturn(List.of(mathe, aldat));
+		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 1, 31));
+		when(eventRepo.getSumSecondsLearnedPerDate(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 31), "timo123", StatisticBucket.WEEK)).thenReturn(List.of(
+				new ModulSecondsPerDate(LocalDate.of(2025, 1, 27), aldat.getFachId(), 300),
+				new ModulSecondsPerDate(LocalDate.of(2025, 1, 27), mathe.getFachId(), 100),
+				new ModulSecondsPerDate(LocalDate.of(2025, 1, 6), UUID.randomUUID(), 50)));
+
+		Map<LocalDate, List<ModulStat>> res = service.getStatisticsForRecentDays(30, StatisticBucket.WEEK, "timo123");
+
+		assertThat(res).containsOnlyKeys(LocalDate.of(2025, 1, 27));
+		assertThat(res.get(LocalDate.of(2025, 1, 27))).containsExactly(
+				new ModulStat("Mathe", "100"),
+				new ModulStat("AlDat", "300"));
+		verify(eventRepo, never()).getSumSecondsLearned(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Beginnt das Zeitfenster mitten in der Woche oder im Monat, wird ab dem Beginn der Woche bzw. des Monats summiert")
+	void test_08() {
+		Modul mathe = ModulMother.initModulWithNameAndUsername("Mathe", "timo123");
+		when(modulRepo.findByUsername("timo123")).thenReturn(List.of(mathe));
+		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 1, 17));
+		when(eventRepo.getSumSecondsLearnedPerDate(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 17), "timo123", StatisticBucket.WEEK)).thenReturn(List.of(
+				new ModulSecondsPerDate(LocalDate.of(2025, 1, 6), mathe.getFachId(), 200)));
+
+		Map<LocalDate, List<ModulStat>> res = service.getStatisticsForRecentDays(9, StatisticBucket.WEEK, "timo123");
+		service.getStatisticsForRecentDays(30, StatisticBucket.MONTH, "timo123");
+
+		assertThat(res).containsOnlyKeys(LocalDate.of(2025, 1, 6));
+		verify(eventRepo).getSumSecondsLearnedPerDate(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 17), "timo123", StatisticBucket.WEEK);
+		verify(eventRepo).getSumSecondsLearnedPerDate(LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 17), "timo123", StatisticBucket.MONTH);
+	}
+
 	@Test
 	@DisplayName("Die durchschnittliche Lernzeit eines Users an 6 gelernten Tagen wird korrekt berechnet.")
 	void test_03() {
 		String username = "timo123";
-		UUID modulAId = UUID.randomUUID();
-		UUID modulBId = UUID.randomUUID();
-		List<ModulGelerntEvent> events = List.of(
-				new ModulGelerntEvent(UUID.randomUUID(), modulAId, "timo123",  20, LocalDate.of(2025, 1, 10)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulBId, "timo123",  20, LocalDate.of(2025, 1, 10)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulAId,"timo123",  30, LocalDate.of(2025, 1, 11)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulBId, "timo123",  30, LocalDate.of(2025, 1, 12)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulAId, "timo123",  30, LocalDate.of(2025, 1, 12)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulBId, "timo123",  30, LocalDate.of(2025, 1, 12)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulAId, "timo123",  30, LocalDate.of(2025, 1, 13)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulBId, "timo123",  30, LocalDate.of(2025, 1, 14)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulAId, "timo123",  30, LocalDate.of(2025, 1, 15)),
-				new ModulGelerntEvent(UUID.randomUUID(),modulBId, "timo123", 30, LocalDate.of(2025, 1, 15)));
-		when(eventRepo.getAllByUsername(username)).thenReturn(events);
+		when(eventRepo.getStudyTimeSummary(username)).thenReturn(new StudyTimeSummary(280, 6));
 
 		int res = service.computeAverageStudyTimePerDay(username);
 
@@ -99,8 +132,7 @@ class ModulEventServiceTest {
 	@DisplayName("Wenn keine Events für eine User gefunden werden, wird 0 als durchschnittliche Lernzeit am Tag berechnet")
 	void test_04() {
 		String username = "timo123";
-		List<ModulGelerntEvent> events = List.of();
-		when(eventRepo.getAllByUsername(username)).thenReturn(events);
+		when(eventRepo.getStudyTimeSummary(username)).thenReturn(new StudyTimeSummary(0, 0));
 
 		int res = service.computeAverageStudyTimePerDay(username);
 
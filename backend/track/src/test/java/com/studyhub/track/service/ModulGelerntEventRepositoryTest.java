@@ -2,6 +2,9 @@ package com.studyhub.track.service;
 
 import com.studyhub.track.adapter.db.modul.*;
 import com.studyhub.track.application.service.ModulGelerntEventRepository;
+import com.studyhub.track.application.service.ModulSecondsPerDate;
+import com.studyhub.track.application.service.StatisticBucket;
+import com.studyhub.track.application.service.StudyTimeSummary;
 import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -90,4 +93,46 @@ class ModulGelerntEventRepositoryTest {
 		List<ModulGelerntEvent> events = repository.getAllByUsername(username);
 		assertThat(events).isEmpty();
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Die gelernten Sekunden eines Zeitraums werden in einer Abfrage pro Tag und Modul summiert")
+	void test_5() {
+		List<ModulSecondsPerDate> sums = repository.getSumSecondsLearnedPerDate(LocalDate.of(2025, 2, 25), LocalDate.of(2025, 3, 7), "timo123", StatisticBucket.DAY);
+
+		assertThat(sums).containsExactly(
+				new ModulSecondsPerDate(LocalDate.of(2025, 3, 1), UUID.fromString("b3a1e8f2-7d6a-4b3e-90a8-b9e2345d6789"), 300));
+	}
+
+	@Test
+	@DisplayName("Bei monatlicher Zusammenfassung ist der Schlüssel der erste Tag des Monats")
+	void test_6() {
+		List<ModulSecondsPerDate> sums = repository.getSumSecondsLearnedPerDate(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), "timo123", StatisticBucket.MONTH);
+
+		assertThat(sums).extracting(ModulSecondsPerDate::date).containsExactly(LocalDate.of(2025, 3, 1));
+	}
+
+	@Test
+	@DisplayName("Gespeicherte Events werden in der Tagessumme aufaddiert")
+	void test_7() {
+		UUID modulId = UUID.randomUUID();
+		LocalDate heute = LocalDate.of(2025, 4, 1);
+		repository.save(new ModulGelerntEvent(UUID.randomUUID(), modulId, "peter89", 20, heute));
+		repository.save(new ModulGelerntEvent(UUID.randomUUID(), modulId, "peter89", 40, heute));
+
+		assertThat(repository.getSumSecondsLearned(heute, "peter89", modulId)).isEqualTo(60);
+		assertThat(repository.getStudyTimeSummary("peter89")).isEqualTo(new StudyTimeSummary(60, 1));
+	}
+
+	@Test
+	@DisplayName("Alte Events werden gelöscht, ohne dass sich die Statistiken ändern")
+	void test_8() {
+		StudyTimeSummary vorher = repository.getStudyTimeSummary("timo123");
+
+		int deleted = repository.deleteAllBefore(LocalDate.of(2025, 3, 5));
+
+		assertThat(deleted).isEqualTo(6);
+		assertThat(repository.getAllByUsername("timo123")).isEmpty();
+		assertThat(repository.getStudyTimeSummary("timo123")).isEqualTo(vorher);
+		assertThat(vorher).isEqualTo(new StudyTimeSummary(300, 1));
+	}
+}
@@ -0,0 +1,189 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.application.service.*;
+import com.studyhub.track.domain.model.modul.ModulGelerntEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ModulLernzeitIngestionServiceTest {
+	ModulUpdateService modulUpdateService;
+	ModulEventService modulEventService;
+	ModulLernzeitBatchRepository batchRepository;
+	DateProvider dateProvider;
+	SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void init() {
+		modulUpdateService = mock(ModulUpdateService.class);
+		modulEventService = mock(ModulEventService.class);
+		batchRepository = mock(ModulLernzeitBatchRepository.class);
+		dateProvider = mock(DateProvider.class);
+		registry = new SimpleMeterRegistry();
+		when(dateProvider.getTodayDate()).thenReturn(LocalDate.of(2025, 1, 10));
+		when(batchRepository.saveLernzeitBatch(any())).thenAnswer(i -> i.getArgument(0));
+	}
+
+	private ModulLernzeitIngestionService service(boolean writeBehind) {
+		return service(writeBehind, 100, 3);
+	}
+
+	private ModulLernzeitIngestionService service(boolean writeBehind, int maxBufferSize, int maxRetries) {
+		return new ModulLernzeitIngestionService(modulUpdateService, modulEventService, batchRepository, dateProvider, registry,
+				writeBehind, maxBufferSize, maxRetries);
+	}
+
+	@Test
+	@DisplayName("Ohne Write-Behind wird die Lernzeit sofort gespeichert")
+	void test_01() {
+		ModulLernzeitIngestionService service = service(false);
+		UUID modulId = UUID.randomUUID();
+
+		service.recordLernzeit(modulId, 30, "timo123");
+
+		verify(modulUpdateService).updateSeconds(modulId, 30);
+		verify(modulEventService).saveEvent(30, modulId, "timo123");
+		assertThat(service.getBufferDepth()).isZero();
+	}
+
+	@Test
+	@DisplayName("Mit Write-Behind werden Inkremente pro Modul zusammengefasst und erst beim Flush gespeichert")
+	@SuppressWarnings("unchecked")
+	void test_02() {
+		ModulLernzeitIngestionService service = service(true);
+		UUID modulA = UUID.randomUUID();
+		UUID modulB = UUID.randomUUID();
+
+		service.recordLernzeit(modulA, 30, "timo123");
+		service.recordLernzeit(modulA, 20, "timo123");
+		service.recordLernzeit(modulB, 10, "timo123");
+
+		verifyNoInteractions(modulUpdateService, modulEventService, batchRepository);
+		assertThat(service.getBufferDepth()).isEqualTo(2);
+		assertThat(registry.get("modul_lernzeit_buffer_depth").gauge().value()).isEqualTo(2);
+
+		service.flush();
+
+		ArgumentCaptor<List<ModulGelerntEvent>> captor = ArgumentCaptor.forClass(List.class);
+		verify(batchRepository, times(1)).saveLernzeitBatch(captor.capture());
+		assertThat(captor.getValue())
+				.extracting(ModulGelerntEvent::modulId, ModulGelerntEvent::secondsLearned)
+				.containsExactlyInAnyOrder(
+						tuple(modulA, 50),
+						tuple(modulB, 10));
+		assertThat(service.getBufferDepth()).isZero();
+		assertThat(registry.get("modul_lernzeit_flush").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Schlägt der Flush fehl, bleiben die Inkremente für den nächsten Flush erhalten")
+	void test_03() {
+		ModulLernzeitIngestionService service = service(true);
+		when(batchRepository.saveLernzeitBatch(any())).thenThrow(new RuntimeException("db down"));
+
+		service.recordLernzeit(UUID.randomUUID(), 30, "timo123");
+		service.flush();
+
+		assertThat(service.getBufferDepth()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Beim Herunterfahren wird der Puffer geleert")
+	void test_04() {
+		ModulLernzeitIngestionService service = service(true);
+
+		service.recordLernzeit(UUID.randomUUID(), 30, "timo123");
+		service.flushOnShutdown();
+
+		verify(batchRepository, times(1)).saveLernzeitBatch(any());
+		assertThat(service.getBufferDepth()).isZero();
+	}
+
+	@Test
+	@DisplayName("Ein leerer Puffer löst keinen Datenbankzugriff aus")
+	void test_05() {
+		ModulLernzeitIngestionService service = service(true);
+
+		service.flush();
+
+		verifyNoInteractions(batchRepository);
+	}
+
+	@Test
+	@DisplayName("Nach der maximalen Anzahl fehlgeschlagener Flushes wird die Lernzeit sofort gespeichert, gepufferte Lernzeit bleibt erhalten")
+	@SuppressWarnings("unchecked")
+	void test_06() {
+		ModulLernzeitIngestionService service = service(true, 100, 2);
+		UUID modulA = UUID.randomUUID();
+		UUID modulB = UUID.randomUUID();
+		when(batchRepository.saveLernzeitBatch(any())).thenThrow(new RuntimeException("db down"));
+
+		service.recordLernzeit(modulA, 30, "timo123");
+		service.flush();
+		service.flush();
+		service.flush();
+		service.recordLernzeit(modulB, 10, "timo123");
+
+		assertThat(service.getBufferDepth()).isEqualTo(1);
+		verify(modulUpdateService).updateSeconds(modulB, 10);
+		verify(modulEventService).saveEvent(10, modulB, "timo123");
+		assertThat(registry.get("modul_lernzeit_flush_failed").counter().count()).isEqualTo(3);
+
+		doAnswer(i -> i.getArgument(0)).when(batchRepository).saveLernzeitBatch(any());
+		service.flush();
+		service.recordLernzeit(modulB, 20, "timo123");
+
+		ArgumentCaptor<List<ModulGelerntEvent>> captor = ArgumentCaptor.forClass(List.class);
+		verify(batchRepository, times(4)).saveLernzeitBatch(captor.capture());
+		assertThat(captor.getValue()).extracting(ModulGelerntEvent::modulId, ModulGelerntEvent::secondsLearned)
+				.containsExactly(tuple(modulA, 30));
+		assertThat(service.getBufferDepth()).isEqualTo(1);
+		verify(modulUpdateService, never()).updateSeconds(modulB, 20);
+	}
+
+	@Test
+	@DisplayName("Ist der Puffer voll, wird die Lernzeit neuer Einträge sofort gespeichert")
+	void test_07() {
+		ModulLernzeitIngestionService service = service(true, 1, 3);
+		UUID modulA = UUID.randomUUID();
+		UUID modulB = UUID.randomUUID();
+
+		service.recordLernzeit(modulA, 30, "timo123");
+		service.recordLernzeit(modulA, 20, "timo123");
+		service.recordLernzeit(modulB, 10, "timo123");
+
+		assertThat(service.getBufferDepth()).isEqualTo(1);
+		verify(modulUpdateService).updateSeconds(modulB, 10);
+		verify(modulEventService).saveEvent(10, modulB, "timo123");
+		verify(modulUpdateService, never()).updateSeconds(eq(modulA), anyInt());
+	}
+
+	@Test
+	@DisplayName("Ist die Datenbank auch für das sofortige Speichern nicht erreichbar, schlägt die Anfrage fehl")
+	void test_08() {
+		ModulLernzeitIngestionService service = service(true, 100, 1);
+		UUID modulId = UUID.randomUUID();
+		when(batchRepository.saveLernzeitBatch(any())).thenThrow(new RuntimeException("db down"));
+		doThrow(new RuntimeException("db down")).when(modulUpdateService).updateSeconds(any(), anyInt());
+
+		service.recordLernzeit(modulId, 30, "timo123");
+		service.flush();
+
+		assertThatThrownBy(() -> service.recordLernzeit(modulId, 10, "timo123")).hasMessage("db down");
+		assertThat(service.getBufferDepth()).isEqualTo(1);
+	}
+}
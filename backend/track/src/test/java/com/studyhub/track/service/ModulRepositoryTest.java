@@ -1,10 +1,14 @@
 package com.studyhub.track.service;
 
 import com.studyhub.track.adapter.db.modul.ModulDao;
+import com.studyhub.track.adapter.db.modul.ModulListCache;
 import com.studyhub.track.adapter.db.modul.ModulRepositoryImpl;
+import com.studyhub.track.application.service.ModulKeyset;
 import com.studyhub.track.application.service.ModulRepository;
+import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
 import com.studyhub.track.domain.model.modul.*;
 import com.studyhub.track.util.ModulMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,7 +60,7 @@ class ModulRepositoryTest {
 
 	@BeforeEach
 	void setUp() {
-		repository = new ModulRepositoryImpl(modulRepository);
+		repository = new ModulRepositoryImpl(modulRepository, new ModulListCache(new SimpleMeterRegistry(), 100, 60));
 	}
 
 	@Test
@@ -260,4 +265,50 @@ class ModulRepositoryTest {
 
 		assertThat(success2).isFalse();
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Die allgemeinen Statistiken eines Users werden in einer Abfrage korrekt berechnet")
+	void test_23() {
+		GeneralStatisticsDto stats = repository.getGeneralStatistics("peter4");
+
+		assertThat(stats.getTotalStudyTime()).isEqualTo(90);
+		assertThat(stats.getTotalStudyTimePerSemester()).containsExactlyEntriesOf(Map.of(1, 90));
+		assertThat(stats.getNumberActiveModules()).isZero();
+		assertThat(stats.getNumberNotActiveModules()).isEqualTo(4);
+		assertThat(stats.getMaxStudiedModul()).isEqualTo("mod4");
+		assertThat(stats.getMinStudiedModul()).isEqualTo("mod6");
+		assertThat(stats.getDurchschnittlicheLernzeitProTag()).isZero();
+	}
+
+	@Test
+	@DisplayName("Für einen User ohne Module liefern die allgemeinen Statistiken leere Werte")
+	void test_24() {
+		GeneralStatisticsDto stats = repository.getGeneralStatistics("unbekannt");
+
+		assertThat(stats.getTotalStudyTime()).isZero();
+		assertThat(stats.getTotalStudyTimePerSemester()).isEmpty();
+		assertThat(stats.getNumberActiveModules()).isZero();
+		assertThat(stats.getNumberNotActiveModules()).isZero();
+		assertThat(stats.getMaxStudiedModul()).isNull();
+	}
+
+	@Test
+	@DisplayName("Module eines Users werden absteigend nach gelernten Sekunden sortiert gefunden")
+	void test_25() {
+		List<Modul> module = repository.findActiveModuleByUsername(false, "peter4");
+
+		assertThat(module).extracting(Modul::getName).containsExactly("mod4", "mod5", "mod3", "mod6");
+	}
+
+	@Test
+	@DisplayName("Module eines Users werden seitenweise per Keyset gefunden")
+	void test_26() {
+		List<Modul> ersteSeite = repository.findActiveModuleByUsername(false, "peter4", null, 2);
+		Modul letztes = ersteSeite.get(ersteSeite.size() - 1);
+		List<Modul> zweiteSeite = repository.findActiveModuleByUsername(false, "peter4",
+				new ModulKeyset(letztes.getSecondsLearned(), letztes.getFachId()), 2);
+
+		assertThat(ersteSeite).extracting(Modul::getName).containsExactly("mod4", "mod5");
+		assertThat(zweiteSeite).extracting(Modul::getName).containsExactly("mod3", "mod6");
+	}
+}
@@ -1,6 +1,7 @@
 package com.studyhub.track.service;
 
 import com.studyhub.track.application.service.*;
+import com.studyhub.track.application.service.dto.GeneralStatisticsDto;
 import com.studyhub.track.domain.model.modul.Modul;
 import com.studyhub.track.util.ModulMother;
 import org.junit.jupiter.api.BeforeEach;
@@ -61,6 +62,14 @@ class ModulServiceTest {
 		verify(modulRepository).findActiveModuleByUsername(true, "user123");
 	}
 
+	@Test
+	@DisplayName("repo.findActiveModuleByUsername() wird mit Keyset und Seitengröße aufgerufen")
+	void test_25() {
+		ModulKeyset after = new ModulKeyset(100, UUID.randomUUID());
+		modulService.findActiveModuleByUsername(true, "user123", after, 20);
+		verify(modulRepository).findActiveModuleByUsername(true, "user123", after, 20);
+	}
+
 	@Test
 	@DisplayName("addTime funktioniert korrekt und addiert die Sekunden zum Modul")
 	void test_08() throws Exception {
@@ -240,4 +249,20 @@ class ModulServiceTest {
 
 		assertThat(actualSeconds).isEqualTo(0);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Hat ein User keine Module, wird für das meist und am wenigsten gelernte Modul ein Platzhalter zurückgegeben")
+	void test_24() {
+		GeneralStatisticsDto stats = new GeneralStatisticsDto();
+		stats.setNumberActiveModules(0);
+		stats.setNumberNotActiveModules(0);
+		when(modulRepository.getGeneralStatistics("peter")).thenReturn(stats);
+
+		GeneralStatisticsDto res = modulService.getGeneralStatistics("peter");
+
+		assertThat(res.getMaxStudiedModul()).isEqualTo("Keine Module verfügbar");
+		assertThat(res.getMinStudiedModul()).isEqualTo("Keine Module verfügbar");
+		verify(modulRepository, times(1)).getGeneralStatistics("peter");
+		verifyNoMoreInteractions(modulRepository);
+	}
+}
@@ -1,11 +1,13 @@
 package com.studyhub.track.service;
 
 import com.studyhub.track.adapter.db.modul.ModulDao;
+import com.studyhub.track.adapter.db.modul.ModulListCache;
 import com.studyhub.track.adapter.db.modul.ModulRepositoryImpl;
 import com.studyhub.track.application.service.ModulRepository;
 import com.studyhub.track.application.service.ModulUpdateService;
 import com.studyhub.track.domain.model.modul.Modul;
 import com.studyhub.track.util.ModulMother;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -56,7 +58,7 @@ public class ModulUpdateServiceTest {
 
 	@BeforeEach
 	void init() {
-		modulRepository = new ModulRepositoryImpl(modulDao);
+		modulRepository = new ModulRepositoryImpl(modulDao, new ModulListCache(new SimpleMeterRegistry(), 100, 60));
 		modulUpdateService = new ModulUpdateService(modulRepository);
 	}
 
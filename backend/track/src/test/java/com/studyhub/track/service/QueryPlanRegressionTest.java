@@ -0,0 +1,132 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.adapter.db.lernplan.LernplanDao;
+import com.studyhub.track.adapter.db.modul.ModulDao;
+import com.studyhub.track.adapter.db.modul.ModulGelerntEventDao;
+import com.studyhub.track.adapter.db.session.SessionBeendetEventDao;
+import com.studyhub.track.adapter.db.session.SessionDao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Führt EXPLAIN für jede Abfrage der DAOs auf einem Datensatz realistischer Größe aus und schlägt fehl,
+ * sobald eine davon per Sequential Scan gelesen wird.
+ */
+@Testcontainers
+@DataJdbcTest
+@Import(QueryPlanPruefung.Mitschnitt.class)
+@Sql(scripts = "query_plan_seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class QueryPlanRegressionTest {
+
+	// md5('modul42')::uuid, md5('session42')::uuid, md5('lernplan42')::uuid und md5('beendet42')::uuid
+	private static final UUID MODUL_ID = UUID.fromString("8104dd11-8349-4bdd-58a9-dda319adfddd");
+	private static final UUID SESSION_ID = UUID.fromString("5ed05397-b5f1-04a4-3938-8f7159769ed4");
+	private static final UUID LERNPLAN_ID = UUID.fromString("7bff8daf-160f-a781-2bfc-70a5c9556972");
+	private static final UUID BEENDET_EVENT_ID = UUID.fromString("080d8fb7-2cdf-c74b-dbf3-26e7af619d3e");
+
+	private static final QueryPlanPruefung PRUEFUNG = new QueryPlanPruefung(
+			List.of(ModulDao.class, ModulGelerntEventDao.class, LernplanDao.class, SessionDao.class, SessionBeendetEventDao.class),
+			Map.ofEntries(
+					entry("username", "'user42'"),
+					entry("fachId", "md5('modul42')::uuid"),
+					entry("modulId", "md5('modul42')::uuid"),
+					entry("sessionId", "md5('session42')::uuid"),
+					entry("fachIds", "md5('session42')::uuid, md5('session43')::uuid"),
+					entry("tag", "'MONDAY'"),
+					entry("afterFachId", "md5('modul43')::uuid"),
+					entry("active", "true"),
+					entry("isActive", "true"),
+					entry("limit", "20"),
+					entry("afterSeconds", "50000"),
+					entry("seconds", "60"),
+					entry("date", "DATE '2024-01-01'"),
+					entry("datum", "DATE '2024-01-01'"),
+					entry("from", "DATE '2024-01-01'"),
+					entry("to", "DATE '2024-01-07'"),
+					entry("datePart", "'day'"),
+					entry("cutoff", "DATE '2023-01-02'")),
+			// lesen bewusst alle Zeilen
+			Set.of("ModulDao.findAll", "ModulDao.findByActiveIsTrue", "ModulDao.findByActiveIsFalse", "ModulDao.isModulDbHealthy"))
+			.erzeugt("ModulDao.findByFachId", ModulDao.class, dao -> dao.findByFachId(MODUL_ID))
+			.erzeugt("ModulDao.findByUsername", ModulDao.class, dao -> dao.findByUsername("user42"))
+			.erzeugt("ModulDao.findByUsernameAndActiveOrderBySecondsLearnedDescFachIdDesc", ModulDao.class,
+					dao -> dao.findByUsernameAndActiveOrderBySecondsLearnedDescFachIdDesc("user42", true))
+			.erzeugt("ModulGelerntEventDao.findAllByUsername", ModulGelerntEventDao.class, dao -> dao.findAllByUsername("user42"))
+			.erzeugt("LernplanDao.findAllByUsername", LernplanDao.class, dao -> dao.findAllByUsername("user42"))
+			.erzeugt("LernplanDao.findByFachId", LernplanDao.class, dao -> dao.findByFachId(LERNPLAN_ID))
+			.erzeugt("SessionDao.findAllByUsername", SessionDao.class, dao -> dao.findAllByUsername("user42"))
+			.erzeugt("SessionDao.findByFachId", SessionDao.class, dao -> dao.findByFachId(SESSION_ID))
+			.erzeugt("SessionBeendetEventDao.findAllByUsername", SessionBeendetEventDao.class, dao -> dao.findAllByUsername("user42"))
+			.erzeugt("SessionBeendetEventDao.findAllBySessionId", SessionBeendetEventDao.class, dao -> dao.findAllBySessionId(SESSION_ID))
+			.erzeugt("SessionBeendetEventDao.findByEventId", SessionBeendetEventDao.class, dao -> dao.findByEventId(BEENDET_EVENT_ID));
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.2")
+			.withDatabaseName("modultest")
+			.withUsername("timo")
+			.withPassword("1234");
+
+	@DynamicPropertySource
+	static void overrideProps(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ApplicationContext context;
+
+	static Stream<Arguments> abfragen() {
+		return PRUEFUNG.abfragen();
+	}
+
+	static Stream<Arguments> aufrufe() {
+		return PRUEFUNG.aufrufe();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("abfragen")
+	@DisplayName("Keine Abfrage wird auf dem Testdatensatz per Sequential Scan ausgeführt")
+	void test_01(String abfrage, String sql) {
+		QueryPlanPruefung.assertKeinSeqScan(jdbcTemplate, abfrage, sql);
+	}
+
+	@Test
+	@DisplayName("Jede Methode ist durch den Plan-Test abgedeckt und jede Ausnahme gehört zu einer Methode")
+	void test_02() {
+		assertThat(PRUEFUNG.nichtAbgedeckt()).isEmpty();
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("aufrufe")
+	@DisplayName("Das von Spring Data JDBC erzeugte SQL, auch das Nachladen der Kind-Tabellen, liest keine Tabelle per Sequential Scan")
+	void test_03(String methode) {
+		PRUEFUNG.assertKeinSeqScan(context, jdbcTemplate, methode);
+	}
+}
@@ -3,6 +3,8 @@ package com.studyhub.track.service;
 import com.studyhub.track.adapter.db.session.SessionBeendetEventDao;
 import com.studyhub.track.adapter.db.session.SessionBeendetEventRepositoryImpl;
 import com.studyhub.track.application.service.SessionBeendetEventRepository;
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
+import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
 import com.studyhub.track.domain.model.session.SessionBeendetEvent;
 import com.studyhub.track.domain.model.session.SessionBewertung;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +19,10 @@ import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -110,4 +114,27 @@ class SessionBeendetEventRepositoryTest {
 
 		assertThat(actual).hasSize(3);
 	}
+
+	@Test
+	@DisplayName("Die Bewertungen eines Users werden nach ihren Werten gruppiert gezählt")
+	void test_06() {
+		List<SessionBewertungHaeufigkeit> actual = repository.countBewertungenByUsername("john_doe");
+
+		assertThat(actual).containsExactlyInAnyOrder(
+				new SessionBewertungHaeufigkeit(6, 5, 2, 1),
+				new SessionBewertungHaeufigkeit(7, 4, 3, 1),
+				new SessionBewertungHaeufigkeit(8, 5, 3, 1));
+	}
+
+	@Test
+	@DisplayName("Die Bewertungen einer Session werden in der Datenbank pro Tag gemittelt")
+	void test_07() {
+		UUID sessionId = UUID.fromString("21111111-1111-1111-1111-111111111113");
+
+		Map<LocalDate, SessionBewertungAveragesDto> actual = repository.findTagesdurchschnitteBySessionId(sessionId);
+
+		assertThat(actual).hasSize(3)
+				.containsEntry(LocalDate.of(2023, 10, 3), new SessionBewertungAveragesDto(6.0, 5.0, 2.0))
+				.containsEntry(LocalDate.of(2023, 10, 6), new SessionBewertungAveragesDto(8.0, 5.0, 3.0));
+	}
 }
@@ -0,0 +1,144 @@
+package com.studyhub.track.service;
+
+import com.studyhub.track.adapter.db.session.SessionBeendetEventDao;
+import com.studyhub.track.adapter.db.session.SessionBeendetEventRepositoryImpl;
+import com.studyhub.track.application.service.SessionBeendetEventRepository;
+import com.studyhub.track.application.service.SessionBewertungGeneralStatistikDto;
+import com.studyhub.track.application.service.SessionBewertungService;
+import com.studyhub.track.domain.model.session.SessionBeendetEvent;
+import com.studyhub.track.domain.model.session.SessionBewertung;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vergleicht die Bewertungsstatistik eines Users vor (Events pro Kennzahl laden, Histogramm mit elf
+ * Durchläufen) und nach der Umstellung auf eine gruppierte Abfrage mit einem Durchlauf.
+ * Ausführen mit {@code mvn test -Dbenchmark=true -Dtest=SessionBewertungBenchmarkTest}.
+ */
+@Testcontainers
+@DataJdbcTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SessionBewertungBenchmarkTest {
+
+	private static final String USERNAME = "benchmark-user";
+	private static final int EVENTS = 100_000;
+	private static final int ITERATIONS = 5;
+
+	private final Logger log = LoggerFactory.getLogger(SessionBewertungBenchmarkTest.class);
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15.2")
+			.withDatabaseName("sessiontest")
+			.withUsername("timo")
+			.withPassword("1234");
+
+	@DynamicPropertySource
+	static void overrideProps(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", postgres::getJdbcUrl);
+		registry.add("spring.datasource.username", postgres::getUsername);
+		registry.add("spring.datasource.password", postgres::getPassword);
+	}
+
+	@Autowired
+	SessionBeendetEventDao eventDao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	SessionBeendetEventRepository eventRepository;
+	SessionBewertungService service;
+
+	@BeforeEach
+	void seed() {
+		eventRepository = new SessionBeendetEventRepositoryImpl(eventDao);
+		service = new SessionBewertungService(eventRepository);
+		Random random = new Random(42);
+		List<Object[]> events = new ArrayList<>();
+		List<Object[]> bewertungen = new ArrayList<>();
+		for (int i = 1; i <= EVENTS; i++) {
+			LocalDateTime datum = LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(random.nextInt(700 * 24 * 60));
+			events.add(new Object[]{i, UUID.randomUUID(), UUID.randomUUID(), USERNAME, Timestamp.valueOf(datum), false});
+			bewertungen.add(new Object[]{i, random.nextInt(11), random.nextInt(11), random.nextInt(11)});
+		}
+		jdbcTemplate.batchUpdate("insert into session_beendet_event (id, event_id, session_id, username, beendet_datum, abgebrochen) values (?, ?, ?, ?, ?, ?)", events);
+		jdbcTemplate.batchUpdate("insert into session_bewertung (session_beendet_event, konzentration_bewertung, produktivitaet_bewertung, schwierigkeit_bewertung) values (?, ?, ?, ?)", bewertungen);
+	}
+
+	@Test
+	@DisplayName("Die gruppierte Abfrage liefert dieselben Durchschnitte und Histogramme schneller als das Laden aller Events")
+	void benchmark() {
+		List<Object> before = statistikMitEinzelabfragen();
+		List<Object> after = statistikMitAggregat();
+		assertThat(after).isEqualTo(before);
+
+		long beforeNanos = measure(this::statistikMitEinzelabfragen);
+		long afterNanos = measure(this::statistikMitAggregat);
+
+		log.info("session bewertung statistics for {} events: before={}ms, after={}ms per call",
+				EVENTS, beforeNanos / ITERATIONS / 1_000_000, afterNanos / ITERATIONS / 1_000_000);
+		assertThat(afterNanos).isLessThan(beforeNanos);
+	}
+
+	private long measure(Runnable runnable) {
+		runnable.run();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) runnable.run();
+		return System.nanoTime() - start;
+	}
+
+	private List<Object> statistikMitAggregat() {
+		SessionBewertungGeneralStatistikDto durchschnitte = service.getSessionBewertungStatistikByUsername(USERNAME);
+		return List.of(
+				durchschnitte.konzentrationBewertung(),
+				durchschnitte.produktivitaetBewertung(),
+				durchschnitte.schwierigkeitBewertung(),
+				service.getKonzentrationHisto(USERNAME),
+				service.getProduktivitaetHisto(USERNAME),
+				service.getSchwierigkeitHisto(USERNAME));
+	}
+
+	private List<Object> statistikMitEinzelabfragen() {
+		return List.of(
+				average(SessionBewertung::getKonzentrationBewertung),
+				average(SessionBewertung::getProduktivitaetBewertung),
+				average(SessionBewertung::getSchwierigkeitBewertung),
+				histogram(SessionBewertung::getKonzentrationBewertung),
+				histogram(SessionBewertung::getProduktivitaetBewertung),
+				histogram(SessionBewertung::getSchwierigkeitBewertung));
+	}
+
+	private Double average(Function<SessionBewertung, Integer> mapper) {
+		List<SessionBeendetEvent> events = eventRepository.findAllByUsername(USERNAME);
+		int sum = events.stream().map(SessionBeendetEvent::getBewertung).map(mapper).reduce(0, Integer::sum);
+		return sum / (double) events.size();
+	}
+
+	private Map<Integer, Integer> histogram(Function<SessionBewertung, Integer> mapper) {
+		List<SessionBeendetEvent> events = eventRepository.findAllByUsername(USERNAME);
+		Map<Integer, Integer> histogram = new HashMap<>();
+		for (int i = 0; i <= 10; i++) {
+			int j = i;
+			histogram.put(j, (int) events.stream().map(SessionBeendetEvent::getBewertung).map(mapper).filter(b -> b == j).count());
+		}
+		return histogram;
+	}
+}
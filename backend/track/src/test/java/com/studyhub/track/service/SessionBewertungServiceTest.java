@@ -3,6 +3,7 @@ package com.studyhub.track.service;
 import com.studyhub.track.application.service.SessionBeendetEventRepository;
 import com.studyhub.track.application.service.SessionBewertungService;
 import com.studyhub.track.application.service.SessionBewertungGeneralStatistikDto;
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
 import com.studyhub.track.application.service.dto.SessionBewertungAveragesDto;
 import com.studyhub.track.domain.model.session.SessionBeendetEvent;
 import org.junit.jupiter.api.DisplayName;
@@ -19,7 +20,8 @@ import java.util.UUID;
 
 import static com.studyhub.track.util.SessionBeendetEventMother.*;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SessionBewertungServiceTest {
@@ -36,8 +38,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird der Durchschnitt der Konzentrationsbewertung korrekt berechnet")
 	void testGetAverageKonzentrationBewertungByUsername() {
 		List<SessionBeendetEvent> events = initEventsOfUser(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER))
-			.thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Double average = sessionBewertungService.getAverageKonzentrationBewertungByUsername(USER);
 
@@ -48,8 +49,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird der Durchschnitt der Produktivitätsbewertung korrekt berechnet")
 	void testGetAverageProduktivitaetBewertungByUsername() {
 		List<SessionBeendetEvent> events = initEventsOfUser(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER))
-				.thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Double average = sessionBewertungService.getAverageProduktivitaetBewertungByUsername(USER);
 
@@ -60,8 +60,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird der Durchschnitt der Schwierigkeitsbewertung korrekt berechnet")
 	void testGetAverageSchwierigkeitBewertungByUsername() {
 		List<SessionBeendetEvent> events = initEventsOfUser(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER))
-				.thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Double average = sessionBewertungService.getAverageSchwierigkeitBewertungByUsername(USER);
 
@@ -72,8 +71,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Ein SessionBewertungStatistikDto wird korrekt für einen User wiedergegeben")
 	void test_04() {
 		List<SessionBeendetEvent> events = initEventsOfUser(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER))
-				.thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		SessionBewertungGeneralStatistikDto statistikDto = sessionBewertungService.getSessionBewertungStatistikByUsername(USER);
 
@@ -86,7 +84,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird ein Histogram der Konzentrationsbewertung korrekt berechnet")
 	void test_05() {
 		List<SessionBeendetEvent> events = initEventsOfUserHisto(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER)).thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Map<Integer, Integer> actual = sessionBewertungService.getKonzentrationHisto(USER);
 
@@ -108,7 +106,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird ein Histogram der Produktivitätsbewertung korrekt berechnet")
 	void test_06() {
 		List<SessionBeendetEvent> events = initEventsOfUserHisto(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER)).thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Map<Integer, Integer> actual = sessionBewertungService.getProduktivitaetHisto(USER);
 		assertThat(actual.get(2)).isZero();
@@ -129,7 +127,7 @@ class SessionBewertungServiceTest {
 	@DisplayName("Für einen User 'peter93' wird ein Histogram der Schwierigkeitsbewertung korrekt berechnet")
 	void test_07() {
 		List<SessionBeendetEvent> events = initEventsOfUserHisto(USER);
-		when(sessionBeendetEventRepository.findAllByUsername(USER)).thenReturn(events);
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(events));
 
 		Map<Integer, Integer> actual = sessionBewertungService.getSchwierigkeitHisto(USER);
 
@@ -148,11 +146,9 @@ class SessionBewertungServiceTest {
 	}
 
 	@Test
-	@DisplayName("Für einen User wird für eine bestimmte Session die Statistik-Map korrekt berechnet")
+	@DisplayName("Für einen User wird für eine bestimmte Session die Statistik-Map aus den Tagesdurchschnitten der Datenbank übernommen")
 	void test_08() {
 		UUID sessionId = UUID.randomUUID();
-		List<SessionBeendetEvent> events = initSessionBewertungStatistikEvents(sessionId);
-		when(sessionBeendetEventRepository.findAllBySessionId(sessionId)).thenReturn(events);
 		Map<LocalDate, SessionBewertungAveragesDto> expected = Map.of(
 				LocalDate.of(2025,10,21),
 				new SessionBewertungAveragesDto(6.0, 5.0, 4.0),
@@ -162,9 +158,45 @@ class SessionBewertungServiceTest {
 				new SessionBewertungAveragesDto(4.5, 6.0, 6.5)
 
 				);
+		when(sessionBeendetEventRepository.findTagesdurchschnitteBySessionId(sessionId)).thenReturn(expected);
 
 		Map<LocalDate, SessionBewertungAveragesDto> actual = sessionBewertungService.getMonthlySessionBewertungStatistik(sessionId);
 
-		//assertThat(actual).isEqualTo(expected);
+		assertThat(actual).isEqualTo(expected);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Die allgemeine Statistik liest die Bewertungen eines Users nur einmal aus der Datenbank")
+	void test_09() {
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(haeufigkeitenOf(initEventsOfUserHisto(USER)));
+
+		SessionBewertungGeneralStatistikDto statistikDto = sessionBewertungService.getSessionBewertungStatistikByUsername(USER);
+
+		assertThat(statistikDto.konzentrationBewertung()).isEqualTo(5.25);
+		assertThat(statistikDto.produktivitaetBewertung()).isEqualTo(2.75);
+		assertThat(statistikDto.schwierigkeitBewertung()).isEqualTo(7.25);
+		verify(sessionBeendetEventRepository, times(1)).countBewertungenByUsername(USER);
+		verify(sessionBeendetEventRepository, never()).findAllByUsername(any());
+	}
+
+	@Test
+	@DisplayName("Ohne Bewertungen sind alle Durchschnitte 0 und alle Histogramm-Klassen leer")
+	void test_10() {
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(List.of());
+
+		assertThat(sessionBewertungService.getAverageKonzentrationBewertungByUsername(USER)).isZero();
+		assertThat(sessionBewertungService.getSchwierigkeitHisto(USER)).hasSize(11).allSatisfy((bewertung, anzahl) -> assertThat(anzahl).isZero());
+	}
+
+	@Test
+	@DisplayName("Fehlende Einzelwerte einer Bewertung werden weder im Durchschnitt noch im Histogramm gezählt")
+	void test_11() {
+		when(sessionBeendetEventRepository.countBewertungenByUsername(USER)).thenReturn(List.of(
+				new SessionBewertungHaeufigkeit(4, null, 2, 3),
+				new SessionBewertungHaeufigkeit(8, 6, 2, 1)));
+
+		assertThat(sessionBewertungService.getAverageKonzentrationBewertungByUsername(USER)).isEqualTo(5.0);
+		assertThat(sessionBewertungService.getAverageProduktivitaetBewertungByUsername(USER)).isEqualTo(6.0);
+		assertThat(sessionBewertungService.getProduktivitaetHisto(USER)).containsEntry(6, 1).containsEntry(0, 0);
+	}
+}
@@ -3,6 +3,7 @@ package com.studyhub.track.service;
 import com.studyhub.track.adapter.db.session.SessionDao;
 import com.studyhub.track.adapter.db.session.SessionRepositoryImpl;
 import com.studyhub.track.domain.model.session.SessionRepository;
+import com.studyhub.track.domain.model.session.Block;
 import com.studyhub.track.domain.model.session.Session;
 import com.studyhub.track.util.SessionMother;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,4 +92,20 @@ class SessionRepositoryTest {
 
 		assertThat(n).isEqualTo(1);
 	}
+
+	@Test
+	@DisplayName("Mehrere Sessions werden anhand ihrer Fach-Ids samt Blöcken in Reihenfolge geladen")
+	void findAllByFachIdIn() {
+		UUID mathe = UUID.fromString("11111111-1111-1111-1111-111111111111");
+		UUID bio = UUID.fromString("33333333-3333-3333-3333-333333333333");
+		UUID unbekannt = UUID.fromString("99999999-0000-0000-0000-000000000000");
+
+		List<Session> sessions = repository.findAllByFachIdIn(List.of(mathe, bio, unbekannt));
+
+		assertThat(sessions).extracting(Session::getFachId).containsExactly(mathe, bio);
+		assertThat(sessions.get(0).getBlocks()).extracting(Block::getModulId).containsExactly(
+				UUID.fromString("aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa"),
+				UUID.fromString("bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb"));
+		assertThat(sessions.get(0).getTitel()).isEqualTo("Mathe-Session");
+	}
 }
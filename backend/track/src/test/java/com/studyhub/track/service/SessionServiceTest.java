@@ -78,4 +78,15 @@ class SessionServiceTest {
 				.as("Nach der Löschung hat die Session nur noch einen Block")
 				.hasSize(1);
 	}
+
+	@Test
+	@DisplayName("Blöcke mit der Modul-Id in Sessions anderer Benutzer bleiben beim Löschen erhalten")
+	void test_2() {
+		UUID modulId = UUID.fromString("cccccccc-cccc-cccc-cccc-cccccccccccc");
+		UUID sessionVonAlex = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+		sessionService.deleteModuleFromBlocks(modulId, "timo");
+
+		assertThat(repository.findSessionByFachId(sessionVonAlex).getBlocks()).hasSize(2);
+	}
 }
@@ -1,5 +1,6 @@
 package com.studyhub.track.util;
 
+import com.studyhub.track.application.service.SessionBewertungHaeufigkeit;
 import com.studyhub.track.domain.model.session.SessionBeendetEvent;
 import com.studyhub.track.domain.model.session.SessionBewertung;
 
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class SessionBeendetEventMother {
 
@@ -126,4 +128,14 @@ public class SessionBeendetEventMother {
 
 		return events;
 	}
+
+	public static List<SessionBewertungHaeufigkeit> haeufigkeitenOf(List<SessionBeendetEvent> events) {
+		return events.stream()
+				.map(SessionBeendetEvent::getBewertung)
+				.collect(Collectors.groupingBy(b -> List.of(b.getKonzentrationBewertung(), b.getProduktivitaetBewertung(), b.getSchwierigkeitBewertung()),
+						Collectors.counting()))
+				.entrySet().stream()
+				.map(e -> new SessionBewertungHaeufigkeit(e.getKey().get(0), e.getKey().get(1), e.getKey().get(2), e.getValue().intValue()))
+				.toList();
+	}
 }
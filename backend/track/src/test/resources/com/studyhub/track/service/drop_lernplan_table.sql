@@ -0,0 +1,2 @@
+DELETE FROM lernplan;
+DELETE FROM session;
@@ -11,3 +11,9 @@ VALUES
     ('550e8400-e29b-41d4-a716-446655440008', 'c1d2e3f4-5a6b-7c8d-9e0f-a1b2c3d4e5f6', 'tommy', 800, '2025-03-06'),
     ('550e8400-e29b-41d4-a716-446655440009', 'c2d2e3f4-5a6b-7c8d-9e0f-a1b2c3d4e5f6', 'julia', 900, '2025-03-07'),
     ('550e8400-e29b-41d4-a716-446655440010', 'c3d2e3f4-5a6b-7c8d-9e0f-a1b2c3d4e5f6', 'kevinx', 400, '2025-03-08');
+
+INSERT INTO modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count)
+SELECT username, date_gelernt, modul_id, SUM(seconds_learned), COUNT(*)
+FROM modul_gelernt_event
+GROUP BY username, date_gelernt, modul_id
+ON CONFLICT (username, datum, modul_id) DO NOTHING;
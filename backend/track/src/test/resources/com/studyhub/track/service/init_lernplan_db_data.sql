@@ -0,0 +1,22 @@
+-- Lernplan 1 (user: timo, aktiv)
+INSERT INTO lernplan (id, fach_id, username, titel, is_active)
+VALUES (200000, '66666666-6666-6666-6666-666666666666', 'timo', 'Sommersemester', true);
+
+INSERT INTO tag (tag, beginn, session_id, lernplan, lernplan_key)
+VALUES
+    ('MONDAY', '08:00', '11111111-1111-1111-1111-111111111111', 200000, 0),
+    ('WEDNESDAY', '10:30', '33333333-3333-3333-3333-333333333333', 200000, 1);
+
+
+-- Lernplan 2 (user: timo, inaktiv)
+INSERT INTO lernplan (id, fach_id, username, titel, is_active)
+VALUES (200001, '77777777-7777-7777-7777-777777777777', 'timo', 'Klausurphase', false);
+
+INSERT INTO tag (tag, beginn, session_id, lernplan, lernplan_key)
+VALUES
+    ('TUESDAY', '09:00', '55555555-5555-5555-5555-555555555555', 200001, 0);
+
+
+-- Lernplan 3 (user: alex, aktiv, ohne Tage)
+INSERT INTO lernplan (id, fach_id, username, titel, is_active)
+VALUES (200002, '88888888-8888-8888-8888-888888888888', 'alex', 'Leerer Plan', true);
@@ -0,0 +1,47 @@
+-- 2000 User mit je 10 Modulen, 200.000 Lernzeit-Events über 700 Tage, 20.000 Sessions, 10.000 Lernpläne
+INSERT INTO modul (id, fach_id, name, seconds_learned, username, active, semesterstufe)
+SELECT g, md5('modul' || g)::uuid, 'modul' || g, (g * 37) % 100000, 'user' || (g % 2000), g % 3 <> 0, g % 6 + 1
+FROM generate_series(1, 20000) g;
+
+INSERT INTO kreditpunkte (modul, anzahl_punkte, kontaktzeit_stunden, selbststudium_stunden)
+SELECT g, 5, 60, 90 FROM generate_series(1, 20000) g;
+
+INSERT INTO semester (modul, semester_typ, vorlesung_beginn, vorlesung_ende, semester_beginn, semester_ende, fach_semester)
+SELECT g, 'WINTERSEMESTER', '2024-10-01', '2025-01-31', '2024-10-01', '2025-03-31', g % 6 + 1 FROM generate_series(1, 20000) g;
+
+INSERT INTO modultermin (modul, termin_name, start_date, terminart, terminfrequenz)
+SELECT g, 'Klausur', '2025-02-01 10:00', 'KLAUSUR', 'EINMALIG' FROM generate_series(1, 20000) g;
+
+INSERT INTO modul_gelernt_event (event_id, modul_id, username, seconds_learned, date_gelernt)
+SELECT md5('event' || g)::uuid, md5('modul' || (g % 20000 + 1))::uuid, 'user' || ((g % 20000 + 1) % 2000), g % 3600, DATE '2023-01-01' + (g % 700)
+FROM generate_series(1, 200000) g;
+
+INSERT INTO modul_gelernt_tag (username, datum, modul_id, seconds_learned, event_count)
+SELECT username, date_gelernt, modul_id, SUM(seconds_learned), COUNT(*)
+FROM modul_gelernt_event GROUP BY username, date_gelernt, modul_id;
+
+INSERT INTO session (id, fach_id, username, titel, beschreibung)
+SELECT g, md5('session' || g)::uuid, 'user' || (g % 2000), 'session' || g, null FROM generate_series(1, 20000) g;
+
+INSERT INTO block (fach_id, modul_id, lernzeit_seconds, pausezeit_seconds, session, session_key, modul_name)
+SELECT md5('block' || g)::uuid, md5('modul' || (g % 20000 + 1))::uuid, 1500, 300, g % 20000 + 1, g / 20000, 'modul'
+FROM generate_series(1, 60000) g;
+
+INSERT INTO lernplan (id, fach_id, username, titel, is_active)
+SELECT g, md5('lernplan' || g)::uuid, 'user' || (g % 2000), 'lernplan' || g, g % 5 = 0 FROM generate_series(1, 10000) g;
+
+INSERT INTO tag (tag, beginn, session_id, lernplan, lernplan_key)
+SELECT 'MONDAY', '08:00', md5('session' || (g % 20000 + 1))::uuid, g % 10000 + 1, g / 10000 FROM generate_series(1, 70000) g;
+
+INSERT INTO session_beendet_event (id, event_id, username, beendet_datum, abgebrochen, session_id)
+SELECT g, md5('beendet' || g)::uuid, 'user' || (g % 2000), TIMESTAMP '2024-01-01' + (g % 365) * INTERVAL '1 day', false, md5('session' || (g % 20000 + 1))::uuid
+FROM generate_series(1, 40000) g;
+
+INSERT INTO session_bewertung (session_beendet_event, konzentration_bewertung, produktivitaet_bewertung, schwierigkeit_bewertung)
+SELECT g, g % 11, g % 11, g % 11 FROM generate_series(1, 40000) g;
+
+INSERT INTO aktiver_lernplan_tag (lernplan, username, titel, lernplan_key, tag, beginn, session_id)
+SELECT l.id, l.username, l.titel, t.lernplan_key, t.tag, t.beginn, t.session_id
+FROM lernplan l LEFT JOIN tag t ON t.lernplan = l.id WHERE l.is_active;
+
+ANALYZE;
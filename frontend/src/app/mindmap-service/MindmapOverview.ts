@@ -0,0 +1,18 @@
+export interface MindmapOverview {
+  modules : MindmapOverviewModul[];
+  others : MindmapOverviewMindmap[];
+}
+
+export interface MindmapOverviewModul {
+  modulId : string;
+  modulTitel : string;
+  nodeCount : number;
+  mindmaps : MindmapOverviewMindmap[];
+}
+
+export interface MindmapOverviewMindmap {
+  nodeId : string;
+  modulId : string;
+  title : string;
+  nodeCount : number;
+}
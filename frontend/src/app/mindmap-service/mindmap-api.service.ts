@@ -14,6 +14,11 @@ export class MindmapApiService {
   http = inject(HttpClient);
   headerService = inject(HeaderService)
 
+  getMindmapOverview() : Observable<any> {
+    const header = this.headerService.createAuthHeader();
+    return this.http.get<any>(`${this.BASE_API_URL}/get-mindmap-overview`, { headers: header });
+  }
+
   getOtherMindmapsByUsername() : Observable<any> {
     const header = this.headerService.createAuthHeader();
     return this.http.get(`${this.BASE_API_URL}/get-all-other-mindmaps-by-username`, { headers: header });
@@ -1,8 +1,8 @@
 import {Component, inject, OnInit} from '@angular/core';
 import {MindmapApiService} from './mindmap-api.service';
-import {MindmapNode} from './MindmapNode';
+import {MindmapOverview, MindmapOverviewMindmap, MindmapOverviewModul} from './MindmapOverview';
 import {LoggingService} from '../logging.service';
-import {KeyValuePipe, NgForOf, NgIf} from '@angular/common';
+import {NgForOf, NgIf} from '@angular/common';
 import {RouterLink, RouterOutlet} from '@angular/router';
 import {AddMindmapComponent} from './add-mindmap/add-mindmap.component';
 
@@ -14,8 +14,7 @@ import {AddMindmapComponent} from './add-mindmap/add-mindmap.component';
     RouterLink,
     NgForOf,
     AddMindmapComponent,
-    RouterOutlet,
-    KeyValuePipe
+    RouterOutlet
   ],
   templateUrl: './mindmap-service.component.html',
   styleUrls: ['./mindmap-service.component.scss', '../general.scss']
@@ -24,27 +23,16 @@ export class MindmapServiceComponent implements OnInit{
   log = new LoggingService("MindmapServiceComponent", "mindmap-service");
 
   service = inject(MindmapApiService);
-  moduleMindmaps: { [key: string]: MindmapNode[] } = {}
-  otherMindmaps: any;
+  moduleMindmaps: MindmapOverviewModul[] = []
+  otherMindmaps: MindmapOverviewMindmap[] | undefined;
 
 
   ngOnInit(): void {
-    this.service.getOtherMindmapsByUsername().subscribe({
-      next: (data) => {
-        this.otherMindmaps = data;
-        this.log.debug("Got Others data:")
-        console.log(this.otherMindmaps)
-      },
-      error: (err) => {
-        this.log.error(`Error while getting mindmaps: Reason: ${err}`);
-      }
-    });
-    this.service.getMindmapsGroupedByModule().subscribe({
-      next: (data : { [key: string]: MindmapNode[] }
-      ) => {
-        this.moduleMindmaps = data;
-        this.log.debug("Got MODUL data:")
-        console.log(this.moduleMindmaps)
+    this.service.getMindmapOverview().subscribe({
+      next: (data : MindmapOverview) => {
+        this.moduleMindmaps = data.modules;
+        this.otherMindmaps = data.others;
+        this.log.debug(`Got overview with ${data.modules.length} modules and ${data.others.length} other mindmaps`)
       },
       error: (err) => {
         this.log.error(`Error while getting mindmaps: Reason: ${err}`);
@@ -54,15 +42,14 @@ export class MindmapServiceComponent implements OnInit{
 
   emptyMindmaps(): boolean {
     if(this.moduleMindmaps && this.otherMindmaps) {
-      return Object.keys(this.moduleMindmaps).length === 0 && this.otherMindmaps.length === 0
+      return this.moduleMindmaps.length === 0 && this.otherMindmaps.length === 0
     }
     return true
 
   }
 
   emptyModulMindmaps() {
-    console.log("module length: " + Object.keys(this.moduleMindmaps).length)
-    return Object.keys(this.moduleMindmaps).length === 0
+    return this.moduleMindmaps.length === 0
   }
 
   emptyOtherMindmaps() {